@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link YangInstanceIdentifier} construction, hashing, comparison and
+ * {@link YangInstanceIdentifier#toOptimized()}.
+ * Paths alternate between {@link NodeIdentifier}s and {@link NodeIdentifierWithPredicates}, as is typical for nested
+ * keyed lists.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class YangInstanceIdentifierBenchmark {
+    private static final QName BASE_QNAME = QName.create("urn:benchmark", "yiid").intern();
+    private static final QName KEY_QNAME = QName.create(BASE_QNAME, "key").intern();
+    private static final QName NAME_QNAME = QName.create(BASE_QNAME, "name").intern();
+    private static final QName BINARY_QNAME = QName.create(BASE_QNAME, "binary").intern();
+    private static final ImmutableMap<QName, Object> PREDICATES = ImmutableMap.of(KEY_QNAME, Uint32.valueOf(42),
+        NAME_QNAME, "name", BINARY_QNAME, new byte[] { 1, 2, 3, 4 });
+
+    @Param({ "2", "8", "32" })
+    public int depth;
+
+    private PathArgument[] args;
+    private YangInstanceIdentifier stacked;
+    private YangInstanceIdentifier fixed;
+    private YangInstanceIdentifier otherFixed;
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(".*" + YangInstanceIdentifierBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        args = new PathArgument[depth];
+        for (int i = 0; i < depth; ++i) {
+            final QName qname = QName.create(BASE_QNAME, "node" + i).intern();
+            args[i] = i % 2 == 0 ? NodeIdentifier.create(qname)
+                : NodeIdentifierWithPredicates.of(qname, KEY_QNAME, "key" + i);
+        }
+        stacked = createStacked();
+        fixed = YangInstanceIdentifier.create(args);
+        otherFixed = YangInstanceIdentifier.create(args.clone());
+    }
+
+    @Benchmark
+    public YangInstanceIdentifier createFixed() {
+        return YangInstanceIdentifier.create(args);
+    }
+
+    @Benchmark
+    public YangInstanceIdentifier createStacked() {
+        YangInstanceIdentifier ret = YangInstanceIdentifier.empty();
+        for (PathArgument arg : args) {
+            ret = ret.node(arg);
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public int hashFixed() {
+        // Hash codes are cached, hence we need a fresh instance
+        return YangInstanceIdentifier.create(args).hashCode();
+    }
+
+    @Benchmark
+    public int hashStacked() {
+        return createStacked().hashCode();
+    }
+
+    @Benchmark
+    public int hashPredicates() {
+        // Hash codes are cached, hence we need a fresh instance
+        return NodeIdentifierWithPredicates.of(BASE_QNAME, PREDICATES).hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsFixed() {
+        return fixed.equals(otherFixed);
+    }
+
+    @Benchmark
+    public boolean equalsStacked() {
+        return stacked.equals(fixed);
+    }
+
+    @Benchmark
+    public YangInstanceIdentifier toOptimized() {
+        return stacked.toOptimized();
+    }
+}
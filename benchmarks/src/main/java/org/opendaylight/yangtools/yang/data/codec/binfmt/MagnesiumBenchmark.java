@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link NormalizedNodeStreamVersion#MAGNESIUM} serialization and deserialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MagnesiumBenchmark {
+    @Param({ "10", "1000", "10000" })
+    public int outerCount;
+
+    @Param({ "1", "10" })
+    public int innerCount;
+
+    private ContainerNode data;
+    private byte[] bytes;
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(".*" + MagnesiumBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        data = BenchmarkModel.createTestContainer(outerCount, innerCount);
+        bytes = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        final ByteArrayDataOutput output = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(output)) {
+            out.writeNormalizedNode(data);
+        }
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public NormalizedNode read() throws IOException {
+        return NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes)).readNormalizedNode();
+    }
+}
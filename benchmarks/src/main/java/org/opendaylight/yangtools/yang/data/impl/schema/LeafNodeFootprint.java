@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import java.lang.reflect.Constructor;
+import java.util.function.IntFunction;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafNodeBuilder;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Retained heap footprint of {@link LeafNode}s, as measured by JOL. Reports the number of bytes per leaf for:
+ * <ul>
+ *   <li>plain leaves, i.e. {@code ImmutableLeafNode}s, which hold a reference to the boxed value,</li>
+ *   <li>primitive leaves, which hold the value inline,</li>
+ *   <li>leaves packed into their parent {@link ContainerNode}, which do not have a leaf object at all.</li>
+ * </ul>
+ * All three are built from the same value objects, which are distinct and mostly outside of the value types' caches,
+ * as is the case for counters and similar data. Identifiers are shared among all measured objects and are not
+ * accounted for.
+ *
+ * <p>
+ * Run with {@code java -cp target/benchmarks-*.jar:<classpath> LeafNodeFootprint}.
+ */
+public final class LeafNodeFootprint {
+    private static final int LEAF_COUNT = 100_000;
+    private static final int CONTAINER_WIDTH = 10;
+
+    private static final QName CONTAINER_QNAME = QName.create("urn:footprint", "container");
+    private static final NodeIdentifier CONTAINER_ID = new NodeIdentifier(CONTAINER_QNAME);
+    private static final NodeIdentifier[] LEAF_IDS = new NodeIdentifier[CONTAINER_WIDTH];
+
+    static {
+        for (int i = 0; i < CONTAINER_WIDTH; ++i) {
+            LEAF_IDS[i] = new NodeIdentifier(QName.create(CONTAINER_QNAME, "leaf" + i));
+        }
+    }
+
+    private LeafNodeFootprint() {
+        // Hidden on purpose
+    }
+
+    @SuppressWarnings("checkstyle:regexpSinglelineJava")
+    public static void main(final String[] args) throws ReflectiveOperationException {
+        // ImmutableLeafNodeBuilder creates primitive leaves for these types, hence we need to instantiate
+        // ImmutableLeafNode directly to get plain leaves holding the very same objects
+        final Constructor<?> plainLeaf = ImmutableLeafNodeBuilder.createNode(LEAF_IDS[0], "").getClass()
+            .getDeclaredConstructor(NodeIdentifier.class, Object.class);
+        plainLeaf.setAccessible(true);
+
+        System.out.println(VM.current().details());
+        System.out.printf("%-8s %10s %10s %10s%n", "type", "plain", "primitive", "packed");
+        report(plainLeaf, "uint16", values(i -> Uint16.valueOf(i % 65_536)));
+        report(plainLeaf, "uint32", values(Uint32::valueOf));
+        report(plainLeaf, "uint64", values(Uint64::valueOf));
+    }
+
+    private static Object[] values(final IntFunction<Object> function) {
+        final Object[] values = new Object[LEAF_COUNT];
+        for (int i = 0; i < LEAF_COUNT; ++i) {
+            values[i] = function.apply(i);
+        }
+        return values;
+    }
+
+    @SuppressWarnings("checkstyle:regexpSinglelineJava")
+    private static void report(final Constructor<?> plainLeaf, final String type, final Object[] values)
+            throws ReflectiveOperationException {
+        final Object[] plain = new Object[LEAF_COUNT];
+        for (int i = 0; i < LEAF_COUNT; ++i) {
+            plain[i] = plainLeaf.newInstance(LEAF_IDS[i % CONTAINER_WIDTH], values[i]);
+        }
+
+        System.out.printf("%-8s %10.1f %10.1f %10.1f%n", type, perLeaf(plain), leafFootprint(values),
+            packedFootprint(values));
+    }
+
+    private static double leafFootprint(final Object[] values) {
+        final Object[] leaves = new Object[LEAF_COUNT];
+        for (int i = 0; i < LEAF_COUNT; ++i) {
+            leaves[i] = ImmutableLeafNodeBuilder.createNode(LEAF_IDS[i % CONTAINER_WIDTH], values[i]);
+        }
+        return perLeaf(leaves);
+    }
+
+    private static double packedFootprint(final Object[] values) {
+        final Object[] containers = new Object[LEAF_COUNT / CONTAINER_WIDTH];
+        for (int i = 0; i < containers.length; ++i) {
+            final DataContainerNodeBuilder<NodeIdentifier, ContainerNode> builder =
+                ImmutableContainerNodeBuilder.create(CONTAINER_WIDTH).withNodeIdentifier(CONTAINER_ID);
+            for (int j = 0; j < CONTAINER_WIDTH; ++j) {
+                builder.withChild(ImmutableNodes.leafNode(LEAF_IDS[j], values[i * CONTAINER_WIDTH + j]));
+            }
+            containers[i] = builder.build();
+        }
+
+        // Remove the footprint of an empty container, so we report only what the leaves cost
+        final Object[] empty = new Object[containers.length];
+        for (int i = 0; i < empty.length; ++i) {
+            empty[i] = ImmutableContainerNodeBuilder.create().withNodeIdentifier(CONTAINER_ID).build();
+        }
+        return perLeaf(containers) - perLeaf(empty);
+    }
+
+    private static double perLeaf(final Object[] objects) {
+        final GraphLayout layout = GraphLayout.parseInstance(objects)
+            .subtract(GraphLayout.parseInstance((Object[]) LEAF_IDS))
+            .subtract(GraphLayout.parseInstance(CONTAINER_ID));
+        return (double) layout.totalSize() / LEAF_COUNT;
+    }
+}
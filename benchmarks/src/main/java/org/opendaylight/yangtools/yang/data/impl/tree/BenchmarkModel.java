@@ -10,6 +10,13 @@ package org.opendaylight.yangtools.yang.data.impl.tree;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 
@@ -18,29 +25,66 @@ import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
  *
  * @author Lukas Sedlak &lt;lsedlak@cisco.com&gt;
  */
-final class BenchmarkModel {
+public final class BenchmarkModel {
     private static final QName TEST_QNAME = QName.create(
         "urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:test", "2014-03-13", "test").intern();
-    static final NodeIdentifier TEST = NodeIdentifier.create(TEST_QNAME);
-    static final YangInstanceIdentifier TEST_PATH = YangInstanceIdentifier.create(TEST);
+    public static final NodeIdentifier TEST = NodeIdentifier.create(TEST_QNAME);
+    public static final YangInstanceIdentifier TEST_PATH = YangInstanceIdentifier.create(TEST);
 
-    static final QName OUTER_LIST_QNAME = QName.create(TEST_QNAME, "outer-list").intern();
-    static final NodeIdentifier OUTER_LIST = NodeIdentifier.create(OUTER_LIST_QNAME);
-    static final YangInstanceIdentifier OUTER_LIST_PATH = YangInstanceIdentifier.create(TEST, OUTER_LIST);
+    public static final QName OUTER_LIST_QNAME = QName.create(TEST_QNAME, "outer-list").intern();
+    public static final NodeIdentifier OUTER_LIST = NodeIdentifier.create(OUTER_LIST_QNAME);
+    public static final YangInstanceIdentifier OUTER_LIST_PATH = YangInstanceIdentifier.create(TEST, OUTER_LIST);
 
-    static final QName INNER_LIST_QNAME = QName.create(TEST_QNAME, "inner-list").intern();
-    static final NodeIdentifier INNER_LIST = NodeIdentifier.create(INNER_LIST_QNAME);
+    public static final QName INNER_LIST_QNAME = QName.create(TEST_QNAME, "inner-list").intern();
+    public static final NodeIdentifier INNER_LIST = NodeIdentifier.create(INNER_LIST_QNAME);
 
-    static final QName OUTER_CHOICE_QNAME = QName.create(TEST_QNAME, "outer-choice").intern();
-    static final QName ID_QNAME = QName.create(TEST_QNAME, "id").intern();
-    static final QName NAME_QNAME = QName.create(TEST_QNAME, "name").intern();
-    static final QName VALUE_QNAME = QName.create(TEST_QNAME, "value").intern();
+    public static final QName OUTER_CHOICE_QNAME = QName.create(TEST_QNAME, "outer-choice").intern();
+    public static final QName ID_QNAME = QName.create(TEST_QNAME, "id").intern();
+    public static final QName NAME_QNAME = QName.create(TEST_QNAME, "name").intern();
+    public static final QName VALUE_QNAME = QName.create(TEST_QNAME, "value").intern();
+    public static final QName ONE_QNAME = QName.create(TEST_QNAME, "one").intern();
 
     private BenchmarkModel() {
 
     }
 
-    static EffectiveModelContext createTestContext() {
+    public static EffectiveModelContext createTestContext() {
         return YangParserTestUtils.parseYangResource("/odl-datastore-test.yang");
     }
+
+    /**
+     * Create a {@code test} container with specified number of {@code outer-list} entries, each of which has specified
+     * number of {@code inner-list} entries.
+     *
+     * @param outerCount Number of outer-list entries
+     * @param innerCount Number of inner-list entries in each outer-list entry
+     * @return A test container
+     */
+    public static ContainerNode createTestContainer(final int outerCount, final int innerCount) {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> outerList = Builders.mapBuilder()
+            .withNodeIdentifier(OUTER_LIST);
+        for (int i = 0; i < outerCount; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, SystemMapNode> innerList = Builders.mapBuilder()
+                .withNodeIdentifier(INNER_LIST);
+            for (int j = 0; j < innerCount; ++j) {
+                innerList.withChild(Builders.mapEntryBuilder()
+                    .withNodeIdentifier(NodeIdentifierWithPredicates.of(INNER_LIST_QNAME, NAME_QNAME, j))
+                    .withChild(ImmutableNodes.leafNode(NAME_QNAME, j))
+                    .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "value-" + i + "-" + j))
+                    .build());
+            }
+
+            outerList.withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier(NodeIdentifierWithPredicates.of(OUTER_LIST_QNAME, ID_QNAME, i))
+                .withChild(ImmutableNodes.leafNode(ID_QNAME, i))
+                .withChild(Builders.choiceBuilder()
+                    .withNodeIdentifier(NodeIdentifier.create(OUTER_CHOICE_QNAME))
+                    .withChild(ImmutableNodes.leafNode(ONE_QNAME, "one-" + i))
+                    .build())
+                .withChild(innerList.build())
+                .build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(TEST).withChild(outerList.build()).build();
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link DataTreeCandidates#aggregate(List)}. Consecutive candidates are produced by an
+ * {@link InMemoryDataTreeFactory} data tree, each of them rewriting the same outer-list entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class DataTreeCandidatesBenchmark {
+    @Param({ "2", "16" })
+    public int candidateCount;
+
+    @Param({ "10", "1000", "10000" })
+    public int entryCount;
+
+    private List<DataTreeCandidate> candidates;
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(".*" + DataTreeCandidatesBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    @Setup
+    public void setup() throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            BenchmarkModel.createTestContext());
+        commit(tree, BenchmarkModel.TEST_PATH, BenchmarkModel.createTestContainer(0, 0));
+
+        candidates = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; ++i) {
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            for (int j = 0; j < entryCount; ++j) {
+                final NodeIdentifierWithPredicates id = NodeIdentifierWithPredicates.of(
+                    BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, j);
+                mod.write(BenchmarkModel.OUTER_LIST_PATH.node(id), Builders.mapEntryBuilder()
+                    .withNodeIdentifier(id)
+                    .withChild(ImmutableNodes.leafNode(BenchmarkModel.ID_QNAME, j))
+                    .withChild(Builders.choiceBuilder()
+                        .withNodeIdentifier(NodeIdentifier.create(BenchmarkModel.OUTER_CHOICE_QNAME))
+                        .withChild(ImmutableNodes.leafNode(BenchmarkModel.ONE_QNAME, "candidate-" + i))
+                        .build())
+                    .build());
+            }
+            candidates.add(commit(tree, mod));
+        }
+    }
+
+    @Benchmark
+    public DataTreeCandidate aggregate() {
+        return DataTreeCandidates.aggregate(candidates);
+    }
+
+    private static DataTreeCandidate commit(final DataTree tree, final YangInstanceIdentifier path,
+            final NormalizedNode data)
+            throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(path, data);
+        return commit(tree, mod);
+    }
+
+    private static DataTreeCandidate commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        final DataTreeCandidate candidate = tree.prepare(mod);
+        tree.commit(candidate);
+        return candidate;
+    }
+}
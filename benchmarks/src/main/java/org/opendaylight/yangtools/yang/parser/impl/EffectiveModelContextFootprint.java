@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.util.Multiset;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Retained heap footprint of {@link EffectiveModelContext}s, as measured by JOL. Each argument names a directory,
+ * whose {@code .yang} files are assembled into a single model. Intended to be run against the IETF and OpenConfig
+ * model corpora, for example checkouts of {@code https://github.com/YangModels/yang/tree/main/standard/ietf/RFC}
+ * and {@code https://github.com/openconfig/public/tree/master/release/models}, before and after a change to
+ * {@code yang-model-ri} or {@code yang-model-spi}. Reports the total retained size along with the classes which
+ * contribute the most to it.
+ *
+ * <p>
+ * Run with {@code java -cp target/benchmarks-*.jar:<classpath> EffectiveModelContextFootprint <directory>...}.
+ */
+public final class EffectiveModelContextFootprint {
+    private static final int TOP_CLASSES = 30;
+
+    private EffectiveModelContextFootprint() {
+        // Hidden on purpose
+    }
+
+    @SuppressWarnings("checkstyle:regexpSinglelineJava")
+    public static void main(final String[] args) throws IOException, YangParserException {
+        if (args.length == 0) {
+            System.err.println("Usage: EffectiveModelContextFootprint <directory>...");
+            return;
+        }
+
+        System.out.println(VM.current().details());
+        for (String arg : args) {
+            final Path dir = Path.of(arg);
+            final List<YangTextSchemaSource> sources = findSources(dir);
+            final EffectiveModelContext context = new YangParserFactoryImpl().createParser().addSources(sources)
+                .buildEffectiveModel();
+
+            final GraphLayout layout = GraphLayout.parseInstance(context);
+            System.out.printf("%s: %d sources, %d modules, %d objects, %d bytes%n", dir, sources.size(),
+                context.getModules().size(), layout.totalCount(), layout.totalSize());
+
+            final Multiset<Class<?>> counts = layout.getClassCounts();
+            final Multiset<Class<?>> sizes = layout.getClassSizes();
+            System.out.printf("%12s %12s  %s%n", "count", "bytes", "class");
+            layout.getClasses().stream()
+                .sorted((first, second) -> Long.compare(sizes.count(second), sizes.count(first)))
+                .limit(TOP_CLASSES)
+                .forEachOrdered(cls -> System.out.printf("%12d %12d  %s%n", counts.count(cls), sizes.count(cls),
+                    cls.getName()));
+            System.out.println();
+        }
+    }
+
+    private static List<YangTextSchemaSource> findSources(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(file -> file.toString().endsWith(".yang") && Files.isRegularFile(file))
+                .sorted()
+                .map(file -> YangTextSchemaSource.forFile(file.toFile()))
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserException;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link YangParserFactoryImpl} assembling an {@link EffectiveModelContext} from a set of generated
+ * modules. Each module imports its predecessor, reuses its groupings and augments its top-level container, so that
+ * the benchmark exercises cross-module linkage as well as statement parsing. With {@link #parallel} set, sources are
+ * turned into statement streams on a {@link ForkJoinPool}, while the reactor runs on the benchmark thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class YangParserBenchmark {
+    @Param({ "10", "100", "500" })
+    public int moduleCount;
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private List<YangTextSchemaSource> sources;
+    private YangParserFactory factory;
+    private ForkJoinPool pool;
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(".*" + YangParserBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        sources = new ArrayList<>(moduleCount);
+        for (int i = 0; i < moduleCount; ++i) {
+            sources.add(YangTextSchemaSource.delegateForByteSource("bench-" + i + "@2021-01-01.yang",
+                ByteSource.wrap(generateModule(i).getBytes(UTF_8))));
+        }
+        if (parallel) {
+            pool = new ForkJoinPool();
+            factory = new YangParserFactoryImpl(DefaultReactors.defaultReactor(), pool);
+        } else {
+            factory = new YangParserFactoryImpl();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    @Benchmark
+    public EffectiveModelContext parse() throws IOException, YangParserException {
+        return factory.createParser().addSources(sources).buildEffectiveModel();
+    }
+
+    /**
+     * Generate the text of a benchmark module.
+     *
+     * @param index Module index
+     * @return Module text
+     */
+    public static String generateModule(final int index) {
+        final StringBuilder sb = new StringBuilder()
+            .append("module bench-").append(index).append(" {\n")
+            .append("  yang-version 1.1;\n")
+            .append("  namespace \"urn:benchmark:bench-").append(index).append("\";\n")
+            .append("  prefix b").append(index).append(";\n");
+        if (index > 0) {
+            sb.append("  import bench-").append(index - 1).append(" { prefix prev; }\n");
+        }
+        sb.append("  revision 2021-01-01;\n")
+            .append("  typedef counter { type uint32 { range \"0..1000000\"; } }\n")
+            .append("  grouping entry {\n")
+            .append("    leaf name { type string { length \"1..64\"; pattern \"[a-z][a-z0-9-]*\"; } }\n")
+            .append("    leaf value { type counter; default 0; }\n")
+            .append("    leaf-list tags { type string; ordered-by user; }\n")
+            .append("  }\n")
+            .append("  container top {\n")
+            .append("    list item {\n")
+            .append("      key name;\n")
+            .append("      uses entry;\n")
+            .append("      container nested { uses entry; }\n")
+            .append("      leaf ref { type leafref { path \"../name\"; } }\n")
+            .append("    }\n")
+            .append("    choice mode {\n")
+            .append("      case a { leaf a { type boolean; } }\n")
+            .append("      case b { leaf b { type empty; } }\n")
+            .append("    }\n")
+            .append("  }\n");
+        if (index > 0) {
+            sb.append("  augment \"/prev:top\" {\n")
+                .append("    container from-bench-").append(index).append(" { uses prev:entry; }\n")
+                .append("  }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+}
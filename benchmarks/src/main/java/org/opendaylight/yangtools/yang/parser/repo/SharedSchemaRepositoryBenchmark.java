@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFluentFuture;
+
+import com.google.common.io.ByteSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserBenchmark;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToIRTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of adding a single module to a model assembled through a {@link SharedSchemaRepository}. The
+ * {@link #coldRepository()} case starts with an empty repository, hence all sources are parsed, while
+ * {@link #warmRepository()} reuses sources parsed for the smaller model. {@link #singleModule()} measures assembly
+ * of a single module, which is the cost an incremental reactor would be aiming for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+// Effective modules are built recursively along the chain of imports, which needs a deeper stack than the default
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class SharedSchemaRepositoryBenchmark {
+    private static final Revision REVISION = Revision.of("2021-01-01");
+    private static final SchemaContextFactoryConfiguration CONFIG = SchemaContextFactoryConfiguration.getDefault();
+
+    @Param({ "100", "500" })
+    public int moduleCount;
+
+    private final List<YangTextSchemaSource> sources = new ArrayList<>();
+    private final List<SourceIdentifier> identifiers = new ArrayList<>();
+    private SharedSchemaRepository warm;
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(".*" + SharedSchemaRepositoryBenchmark.class.getSimpleName() + ".*")
+            .build()).run();
+    }
+
+    @Setup
+    public void setup() throws ExecutionException, InterruptedException {
+        for (int i = 0; i <= moduleCount; ++i) {
+            final SourceIdentifier identifier = RevisionSourceIdentifier.create("bench-" + i, REVISION);
+            identifiers.add(identifier);
+            sources.add(YangTextSchemaSource.delegateForByteSource(identifier,
+                ByteSource.wrap(YangParserBenchmark.generateModule(i).getBytes(UTF_8))));
+        }
+
+        warm = newRepository();
+        new SharedEffectiveModelContextFactory(warm, CONFIG)
+            .createEffectiveModelContext(identifiers.subList(0, moduleCount)).get();
+    }
+
+    @Benchmark
+    public EffectiveModelContext coldRepository() throws ExecutionException, InterruptedException {
+        return new SharedEffectiveModelContextFactory(newRepository(), CONFIG).createEffectiveModelContext(identifiers)
+            .get();
+    }
+
+    @Benchmark
+    public EffectiveModelContext warmRepository() throws ExecutionException, InterruptedException {
+        return new SharedEffectiveModelContextFactory(warm, CONFIG).createEffectiveModelContext(identifiers).get();
+    }
+
+    @Benchmark
+    public EffectiveModelContext singleModule() throws ExecutionException, InterruptedException {
+        return new SharedEffectiveModelContextFactory(warm, CONFIG)
+            .createEffectiveModelContext(identifiers.get(0)).get();
+    }
+
+    private SharedSchemaRepository newRepository() {
+        final SharedSchemaRepository repository = new SharedSchemaRepository("benchmark");
+        repository.registerSchemaSourceListener(TextToIRTransformer.create(repository, repository));
+        for (int i = 0; i < sources.size(); ++i) {
+            final YangTextSchemaSource source = sources.get(i);
+            repository.registerSchemaSource(sourceIdentifier -> immediateFluentFuture(source),
+                PotentialSchemaSource.create(identifiers.get(i), YangTextSchemaSource.class, 1));
+        }
+        return repository;
+    }
+}
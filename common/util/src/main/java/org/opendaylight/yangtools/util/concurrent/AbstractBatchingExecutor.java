@@ -57,6 +57,8 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractSimpleIdentifiable
     private static final long TASK_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
 
     private final ConcurrentMap<K, DispatcherTask> dispatcherTasks = new ConcurrentHashMap<>();
+    private final Histogram dispatchLatency = new Histogram();
+    private final Histogram queueDepth = new Histogram();
     private final @NonNull Executor executor;
     private final int maxQueueCapacity;
 
@@ -81,6 +83,20 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractSimpleIdentifiable
         return executor;
     }
 
+    /**
+     * Returns the histogram of nanoseconds the oldest task of each batch has spent queued.
+     */
+    final @NonNull Histogram dispatchLatency() {
+        return dispatchLatency;
+    }
+
+    /**
+     * Returns the histogram of batch sizes, which is the queue depth at the time it is spliced.
+     */
+    final @NonNull Histogram queueDepth() {
+        return queueDepth;
+    }
+
     // FIXME: YANGTOOLS-1016: allow explicit blocking control
     final void submitTask(final K key, final T task) {
         submitTasks(key, Collections.singletonList(requireNonNull(task)));
@@ -169,9 +185,13 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractSimpleIdentifiable
         private final Queue<T> queue = new ArrayDeque<>();
         @GuardedBy("lock")
         private boolean exiting;
+        // Time when the oldest task currently in the queue was enqueued
+        @GuardedBy("lock")
+        private long oldestNanos;
 
         DispatcherTask(final @NonNull K key, final @NonNull Iterator<T> tasks) {
             this.key = requireNonNull(key);
+            oldestNanos = System.nanoTime();
             while (tasks.hasNext()) {
                 final T task = tasks.next();
                 if (task != null) {
@@ -231,6 +251,9 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractSimpleIdentifiable
                         continue;
                     }
 
+                    if (queue.isEmpty()) {
+                        oldestNanos = System.nanoTime();
+                    }
                     for (int i = 0; i < avail; ++i) {
                         if (!tasks.hasNext()) {
                             notEmpty.signal();
@@ -283,6 +306,8 @@ abstract class AbstractBatchingExecutor<K, T> extends AbstractSimpleIdentifiable
                         // Splice the entire queue
                         tasks = ImmutableList.copyOf(queue);
                         queue.clear();
+                        queueDepth.record(tasks.size());
+                        dispatchLatency.record(System.nanoTime() - oldestNanos);
 
                         notFull.signalAll();
                     } finally {
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A concurrent histogram recorder with power-of-two buckets. Recording a value is a single atomic increment and
+ * never allocates, which makes it suitable for use on dispatch paths.
+ */
+final class Histogram {
+    // Bucket 0 holds non-positive values, bucket i holds values in [2^(i-1), 2^i), the last bucket holds the rest
+    private static final int BUCKETS = 48;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(final long value) {
+        counts.incrementAndGet(bucketOf(value));
+    }
+
+    @NonNull HistogramStats snapshot() {
+        final long[] values = new long[BUCKETS];
+        int size = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            final long count = counts.get(i);
+            values[i] = count;
+            if (count != 0) {
+                size = i + 1;
+            }
+        }
+
+        final long[] bounds = new long[size];
+        for (int i = 0; i < size; ++i) {
+            bounds[i] = upperBoundOf(i);
+        }
+        return new HistogramStats(bounds, Arrays.copyOf(values, size));
+    }
+
+    private static int bucketOf(final long value) {
+        return value <= 0 ? 0 : Math.min(Long.SIZE - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+    }
+
+    private static long upperBoundOf(final int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
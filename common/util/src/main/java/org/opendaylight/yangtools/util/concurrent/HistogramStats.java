@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import java.util.Arrays;
+import javax.management.ConstructorParameters;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A snapshot of a histogram with power-of-two buckets, as exposed by {@link QueuedNotificationManagerMXBean}. Bucket
+ * {@code i} counts values which are less than or equal to {@code getUpperBounds()[i]} and greater than the upper bound
+ * of the previous bucket. Trailing empty buckets are not reported.
+ */
+@Beta
+@NonNullByDefault
+public final class HistogramStats {
+    static final HistogramStats EMPTY = new HistogramStats(new long[0], new long[0]);
+
+    private final long[] upperBounds;
+    private final long[] counts;
+
+    @ConstructorParameters({ "upperBounds", "counts" })
+    public HistogramStats(final long[] upperBounds, final long[] counts) {
+        checkArgument(upperBounds.length == counts.length, "Mismatched bounds %s and counts %s",
+            upperBounds.length, counts.length);
+        this.upperBounds = upperBounds.clone();
+        this.counts = counts.clone();
+    }
+
+    /**
+     * Returns inclusive upper bounds of individual buckets.
+     */
+    public long[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    /**
+     * Returns the number of values recorded in each bucket.
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Returns the total number of values recorded.
+     */
+    public long getTotalCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("HistogramStats{");
+        for (int i = 0; i < counts.length; ++i) {
+            if (counts[i] != 0) {
+                sb.append("<=").append(upperBounds[i]).append(": ").append(counts[i]).append(", ");
+            }
+        }
+        return sb.append("total=").append(getTotalCount()).append('}').toString();
+    }
+}
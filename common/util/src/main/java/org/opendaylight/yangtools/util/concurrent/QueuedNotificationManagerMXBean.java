@@ -11,7 +11,7 @@ import java.util.List;
 import javax.management.MXBean;
 
 /**
- * MXBean interface for {@link QueuedNotificationManager} statistic metrics.
+ * MXBean interface for {@link QueuedNotificationManager} and {@link ShardedNotificationManager} statistic metrics.
  *
  * @author Thomas Pantelis
  */
@@ -26,4 +26,21 @@ public interface QueuedNotificationManagerMXBean {
      * Returns the configured maximum listener queue size.
      */
     int getMaxListenerQueueSize();
+
+    /**
+     * Returns a histogram of the time, in nanoseconds, notifications spend queued before being dispatched to their
+     * listener. The default implementation reports an empty histogram, for implementations which do not track this
+     * metric.
+     */
+    default HistogramStats getDispatchLatencyHistogram() {
+        return HistogramStats.EMPTY;
+    }
+
+    /**
+     * Returns a histogram of listener queue depths observed at the time a batch of notifications is dispatched. The
+     * default implementation reports an empty histogram, for implementations which do not track this metric.
+     */
+    default HistogramStats getQueueDepthHistogram() {
+        return HistogramStats.EMPTY;
+    }
 }
@@ -35,4 +35,14 @@ final class QueuedNotificationManagerMXBeanImpl implements QueuedNotificationMan
     public int getMaxListenerQueueSize() {
         return manager.getMaxQueueCapacity();
     }
+
+    @Override
+    public HistogramStats getDispatchLatencyHistogram() {
+        return manager.dispatchLatency().snapshot();
+    }
+
+    @Override
+    public HistogramStats getQueueDepthHistogram() {
+        return manager.queueDepth().snapshot();
+    }
 }
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.AbstractSimpleIdentifiable;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.BatchedInvoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link NotificationManager} geared towards fan-out to a large number of listeners. Unlike
+ * {@link QueuedNotificationManager}, which maintains a lock-protected queue and a dispatcher task for each listener,
+ * this implementation hashes listeners onto a fixed number of shards. Each shard has a single lock-free queue, which
+ * is drained by at most one {@link Executor} thread at a time, hence notifications to a particular listener are
+ * always delivered in order and never concurrently. An executor with a fixed number of threads, equal to the number
+ * of shards, gives each shard its own thread.
+ *
+ * <p>
+ * When a shard is drained, notifications are grouped by listener and handed to the {@link BatchedInvoker}. The number
+ * of notifications drained in one go adapts to the backlog: it grows while the queue keeps being non-empty and
+ * shrinks back when it runs dry.
+ *
+ * <p>
+ * Each shard's queue is bounded by {@code maxQueueCapacity}. {@link #submitNotification(Object, Object)} waits for
+ * capacity to become available, just as {@link QueuedNotificationManager} does, while
+ * {@link #offerNotification(Object, Object)} reports backpressure to the caller instead. Notifications submitted from
+ * a shard's own dispatch thread are never rejected nor blocked, as doing so could deadlock the shard.
+ *
+ * <p>
+ * Listeners are compared by identity.
+ *
+ * @param <L> the listener type
+ * @param <N> the notification type
+ */
+@Beta
+public final class ShardedNotificationManager<L, N> extends AbstractSimpleIdentifiable<String>
+        implements NotificationManager<L, N> {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedNotificationManager.class);
+
+    // Same as AbstractBatchingExecutor
+    private static final int MAX_NOTIFICATION_OFFER_MINUTES = 10;
+    private static final long GIVE_UP_NANOS = TimeUnit.MINUTES.toNanos(MAX_NOTIFICATION_OFFER_MINUTES);
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final int MIN_BATCH_SIZE = 16;
+    private static final int MAX_BATCH_SIZE = 4096;
+    // Number of batches a shard processes before yielding its thread to other work submitted to the executor
+    private static final int MAX_BATCHES_PER_RUN = 64;
+
+    private final QueuedNotificationManagerMXBean mxBean = new MXBeanImpl();
+    private final Histogram dispatchLatency = new Histogram();
+    private final Histogram queueDepth = new Histogram();
+    private final @NonNull BatchedInvoker<L, N> listenerInvoker;
+    private final @NonNull Executor executor;
+    private final List<Shard> shards;
+    private final int maxQueueCapacity;
+
+    private ShardedNotificationManager(final @NonNull String name, final @NonNull Executor executor,
+            final int shardCount, final int maxQueueCapacity, final @NonNull BatchedInvoker<L, N> listenerInvoker) {
+        super(name);
+        this.executor = requireNonNull(executor);
+        this.listenerInvoker = requireNonNull(listenerInvoker);
+        checkArgument(shardCount > 0, "Invalid shardCount %s must be > 0", shardCount);
+        checkArgument(maxQueueCapacity > 0, "Invalid maxQueueCapacity %s must be > 0", maxQueueCapacity);
+        this.maxQueueCapacity = maxQueueCapacity;
+
+        final List<Shard> tmp = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; ++i) {
+            tmp.add(new Shard(i));
+        }
+        shards = List.copyOf(tmp);
+    }
+
+    /**
+     * Create a new notification manager.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchedInvoker} to use for invoking listeners
+     * @param shardCount the number of shards, which is the maximum number of concurrently running dispatch tasks
+     * @param maxQueueCapacity the capacity of each shard queue
+     * @param name the name of this instance for logging info
+     * @throws IllegalArgumentException if {@code shardCount} or {@code maxQueueCapacity} is not positive
+     */
+    public static <L, N> @NonNull ShardedNotificationManager<L, N> create(final @NonNull Executor executor,
+            final @NonNull BatchedInvoker<L, N> listenerInvoker, final int shardCount, final int maxQueueCapacity,
+            final @NonNull String name) {
+        return new ShardedNotificationManager<>(name, executor, shardCount, maxQueueCapacity, listenerInvoker);
+    }
+
+    /**
+     * Returns the {@link Executor} to used for notification tasks.
+     */
+    public @NonNull Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the maximum shard queue capacity.
+     */
+    public int getMaxQueueCapacity() {
+        return maxQueueCapacity;
+    }
+
+    /**
+     * Return an {@link QueuedNotificationManagerMXBean} tied to this instance. Queue statistics are reported for each
+     * listener with pending notifications.
+     *
+     * @return An QueuedNotificationManagerMXBean object.
+     */
+    public @NonNull QueuedNotificationManagerMXBean getMXBean() {
+        return mxBean;
+    }
+
+    @Override
+    public void submitNotification(final L listener, final N notification) {
+        if (listener != null && notification != null) {
+            submit(shardOf(listener), listener, notification);
+        }
+    }
+
+    @Override
+    public void submitNotifications(final L listener, final @Nullable Iterable<N> notifications) {
+        if (listener != null && notifications != null) {
+            final Shard shard = shardOf(listener);
+            for (N notification : notifications) {
+                if (notification != null && !submit(shard, listener, notification)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Offer a notification to be queued and dispatched to the given listener, without blocking.
+     *
+     * @param listener the listener to notify
+     * @param notification the notification to dispatch
+     * @return True if the notification was queued, false if the listener's queue is full
+     * @throws NullPointerException if any argument is null
+     * @throws RejectedExecutionException if the notification can't be queued for dispatching, in which case it is not
+     *                                    retained
+     */
+    public boolean offerNotification(final @NonNull L listener, final @NonNull N notification) {
+        return shardOf(requireNonNull(listener)).offer(new Pending<>(listener, requireNonNull(notification)));
+    }
+
+    private Shard shardOf(final L listener) {
+        // Spread the identity hash code, as shard count is typically small
+        final int hash = System.identityHashCode(listener);
+        return shards.get(Math.floorMod(hash ^ hash >>> 16, shards.size()));
+    }
+
+    private boolean submit(final Shard shard, final L listener, final N notification) {
+        final Pending<L, N> pending = new Pending<>(listener, notification);
+        if (shard.offer(pending)) {
+            return true;
+        }
+
+        LOG.trace("{}: shard {} is full, waiting to queue notification for {}", getIdentifier(), shard, listener);
+        final long deadline = System.nanoTime() + GIVE_UP_NANOS;
+        long backoff = MIN_BACKOFF_NANOS;
+        do {
+            if (System.nanoTime() - deadline >= 0) {
+                LOG.warn("{}: Failed to offer notification {} to the queue for listener {}. Exceeded maximum "
+                    + "allowable time of {} minutes; the listener is likely in an unrecoverable state (deadlock or "
+                    + "endless loop).", getIdentifier(), notification, listener, MAX_NOTIFICATION_OFFER_MINUTES);
+                return true;
+            }
+
+            LockSupport.parkNanos(this, backoff);
+            if (Thread.interrupted()) {
+                // Somebody's probably telling us to quit, restore the flag for them
+                Thread.currentThread().interrupt();
+                LOG.warn("{}: Interrupted trying to add to {} listener's queue", getIdentifier(), listener);
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        } while (!shard.offer(pending));
+
+        return true;
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    void invokeListener(final L listener, final ImmutableList<N> notifications) {
+        LOG.debug("{}: Invoking listener {} with notifications: {}", getIdentifier(), listener, notifications);
+        try {
+            listenerInvoker.invokeListener(listener, notifications);
+        } catch (Exception e) {
+            // We'll let a RuntimeException from the listener slide and keep sending any remaining notifications.
+            LOG.error("{}: Error invoking listener {} with {}", getIdentifier(), listener, notifications, e);
+        }
+    }
+
+    private static final class Pending<L, N> {
+        final @NonNull L listener;
+        final @NonNull N notification;
+        final long enqueuedNanos;
+
+        Pending(final @NonNull L listener, final @NonNull N notification) {
+            this.listener = listener;
+            this.notification = notification;
+            enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * A single shard: a multi-producer queue drained by a single consumer. The consumer is scheduled on the executor
+     * when the first notification arrives and exits once the queue is empty.
+     */
+    private final class Shard implements Runnable {
+        private final ConcurrentLinkedQueue<Pending<L, N>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final int index;
+
+        // Thread currently draining this shard, used to prevent self-deadlock
+        private volatile Thread worker;
+        // Accessed only by the thread currently draining this shard
+        private int batchSize = MIN_BATCH_SIZE;
+
+        Shard(final int index) {
+            this.index = index;
+        }
+
+        boolean offer(final Pending<L, N> pending) {
+            if (depth.getAndIncrement() >= maxQueueCapacity && Thread.currentThread() != worker) {
+                depth.decrementAndGet();
+                return false;
+            }
+
+            queue.add(pending);
+            if (scheduled.compareAndSet(false, true)) {
+                LOG.debug("{}: Submitting dispatch task for shard {}", getIdentifier(), index);
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Nobody drains the queue while we hold the shard, hence we can reliably take our notification
+                    // back. Notifications queued by others meanwhile will be picked up when the next one gets
+                    // submitted.
+                    if (queue.remove(pending)) {
+                        depth.decrementAndGet();
+                    }
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            final Thread self = Thread.currentThread();
+            worker = self;
+            try {
+                for (int i = 0; i < MAX_BATCHES_PER_RUN; ++i) {
+                    dispatchBatch();
+                    if (queue.isEmpty()) {
+                        // Stop being the worker before releasing the shard, as a subsequent run may start as soon
+                        // as we do
+                        worker = null;
+                        scheduled.set(false);
+                        // Recheck after releasing: a producer may have enqueued without scheduling us
+                        if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                        worker = self;
+                    }
+                }
+            } finally {
+                // Do not clear the worker of a subsequent run
+                if (worker == self) {
+                    worker = null;
+                }
+            }
+
+            // We are still scheduled and have more work, but let others run first
+            LOG.trace("{}: Yielding shard {}", getIdentifier(), index);
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // The executor is probably shutting down, remaining notifications will be dispatched on next submit
+                LOG.debug("{}: Failed to reschedule shard {}", getIdentifier(), index, e);
+                scheduled.set(false);
+            }
+        }
+
+        private void dispatchBatch() {
+            queueDepth.record(depth.get());
+
+            final long now = System.nanoTime();
+            final Map<L, ImmutableList.Builder<N>> batches = new IdentityHashMap<>();
+            int count = 0;
+            while (count < batchSize) {
+                final Pending<L, N> pending = queue.poll();
+                if (pending == null) {
+                    break;
+                }
+                ++count;
+                dispatchLatency.record(now - pending.enqueuedNanos);
+                batches.computeIfAbsent(pending.listener, key -> ImmutableList.builder()).add(pending.notification);
+            }
+            depth.addAndGet(-count);
+
+            for (Entry<L, ImmutableList.Builder<N>> entry : batches.entrySet()) {
+                invokeListener(entry.getKey(), entry.getValue().build());
+            }
+
+            if (count == batchSize) {
+                batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+            } else if (count < batchSize / 4) {
+                batchSize = Math.max(batchSize / 2, MIN_BATCH_SIZE);
+            }
+        }
+
+        void collectStats(final Map<L, int[]> counts) {
+            for (Pending<L, N> pending : queue) {
+                counts.computeIfAbsent(pending.listener, key -> new int[1])[0]++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getIdentifier() + "-" + index;
+        }
+    }
+
+    private final class MXBeanImpl implements QueuedNotificationManagerMXBean {
+        @Override
+        public List<ListenerNotificationQueueStats> getCurrentListenerQueueStats() {
+            final Map<L, int[]> counts = new IdentityHashMap<>();
+            for (Shard shard : shards) {
+                shard.collectStats(counts);
+            }
+
+            final List<ListenerNotificationQueueStats> ret = new ArrayList<>(counts.size());
+            for (Entry<L, int[]> entry : counts.entrySet()) {
+                ret.add(new ListenerNotificationQueueStats(entry.getKey().toString(), entry.getValue()[0]));
+            }
+            return ret;
+        }
+
+        @Override
+        public int getMaxListenerQueueSize() {
+            return maxQueueCapacity;
+        }
+
+        @Override
+        public HistogramStats getDispatchLatencyHistogram() {
+            return dispatchLatency.snapshot();
+        }
+
+        @Override
+        public HistogramStats getQueueDepthHistogram() {
+            return queueDepth.snapshot();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManagerTest.TestListener;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManagerTest.TestNotifier;
+
+public class ShardedNotificationManagerTest {
+    private ExecutorService executor;
+
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testNotificationOrder() throws InterruptedException {
+        executor = Executors.newFixedThreadPool(4);
+        final ShardedNotificationManager<TestListener<Integer>, Integer> manager =
+            ShardedNotificationManager.create(executor, new TestNotifier<>(), 4, 100, "TestMgr");
+
+        final int listenerCount = 50;
+        final int notificationCount = 200;
+        final List<TestListener<Integer>> listeners = new ArrayList<>(listenerCount);
+        final List<Integer> expected = new ArrayList<>(notificationCount);
+        for (int i = 0; i < notificationCount; ++i) {
+            expected.add(i);
+        }
+        for (int i = 0; i < listenerCount; ++i) {
+            listeners.add(new TestListener<>(notificationCount, i));
+        }
+
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < notificationCount; i += 2) {
+                for (TestListener<Integer> listener : listeners) {
+                    manager.submitNotifications(listener, List.of(i, i + 1));
+                }
+            }
+        });
+        producer.start();
+        producer.join();
+
+        for (TestListener<Integer> listener : listeners) {
+            listener.verifyNotifications(expected);
+        }
+
+        final QueuedNotificationManagerMXBean mxBean = manager.getMXBean();
+        assertEquals(100, mxBean.getMaxListenerQueueSize());
+        assertEquals(listenerCount * notificationCount, mxBean.getDispatchLatencyHistogram().getTotalCount());
+        assertTrue(mxBean.getQueueDepthHistogram().getTotalCount() > 0);
+    }
+
+    @Test
+    public void testDefaultHistograms() {
+        final QueuedNotificationManagerMXBean mxBean = new QueuedNotificationManagerMXBean() {
+            @Override
+            public List<ListenerNotificationQueueStats> getCurrentListenerQueueStats() {
+                return List.of();
+            }
+
+            @Override
+            public int getMaxListenerQueueSize() {
+                return 0;
+            }
+        };
+        assertEquals(0, mxBean.getDispatchLatencyHistogram().getTotalCount());
+        assertEquals(0, mxBean.getQueueDepthHistogram().getTotalCount());
+    }
+
+    @Test(timeout = 10000)
+    public void testBackpressure() {
+        executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ShardedNotificationManager<String, Integer> manager = ShardedNotificationManager.create(executor,
+            (listener, notifications) -> {
+                blocked.countDown();
+                Uninterruptibles.awaitUninterruptibly(release);
+            }, 1, 2, "TestMgr");
+
+        // The first notification is dequeued and blocks the shard, the next two fill the queue
+        assertTrue(manager.offerNotification("listener", 1));
+        Uninterruptibles.awaitUninterruptibly(blocked, 5, TimeUnit.SECONDS);
+        assertTrue(manager.offerNotification("listener", 2));
+        assertTrue(manager.offerNotification("listener", 3));
+        assertFalse(manager.offerNotification("listener", 4));
+
+        final List<ListenerNotificationQueueStats> stats = manager.getMXBean().getCurrentListenerQueueStats();
+        assertEquals(1, stats.size());
+        assertEquals("listener", stats.get(0).getListenerClassName());
+        assertEquals(2, stats.get(0).getCurrentQueueSize());
+
+        release.countDown();
+    }
+
+    @Test
+    public void testRejectedNotificationNotRetained() {
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        final List<Integer> delivered = new ArrayList<>();
+        final ShardedNotificationManager<String, Integer> manager = ShardedNotificationManager.create(command -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("rejected");
+            }
+            command.run();
+        }, (listener, notifications) -> delivered.addAll(notifications), 1, 1, "TestMgr");
+
+        assertThrows(RejectedExecutionException.class, () -> manager.offerNotification("listener", 1));
+        assertEquals(List.of(), manager.getMXBean().getCurrentListenerQueueStats());
+
+        // The rejected notification does not occupy the queue, nor is it delivered later on
+        reject.set(false);
+        assertTrue(manager.offerNotification("listener", 2));
+        assertEquals(List.of(2), delivered);
+    }
+}
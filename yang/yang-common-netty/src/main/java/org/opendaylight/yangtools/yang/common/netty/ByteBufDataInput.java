@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.common.netty;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataInput} reading directly from a {@link ByteBuf}, including {@link io.netty.buffer.CompositeByteBuf}s.
+ * This is the counterpart to {@link ByteBufDataOutput}, capable of reading data produced by any
+ * {@link java.io.DataOutput} implementation. Strings read by {@link #readUTF()} are decoded straight from the buffer
+ * when they are pure ASCII, which is the common case for YANG identifiers.
+ *
+ * <p>
+ * Attempts to read past the end of the buffer result in an {@link EOFException}. Instances are not thread-safe.
+ */
+@Beta
+public final class ByteBufDataInput implements DataInput {
+    private final @NonNull ByteBuf buf;
+
+    private ByteBufDataInput(final ByteBuf buf) {
+        this.buf = requireNonNull(buf);
+    }
+
+    /**
+     * Create a new input, which reads from specified buffer, starting at its current reader index.
+     *
+     * @param buf Source buffer
+     * @return A new input
+     * @throws NullPointerException if {@code buf} is null
+     */
+    public static @NonNull ByteBufDataInput of(final ByteBuf buf) {
+        return new ByteBufDataInput(buf);
+    }
+
+    @Override
+    public void readFully(final byte[] bytes) throws IOException {
+        readFully(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void readFully(final byte[] bytes, final int off, final int len) throws IOException {
+        ensureReadable(len).readBytes(bytes, off, len);
+    }
+
+    @Override
+    public int skipBytes(final int count) {
+        final int skipped = Math.max(0, Math.min(count, buf.readableBytes()));
+        buf.skipBytes(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return ensureReadable(Byte.BYTES).readBoolean();
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return ensureReadable(Byte.BYTES).readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return ensureReadable(Byte.BYTES).readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return ensureReadable(Short.BYTES).readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return ensureReadable(Short.BYTES).readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return ensureReadable(Character.BYTES).readChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return ensureReadable(Integer.BYTES).readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return ensureReadable(Long.BYTES).readLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return ensureReadable(Float.BYTES).readFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return ensureReadable(Double.BYTES).readDouble();
+    }
+
+    @Override
+    public String readLine() {
+        if (!buf.isReadable()) {
+            return null;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        while (buf.isReadable()) {
+            final int ch = buf.readUnsignedByte();
+            if (ch == '\n') {
+                break;
+            }
+            if (ch == '\r') {
+                if (buf.isReadable() && buf.getByte(buf.readerIndex()) == '\n') {
+                    buf.skipBytes(1);
+                }
+                break;
+            }
+            sb.append((char) ch);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        final int start = buf.readerIndex();
+        final int utflen = ensureReadable(Short.BYTES).getUnsignedShort(start);
+        ensureReadable(Short.BYTES + utflen);
+
+        final int data = start + Short.BYTES;
+        if (buf.forEachByte(data, utflen, value -> value > 0) == -1) {
+            // Fast path: all bytes are ASCII, hence modified UTF-8 is the same as US-ASCII
+            buf.readerIndex(data + utflen);
+            return buf.toString(data, utflen, StandardCharsets.US_ASCII);
+        }
+
+        // Slow path: let DataInputStream deal with the details of modified UTF-8
+        return DataInputStream.readUTF(this);
+    }
+
+    private ByteBuf ensureReadable(final int bytes) throws EOFException {
+        if (buf.readableBytes() < bytes) {
+            throw new EOFException("Attempted to read " + bytes + " bytes, only " + buf.readableBytes()
+                + " available");
+        }
+        return buf;
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.common.netty;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link DataOutput} writing directly into a {@link ByteBuf}. This is a replacement for stacking
+ * {@link java.io.DataOutputStream} on top of {@link io.netty.buffer.ByteBufOutputStream}: all primitives, including
+ * {@link #writeUTF(String)}, are encoded straight into the buffer without going through an intermediate stream or
+ * byte array. The produced encoding is the same as that of {@link java.io.DataOutputStream}.
+ *
+ * <p>
+ * Two modes of operation are available:
+ * <ul>
+ *   <li>{@link #of(ByteBuf)}, which appends to an existing buffer. The buffer expands as needed.</li>
+ *   <li>{@link #composite(ByteBufAllocator, int)}, which allocates fixed-size chunks from an allocator and assembles
+ *       them into a {@link CompositeByteBuf}. This avoids copying already-written data when the output grows, which
+ *       makes it suitable for serializing large amounts of data into pooled direct buffers.</li>
+ * </ul>
+ *
+ * <p>
+ * Composite outputs own the buffers they have allocated until {@link #toByteBuf()} is invoked. If that does not
+ * happen, for example because serialization has failed, the output needs to be {@link #close()}d, which releases
+ * them.
+ *
+ * <p>
+ * Instances are not thread-safe.
+ */
+@Beta
+public final class ByteBufDataOutput implements DataOutput, AutoCloseable {
+    private final @Nullable ByteBufAllocator allocator;
+    private final @Nullable CompositeByteBuf composite;
+    private final int chunkSize;
+
+    private ByteBuf current;
+    private boolean finished;
+
+    private ByteBufDataOutput(final ByteBuf buffer) {
+        current = requireNonNull(buffer);
+        allocator = null;
+        composite = null;
+        chunkSize = 0;
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private ByteBufDataOutput(final ByteBufAllocator allocator, final int chunkSize) {
+        this.allocator = requireNonNull(allocator);
+        this.chunkSize = chunkSize;
+        composite = allocator.compositeDirectBuffer(Integer.MAX_VALUE);
+        try {
+            current = allocator.directBuffer(chunkSize, chunkSize);
+        } catch (RuntimeException | Error e) {
+            composite.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Create a new output, which appends data to specified buffer.
+     *
+     * @param buffer Target buffer
+     * @return A new output
+     * @throws NullPointerException if {@code buffer} is null
+     */
+    public static @NonNull ByteBufDataOutput of(final ByteBuf buffer) {
+        return new ByteBufDataOutput(buffer);
+    }
+
+    /**
+     * Create a new output, which allocates direct buffers of specified size from an allocator and assembles them into
+     * a {@link CompositeByteBuf}. The result needs to be retrieved via {@link #toByteBuf()}.
+     *
+     * @param allocator Allocator to use
+     * @param chunkSize Size of allocated buffers
+     * @return A new output
+     * @throws NullPointerException if {@code allocator} is null
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive
+     */
+    public static @NonNull ByteBufDataOutput composite(final ByteBufAllocator allocator, final int chunkSize) {
+        checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+        return new ByteBufDataOutput(allocator, chunkSize);
+    }
+
+    /**
+     * Return the buffer holding the data written to this output. For outputs created via {@link #of(ByteBuf)} this is
+     * the buffer passed to that method. For composite outputs this is the assembled {@link CompositeByteBuf}, whose
+     * ownership is transferred to the caller. In both cases this output must not be used afterwards.
+     *
+     * @return Buffer holding written data
+     * @throws IllegalStateException if this method has already been invoked on a composite output
+     */
+    public @NonNull ByteBuf toByteBuf() {
+        if (composite == null) {
+            return current;
+        }
+
+        checkNotFinished();
+        appendCurrent();
+        finished = true;
+        return composite;
+    }
+
+    /**
+     * Release any buffers allocated by this output, unless their ownership has been transferred by
+     * {@link #toByteBuf()}. This method does nothing for outputs created via {@link #of(ByteBuf)}, as the buffer is
+     * owned by the caller. The output must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (composite != null && !finished) {
+            finished = true;
+            if (current != null) {
+                current.release();
+                current = null;
+            }
+            composite.release();
+        }
+    }
+
+    @Override
+    public void write(final int value) {
+        ensureWritable(Byte.BYTES).writeByte(value);
+    }
+
+    @Override
+    public void write(final byte[] bytes) {
+        write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) {
+        if (composite == null) {
+            current.writeBytes(bytes, off, len);
+            return;
+        }
+
+        // Fill up the current chunk and then continue with fresh ones
+        ensureWritable(0);
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!current.isWritable()) {
+                nextChunk(chunkSize);
+            }
+            final int chunk = Math.min(remaining, current.writableBytes());
+            current.writeBytes(bytes, offset, chunk);
+            offset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) {
+        ensureWritable(Byte.BYTES).writeBoolean(value);
+    }
+
+    @Override
+    public void writeByte(final int value) {
+        ensureWritable(Byte.BYTES).writeByte(value);
+    }
+
+    @Override
+    public void writeShort(final int value) {
+        ensureWritable(Short.BYTES).writeShort(value);
+    }
+
+    @Override
+    public void writeChar(final int value) {
+        ensureWritable(Character.BYTES).writeChar(value);
+    }
+
+    @Override
+    public void writeInt(final int value) {
+        ensureWritable(Integer.BYTES).writeInt(value);
+    }
+
+    @Override
+    public void writeLong(final long value) {
+        ensureWritable(Long.BYTES).writeLong(value);
+    }
+
+    @Override
+    public void writeFloat(final float value) {
+        ensureWritable(Float.BYTES).writeFloat(value);
+    }
+
+    @Override
+    public void writeDouble(final double value) {
+        ensureWritable(Double.BYTES).writeDouble(value);
+    }
+
+    @Override
+    public void writeBytes(final String str) {
+        final int len = str.length();
+        for (int i = 0; i < len; ++i) {
+            writeByte(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(final String str) {
+        final int len = str.length();
+        for (int i = 0; i < len; ++i) {
+            writeChar(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(final String str) throws UTFDataFormatException {
+        final int strlen = str.length();
+        int utflen = strlen;
+        for (int i = 0; i < strlen; ++i) {
+            final char ch = str.charAt(i);
+            if (ch >= 0x80 || ch == 0) {
+                utflen += ch >= 0x800 ? 2 : 1;
+            }
+        }
+        if (utflen > 65535) {
+            throw new UTFDataFormatException("Encoded string too long: " + utflen + " bytes");
+        }
+
+        // Modified UTF-8 encoding, as defined by DataOutput, encoded into a single contiguous region
+        final ByteBuf buf = ensureWritable(Short.BYTES + utflen);
+        buf.writeShort(utflen);
+        if (utflen == strlen) {
+            for (int i = 0; i < strlen; ++i) {
+                buf.writeByte(str.charAt(i));
+            }
+            return;
+        }
+
+        for (int i = 0; i < strlen; ++i) {
+            final char ch = str.charAt(i);
+            if (ch != 0 && ch < 0x80) {
+                buf.writeByte(ch);
+            } else if (ch < 0x800) {
+                buf.writeByte(0xC0 | ch >> 6 & 0x1F);
+                buf.writeByte(0x80 | ch & 0x3F);
+            } else {
+                buf.writeByte(0xE0 | ch >> 12 & 0x0F);
+                buf.writeByte(0x80 | ch >> 6 & 0x3F);
+                buf.writeByte(0x80 | ch & 0x3F);
+            }
+        }
+    }
+
+    private ByteBuf ensureWritable(final int bytes) {
+        checkNotFinished();
+        if (composite != null && current.writableBytes() < bytes) {
+            nextChunk(Math.max(bytes, chunkSize));
+        }
+        return current;
+    }
+
+    private void checkNotFinished() {
+        // current is also null if we have failed to allocate the next chunk
+        checkState(current != null, "Output has already been finished or has failed");
+    }
+
+    private void nextChunk(final int size) {
+        appendCurrent();
+        current = allocator.directBuffer(size, size);
+    }
+
+    private void appendCurrent() {
+        // Ownership passes to the composite, make sure close() does not release it again if we fail
+        final ByteBuf buf = current;
+        current = null;
+        if (buf.isReadable()) {
+            composite.addComponent(true, buf);
+        } else {
+            buf.release();
+        }
+    }
+}
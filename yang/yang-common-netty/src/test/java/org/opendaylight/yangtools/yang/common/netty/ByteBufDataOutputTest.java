@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.common.netty;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ByteBufDataOutputTest {
+    private static final String ASCII = "ietf-interfaces:interfaces";
+    private static final String NON_ASCII = "\u0000 príliš žluťoučký kůň €";
+
+    @Test
+    public void testSingleBuffer() throws IOException {
+        final ByteBuf buf = Unpooled.buffer(1);
+        writeAll(ByteBufDataOutput.of(buf));
+        assertArrayEquals(expectedBytes(), ByteBufUtil.getBytes(buf));
+        readAll(buf);
+    }
+
+    @Test
+    public void testComposite() throws IOException {
+        // Small chunks, so that every kind of write is split across chunk boundaries
+        final ByteBufDataOutput out = ByteBufDataOutput.composite(PooledByteBufAllocator.DEFAULT, 7);
+        writeAll(out);
+        final ByteBuf buf = out.toByteBuf();
+        try {
+            assertEquals(CompositeByteBuf.class, buf.getClass());
+            assertArrayEquals(expectedBytes(), ByteBufUtil.getBytes(buf));
+            readAll(buf);
+        } finally {
+            buf.release();
+        }
+
+        assertThrows(IllegalStateException.class, out::toByteBuf);
+        assertThrows(IllegalStateException.class, () -> out.writeInt(0));
+    }
+
+    @Test
+    public void testCompositeReleasedOnClose() throws IOException {
+        final TrackingAllocator allocator = new TrackingAllocator();
+        final ByteBufDataOutput out = ByteBufDataOutput.composite(allocator, 7);
+        writeAll(out);
+        assertThrows(UTFDataFormatException.class, () -> out.writeUTF("€".repeat(30000)));
+        out.close();
+
+        allocator.assertReleased();
+        assertThrows(IllegalStateException.class, () -> out.writeInt(0));
+        assertThrows(IllegalStateException.class, out::toByteBuf);
+    }
+
+    @Test
+    public void testCompositeOwnershipTransferred() throws IOException {
+        final TrackingAllocator allocator = new TrackingAllocator();
+        final ByteBuf buf;
+        try (ByteBufDataOutput out = ByteBufDataOutput.composite(allocator, 7)) {
+            writeAll(out);
+            buf = out.toByteBuf();
+        }
+
+        // close() must not have touched the result
+        assertEquals(1, buf.refCnt());
+        assertArrayEquals(expectedBytes(), ByteBufUtil.getBytes(buf));
+        buf.release();
+        allocator.assertReleased();
+    }
+
+    @Test
+    public void testLongUTF() {
+        final ByteBufDataOutput out = ByteBufDataOutput.of(Unpooled.buffer());
+        assertThrows(UTFDataFormatException.class, () -> out.writeUTF("€".repeat(30000)));
+    }
+
+    @Test
+    public void testTruncatedInput() throws IOException {
+        final ByteBufDataInput in = ByteBufDataInput.of(Unpooled.wrappedBuffer(new byte[] { 0, 1, 2 }));
+        assertThrows(EOFException.class, in::readInt);
+        assertEquals(1, in.readShort());
+        assertThrows(EOFException.class, in::readUTF);
+        assertEquals(1, in.skipBytes(5));
+        assertNull(in.readLine());
+    }
+
+    /**
+     * An allocator which keeps track of all buffers it has handed out, so we can assert none of them has leaked.
+     */
+    private static final class TrackingAllocator extends AbstractByteBufAllocator {
+        private final List<ByteBuf> allocated = new ArrayList<>();
+
+        TrackingAllocator() {
+            super(true);
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return false;
+        }
+
+        @Override
+        protected ByteBuf newHeapBuffer(final int initialCapacity, final int maxCapacity) {
+            return track(Unpooled.buffer(initialCapacity, maxCapacity));
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(final int initialCapacity, final int maxCapacity) {
+            return track(Unpooled.directBuffer(initialCapacity, maxCapacity));
+        }
+
+        private ByteBuf track(final ByteBuf buf) {
+            allocated.add(buf);
+            return buf;
+        }
+
+        void assertReleased() {
+            assertFalse(allocated.isEmpty());
+            for (ByteBuf buf : allocated) {
+                assertEquals(0, buf.refCnt());
+            }
+        }
+    }
+
+    private static byte[] expectedBytes() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bos)) {
+            writeAll(dos);
+        }
+        return bos.toByteArray();
+    }
+
+    private static void writeAll(final DataOutput out) throws IOException {
+        out.writeBoolean(true);
+        out.writeByte(0x7F);
+        out.writeShort(0x1234);
+        out.writeChar('€');
+        out.writeInt(0x12345678);
+        out.writeLong(0x123456789ABCDEF0L);
+        out.writeFloat(1.5F);
+        out.writeDouble(-2.25);
+        out.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 });
+        out.writeUTF(ASCII);
+        out.writeUTF(NON_ASCII);
+        out.writeUTF("");
+        out.writeChars("ab");
+        out.writeBytes("line\r\nnext\n");
+    }
+
+    private static void readAll(final ByteBuf buf) throws IOException {
+        final ByteBufDataInput in = ByteBufDataInput.of(buf);
+        assertEquals(true, in.readBoolean());
+        assertEquals(0x7F, in.readByte());
+        assertEquals(0x1234, in.readShort());
+        assertEquals('€', in.readChar());
+        assertEquals(0x12345678, in.readInt());
+        assertEquals(0x123456789ABCDEF0L, in.readLong());
+        assertEquals(1.5F, in.readFloat(), 0);
+        assertEquals(-2.25, in.readDouble(), 0);
+        final byte[] bytes = new byte[15];
+        in.readFully(bytes);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 }, bytes);
+        assertEquals(ASCII, in.readUTF());
+        assertEquals(NON_ASCII, in.readUTF());
+        assertEquals("", in.readUTF());
+        assertEquals('a', in.readChar());
+        assertEquals('b', in.readChar());
+        assertEquals("line", in.readLine());
+        assertEquals("next", in.readLine());
+        assertNull(in.readLine());
+    }
+}
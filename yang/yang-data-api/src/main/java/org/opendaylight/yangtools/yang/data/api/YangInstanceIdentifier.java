@@ -377,25 +377,34 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private static int hashCode(final Object value) {
+        // Check the usual key value types first, so they do not have to go through Class.isArray()
+        if (value instanceof String || value instanceof Number) {
+            return value.hashCode();
+        }
         if (value == null) {
             return 0;
         }
-
-        if (byte[].class.equals(value.getClass())) {
+        if (value instanceof byte[]) {
             return Arrays.hashCode((byte[]) value);
         }
-
-        if (value.getClass().isArray()) {
+        if (value instanceof Object[]) {
             int hash = 0;
-            int length = Array.getLength(value);
-            for (int i = 0; i < length; i++) {
-                hash += Objects.hashCode(Array.get(value, i));
+            for (Object element : (Object[]) value) {
+                hash += Objects.hashCode(element);
             }
-
             return hash;
         }
+        return value.getClass().isArray() ? primitiveArrayHashCode(value) : value.hashCode();
+    }
 
-        return Objects.hashCode(value);
+    private static int primitiveArrayHashCode(final Object array) {
+        // Uncommon, hence we do not mind Array.get() boxing the elements
+        int hash = 0;
+        final int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            hash += Objects.hashCode(Array.get(array, i));
+        }
+        return hash;
     }
 
     final Object writeReplace() {
@@ -480,7 +489,8 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
     private abstract static class AbstractPathArgument implements PathArgument {
         private static final long serialVersionUID = -4546547994250849340L;
         private final @NonNull QName nodeType;
-        private transient volatile int hashValue;
+        // Racy single-check caching, just like String.hashCode()
+        private transient int hashValue;
 
         protected AbstractPathArgument(final QName nodeType) {
             this.nodeType = requireNonNull(nodeType);
@@ -516,7 +526,15 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
                 return false;
             }
 
-            return getNodeType().equals(((AbstractPathArgument)obj).getNodeType());
+            final AbstractPathArgument other = (AbstractPathArgument) obj;
+            // Short-circuit on hash codes if both of them are already known
+            final int local = hashValue;
+            final int otherLocal = other.hashValue;
+            if (local != 0 && otherLocal != 0 && local != otherLocal) {
+                return false;
+            }
+            // QNames are usually interned, in which case QName.equals() is an identity check
+            return nodeType.equals(other.nodeType);
         }
 
         @Override
@@ -642,6 +660,11 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
             Object keyValue(final QName qname) {
                 return key.equals(qname) ? value : null;
             }
+
+            @Override
+            int predicatesHashCode() {
+                return key.hashCode() + YangInstanceIdentifier.hashCode(value);
+            }
         }
 
         private static final class Regular extends NodeIdentifierWithPredicates {
@@ -689,6 +712,20 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
                 return keyValues.get(qname);
             }
 
+            @Override
+            int predicatesHashCode() {
+                // The hash code is a sum over all entries, hence we can add keys and values separately, without
+                // iterating over Map.Entry objects, which may need to be instantiated.
+                int result = 0;
+                for (QName key : keyValues.keySet()) {
+                    result += key.hashCode();
+                }
+                for (Object value : keyValues.values()) {
+                    result += YangInstanceIdentifier.hashCode(value);
+                }
+                return result;
+            }
+
             @Override
             boolean equalMapping(final NodeIdentifierWithPredicates other) {
                 final Map<QName, Object> otherKeyValues = ((Regular) other).keyValues;
@@ -810,11 +847,7 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
 
         @Override
         protected final int hashCodeImpl() {
-            int result = 31 * super.hashCodeImpl();
-            for (Entry<QName, Object> entry : entrySet()) {
-                result += entry.getKey().hashCode() + YangInstanceIdentifier.hashCode(entry.getValue());
-            }
-            return result;
+            return 31 * super.hashCodeImpl() + predicatesHashCode();
         }
 
         @Override
@@ -825,6 +858,13 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
 
         abstract boolean equalMapping(NodeIdentifierWithPredicates other);
 
+        /**
+         * Return the sum of {@code key.hashCode() + YangInstanceIdentifier.hashCode(value)} over all predicates.
+         *
+         * @return Hash code of predicates
+         */
+        abstract int predicatesHashCode();
+
         abstract @Nullable Object keyValue(@NonNull QName qname);
 
         @Override
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Implementation of {@link DataTreeCandidates#aggregate(List)}. The input nodes are partitioned by subtree: each node
+ * of the resulting tree is computed from the ordered list of input nodes with the same path, independently of its
+ * siblings. Subtrees modified by enough candidates are aggregated in parallel as {@link ForkJoinTask}s. These run in
+ * the {@link java.util.concurrent.ForkJoinPool} the caller is running in, or in
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()} if the caller is not running in a pool.
+ *
+ * <p>
+ * The result records only the net change: nodes whose modifications cancel out, such as a write followed by a delete
+ * of a previously non-existent node, are removed. Children of {@link ModificationType#WRITE} and
+ * {@link ModificationType#DELETE} nodes are retained, as long as they carry a net change.
+ */
+final class DataTreeCandidateAggregator {
+    /**
+     * Aggregation of a single subtree, executed in a {@link java.util.concurrent.ForkJoinPool}.
+     */
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Tasks are never serialized")
+    private static final class SubtreeTask extends RecursiveTask<TerminalDataTreeCandidateNode> {
+        private static final long serialVersionUID = 1L;
+
+        private final PathArgument identifier;
+        private final List<DataTreeCandidateNode> inputs;
+
+        SubtreeTask(final PathArgument identifier, final List<DataTreeCandidateNode> inputs) {
+            this.identifier = requireNonNull(identifier);
+            this.inputs = requireNonNull(inputs);
+        }
+
+        @Override
+        protected TerminalDataTreeCandidateNode compute() {
+            return aggregateNode(identifier, inputs);
+        }
+    }
+
+    /**
+     * Minimum number of input nodes for a particular node, which makes it worthwhile to aggregate its children
+     * in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private DataTreeCandidateAggregator() {
+        // Hidden on purpose
+    }
+
+    static DataTreeCandidateNode aggregate(final List<DataTreeCandidateNode> roots) {
+        final DataTreeCandidateNode first = roots.get(0);
+        final DataTreeCandidateNode last = roots.get(roots.size() - 1);
+        final NormalizedNode before = first.getDataBefore().orElse(null);
+        final ModificationType lastModification = last.getModificationType();
+        switch (lastModification) {
+            case DELETE:
+                final ModificationType firstModification = first.getModificationType();
+                // Check if node had data before
+                if (firstModification == ModificationType.DELETE
+                        || firstModification == ModificationType.DISAPPEARED
+                        || firstModification == ModificationType.UNMODIFIED && before == null) {
+                    illegalModification(ModificationType.DELETE, ModificationType.DELETE);
+                }
+                return before == null ? new TerminalDataTreeCandidateNode(null, ModificationType.UNMODIFIED, null, null)
+                    : new TerminalDataTreeCandidateNode(null, ModificationType.DELETE, before, null);
+            case WRITE:
+                return new TerminalDataTreeCandidateNode(null, ModificationType.WRITE, before,
+                    last.getDataAfter().orElseThrow());
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+            case UNMODIFIED:
+                // No luck, we need to iterate
+                break;
+            default:
+                throw new IllegalStateException("Unsupported modification type " + lastModification);
+        }
+
+        final TerminalDataTreeCandidateNode root = aggregateNode(null, roots);
+        if (root == null) {
+            return new TerminalDataTreeCandidateNode(null, ModificationType.UNMODIFIED, before,
+                last.getDataAfter().orElse(null));
+        }
+        // Root data after is always taken from the last candidate, even if it is unmodified
+        final TerminalDataTreeCandidateNode ret = new TerminalDataTreeCandidateNode(null, root.getModificationType(),
+            before, last.getDataAfter().orElse(null));
+        root.getChildNodes().forEach(ret::addChildNode);
+        return ret;
+    }
+
+    /**
+     * Aggregate a single node.
+     *
+     * @param identifier Node identifier, {@code null} for the root node
+     * @param inputs Input nodes, in the order of their candidates
+     * @return Aggregated node, or {@code null} if the inputs cancel each other out
+     * @throws IllegalArgumentException if the inputs describe an impossible sequence of modifications
+     */
+    static @Nullable TerminalDataTreeCandidateNode aggregateNode(final @Nullable PathArgument identifier,
+            final List<DataTreeCandidateNode> inputs) {
+        final NormalizedNode before = inputs.get(0).getDataBefore().orElse(null);
+        NormalizedNode after = before;
+        ModificationType modification = ModificationType.UNMODIFIED;
+        for (DataTreeCandidateNode input : inputs) {
+            final ModificationType inputModification = input.getModificationType();
+            if (inputModification != ModificationType.UNMODIFIED) {
+                modification = compressModifications(modification, inputModification, after == null);
+                after = input.getDataAfter().orElse(null);
+            }
+        }
+
+        switch (modification) {
+            case UNMODIFIED:
+                return null;
+            case WRITE:
+                if (before == after) {
+                    return null;
+                }
+                break;
+            case DELETE:
+                if (before == null) {
+                    return null;
+                }
+                break;
+            case APPEARED:
+                if (before != null) {
+                    illegalModification(ModificationType.APPEARED, ModificationType.WRITE);
+                }
+                break;
+            case DISAPPEARED:
+                if (before == null) {
+                    return null;
+                }
+                break;
+            case SUBTREE_MODIFIED:
+                if (before == null) {
+                    illegalModification(ModificationType.SUBTREE_MODIFIED, ModificationType.DELETE);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported modification type " + modification);
+        }
+
+        // Partition children of modified inputs by their identifier, retaining their order
+        final Map<PathArgument, List<DataTreeCandidateNode>> childInputs = new HashMap<>();
+        for (DataTreeCandidateNode input : inputs) {
+            if (input.getModificationType() != ModificationType.UNMODIFIED) {
+                for (DataTreeCandidateNode child : input.getChildNodes()) {
+                    childInputs.computeIfAbsent(child.getIdentifier(), key -> new ArrayList<>(2)).add(child);
+                }
+            }
+        }
+
+        final TerminalDataTreeCandidateNode ret = new TerminalDataTreeCandidateNode(identifier, modification, before,
+            after);
+        if (inputs.size() >= PARALLEL_THRESHOLD && childInputs.size() > 1) {
+            final List<SubtreeTask> tasks = new ArrayList<>(childInputs.size());
+            for (Entry<PathArgument, List<DataTreeCandidateNode>> entry : childInputs.entrySet()) {
+                tasks.add(new SubtreeTask(entry.getKey(), entry.getValue()));
+            }
+            for (SubtreeTask task : ForkJoinTask.invokeAll(tasks)) {
+                addChild(ret, task.join());
+            }
+        } else {
+            for (Entry<PathArgument, List<DataTreeCandidateNode>> entry : childInputs.entrySet()) {
+                addChild(ret, aggregateNode(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        // Writes and deletes are net changes on their own, any other modification of a subtree without any net changes
+        // to it is a no-op
+        return modification == ModificationType.WRITE || modification == ModificationType.DELETE
+            || !ret.getChildNodes().isEmpty() ? ret : null;
+    }
+
+    private static void addChild(final TerminalDataTreeCandidateNode parent,
+            final @Nullable TerminalDataTreeCandidateNode child) {
+        if (child != null) {
+            parent.addChildNode(child);
+        }
+    }
+
+    private static ModificationType compressModifications(final ModificationType firstModification,
+                                                          final ModificationType secondModification,
+                                                          final boolean hasNoDataBefore) {
+        switch (firstModification) {
+            case UNMODIFIED:
+                if (hasNoDataBefore) {
+                    switch (secondModification) {
+                        case UNMODIFIED:
+                        case WRITE:
+                        case APPEARED:
+                            return secondModification;
+                        case DELETE:
+                            return illegalModification(ModificationType.DELETE, ModificationType.DELETE);
+                        case SUBTREE_MODIFIED:
+                            return illegalModification(ModificationType.SUBTREE_MODIFIED, ModificationType.DELETE);
+                        case DISAPPEARED:
+                            return illegalModification(ModificationType.DISAPPEARED, ModificationType.DELETE);
+                        default:
+                            throw new IllegalStateException("Unsupported modification type " + secondModification);
+                    }
+                }
+                if (secondModification == ModificationType.APPEARED) {
+                    return illegalModification(ModificationType.APPEARED, ModificationType.WRITE);
+                }
+                return secondModification;
+            case WRITE:
+                switch (secondModification) {
+                    case UNMODIFIED:
+                    case WRITE:
+                    case SUBTREE_MODIFIED:
+                        return ModificationType.WRITE;
+                    case DELETE:
+                        return ModificationType.DELETE;
+                    case DISAPPEARED:
+                        return ModificationType.DISAPPEARED;
+                    case APPEARED:
+                        return illegalModification(ModificationType.APPEARED, firstModification);
+                    default:
+                        throw new IllegalStateException("Unsupported modification type " + secondModification);
+                }
+            case DELETE:
+                switch (secondModification) {
+                    case UNMODIFIED:
+                        return ModificationType.DELETE;
+                    case WRITE:
+                    case APPEARED:
+                        return ModificationType.WRITE;
+                    case DELETE:
+                        return illegalModification(ModificationType.DELETE, firstModification);
+                    case DISAPPEARED:
+                        return illegalModification(ModificationType.DISAPPEARED, firstModification);
+                    case SUBTREE_MODIFIED:
+                        return illegalModification(ModificationType.SUBTREE_MODIFIED, firstModification);
+                    default:
+                        throw new IllegalStateException("Unsupported modification type " + secondModification);
+                }
+            case APPEARED:
+                switch (secondModification) {
+                    case UNMODIFIED:
+                    case SUBTREE_MODIFIED:
+                        return ModificationType.APPEARED;
+                    case DELETE:
+                    case DISAPPEARED:
+                        return ModificationType.UNMODIFIED;
+                    case WRITE:
+                        return ModificationType.WRITE;
+                    case APPEARED:
+                        return illegalModification(ModificationType.APPEARED, firstModification);
+                    default:
+                        throw new IllegalStateException("Unsupported modification type " + secondModification);
+                }
+            case DISAPPEARED:
+                switch (secondModification) {
+                    case UNMODIFIED:
+                    case WRITE:
+                        return secondModification;
+                    case APPEARED:
+                        return ModificationType.SUBTREE_MODIFIED;
+                    case DELETE:
+                        return illegalModification(ModificationType.DELETE, firstModification);
+                    case DISAPPEARED:
+                        return illegalModification(ModificationType.DISAPPEARED, firstModification);
+
+                    case SUBTREE_MODIFIED:
+                        return illegalModification(ModificationType.SUBTREE_MODIFIED, firstModification);
+                    default:
+                        throw new IllegalStateException("Unsupported modification type " + secondModification);
+                }
+            case SUBTREE_MODIFIED:
+                switch (secondModification) {
+                    case UNMODIFIED:
+                    case SUBTREE_MODIFIED:
+                        return ModificationType.SUBTREE_MODIFIED;
+                    case WRITE:
+                    case DELETE:
+                    case DISAPPEARED:
+                        return secondModification;
+                    case APPEARED:
+                        return illegalModification(ModificationType.APPEARED, firstModification);
+                    default:
+                        throw new IllegalStateException("Unsupported modification type " + secondModification);
+                }
+            default:
+                throw new IllegalStateException("Unsupported modification type " + secondModification);
+        }
+    }
+
+    private static ModificationType illegalModification(final ModificationType first, final ModificationType second) {
+        throw new IllegalArgumentException(first + " modification event on " + second + " node");
+    }
+}
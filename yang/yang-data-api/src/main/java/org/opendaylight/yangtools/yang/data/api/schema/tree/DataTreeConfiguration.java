@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
@@ -24,6 +25,10 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
  * <li>treeType</li>
  * <li>enable/disable unique indexes and unique constraint validation</li>
  * <li>enable/disable mandatory nodes validation</li>
+ * <li>enable/disable rebasing of non-conflicting candidates on commit</li>
+ * <li>threshold for parallel application of sibling modifications</li>
+ * <li>enable/disable must and when constraint validation</li>
+ * <li>size of the per-snapshot read cache</li>
  * </ul>
  *
  * <p>
@@ -50,13 +55,22 @@ public class DataTreeConfiguration implements Immutable {
     private final @NonNull YangInstanceIdentifier rootPath;
     private final boolean uniqueIndexes;
     private final boolean mandatoryNodesValidation;
+    private final boolean commitRebase;
+    private final int parallelPrepareThreshold;
+    private final boolean xpathConstraintsValidation;
+    private final int readCacheSize;
 
     DataTreeConfiguration(final TreeType treeType, final YangInstanceIdentifier rootPath, final boolean uniqueIndexes,
-            final boolean mandatoryNodesValidation) {
+            final boolean mandatoryNodesValidation, final boolean commitRebase, final int parallelPrepareThreshold,
+            final boolean xpathConstraintsValidation, final int readCacheSize) {
         this.treeType = requireNonNull(treeType);
         this.rootPath = requireNonNull(rootPath);
         this.uniqueIndexes = uniqueIndexes;
         this.mandatoryNodesValidation = mandatoryNodesValidation;
+        this.commitRebase = commitRebase;
+        this.parallelPrepareThreshold = parallelPrepareThreshold;
+        this.xpathConstraintsValidation = xpathConstraintsValidation;
+        this.readCacheSize = readCacheSize;
     }
 
     public @NonNull YangInstanceIdentifier getRootPath() {
@@ -75,11 +89,62 @@ public class DataTreeConfiguration implements Immutable {
         return mandatoryNodesValidation;
     }
 
+    /**
+     * Check whether {@link DataTree#commit(DataTreeCandidate)} should attempt to rebase a candidate which was not
+     * prepared against the current tree state. A candidate can be rebased if none of the top-level children it
+     * modifies have been changed since it was prepared. If this option is disabled, such candidates are rejected.
+     * If {@link #isXPathConstraintsValidationEnabled()} is also set, {@code must} and {@code when} constraints affected
+     * by the candidate are validated again on the rebased tree and the commit fails if any of them is violated, as
+     * two candidates which are valid on their own may be invalid when combined.
+     *
+     * @return True if candidates should be rebased on commit
+     */
+    public boolean isCommitRebaseEnabled() {
+        return commitRebase;
+    }
+
+    /**
+     * Return the minimum number of modified siblings, which triggers their validation and application to be
+     * performed in parallel on the {@link java.util.concurrent.ForkJoinPool#commonPool()}. The results are
+     * identical to a sequential run, this option only affects how the work is scheduled.
+     *
+     * @return Minimum number of siblings to process in parallel, {@code 0} if parallel processing is disabled
+     */
+    public int getParallelPrepareThreshold() {
+        return parallelPrepareThreshold;
+    }
+
+    /**
+     * Check whether {@code must} and {@code when} constraints should be validated when a modification is validated.
+     * Only constraints which may be affected by the modification are evaluated. This option is currently effective
+     * only for data trees rooted at the conceptual root, i.e. with an empty {@link #getRootPath()}.
+     *
+     * @return True if {@code must} and {@code when} constraints should be validated
+     */
+    public boolean isXPathConstraintsValidationEnabled() {
+        return xpathConstraintsValidation;
+    }
+
+    /**
+     * Return the maximum number of {@link DataTreeSnapshot#readNode(YangInstanceIdentifier)} results remembered for
+     * a particular state of the tree. The cache is shared by all snapshots of that state and is discarded when a new
+     * state is committed, hence it never needs to be invalidated.
+     *
+     * @return Maximum number of cached lookups, {@code 0} if the read cache is disabled
+     */
+    public int getReadCacheSize() {
+        return readCacheSize;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("type", treeType).add("root", rootPath)
                 .add("mandatory", mandatoryNodesValidation)
-                .add("unique", uniqueIndexes).toString();
+                .add("unique", uniqueIndexes)
+                .add("rebase", commitRebase)
+                .add("parallelThreshold", parallelPrepareThreshold)
+                .add("xpath", xpathConstraintsValidation)
+                .add("readCache", readCacheSize).toString();
     }
 
     public static DataTreeConfiguration getDefault(final TreeType treeType) {
@@ -89,7 +154,8 @@ public class DataTreeConfiguration implements Immutable {
             case OPERATIONAL:
                 return DEFAULT_OPERATIONAL;
             default:
-                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.empty(), false, true);
+                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.empty(), false, true, false, 0,
+                    false, 0);
         }
     }
 
@@ -101,6 +167,10 @@ public class DataTreeConfiguration implements Immutable {
         return new Builder(treeType)
                 .setMandatoryNodesValidation(isMandatoryNodesValidationEnabled())
                 .setUniqueIndexes(isUniqueIndexEnabled())
+                .setCommitRebase(isCommitRebaseEnabled())
+                .setParallelPrepareThreshold(getParallelPrepareThreshold())
+                .setXPathConstraintsValidation(isXPathConstraintsValidationEnabled())
+                .setReadCacheSize(getReadCacheSize())
                 .setRootPath(getRootPath());
     }
 
@@ -109,6 +179,10 @@ public class DataTreeConfiguration implements Immutable {
         private YangInstanceIdentifier rootPath;
         private boolean uniqueIndexes;
         private boolean mandatoryNodesValidation;
+        private boolean commitRebase;
+        private int parallelPrepareThreshold;
+        private boolean xpathConstraintsValidation;
+        private int readCacheSize;
 
         public Builder(final TreeType treeType) {
             this.treeType = requireNonNull(treeType);
@@ -125,6 +199,28 @@ public class DataTreeConfiguration implements Immutable {
             return this;
         }
 
+        public Builder setCommitRebase(final boolean commitRebase) {
+            this.commitRebase = commitRebase;
+            return this;
+        }
+
+        public Builder setParallelPrepareThreshold(final int parallelPrepareThreshold) {
+            checkArgument(parallelPrepareThreshold >= 0, "Invalid threshold %s", parallelPrepareThreshold);
+            this.parallelPrepareThreshold = parallelPrepareThreshold;
+            return this;
+        }
+
+        public Builder setXPathConstraintsValidation(final boolean xpathValidation) {
+            xpathConstraintsValidation = xpathValidation;
+            return this;
+        }
+
+        public Builder setReadCacheSize(final int cacheSize) {
+            checkArgument(cacheSize >= 0, "Invalid cache size %s", cacheSize);
+            readCacheSize = cacheSize;
+            return this;
+        }
+
         public Builder setRootPath(final YangInstanceIdentifier rootPath) {
             this.rootPath = rootPath.toOptimized();
             return this;
@@ -132,7 +228,8 @@ public class DataTreeConfiguration implements Immutable {
 
         @Override
         public DataTreeConfiguration build() {
-            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation);
+            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation,
+                commitRebase, parallelPrepareThreshold, xpathConstraintsValidation, readCacheSize);
         }
     }
 }
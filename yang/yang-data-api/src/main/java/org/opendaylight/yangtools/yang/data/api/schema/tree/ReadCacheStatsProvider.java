@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheStats;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataTree} which can report effectiveness of its snapshot read cache, as configured by
+ * {@link DataTreeConfiguration#getReadCacheSize()}.
+ */
+@Beta
+public interface ReadCacheStatsProvider {
+    /**
+     * Return read cache statistics accumulated over the lifetime of this data tree. Only hit and miss counts are
+     * reported. If the read cache is disabled, all counts are zero.
+     *
+     * @return Read cache statistics
+     */
+    @NonNull CacheStats getReadCacheStats();
+}
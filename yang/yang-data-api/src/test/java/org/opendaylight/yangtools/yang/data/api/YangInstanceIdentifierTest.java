@@ -273,6 +273,16 @@ public class YangInstanceIdentifierTest {
         assertFalse("equals", node1.equals(NodeIdentifierWithPredicates.of(NODENAME1, KEY1, new byte[]{ 1, 3})));
         assertFalse("equals", node1.equals(NodeIdentifierWithPredicates.of(NODENAME1, KEY1, new byte[]{ 1 })));
         assertFalse("equals", node1.equals(NodeIdentifierWithPredicates.of(NODENAME1, KEY1, new byte[]{ 1, 2, 3 })));
+
+        node3 = NodeIdentifierWithPredicates.of(NODENAME1,
+            ImmutableMap.of(KEY1, new byte[]{ 1, 2 }, KEY2, new int[]{ 3, 4 }));
+        node4 = NodeIdentifierWithPredicates.of(NODENAME1,
+            ImmutableMap.of(KEY2, new int[]{ 3, 4 }, KEY1, new byte[]{ 1, 2 }));
+
+        assertEquals("hashCode", node3.hashCode(), node4.hashCode());
+        assertTrue("equals", node3.equals(node4));
+        assertFalse("equals", node3.equals(NodeIdentifierWithPredicates.of(NODENAME1,
+            ImmutableMap.of(KEY1, new byte[]{ 1, 2 }, KEY2, new int[]{ 3, 5 }))));
     }
 
     @Test
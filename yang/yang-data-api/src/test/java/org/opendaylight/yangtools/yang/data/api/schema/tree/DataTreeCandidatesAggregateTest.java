@@ -1237,6 +1237,52 @@ public class DataTreeCandidatesAggregateTest {
             () -> DataTreeCandidates.aggregate(Arrays.asList(candidate1, candidate2)));
     }
 
+    @Test
+    public void testNestedWriteRetainsChildren() {
+        final NodeIdentifier grandChildId = new NodeIdentifier(QName.create(CHILD_ID.getNodeType(), "grand-child"));
+        final NormalizedNode parentNode1 = normalizedNode("container1");
+        final NormalizedNode parentNode2 = normalizedNode("container2");
+        final NormalizedNode parentNode3 = normalizedNode("container3");
+        final NormalizedNode childNode1 = normalizedNode("child1");
+        final NormalizedNode childNode2 = normalizedNode("child2");
+        final NormalizedNode grandChildNode1 = normalizedNode("grand-child1");
+        final NormalizedNode grandChildNode2 = normalizedNode("grand-child2");
+
+        final TerminalDataTreeCandidateNode node1 = dataTreeCandidateNode(parentNode1, parentNode2,
+                ModificationType.SUBTREE_MODIFIED);
+        final TerminalDataTreeCandidateNode child1 = dataTreeCandidateNode(null, childNode1, ModificationType.WRITE);
+        setChildNodes(node1, Collections.singletonList(child1));
+        final TerminalDataTreeCandidateNode grandChild1 = dataTreeCandidateNode(null, grandChildNode1,
+                ModificationType.WRITE);
+        doReturn(grandChildId).when(grandChild1).getIdentifier();
+        doReturn(List.of(grandChild1)).when(child1).getChildNodes();
+        final DataTreeCandidate candidate1 = new DefaultDataTreeCandidate(ROOT_PATH, node1);
+
+        final TerminalDataTreeCandidateNode node2 = dataTreeCandidateNode(parentNode2, parentNode3,
+                ModificationType.SUBTREE_MODIFIED);
+        final TerminalDataTreeCandidateNode child2 = dataTreeCandidateNode(childNode1, childNode2,
+                ModificationType.SUBTREE_MODIFIED);
+        setChildNodes(node2, Collections.singletonList(child2));
+        final TerminalDataTreeCandidateNode grandChild2 = dataTreeCandidateNode(grandChildNode1, grandChildNode2,
+                ModificationType.WRITE);
+        doReturn(grandChildId).when(grandChild2).getIdentifier();
+        doReturn(List.of(grandChild2)).when(child2).getChildNodes();
+        final DataTreeCandidate candidate2 = new DefaultDataTreeCandidate(ROOT_PATH, node2);
+
+        final DataTreeCandidate aggregationResult = DataTreeCandidates.aggregate(Arrays.asList(candidate1, candidate2));
+
+        final DataTreeCandidateNode child = aggregationResult.getRootNode().getModifiedChild(CHILD_ID).orElseThrow();
+        assertEquals(ModificationType.WRITE, child.getModificationType());
+        assertEquals(Optional.empty(), child.getDataBefore());
+        assertEquals("child2", child.getDataAfter().orElseThrow().body());
+
+        // The write has to retain its children
+        final DataTreeCandidateNode grandChild = child.getModifiedChild(grandChildId).orElseThrow();
+        assertEquals(ModificationType.WRITE, grandChild.getModificationType());
+        assertEquals(Optional.empty(), grandChild.getDataBefore());
+        assertEquals("grand-child2", grandChild.getDataAfter().orElseThrow().body());
+    }
+
     private static LeafNode<String> normalizedNode(final String value) {
         LeafNode<String> node = mock(LeafNode.class);
         doReturn(value).when(node).body();
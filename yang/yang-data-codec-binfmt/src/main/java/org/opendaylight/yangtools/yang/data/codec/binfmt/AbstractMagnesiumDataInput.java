@@ -67,9 +67,16 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
     private final List<NodeIdentifier> codedNodeIdentifiers = new ArrayList<>();
     private final List<QNameModule> codedModules = new ArrayList<>();
     private final List<String> codedStrings = new ArrayList<>();
+    // Pre-agreed QNames, occupying indices [0, dictionary.size()). Stream-defined QNames follow.
+    private final @NonNull SchemaDictionary dictionary;
 
     AbstractMagnesiumDataInput(final DataInput input) {
+        this(input, SchemaDictionary.EMPTY);
+    }
+
+    AbstractMagnesiumDataInput(final DataInput input, final SchemaDictionary dictionary) {
         super(input);
+        this.dictionary = requireNonNull(dictionary);
     }
 
     @Override
@@ -303,7 +310,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
                 index = input.readUnsignedByte();
                 break;
             case MagnesiumNode.ADDR_LOOKUP_4B:
-                index = input.readInt();
+                index = readLookupCode();
                 break;
             case MagnesiumNode.ADDR_PARENT:
                 if (parent instanceof NodeIdentifier) {
@@ -315,11 +322,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
                         + nodeHeader);
         }
 
-        try {
-            return codedNodeIdentifiers.get(index);
-        } catch (IndexOutOfBoundsException e) {
-            throw new InvalidNormalizedNodeStreamException("Invalid QName reference " + index, e);
-        }
+        return lookupNodeIdentifier(index);
     }
 
     private AugmentationIdentifier decodeAugmentationIdentifier(final byte nodeHeader) throws IOException {
@@ -331,7 +334,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
                 index = input.readUnsignedByte();
                 break;
             case MagnesiumNode.ADDR_LOOKUP_4B:
-                index = input.readInt();
+                index = readLookupCode();
                 break;
             default:
                 throw new InvalidNormalizedNodeStreamException(
@@ -480,19 +483,21 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
 
     private NodeIdentifierWithPredicates readNodeIdentifierWithPredicates(final QName qname, final int size)
             throws IOException {
+        final NodeIdentifierWithPredicates identifier;
         if (size == 1) {
-            return NodeIdentifierWithPredicates.of(qname, readQName(), readLeafValue());
+            identifier = NodeIdentifierWithPredicates.of(qname, readQName(), readLeafValue());
         } else if (size > 1) {
             final ImmutableMap.Builder<QName, Object> builder = ImmutableMap.builderWithExpectedSize(size);
             for (int i = 0; i < size; ++i) {
                 builder.put(readQName(), readLeafValue());
             }
-            return NodeIdentifierWithPredicates.of(qname, builder.build());
+            identifier = NodeIdentifierWithPredicates.of(qname, builder.build());
         } else if (size == 0) {
-            return NodeIdentifierWithPredicates.of(qname);
+            identifier = NodeIdentifierWithPredicates.of(qname);
         } else {
             throw new InvalidNormalizedNodeStreamException("Invalid predicate count " + size);
         }
+        return dictionary.intern(identifier);
     }
 
     private NodeWithValue<?> readNodeWithValue(final byte header) throws IOException {
@@ -665,9 +670,21 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         }
     }
 
+    /**
+     * Read the code following a {@link MagnesiumNode#ADDR_LOOKUP_4B} node header. Default implementation reads it as
+     * an {@code int}.
+     *
+     * @return Code
+     * @throws IOException if an I/O error occurs
+     */
+    int readLookupCode() throws IOException {
+        return input.readInt();
+    }
+
     private @NonNull NodeIdentifier lookupNodeIdentifier(final int index) throws InvalidNormalizedNodeStreamException {
         try {
-            return codedNodeIdentifiers.get(index);
+            final int size = dictionary.size();
+            return index < size ? dictionary.lookupNodeIdentifier(index) : codedNodeIdentifiers.get(index - size);
         } catch (IndexOutOfBoundsException e) {
             throw new InvalidNormalizedNodeStreamException("Invalid QName reference " + index, e);
         }
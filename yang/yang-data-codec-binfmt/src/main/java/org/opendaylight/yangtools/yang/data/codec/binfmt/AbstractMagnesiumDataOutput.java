@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.data.codec.binfmt;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
 
 import java.io.DataOutput;
 import java.io.IOException;
@@ -73,9 +74,16 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     private final Map<QNameModule, Integer> moduleCodeMap = new HashMap<>();
     private final Map<String, Integer> stringCodeMap = new HashMap<>();
     private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
+    // Pre-agreed QNames, with codes [0, dictionary.size()). Stream-defined QNames are assigned subsequent codes.
+    private final @NonNull SchemaDictionary dictionary;
 
     AbstractMagnesiumDataOutput(final DataOutput output) {
+        this(output, SchemaDictionary.EMPTY);
+    }
+
+    AbstractMagnesiumDataOutput(final DataOutput output, final SchemaDictionary dictionary) {
         super(output);
+        this.dictionary = requireNonNull(dictionary);
     }
 
     @Override
@@ -217,7 +225,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
 
     @Override
     final void writeQNameInternal(final QName qname) throws IOException {
-        final Integer code = qnameCodeMap.get(qname);
+        final Integer code = lookupQName(qname);
         if (code == null) {
             output.writeByte(MagnesiumValue.QNAME);
             encodeQName(qname);
@@ -309,7 +317,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     }
 
     private void writePathArgumentQName(final QName qname, final byte typeHeader) throws IOException {
-        final Integer code = qnameCodeMap.get(qname);
+        final Integer code = lookupQName(qname);
         if (code != null) {
             final int val = code;
             if (val < 256) {
@@ -581,7 +589,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     // Encode a QName-based (i.e. NodeIdentifier*) node with a particular QName. This will either result in a QName
     // definition, or a reference, where this is encoded along with the node type.
     private void writeQNameNode(final int type, final @NonNull QName qname) throws IOException {
-        final Integer code = qnameCodeMap.get(qname);
+        final Integer code = lookupQName(qname);
         if (code == null) {
             output.writeByte(type | MagnesiumNode.ADDR_DEFINE);
             encodeQName(qname);
@@ -597,14 +605,31 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
             output.writeByte(code);
         } else {
             output.writeByte(type | MagnesiumNode.ADDR_LOOKUP_4B);
-            output.writeInt(code);
+            writeLookupCode(code);
         }
     }
 
+    /**
+     * Write the code following a {@link MagnesiumNode#ADDR_LOOKUP_4B} node header. Default implementation writes it as
+     * an {@code int}.
+     *
+     * @param code Code to write
+     * @throws IOException if an I/O error occurs
+     */
+    void writeLookupCode(final int code) throws IOException {
+        output.writeInt(code);
+    }
+
+    // Look up the code assigned to a QName, either in the dictionary or in this stream
+    private Integer lookupQName(final QName qname) {
+        final Integer code = dictionary.lookupCode(qname);
+        return code != null ? code : qnameCodeMap.get(qname);
+    }
+
     // Encode a QName using lookup tables, resuling either in a reference to an existing entry, or emitting two
     // String values.
     private void encodeQName(final @NonNull QName qname) throws IOException {
-        final Integer prev = qnameCodeMap.put(qname, qnameCodeMap.size());
+        final Integer prev = qnameCodeMap.put(qname, dictionary.size() + qnameCodeMap.size());
         if (prev != null) {
             throw new IOException("Internal coding error: attempted to re-encode " + qname + "%s already encoded as "
                     + prev);
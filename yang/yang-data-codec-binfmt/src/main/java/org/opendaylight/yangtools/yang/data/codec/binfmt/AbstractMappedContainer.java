@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DistinctNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.spi.node.AbstractNormalizedNode;
+
+/**
+ * Base class for {@link MappedSnapshot} nodes backed by an index record. The index is decoded on first access and
+ * children are instantiated as they are requested. Instantiated children are retained, so that repeated accesses do
+ * not incur decoding costs.
+ *
+ * @param <I> Identifier type
+ * @param <V> Child node type
+ * @param <T> Implemented {@link NormalizedNode} specialization type
+ */
+abstract class AbstractMappedContainer<I extends PathArgument, V extends NormalizedNode, T extends NormalizedNode>
+        extends AbstractNormalizedNode<I, T> {
+    private static final class Index {
+        final ImmutableMap<PathArgument, Integer> positions;
+        final PathArgument[] ids;
+        final byte[] types;
+        final long[] offsets;
+        final AtomicReferenceArray<NormalizedNode> children;
+
+        Index(final PathArgument[] ids, final byte[] types, final long[] offsets) {
+            this.ids = ids;
+            this.types = types;
+            this.offsets = offsets;
+
+            final ImmutableMap.Builder<PathArgument, Integer> builder = ImmutableMap.builderWithExpectedSize(
+                ids.length);
+            for (int i = 0; i < ids.length; ++i) {
+                builder.put(ids[i], i);
+            }
+            positions = builder.build();
+            children = new AtomicReferenceArray<>(ids.length);
+        }
+    }
+
+    private final @NonNull MappedSnapshot snapshot;
+    private final long offset;
+
+    private volatile Index index;
+
+    AbstractMappedContainer(final MappedSnapshot snapshot, final I identifier, final long offset) {
+        super(identifier);
+        this.snapshot = requireNonNull(snapshot);
+        this.offset = offset;
+    }
+
+    public final int size() {
+        return index().ids.length;
+    }
+
+    final @Nullable V child(final PathArgument key) {
+        final Integer pos = index().positions.get(requireNonNull(key));
+        return pos == null ? null : childAt(pos);
+    }
+
+    final @NonNull List<V> values() {
+        return new AbstractList<>() {
+            @Override
+            public V get(final int pos) {
+                return childAt(pos);
+            }
+
+            @Override
+            public int size() {
+                return AbstractMappedContainer.this.size();
+            }
+        };
+    }
+
+    final @NonNull PathArgument idAt(final int pos) {
+        return index().ids[pos];
+    }
+
+    @SuppressWarnings("unchecked")
+    final @NonNull V childAt(final int pos) {
+        final Index local = index();
+        final NormalizedNode existing = local.children.get(pos);
+        if (existing != null) {
+            return (V) existing;
+        }
+
+        final NormalizedNode created = snapshot.node(local.types[pos], local.ids[pos], local.offsets[pos]);
+        final NormalizedNode witness = local.children.compareAndExchange(pos, null, created);
+        return (V) (witness == null ? created : witness);
+    }
+
+    @Override
+    protected final int valueHashCode() {
+        return bodyHashCode(values());
+    }
+
+    @Override
+    protected final boolean valueEquals(final T other) {
+        return bodyEquals(values(), other);
+    }
+
+    static int bodyHashCode(final Collection<? extends NormalizedNode> body) {
+        // Needs to be consistent with immutable nodes, which hash their children as a Map<PathArgument, Object>, where
+        // leaves are represented by their value
+        int result = 0;
+        for (NormalizedNode child : body) {
+            result += child.getIdentifier().hashCode()
+                ^ (child instanceof LeafNode ? child.body().hashCode() : child.hashCode());
+        }
+        return result;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static boolean bodyEquals(final Collection<? extends NormalizedNode> body, final NormalizedNode other) {
+        if (!(other instanceof DistinctNodeContainer)) {
+            return false;
+        }
+        final DistinctNodeContainer otherContainer = (DistinctNodeContainer) other;
+        if (body.size() != otherContainer.size()) {
+            return false;
+        }
+        for (NormalizedNode child : body) {
+            if (!child.equals(otherContainer.childByArg(child.getIdentifier()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @NonNull Index index() {
+        Index local = index;
+        if (local == null) {
+            index = local = loadIndex();
+        }
+        return local;
+    }
+
+    private Index loadIndex() {
+        try {
+            final NormalizedNodeDataInput in = snapshot.newDataInput(offset);
+            // Skip our own identifier
+            in.readPathArgument();
+
+            final int size = in.readInt();
+            final PathArgument[] ids = new PathArgument[size];
+            final byte[] types = new byte[size];
+            final long[] offsets = new long[size];
+            for (int i = 0; i < size; ++i) {
+                types[i] = in.readByte();
+                ids[i] = in.readPathArgument();
+                offsets[i] = in.readLong();
+            }
+            return new Index(ids, types, offsets);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read index of " + getIdentifier() + " at offset " + offset, e);
+        }
+    }
+}
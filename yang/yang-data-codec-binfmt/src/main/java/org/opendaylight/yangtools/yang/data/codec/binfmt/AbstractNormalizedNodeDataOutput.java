@@ -50,6 +50,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         if (!headerWritten) {
             output.writeByte(TokenTypes.SIGNATURE_MARKER);
             output.writeShort(streamVersion());
+            writeStreamHeader();
             headerWritten = true;
         }
     }
@@ -206,6 +207,16 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     abstract short streamVersion();
 
+    /**
+     * Write any version-specific header information, which immediately follows the stream version. Default
+     * implementation does nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void writeStreamHeader() throws IOException {
+        // No-op by default
+    }
+
     abstract void writeQNameInternal(@NonNull QName qname) throws IOException;
 
     abstract void writePathArgumentInternal(PathArgument pathArgument) throws IOException;
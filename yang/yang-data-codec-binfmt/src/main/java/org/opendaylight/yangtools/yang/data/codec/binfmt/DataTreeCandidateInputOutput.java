@@ -7,19 +7,28 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.binfmt;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.ReusableStreamReceiver;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.impl.schema.ReusableImmutableNormalizedNodeStreamWriter;
 import org.slf4j.Logger;
@@ -41,6 +50,94 @@ public final class DataTreeCandidateInputOutput {
     private static final byte APPEARED = 4;
     private static final byte DISAPPEARED = 5;
 
+    /**
+     * Target of a streaming candidate replay. Tracks the position within the data tree and applies individual
+     * changes at that position.
+     */
+    private abstract static class ReplayTarget {
+        abstract void enter(PathArgument child);
+
+        abstract void exit();
+
+        abstract void delete(PathArgument child);
+
+        abstract void write(PathArgument child, NormalizedNode data);
+    }
+
+    private static final class ModificationReplayTarget extends ReplayTarget {
+        private final DataTreeModification modification;
+
+        private YangInstanceIdentifier current;
+
+        ModificationReplayTarget(final DataTreeModification modification, final YangInstanceIdentifier rootPath) {
+            this.modification = requireNonNull(modification);
+            current = requireNonNull(rootPath);
+        }
+
+        @Override
+        void enter(final PathArgument child) {
+            current = current.node(child);
+        }
+
+        @Override
+        void exit() {
+            current = current.getParent();
+        }
+
+        @Override
+        void delete(final PathArgument child) {
+            modification.delete(current.node(child));
+        }
+
+        @Override
+        void write(final PathArgument child, final NormalizedNode data) {
+            modification.write(current.node(child), data);
+        }
+    }
+
+    private static final class CursorReplayTarget extends ReplayTarget {
+        // Nodes we have been asked to enter, but have not entered in the cursor yet. We enter them only when there is
+        // an actual change to apply, so that modified nodes with no effective children are not touched, just as
+        // readDataTreeCandidate() does not instantiate them.
+        private final Deque<PathArgument> pending = new ArrayDeque<>();
+        private final DataTreeModificationCursor cursor;
+
+        CursorReplayTarget(final DataTreeModificationCursor cursor) {
+            this.cursor = requireNonNull(cursor);
+        }
+
+        @Override
+        void enter(final PathArgument child) {
+            pending.addLast(child);
+        }
+
+        @Override
+        void exit() {
+            if (pending.pollLast() == null) {
+                cursor.exit();
+            }
+        }
+
+        @Override
+        void delete(final PathArgument child) {
+            flushPending();
+            cursor.delete(child);
+        }
+
+        @Override
+        void write(final PathArgument child, final NormalizedNode data) {
+            flushPending();
+            cursor.write(child, data);
+        }
+
+        private void flushPending() {
+            PathArgument child;
+            while ((child = pending.pollFirst()) != null) {
+                cursor.enter(child);
+            }
+        }
+    }
+
     private DataTreeCandidateInputOutput() {
 
     }
@@ -84,6 +181,140 @@ public final class DataTreeCandidateInputOutput {
         return DataTreeCandidates.newDataTreeCandidate(rootPath, rootNode);
     }
 
+    /**
+     * Read a serialized {@link DataTreeCandidate} and apply it to a {@link DataTreeModification}. Unlike
+     * {@link #readDataTreeCandidate(NormalizedNodeDataInput)}, this method does not instantiate the candidate, but
+     * applies individual changes as they are read, so that only a single written subtree needs to be held in memory
+     * at any given time. The effect is the same as if the candidate were read and then applied via
+     * {@link DataTreeCandidates#applyToModification(DataTreeModification, DataTreeCandidate)}, except that
+     * {@link ModificationType#APPEARED} and {@link ModificationType#DISAPPEARED} roots are treated as
+     * {@link ModificationType#SUBTREE_MODIFIED}.
+     *
+     * @param in Input to read from
+     * @param modification Modification to apply changes to
+     * @return Root path of the candidate
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull YangInstanceIdentifier applyDataTreeCandidate(final NormalizedNodeDataInput in,
+            final DataTreeModification modification) throws IOException {
+        return applyDataTreeCandidate(in, modification, ReusableImmutableNormalizedNodeStreamWriter.create());
+    }
+
+    /**
+     * Read a serialized {@link DataTreeCandidate} and apply it to a {@link DataTreeModification}, using specified
+     * receiver to instantiate written data. See {@link #applyDataTreeCandidate(NormalizedNodeDataInput,
+     * DataTreeModification)} for details.
+     *
+     * @param in Input to read from
+     * @param modification Modification to apply changes to
+     * @param receiver Receiver to use for instantiating written data
+     * @return Root path of the candidate
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull YangInstanceIdentifier applyDataTreeCandidate(final NormalizedNodeDataInput in,
+            final DataTreeModification modification, final ReusableStreamReceiver receiver) throws IOException {
+        requireNonNull(modification);
+        final YangInstanceIdentifier rootPath = in.readYangInstanceIdentifier();
+        final byte type = in.readByte();
+        switch (type) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                replayChildren(in, new ModificationReplayTarget(modification, rootPath), receiver);
+                break;
+            case DELETE:
+                modification.delete(rootPath);
+                break;
+            case WRITE:
+                modification.write(rootPath, in.readNormalizedNode(receiver));
+                break;
+            case UNMODIFIED:
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + type);
+        }
+        return rootPath;
+    }
+
+    /**
+     * Read a serialized {@link DataTreeCandidate} and apply it to a {@link DataTreeModificationCursor}. The root path
+     * of the candidate is interpreted relative to the current position of the cursor, hence a cursor positioned at
+     * the root of the data tree will apply the candidate to its original location. The cursor is returned to its
+     * original position once this method returns normally.
+     *
+     * <p>
+     * Unlike {@link #readDataTreeCandidate(NormalizedNodeDataInput)}, this method does not instantiate the candidate,
+     * but applies individual changes as they are read, so that only a single written subtree needs to be held in
+     * memory at any given time.
+     *
+     * @param in Input to read from
+     * @param cursor Cursor to apply changes to
+     * @return Root path of the candidate
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the candidate deletes the cursor's current position
+     */
+    public static @NonNull YangInstanceIdentifier applyDataTreeCandidate(final NormalizedNodeDataInput in,
+            final DataTreeModificationCursor cursor) throws IOException {
+        return applyDataTreeCandidate(in, cursor, ReusableImmutableNormalizedNodeStreamWriter.create());
+    }
+
+    /**
+     * Read a serialized {@link DataTreeCandidate} and apply it to a {@link DataTreeModificationCursor}, using
+     * specified receiver to instantiate written data. See {@link #applyDataTreeCandidate(NormalizedNodeDataInput,
+     * DataTreeModificationCursor)} for details.
+     *
+     * @param in Input to read from
+     * @param cursor Cursor to apply changes to
+     * @param receiver Receiver to use for instantiating written data
+     * @return Root path of the candidate
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the candidate deletes the cursor's current position
+     */
+    public static @NonNull YangInstanceIdentifier applyDataTreeCandidate(final NormalizedNodeDataInput in,
+            final DataTreeModificationCursor cursor, final ReusableStreamReceiver receiver) throws IOException {
+        final CursorReplayTarget target = new CursorReplayTarget(cursor);
+        final YangInstanceIdentifier rootPath = in.readYangInstanceIdentifier();
+        final byte type = in.readByte();
+        switch (type) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                enterPath(target, rootPath);
+                replayChildren(in, target, receiver);
+                exitPath(target, rootPath);
+                break;
+            case DELETE:
+                checkArgument(!rootPath.isEmpty(), "Can not delete root.");
+                enterPath(target, rootPath.getParent());
+                target.delete(rootPath.getLastPathArgument());
+                exitPath(target, rootPath.getParent());
+                break;
+            case WRITE:
+                final NormalizedNode data = in.readNormalizedNode(receiver);
+                if (rootPath.isEmpty()) {
+                    // Mirrors DataTreeCandidateNodes.applyRootToCursor()
+                    checkArgument(data instanceof DataContainerNode, "Unexpected root data %s", data);
+                    for (NormalizedNode child : ((DataContainerNode<?>) data).body()) {
+                        target.write(child.getIdentifier(), child);
+                    }
+                } else {
+                    enterPath(target, rootPath.getParent());
+                    target.write(rootPath.getLastPathArgument(), data);
+                    exitPath(target, rootPath.getParent());
+                }
+                break;
+            case UNMODIFIED:
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + type);
+        }
+        return rootPath;
+    }
+
     public static void writeDataTreeCandidate(final NormalizedNodeDataOutput out, final DataTreeCandidate candidate)
             throws IOException {
         out.writeYangInstanceIdentifier(candidate.getRootPath());
@@ -167,6 +398,51 @@ public final class DataTreeCandidateInputOutput {
         }
     }
 
+    private static void replayChildren(final NormalizedNodeDataInput in, final ReplayTarget target,
+            final ReusableStreamReceiver receiver) throws IOException {
+        final int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            replayNode(in, target, receiver);
+        }
+    }
+
+    private static void replayNode(final NormalizedNodeDataInput in, final ReplayTarget target,
+            final ReusableStreamReceiver receiver) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                target.enter(in.readPathArgument());
+                replayChildren(in, target, receiver);
+                target.exit();
+                break;
+            case DELETE:
+                target.delete(in.readPathArgument());
+                break;
+            case UNMODIFIED:
+                break;
+            case WRITE:
+                final NormalizedNode data = in.readNormalizedNode(receiver);
+                target.write(data.getIdentifier(), data);
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + type);
+        }
+    }
+
+    private static void enterPath(final ReplayTarget target, final YangInstanceIdentifier path) {
+        for (PathArgument arg : path.getPathArguments()) {
+            target.enter(arg);
+        }
+    }
+
+    private static void exitPath(final ReplayTarget target, final YangInstanceIdentifier path) {
+        for (int i = path.getPathArguments().size(); i > 0; --i) {
+            target.exit();
+        }
+    }
+
     private static void writeChildren(final NormalizedNodeDataOutput out,
             final Collection<DataTreeCandidateNode> children) throws IOException {
         out.writeInt(children.size());
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.util.Collection;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * A {@link ContainerNode} lazily materialized from a {@link MappedSnapshot}.
+ */
+final class MappedContainerNode extends AbstractMappedContainer<NodeIdentifier, DataContainerChild, ContainerNode>
+        implements ContainerNode {
+    MappedContainerNode(final MappedSnapshot snapshot, final NodeIdentifier identifier, final long offset) {
+        super(snapshot, identifier, offset);
+    }
+
+    @Override
+    public Collection<DataContainerChild> body() {
+        return values();
+    }
+
+    @Override
+    public DataContainerChild childByArg(final PathArgument key) {
+        return child(key);
+    }
+
+    @Override
+    protected Class<ContainerNode> implementedType() {
+        return ContainerNode.class;
+    }
+}
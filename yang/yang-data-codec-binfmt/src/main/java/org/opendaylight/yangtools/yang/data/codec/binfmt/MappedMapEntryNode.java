@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.spi.node.AbstractNormalizedNode;
+
+/**
+ * A {@link MapEntryNode} proxy backed by a {@link MappedSnapshot}. Its identifier is known from the parent index, the
+ * contents are decoded on first access.
+ */
+final class MappedMapEntryNode extends AbstractNormalizedNode<NodeIdentifierWithPredicates, MapEntryNode>
+        implements MapEntryNode {
+    private final @NonNull MappedSnapshot snapshot;
+    private final long offset;
+
+    private volatile MapEntryNode delegate;
+
+    MappedMapEntryNode(final MappedSnapshot snapshot, final NodeIdentifierWithPredicates identifier,
+            final long offset) {
+        super(identifier);
+        this.snapshot = requireNonNull(snapshot);
+        this.offset = offset;
+    }
+
+    @Override
+    public Collection<DataContainerChild> body() {
+        return delegate().body();
+    }
+
+    @Override
+    public DataContainerChild childByArg(final PathArgument key) {
+        return delegate().childByArg(key);
+    }
+
+    @Override
+    public int size() {
+        return delegate().size();
+    }
+
+    @Override
+    protected Class<MapEntryNode> implementedType() {
+        return MapEntryNode.class;
+    }
+
+    @Override
+    protected int valueHashCode() {
+        return AbstractMappedContainer.bodyHashCode(body());
+    }
+
+    @Override
+    protected boolean valueEquals(final MapEntryNode other) {
+        return AbstractMappedContainer.bodyEquals(body(), other);
+    }
+
+    private @NonNull MapEntryNode delegate() {
+        MapEntryNode local = delegate;
+        if (local == null) {
+            final NormalizedNode decoded;
+            try {
+                decoded = snapshot.readBlob(offset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + getIdentifier() + " at offset " + offset, e);
+            }
+            verify(decoded instanceof MapEntryNode, "Unexpected node %s at offset %s", decoded, offset);
+            delegate = local = (MapEntryNode) decoded;
+        }
+        return local;
+    }
+}
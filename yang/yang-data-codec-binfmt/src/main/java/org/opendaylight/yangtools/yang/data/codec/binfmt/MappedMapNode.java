@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+
+/**
+ * A {@link SystemMapNode} lazily materialized from a {@link MappedSnapshot}. Its entries are {@link MappedMapEntryNode}
+ * proxies, hence iterating over them does not decode their contents.
+ */
+final class MappedMapNode extends AbstractMappedContainer<NodeIdentifier, MapEntryNode, SystemMapNode>
+        implements SystemMapNode {
+    private final class AsMap extends AbstractMap<NodeIdentifierWithPredicates, MapEntryNode> {
+        @Override
+        public MapEntryNode get(final Object key) {
+            return key instanceof NodeIdentifierWithPredicates ? child((NodeIdentifierWithPredicates) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return MappedMapNode.this.size();
+        }
+
+        @Override
+        public Collection<MapEntryNode> values() {
+            return MappedMapNode.this.values();
+        }
+
+        @Override
+        public Set<Entry<NodeIdentifierWithPredicates, MapEntryNode>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<NodeIdentifierWithPredicates, MapEntryNode>> iterator() {
+                    return new Iterator<>() {
+                        private int pos;
+
+                        @Override
+                        public boolean hasNext() {
+                            return pos < size();
+                        }
+
+                        @Override
+                        public Entry<NodeIdentifierWithPredicates, MapEntryNode> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final int current = pos++;
+                            return new SimpleImmutableEntry<>((NodeIdentifierWithPredicates) idAt(current),
+                                childAt(current));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return MappedMapNode.this.size();
+                }
+            };
+        }
+    }
+
+    MappedMapNode(final MappedSnapshot snapshot, final NodeIdentifier identifier, final long offset) {
+        super(snapshot, identifier, offset);
+    }
+
+    @Override
+    public Map<NodeIdentifierWithPredicates, MapEntryNode> asMap() {
+        return new AsMap();
+    }
+
+    @Override
+    public Collection<MapEntryNode> body() {
+        return values();
+    }
+
+    @Override
+    public MapEntryNode childByArg(final NodeIdentifierWithPredicates key) {
+        return child(key);
+    }
+
+    @Override
+    protected Class<SystemMapNode> implementedType() {
+        return SystemMapNode.class;
+    }
+}
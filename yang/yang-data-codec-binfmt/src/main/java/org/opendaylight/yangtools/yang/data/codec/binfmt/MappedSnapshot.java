@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verify;
+
+import com.google.common.annotations.Beta;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
+import org.opendaylight.yangtools.yang.data.spi.tree.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.spi.tree.Version;
+
+/**
+ * A persistent snapshot of a {@link NormalizedNode} tree, accessed through a memory-mapped file. Restoring a snapshot
+ * does not decode its contents: {@link #read(Path)} returns a lazily-materialized tree, which decodes containers and
+ * keyed lists one level at a time, as they are accessed. Only the parts of the tree which have been touched occupy
+ * heap.
+ *
+ * <p>
+ * The file format is a sequence of records, each of them starting with a type byte and an int length. Containers and
+ * system-ordered keyed lists are stored as an index of their children, holding the child identifier and the offset
+ * of its record. Map entries and all other nodes are stored as {@link NormalizedNodeStreamVersion#MAGNESIUM}
+ * streams. Children are written before their parents, hence the root record offset is stored at the end of the file.
+ */
+@Beta
+public final class MappedSnapshot {
+    static final byte BLOB = 0;
+    static final byte CONTAINER = 1;
+    static final byte MAP = 2;
+    static final byte MAP_ENTRY = 3;
+
+    static final int MAGIC = 0x594E5453;
+    static final short VERSION = 1;
+    // magic + version
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    // type + length
+    static final int RECORD_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final MappedByteBuffer[] segments;
+
+    private MappedSnapshot(final MappedByteBuffer[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Write a snapshot of specified data into a file. If the file exists, it will be overwritten.
+     *
+     * @param file Target file
+     * @param root Root data node
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(final Path file, final NormalizedNode root) throws IOException {
+        MappedSnapshotWriter.write(file, root);
+    }
+
+    /**
+     * Open a snapshot stored in a file. The returned node is backed by the contents of the file, which therefore must
+     * not be modified while the node is in use.
+     *
+     * @param file Source file
+     * @return Root data node
+     * @throws IOException if an I/O error occurs or the file does not contain a valid snapshot
+     */
+    public static @NonNull NormalizedNode read(final Path file) throws IOException {
+        final MappedByteBuffer[] segments;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE + Long.BYTES) {
+                throw new IOException("File " + file + " is too short to be a snapshot");
+            }
+
+            segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; ++i) {
+                final long offset = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(MapMode.READ_ONLY, offset, Math.min(SEGMENT_SIZE, size - offset));
+            }
+        }
+
+        final MappedSnapshot snapshot = new MappedSnapshot(segments);
+        final int magic = snapshot.readInt(0);
+        if (magic != MAGIC) {
+            throw new IOException("Unrecognized snapshot magic " + Integer.toHexString(magic));
+        }
+        final short version = snapshot.readShort(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+
+        return snapshot.readRoot();
+    }
+
+    /**
+     * Open a snapshot stored in a file and return a {@link TreeNode} rooted at its data. The tree node materializes
+     * its children from the underlying snapshot on demand.
+     *
+     * @param file Source file
+     * @param version Version of the resulting tree node
+     * @return Root tree node
+     * @throws IOException if an I/O error occurs or the file does not contain a valid snapshot
+     */
+    public static @NonNull TreeNode readTreeNode(final Path file, final Version version) throws IOException {
+        return TreeNodeFactory.createTreeNode(read(file), version);
+    }
+
+    private @NonNull NormalizedNode readRoot() throws IOException {
+        final long rootOffset = readLong(size() - Long.BYTES);
+        final byte type = readByte(rootOffset);
+        switch (type) {
+            case CONTAINER:
+            case MAP:
+                // Index records start with the identifier of the node
+                final PathArgument id = newDataInput(rootOffset).readPathArgument();
+                return node(type, id, rootOffset);
+            case BLOB:
+            case MAP_ENTRY:
+                return readBlob(rootOffset);
+            default:
+                throw new IOException("Invalid root record type " + type);
+        }
+    }
+
+    /**
+     * Return a node corresponding to a record. Indexed nodes and map entries are returned as lazy proxies, all other
+     * nodes are decoded immediately.
+     */
+    @NonNull NormalizedNode node(final byte type, final PathArgument id, final long offset) {
+        switch (type) {
+            case CONTAINER:
+                return new MappedContainerNode(this, (NodeIdentifier) id, offset);
+            case MAP:
+                return new MappedMapNode(this, (NodeIdentifier) id, offset);
+            case MAP_ENTRY:
+                return new MappedMapEntryNode(this, (NodeIdentifierWithPredicates) id, offset);
+            case BLOB:
+                try {
+                    return readBlob(offset);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to decode node at offset " + offset, e);
+                }
+            default:
+                throw new IllegalStateException("Invalid record type " + type + " at offset " + offset);
+        }
+    }
+
+    @NonNull NormalizedNode readBlob(final long offset) throws IOException {
+        return newDataInput(offset).readNormalizedNode();
+    }
+
+    /**
+     * Create a {@link NormalizedNodeDataInput} for the payload of the record at specified offset.
+     */
+    @NonNull NormalizedNodeDataInput newDataInput(final long offset) throws IOException {
+        final int length = readInt(offset + Byte.BYTES);
+        checkArgument(length >= 0, "Invalid record length %s at offset %s", length, offset);
+        return NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(
+            readBytes(offset + RECORD_HEADER_SIZE, length)));
+    }
+
+    private long size() {
+        final MappedByteBuffer last = segments[segments.length - 1];
+        return ((long) (segments.length - 1) << SEGMENT_SHIFT) + last.limit();
+    }
+
+    private byte readByte(final long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    private short readShort(final long offset) {
+        final ByteBuffer segment = segmentOf(offset);
+        final int pos = (int) (offset & SEGMENT_MASK);
+        return pos <= segment.limit() - Short.BYTES ? segment.getShort(pos)
+            : (short) readStraddling(offset, Short.BYTES);
+    }
+
+    private int readInt(final long offset) {
+        final ByteBuffer segment = segmentOf(offset);
+        final int pos = (int) (offset & SEGMENT_MASK);
+        return pos <= segment.limit() - Integer.BYTES ? segment.getInt(pos)
+            : (int) readStraddling(offset, Integer.BYTES);
+    }
+
+    private long readLong(final long offset) {
+        final ByteBuffer segment = segmentOf(offset);
+        final int pos = (int) (offset & SEGMENT_MASK);
+        return pos <= segment.limit() - Long.BYTES ? segment.getLong(pos)
+            : readStraddling(offset, Long.BYTES);
+    }
+
+    private ByteBuffer segmentOf(final long offset) {
+        final int segment = (int) (offset >>> SEGMENT_SHIFT);
+        verify(segment < segments.length, "Offset %s is beyond end of snapshot", offset);
+        return segments[segment];
+    }
+
+    // Slow path for a big-endian value crossing a segment boundary
+    private long readStraddling(final long offset, final int length) {
+        long ret = 0;
+        for (int i = 0; i < length; ++i) {
+            ret = ret << Byte.SIZE | readByte(offset + i) & 0xFF;
+        }
+        return ret;
+    }
+
+    private byte[] readBytes(final long offset, final int length) {
+        final byte[] ret = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            final long pos = offset + copied;
+            final int segment = (int) (pos >>> SEGMENT_SHIFT);
+            verify(segment < segments.length, "Offset %s is beyond end of snapshot", pos);
+
+            // Duplicate the buffer, as position is not thread-safe
+            final ByteBuffer buf = segments[segment].duplicate();
+            buf.position((int) (pos & SEGMENT_MASK));
+            final int chunk = Math.min(length - copied, buf.remaining());
+            buf.get(ret, copied, chunk);
+            copied += chunk;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+
+/**
+ * Writer side of {@link MappedSnapshot}. Nodes are written in post-order, so that each index record can refer to the
+ * offsets of its children.
+ */
+final class MappedSnapshotWriter {
+    private final DataOutputStream out;
+
+    // DataOutputStream.size() is an int, hence we need to track the position ourselves
+    private long position;
+
+    private MappedSnapshotWriter(final DataOutputStream out, final long position) {
+        this.out = requireNonNull(out);
+        this.position = position;
+    }
+
+    static void write(final Path file, final NormalizedNode root) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MappedSnapshot.MAGIC);
+            out.writeShort(MappedSnapshot.VERSION);
+
+            final long rootOffset = new MappedSnapshotWriter(out, MappedSnapshot.HEADER_SIZE).writeNode(root);
+            out.writeLong(rootOffset);
+        }
+    }
+
+    private long writeNode(final NormalizedNode node) throws IOException {
+        final byte type = recordType(node);
+        switch (type) {
+            case MappedSnapshot.CONTAINER:
+                return writeIndex(type, node, ((ContainerNode) node).body());
+            case MappedSnapshot.MAP:
+                return writeIndex(type, node, ((SystemMapNode) node).body());
+            default:
+                return writeBlob(type, node);
+        }
+    }
+
+    private long writeIndex(final byte type, final NormalizedNode node, final Collection<? extends NormalizedNode> body)
+            throws IOException {
+        final NormalizedNode[] children = body.toArray(new NormalizedNode[0]);
+        final long[] offsets = new long[children.length];
+        for (int i = 0; i < children.length; ++i) {
+            offsets[i] = writeNode(children[i]);
+        }
+
+        final ByteArrayDataOutput bytes = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput index = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bytes)) {
+            index.writePathArgument(node.getIdentifier());
+            index.writeInt(children.length);
+            for (int i = 0; i < children.length; ++i) {
+                index.writeByte(recordType(children[i]));
+                index.writePathArgument(children[i].getIdentifier());
+                index.writeLong(offsets[i]);
+            }
+        }
+        return writeRecord(type, bytes.toByteArray());
+    }
+
+    private long writeBlob(final byte type, final NormalizedNode node) throws IOException {
+        final ByteArrayDataOutput bytes = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput blob = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bytes)) {
+            blob.writeNormalizedNode(node);
+        }
+        return writeRecord(type, bytes.toByteArray());
+    }
+
+    private long writeRecord(final byte type, final byte[] payload) throws IOException {
+        final long offset = position;
+        out.writeByte(type);
+        out.writeInt(payload.length);
+        out.write(payload);
+        position += MappedSnapshot.RECORD_HEADER_SIZE + payload.length;
+        return offset;
+    }
+
+    private static byte recordType(final NormalizedNode node) {
+        if (node instanceof ContainerNode) {
+            return MappedSnapshot.CONTAINER;
+        }
+        if (node instanceof SystemMapNode) {
+            return MappedSnapshot.MAP;
+        }
+        return node instanceof MapEntryNode ? MappedSnapshot.MAP_ENTRY : MappedSnapshot.BLOB;
+    }
+}
@@ -100,6 +100,24 @@ public interface NormalizedNodeDataInput extends QNameAwareDataInput {
         return new VersionedNormalizedNodeDataInput(input).delegate();
     }
 
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given input, using specified
+     * {@link SchemaDictionary} to interpret {@link NormalizedNodeStreamVersion#SILICON} streams. This method first
+     * reads and validates that the input contains a valid NormalizedNode stream, produced with the same dictionary.
+     * Streams of other versions are read as if by {@link #newDataInput(DataInput)}.
+     *
+     * @param input the DataInput to read from
+     * @param dictionary the dictionary to use
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws InvalidNormalizedNodeStreamException if the stream version is not supported or the stream was produced
+     *                                              with a different dictionary
+     * @throws IOException if an error occurs reading from the input
+     */
+    static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull DataInput input,
+            final @NonNull SchemaDictionary dictionary) throws IOException {
+        return new VersionedNormalizedNodeDataInput(input, dictionary).delegate();
+    }
+
     /**
      * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given input. This method does not
      * perform any initial validation of the input stream.
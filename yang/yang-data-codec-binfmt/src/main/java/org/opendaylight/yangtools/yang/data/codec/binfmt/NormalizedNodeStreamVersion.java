@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.binfmt;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import java.io.DataOutput;
 import java.math.BigInteger;
@@ -75,6 +77,24 @@ public enum NormalizedNodeStreamVersion {
         public NormalizedNodeDataOutput newDataOutput(final DataOutput output) {
             return new MagnesiumDataOutput(output);
         }
+    },
+    /**
+     * First shipping in Silicon. Structurally matches {@link #MAGNESIUM}, but QNames can be pre-agreed between the
+     * writer and the reader via a {@link SchemaDictionary} and are then referenced by their code. Such streams are
+     * created using {@link #newDataOutput(DataOutput, SchemaDictionary)} and read using
+     * {@link NormalizedNodeDataInput#newDataInput(DataInput, SchemaDictionary)}. Streams created using
+     * {@link #newDataOutput(DataOutput)} do not use a dictionary and can be read by any reader.
+     */
+    SILICON {
+        @Override
+        public NormalizedNodeDataOutput newDataOutput(final DataOutput output) {
+            return new SiliconDataOutput(output, SchemaDictionary.EMPTY);
+        }
+
+        @Override
+        public NormalizedNodeDataOutput newDataOutput(final DataOutput output, final SchemaDictionary dictionary) {
+            return new SiliconDataOutput(output, dictionary);
+        }
     };
 
     /**
@@ -96,4 +116,19 @@ public enum NormalizedNodeStreamVersion {
      * @throws UnsupportedOperationException if this version cannot be created in this runtime
      */
     public abstract NormalizedNodeDataOutput newDataOutput(DataOutput output);
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output, using specified
+     * {@link SchemaDictionary}. Versions which do not support pre-agreed dictionaries ignore the dictionary.
+     *
+     * @param output the DataOutput to write to
+     * @param dictionary the dictionary to use
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if any argument is null
+     * @throws UnsupportedOperationException if this version cannot be created in this runtime
+     */
+    public NormalizedNodeDataOutput newDataOutput(final DataOutput output, final SchemaDictionary dictionary) {
+        requireNonNull(dictionary);
+        return newDataOutput(output);
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.util.PathArgumentInterner;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+
+/**
+ * A dictionary of {@link QName}s pre-agreed between the writer and the reader of a
+ * {@link NormalizedNodeStreamVersion#SILICON} stream. The dictionary is derived from an {@link EffectiveModelContext}
+ * in a deterministic manner, so that two parties having the same set of models end up with the same dictionary. Each
+ * QName is assigned a linear code, which is used to refer to it in the stream without any string encoding.
+ *
+ * <p>
+ * The dictionary covers QNames of all schema tree nodes, including operation inputs/outputs and notifications, as
+ * well as QNames of all identities. Instances are expected to be created once per {@link EffectiveModelContext} and
+ * shared among all streams.
+ *
+ * <p>
+ * Identifiers read from streams using a dictionary are resolved through the model context's
+ * {@link PathArgumentInterner}, so that list entry identifiers are shared with other users of the same model.
+ */
+@Beta
+public final class SchemaDictionary implements Immutable {
+    static final @NonNull SchemaDictionary EMPTY = new SchemaDictionary(ImmutableList.of(), null);
+
+    private final @NonNull ImmutableList<NodeIdentifier> identifiers;
+    private final @NonNull ImmutableMap<QName, Integer> codes;
+    private final @Nullable PathArgumentInterner interner;
+    private final long fingerprint;
+
+    private SchemaDictionary(final ImmutableList<NodeIdentifier> identifiers,
+            final @Nullable PathArgumentInterner interner) {
+        this.identifiers = identifiers;
+        this.interner = interner;
+
+        final ImmutableMap.Builder<QName, Integer> builder = ImmutableMap.builderWithExpectedSize(identifiers.size());
+        final Hasher hasher = Hashing.farmHashFingerprint64().newHasher();
+        for (int i = 0; i < identifiers.size(); ++i) {
+            final QName qname = identifiers.get(i).getNodeType();
+            builder.put(qname, i);
+            hasher.putString(qname.getNamespace().toString(), StandardCharsets.UTF_8)
+                .putString(qname.getRevision().map(Object::toString).orElse(""), StandardCharsets.UTF_8)
+                .putString(qname.getLocalName(), StandardCharsets.UTF_8);
+        }
+        codes = builder.build();
+        fingerprint = hasher.hash().asLong();
+    }
+
+    /**
+     * Create a dictionary for specified {@link EffectiveModelContext}.
+     *
+     * @param modelContext Model context
+     * @return A new dictionary
+     * @throws NullPointerException if {@code modelContext} is null
+     */
+    public static @NonNull SchemaDictionary of(final EffectiveModelContext modelContext) {
+        final List<Module> modules = new ArrayList<>(modelContext.getModules());
+        modules.sort(Comparator.comparing(Module::getQNameModule));
+
+        final PathArgumentInterner interner = PathArgumentInterner.of(modelContext);
+        final Map<QName, NodeIdentifier> qnames = new LinkedHashMap<>();
+        for (Module module : modules) {
+            for (IdentitySchemaNode identity : module.getIdentities()) {
+                addQName(qnames, interner, identity.getQName());
+            }
+        }
+        for (Module module : modules) {
+            addContainer(qnames, interner, module);
+        }
+
+        return new SchemaDictionary(ImmutableList.copyOf(qnames.values()), interner);
+    }
+
+    /**
+     * Return the number of entries in this dictionary.
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        return identifiers.size();
+    }
+
+    /**
+     * Return a fingerprint of this dictionary's contents. Streams carry this fingerprint, so that a reader can detect
+     * the stream has been produced with a different dictionary.
+     *
+     * @return Dictionary fingerprint
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("size", size())
+            .add("fingerprint", Long.toHexString(fingerprint)).toString();
+    }
+
+    @Nullable Integer lookupCode(final QName qname) {
+        return codes.get(qname);
+    }
+
+    @NonNull NodeIdentifier lookupNodeIdentifier(final int code) {
+        return identifiers.get(code);
+    }
+
+    @NonNull NodeIdentifierWithPredicates intern(final @NonNull NodeIdentifierWithPredicates identifier) {
+        return interner == null ? identifier : interner.intern(identifier);
+    }
+
+    private static void addQName(final Map<QName, NodeIdentifier> qnames, final PathArgumentInterner interner,
+            final QName qname) {
+        qnames.computeIfAbsent(qname, interner::nodeIdentifier);
+    }
+
+    private static void addContainer(final Map<QName, NodeIdentifier> qnames, final PathArgumentInterner interner,
+            final DataNodeContainer container) {
+        for (DataSchemaNode child : container.getChildNodes()) {
+            addQName(qnames, interner, child.getQName());
+            if (child instanceof DataNodeContainer) {
+                addContainer(qnames, interner, (DataNodeContainer) child);
+            } else if (child instanceof ChoiceSchemaNode) {
+                for (CaseSchemaNode caseNode : ((ChoiceSchemaNode) child).getCases()) {
+                    addQName(qnames, interner, caseNode.getQName());
+                    addContainer(qnames, interner, caseNode);
+                }
+            }
+            if (child instanceof ActionNodeContainer) {
+                ((ActionNodeContainer) child).getActions().forEach(action -> addOperation(qnames, interner, action));
+            }
+            if (child instanceof NotificationNodeContainer) {
+                addNotifications(qnames, interner, (NotificationNodeContainer) child);
+            }
+        }
+
+        if (container instanceof Module) {
+            final Module module = (Module) container;
+            module.getRpcs().forEach(rpc -> addOperation(qnames, interner, rpc));
+            addNotifications(qnames, interner, module);
+        }
+    }
+
+    private static void addNotifications(final Map<QName, NodeIdentifier> qnames,
+            final PathArgumentInterner interner, final NotificationNodeContainer container) {
+        for (NotificationDefinition notification : container.getNotifications()) {
+            addQName(qnames, interner, notification.getQName());
+            addContainer(qnames, interner, notification);
+        }
+    }
+
+    private static void addOperation(final Map<QName, NodeIdentifier> qnames, final PathArgumentInterner interner,
+            final OperationDefinition operation) {
+        addQName(qnames, interner, operation.getQName());
+        addQName(qnames, interner, operation.getInput().getQName());
+        addContainer(qnames, interner, operation.getInput());
+        addQName(qnames, interner, operation.getOutput().getQName());
+        addContainer(qnames, interner, operation.getOutput());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class SiliconDataInput extends AbstractMagnesiumDataInput {
+    SiliconDataInput(final DataInput input, final SchemaDictionary dictionary) {
+        super(input, dictionary);
+    }
+
+    @Override
+    public NormalizedNodeStreamVersion getVersion() {
+        return NormalizedNodeStreamVersion.SILICON;
+    }
+
+    @Override
+    int readLookupCode() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte octet = input.readByte();
+            result |= (octet & 0x7F) << shift;
+            if (octet >= 0) {
+                return result;
+            }
+        }
+        throw new InvalidNormalizedNodeStreamException("Malformed lookup code");
+    }
+
+    @Override
+    BigInteger readBigInteger() throws IOException {
+        throw new InvalidNormalizedNodeStreamException("BigInteger coding is not supported");
+    }
+}
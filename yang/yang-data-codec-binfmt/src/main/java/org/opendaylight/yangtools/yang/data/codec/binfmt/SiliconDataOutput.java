@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+
+final class SiliconDataOutput extends AbstractMagnesiumDataOutput {
+    private final long fingerprint;
+
+    SiliconDataOutput(final DataOutput output, final SchemaDictionary dictionary) {
+        super(output, dictionary);
+        fingerprint = dictionary.fingerprint();
+    }
+
+    @Override
+    short streamVersion() {
+        return TokenTypes.SILICON_VERSION;
+    }
+
+    @Override
+    void writeStreamHeader() throws IOException {
+        output.writeLong(fingerprint);
+    }
+
+    @Override
+    void writeLookupCode(final int code) throws IOException {
+        // Unsigned LEB128: 7 bits per byte, least significant group first, MSB set on all but the last byte
+        int remaining = code;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    @Override
+    void writeValue(final BigInteger value) throws IOException {
+        throw new IOException("BigInteger values are not supported");
+    }
+}
@@ -28,6 +28,12 @@ final class TokenTypes {
      * present.
      */
     static final short MAGNESIUM_VERSION = 4;
+    /**
+     * Silicon version. Structurally matches {@link #MAGNESIUM_VERSION}, but QNames are pre-agreed through
+     * a {@link SchemaDictionary}, whose fingerprint is written as a {@code long} immediately after the version.
+     * Addressing of nodes beyond the first 256 codes uses a variable-length encoding.
+     */
+    static final short SILICON_VERSION = 5;
 
     private TokenTypes() {
         // Utility class
@@ -11,13 +11,22 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.DataInput;
 import java.io.IOException;
+import org.eclipse.jdt.annotation.Nullable;
 
 final class VersionedNormalizedNodeDataInput extends ForwardingNormalizedNodeDataInput {
+    private final @Nullable SchemaDictionary dictionary;
+
     private DataInput input;
     private NormalizedNodeDataInput delegate;
 
     VersionedNormalizedNodeDataInput(final DataInput input) {
         this.input = requireNonNull(input);
+        dictionary = null;
+    }
+
+    VersionedNormalizedNodeDataInput(final DataInput input, final SchemaDictionary dictionary) {
+        this.input = requireNonNull(input);
+        this.dictionary = requireNonNull(dictionary);
     }
 
     @Override
@@ -46,6 +55,19 @@ final class VersionedNormalizedNodeDataInput extends ForwardingNormalizedNodeDat
             case TokenTypes.MAGNESIUM_VERSION:
                 ret = new MagnesiumDataInput(input);
                 break;
+            case TokenTypes.SILICON_VERSION:
+                // Streams written without a dictionary can be read without one
+                final SchemaDictionary dict = dictionary != null ? dictionary : SchemaDictionary.EMPTY;
+                final long fingerprint = input.readLong();
+                if (fingerprint != dict.fingerprint()) {
+                    if (dictionary == null) {
+                        throw defunct("Stream version %s requires a schema dictionary", version);
+                    }
+                    throw defunct("Stream dictionary fingerprint %s does not match %s", Long.toHexString(fingerprint),
+                        dictionary);
+                }
+                ret = new SiliconDataInput(input, dict);
+                break;
             default:
                 throw defunct("Unhandled stream version %s", version);
         }
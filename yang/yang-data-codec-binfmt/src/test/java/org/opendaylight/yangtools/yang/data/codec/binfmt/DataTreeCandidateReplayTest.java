@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.Invocation;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DataTreeCandidateReplayTest {
+    private static final NodeIdentifier TEST = new NodeIdentifier(TestModel.TEST_QNAME);
+    private static final NodeIdentifier DESC = new NodeIdentifier(TestModel.DESC_QNAME);
+    private static final NodeIdentifier BOOLEAN_LEAF = new NodeIdentifier(TestModel.BOOLEAN_LEAF_QNAME);
+    private static final NodeIdentifier OUTER_LIST = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+    private static final NodeIdentifierWithPredicates OUTER_ENTRY = NodeIdentifierWithPredicates.of(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final NodeIdentifier INNER_LIST = new NodeIdentifier(TestModel.INNER_LIST_QNAME);
+
+    private static final LeafNode<String> DESC_LEAF = ImmutableNodes.leafNode(DESC, "description");
+    private static final MapEntryNode ENTRY = ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+        TestModel.ID_QNAME, 1);
+
+    @Test
+    public void testModificationReplay() throws IOException {
+        final DataTreeCandidate candidate = DataTreeCandidates.newDataTreeCandidate(TestModel.TEST_PATH,
+            createModifiedRoot());
+
+        final DataTreeModification expected = mock(DataTreeModification.class);
+        DataTreeCandidates.applyToModification(expected, candidate);
+
+        final DataTreeModification actual = mock(DataTreeModification.class);
+        assertEquals(TestModel.TEST_PATH, DataTreeCandidateInputOutput.applyDataTreeCandidate(
+            serialize(candidate), actual));
+
+        assertEquals(invocations(expected), invocations(actual));
+    }
+
+    @Test
+    public void testCursorReplay() throws IOException {
+        final DataTreeModificationCursor cursor = mock(DataTreeModificationCursor.class);
+        DataTreeCandidateInputOutput.applyDataTreeCandidate(serialize(DataTreeCandidates.newDataTreeCandidate(
+            TestModel.TEST_PATH, createModifiedRoot())), cursor);
+
+        final InOrder inOrder = inOrder(cursor);
+        inOrder.verify(cursor).enter(TEST);
+        inOrder.verify(cursor).write(DESC, DESC_LEAF);
+        inOrder.verify(cursor).delete(BOOLEAN_LEAF);
+        inOrder.verify(cursor).enter(OUTER_LIST);
+        inOrder.verify(cursor).write(OUTER_ENTRY, ENTRY);
+        inOrder.verify(cursor, times(2)).exit();
+        verifyNoMoreInteractions(cursor);
+    }
+
+    @Test
+    public void testCursorWriteDelete() throws IOException {
+        final YangInstanceIdentifier entryPath = TestModel.TEST_PATH.node(OUTER_LIST).node(OUTER_ENTRY);
+
+        final DataTreeModificationCursor cursor = mock(DataTreeModificationCursor.class);
+        DataTreeCandidateInputOutput.applyDataTreeCandidate(serialize(DataTreeCandidates.newDataTreeCandidate(
+            entryPath, DataTreeCandidateNodes.written(ENTRY))), cursor);
+        DataTreeCandidateInputOutput.applyDataTreeCandidate(serialize(DataTreeCandidates.newDataTreeCandidate(
+            entryPath, DeletedDataTreeCandidateNode.create())), cursor);
+
+        final InOrder inOrder = inOrder(cursor);
+        inOrder.verify(cursor).enter(TEST);
+        inOrder.verify(cursor).enter(OUTER_LIST);
+        inOrder.verify(cursor).write(OUTER_ENTRY, ENTRY);
+        inOrder.verify(cursor, times(2)).exit();
+        inOrder.verify(cursor).enter(TEST);
+        inOrder.verify(cursor).enter(OUTER_LIST);
+        inOrder.verify(cursor).delete(OUTER_ENTRY);
+        inOrder.verify(cursor, times(2)).exit();
+        verifyNoMoreInteractions(cursor);
+    }
+
+    @Test
+    public void testCursorDeleteRoot() throws IOException {
+        final NormalizedNodeDataInput in = serialize(DataTreeCandidates.newDataTreeCandidate(
+            YangInstanceIdentifier.empty(), DeletedDataTreeCandidateNode.create()));
+        final DataTreeModificationCursor cursor = mock(DataTreeModificationCursor.class);
+        assertThrows(IllegalArgumentException.class, () -> DataTreeCandidateInputOutput.applyDataTreeCandidate(in,
+            cursor));
+    }
+
+    private static DataTreeCandidateNode createModifiedRoot() {
+        return ModifiedDataTreeCandidateNode.create(ModificationType.SUBTREE_MODIFIED, List.of(
+            DataTreeCandidateNodes.written(DESC_LEAF),
+            DeletedDataTreeCandidateNode.create(BOOLEAN_LEAF),
+            // Modified node with only unmodified children, which needs to be skipped
+            ModifiedDataTreeCandidateNode.create(INNER_LIST, ModificationType.SUBTREE_MODIFIED,
+                List.of(DataTreeCandidateNodes.unmodified(ENTRY))),
+            ModifiedDataTreeCandidateNode.create(OUTER_LIST, ModificationType.SUBTREE_MODIFIED,
+                List.of(DataTreeCandidateNodes.written(ENTRY)))));
+    }
+
+    private static NormalizedNodeDataInput serialize(final DataTreeCandidate candidate) throws IOException {
+        final ByteArrayDataOutput bytes = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bytes)) {
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        }
+        return NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes.toByteArray()));
+    }
+
+    private static List<String> invocations(final Object mock) {
+        return mockingDetails(mock).getInvocations().stream()
+            .map(Invocation::toString)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
+import org.opendaylight.yangtools.yang.data.spi.tree.Version;
+
+public class MappedSnapshotTest {
+    private static final NodeIdentifier OUTER_LIST = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ContainerNode expected = TestModel.createTestContainer(Uint64::valueOf);
+        final Path file = writeSnapshot(expected);
+
+        final NormalizedNode actual = MappedSnapshot.read(file);
+        assertThat(actual, instanceOf(MappedContainerNode.class));
+        assertEquals(expected.getIdentifier(), actual.getIdentifier());
+        assertEquals(expected, materialize(actual));
+    }
+
+    @Test
+    public void testLazyAccess() throws IOException {
+        final Path file = writeSnapshot(TestModel.createTestContainer(Uint64::valueOf));
+
+        final TreeNode root = MappedSnapshot.readTreeNode(file, Version.initial());
+        final TreeNode outerList = root.childByArg(OUTER_LIST);
+        assertNotNull(outerList);
+        assertThat(outerList.getData(), instanceOf(SystemMapNode.class));
+
+        final NodeIdentifierWithPredicates entryId = NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, 1);
+        final TreeNode entry = outerList.childByArg(entryId);
+        assertNotNull(entry);
+        assertThat(entry.getData(), instanceOf(MapEntryNode.class));
+        assertEquals(entryId, entry.getIdentifier());
+        assertNull(outerList.childByArg(NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, 42)));
+    }
+
+    @Test
+    public void testConsistentWithImmutable() throws IOException {
+        final ContainerNode expected = TestModel.createTestContainer(Uint64::valueOf);
+        final NormalizedNode actual = MappedSnapshot.read(writeSnapshot(expected));
+        assertConsistent(expected, actual);
+
+        final SystemMapNode expectedList = (SystemMapNode) expected.childByArg(OUTER_LIST);
+        final SystemMapNode actualList = (SystemMapNode) ((ContainerNode) actual).childByArg(OUTER_LIST);
+        assertThat(actualList, instanceOf(MappedMapNode.class));
+        assertConsistent(expectedList, actualList);
+
+        final NodeIdentifierWithPredicates entryId = NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, 1);
+        final MapEntryNode actualEntry = actualList.childByArg(entryId);
+        assertThat(actualEntry, instanceOf(MappedMapEntryNode.class));
+        assertConsistent(expectedList.childByArg(entryId), actualEntry);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFile() throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 });
+        MappedSnapshot.read(file);
+    }
+
+    private Path writeSnapshot(final NormalizedNode data) throws IOException {
+        final Path file = folder.newFile().toPath();
+        MappedSnapshot.write(file, data);
+        return file;
+    }
+
+    private static void assertConsistent(final NormalizedNode expected, final NormalizedNode actual) {
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+    }
+
+    private static NormalizedNode materialize(final NormalizedNode node) throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                ImmutableNormalizedNodeStreamWriter.from(result))) {
+            writer.write(node);
+        }
+        return result.getResult();
+    }
+}
@@ -13,6 +13,8 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -31,7 +33,9 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -62,6 +66,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLe
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafSetNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
 
@@ -82,19 +87,30 @@ public class NormalizedNodeStreamReaderWriterTest {
         };
     }
 
-    @Parameters(name = "{0} {1}")
+    enum Dictionary {
+        NONE,
+        SCHEMA;
+    }
+
+    private static SchemaDictionary SCHEMA_DICTIONARY;
+
+    @Parameters(name = "{0} {1} {9}")
     public static Iterable<Object[]> data() {
         return Arrays.asList(
             new Object[] { NormalizedNodeStreamVersion.LITHIUM,    Unsigned.BIG_INTEGER,
-                1_050_286, 9_577_973, 171, 1_553, 103, 237,  98 },
+                1_050_286, 9_577_973, 171, 1_553, 103, 237,  98, Dictionary.NONE },
             new Object[] { NormalizedNodeStreamVersion.NEON_SR2,   Unsigned.BIG_INTEGER,
-                1_049_950, 5_577_993, 161, 1_163, 105, 235, 100 },
+                1_049_950, 5_577_993, 161, 1_163, 105, 235, 100, Dictionary.NONE },
             new Object[] { NormalizedNodeStreamVersion.SODIUM_SR1, Unsigned.BIG_INTEGER,
-                1_049_619, 2_289_103, 139,   826, 103, 229,  99 },
+                1_049_619, 2_289_103, 139,   826, 103, 229,  99, Dictionary.NONE },
             new Object[] { NormalizedNodeStreamVersion.SODIUM_SR1, Unsigned.UINT64,
-                1_049_618, 2_289_103, 139,   825, 103, 229,  99 },
+                1_049_618, 2_289_103, 139,   825, 103, 229,  99, Dictionary.NONE },
             new Object[] { NormalizedNodeStreamVersion.MAGNESIUM,  Unsigned.UINT64,
-                1_049_618, 2_289_103, 139,   825, 103, 229,  99 });
+                1_049_618, 2_289_103, 139,   825, 103, 229,  99, Dictionary.NONE },
+            new Object[] { NormalizedNodeStreamVersion.SILICON,    Unsigned.UINT64,
+                1_049_626, 2_289_111, 147,   833, 111, 237, 107, Dictionary.NONE },
+            new Object[] { NormalizedNodeStreamVersion.SILICON,    Unsigned.UINT64,
+                1_049_505, 2_289_013,  23,   712,  13, 229, 107, Dictionary.SCHEMA });
     }
 
     @Parameter(0)
@@ -115,12 +131,24 @@ public class NormalizedNodeStreamReaderWriterTest {
     public int anyxmlStreamingSize;
     @Parameter(8)
     public int schemaPathSize;
+    @Parameter(9)
+    public Dictionary dictionary;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_DICTIONARY = SchemaDictionary.of(YangParserTestUtils.parseYangResource("/silicon-test.yang"));
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_DICTIONARY = null;
+    }
 
     @Test
     public void testNormalizedNodeStreaming() throws IOException {
 
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos));
+        NormalizedNodeDataOutput nnout = newDataOutput(bos);
 
         NormalizedNode testContainer = createTestContainer();
         nnout.writeNormalizedNode(testContainer);
@@ -139,7 +167,7 @@ public class NormalizedNodeStreamReaderWriterTest {
         final byte[] bytes = bos.toByteArray();
         assertEquals(normalizedNodeStreamingSize, bytes.length);
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
 
         NormalizedNode node = nnin.readNormalizedNode();
         Assert.assertEquals(testContainer, node);
@@ -176,14 +204,14 @@ public class NormalizedNodeStreamReaderWriterTest {
                         TestModel.INNER_LIST_QNAME, TestModel.ID_QNAME, 10).build();
 
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos));
+        NormalizedNodeDataOutput nnout = newDataOutput(bos);
 
         nnout.writeYangInstanceIdentifier(path);
 
         final byte[] bytes = bos.toByteArray();
         assertEquals(yiidStreamingSize, bytes.length);
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
 
         YangInstanceIdentifier newPath = nnin.readYangInstanceIdentifier();
         Assert.assertEquals(path, newPath);
@@ -193,8 +221,7 @@ public class NormalizedNodeStreamReaderWriterTest {
     public void testNormalizedNodeAndYangInstanceIdentifierStreaming() throws IOException {
 
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        NormalizedNodeDataOutput writer = version.newDataOutput(
-            ByteStreams.newDataOutput(bos));
+        NormalizedNodeDataOutput writer = newDataOutput(bos);
 
         NormalizedNode testContainer = TestModel.createBaseTestContainerBuilder(uint64).build();
         writer.writeNormalizedNode(testContainer);
@@ -208,7 +235,7 @@ public class NormalizedNodeStreamReaderWriterTest {
         final byte[] bytes = bos.toByteArray();
         assertEquals(nnYiidStreamingSize, bytes.length);
 
-        NormalizedNodeDataInput reader = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput reader = newDataInput(bytes);
 
         NormalizedNode node = reader.readNormalizedNode();
         Assert.assertEquals(testContainer, node);
@@ -222,7 +249,7 @@ public class NormalizedNodeStreamReaderWriterTest {
     @Test(expected = InvalidNormalizedNodeStreamException.class, timeout = 10000)
     public void testInvalidNormalizedNodeStream() throws IOException {
         byte[] invalidBytes = {1, 2, 3};
-        NormalizedNodeDataInput reader = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(invalidBytes));
+        NormalizedNodeDataInput reader = newDataInput(invalidBytes);
 
         reader.readNormalizedNode();
     }
@@ -230,7 +257,7 @@ public class NormalizedNodeStreamReaderWriterTest {
     @Test(expected = InvalidNormalizedNodeStreamException.class, timeout = 10000)
     public void testInvalidYangInstanceIdentifierStream() throws IOException {
         byte[] invalidBytes = {1,2,3};
-        NormalizedNodeDataInput reader = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(invalidBytes));
+        NormalizedNodeDataInput reader = newDataInput(invalidBytes);
 
         reader.readYangInstanceIdentifier();
     }
@@ -260,14 +287,14 @@ public class NormalizedNodeStreamReaderWriterTest {
                             .withValue(new DOMSource(xmlNode)).build()).build();
 
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos));
+        NormalizedNodeDataOutput nnout = newDataOutput(bos);
 
         nnout.writeNormalizedNode(anyXmlContainer);
 
         final byte[] bytes = bos.toByteArray();
         assertEquals(anyxmlStreamingSize, bytes.length);
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
 
         ContainerNode deserialized = (ContainerNode)nnin.readNormalizedNode();
 
@@ -289,14 +316,14 @@ public class NormalizedNodeStreamReaderWriterTest {
         final Absolute expected = Absolute.of(TestModel.ANY_XML_QNAME);
 
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        try (NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos))) {
+        try (NormalizedNodeDataOutput nnout = newDataOutput(bos)) {
             nnout.writeSchemaNodeIdentifier(expected);
         }
 
         final byte[] bytes = bos.toByteArray();
         assertEquals(schemaPathSize, bytes.length);
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
         assertEquals(expected, nnin.readSchemaNodeIdentifier());
     }
 
@@ -306,14 +333,14 @@ public class NormalizedNodeStreamReaderWriterTest {
 
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
 
-        try (NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos))) {
+        try (NormalizedNodeDataOutput nnout = newDataOutput(bos)) {
             nnout.writePathArgument(expected);
         }
 
         final byte[] bytes = bos.toByteArray();
         assertEquals(writePathArgumentSize, bytes.length);
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
         assertEquals(expected, nnin.readPathArgument());
     }
 
@@ -340,14 +367,14 @@ public class NormalizedNodeStreamReaderWriterTest {
         final SystemMapNode expected = mapBuilder.build();
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
 
-        try (NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos))) {
+        try (NormalizedNodeDataOutput nnout = newDataOutput(bos)) {
             nnout.writeNormalizedNode(expected);
         }
 
         final byte[] bytes = bos.toByteArray();
         assertEquals(hugeEntriesSize, bytes.length);
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
         assertEquals(expected, nnin.readNormalizedNode());
     }
 
@@ -370,17 +397,29 @@ public class NormalizedNodeStreamReaderWriterTest {
 
     private void assertAugmentationIdentifier(final AugmentationIdentifier expected) throws IOException {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        try (NormalizedNodeDataOutput nnout = version.newDataOutput(ByteStreams.newDataOutput(bos))) {
+        try (NormalizedNodeDataOutput nnout = newDataOutput(bos)) {
             nnout.writePathArgument(expected);
         }
 
         final byte[] bytes = bos.toByteArray();
 
-        NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes));
+        NormalizedNodeDataInput nnin = newDataInput(bytes);
         PathArgument arg = nnin.readPathArgument();
         assertEquals(expected, arg);
     }
 
+    private NormalizedNodeDataOutput newDataOutput(final ByteArrayOutputStream bos) {
+        final DataOutput output = ByteStreams.newDataOutput(bos);
+        return dictionary == Dictionary.SCHEMA ? version.newDataOutput(output, SCHEMA_DICTIONARY)
+            : version.newDataOutput(output);
+    }
+
+    private NormalizedNodeDataInput newDataInput(final byte[] bytes) throws IOException {
+        final DataInput input = ByteStreams.newDataInput(bytes);
+        return dictionary == Dictionary.SCHEMA ? NormalizedNodeDataInput.newDataInput(input, SCHEMA_DICTIONARY)
+            : NormalizedNodeDataInput.newDataInput(input);
+    }
+
     private static <T extends Serializable> T clone(final T obj) {
         final ByteArrayOutputStream baos = new ByteArrayOutputStream(512);
         try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
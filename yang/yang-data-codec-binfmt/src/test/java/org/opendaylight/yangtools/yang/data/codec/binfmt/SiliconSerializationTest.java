@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.util.PathArgumentInterner;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class SiliconSerializationTest {
+    private static final QName MYIDENTITY_QNAME = QName.create(TestModel.TEST_QNAME, "myidentity");
+    private static final QName SOME_REF_QNAME = QName.create(TestModel.TEST_QNAME, "some-ref");
+
+    private static EffectiveModelContext CONTEXT;
+    private static SchemaDictionary DICTIONARY;
+
+    @BeforeClass
+    public static void beforeClass() {
+        CONTEXT = YangParserTestUtils.parseYangResource("/silicon-test.yang");
+        DICTIONARY = SchemaDictionary.of(CONTEXT);
+    }
+
+    @Test
+    public void testDictionary() {
+        // identity, test, desc, boolean-leaf, some-ref, outer-list, id, inner-list, name, value, switch-features, two
+        // (case and leaf), reset, input, output, changed
+        assertEquals(16, DICTIONARY.size());
+        assertEquals(DICTIONARY.fingerprint(),
+            SchemaDictionary.of(YangParserTestUtils.parseYangResource("/silicon-test.yang")).fingerprint());
+        assertNotEquals(DICTIONARY.fingerprint(), SchemaDictionary.EMPTY.fingerprint());
+    }
+
+    @Test
+    public void testSchemaNodes() throws IOException {
+        final ContainerNode container = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "desc"))
+            .withChild(ImmutableNodes.leafNode(SOME_REF_QNAME, MYIDENTITY_QNAME))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+                .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+                .build())
+            .build();
+
+        final byte[] bytes = serialize(container);
+        // 11 bytes of header, all QNames are encoded as single-byte references
+        assertEquals(39, bytes.length);
+        assertThat(bytes.length, lessThan(serializeMagnesium(container).length));
+        assertEquals(container, deserialize(bytes).readNormalizedNode());
+    }
+
+    @Test
+    public void testTestContainer() throws IOException {
+        final ContainerNode container = TestModel.createTestContainer(Uint64::valueOf);
+        final byte[] bytes = serialize(container);
+        assertThat(bytes.length, lessThan(serializeMagnesium(container).length));
+        assertEquals(container, deserialize(bytes).readNormalizedNode());
+    }
+
+    @Test
+    public void testLargeCodes() throws IOException {
+        // A container with 300 leaves outside of the dictionary, which is present in two map entries. The second entry
+        // refers to the leaves through codes beyond 255.
+        final DataContainerNodeBuilder<?, MapEntryNode> first = ImmutableNodes.mapEntryBuilder(
+            TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+        final DataContainerNodeBuilder<?, MapEntryNode> second = ImmutableNodes.mapEntryBuilder(
+            TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+        for (int i = 0; i < 300; ++i) {
+            final QName qname = QName.create(TestModel.TEST_QNAME, "leaf" + i);
+            first.withChild(ImmutableNodes.leafNode(qname, i));
+            second.withChild(ImmutableNodes.leafNode(qname, i));
+        }
+
+        final NormalizedNode node = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(first.build())
+            .withChild(second.build())
+            .build();
+        assertEquals(node, deserialize(serialize(node)).readNormalizedNode());
+    }
+
+    @Test
+    public void testPathArguments() throws IOException {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+            .node(TestModel.OUTER_LIST_QNAME)
+            .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)
+            .node(QName.create(TestModel.TEST_QNAME, "unknown"))
+            .build();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.SILICON.newDataOutput(
+                ByteStreams.newDataOutput(bos), DICTIONARY)) {
+            out.writeYangInstanceIdentifier(path);
+            out.writeQName(MYIDENTITY_QNAME);
+        }
+
+        final NormalizedNodeDataInput in = deserialize(bos.toByteArray());
+        assertEquals(NormalizedNodeStreamVersion.SILICON, in.getVersion());
+        assertEquals(path, in.readYangInstanceIdentifier());
+        assertEquals(MYIDENTITY_QNAME, in.readQName());
+    }
+
+    @Test
+    public void testInternedPathArguments() throws IOException {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+            .node(TestModel.OUTER_LIST_QNAME)
+            .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 5)
+            .build();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.SILICON.newDataOutput(
+                ByteStreams.newDataOutput(bos), DICTIONARY)) {
+            out.writeYangInstanceIdentifier(path);
+        }
+
+        final byte[] bytes = bos.toByteArray();
+        final PathArgument first = deserialize(bytes).readYangInstanceIdentifier().getLastPathArgument();
+        final PathArgument second = deserialize(bytes).readYangInstanceIdentifier().getLastPathArgument();
+        assertEquals(path.getLastPathArgument(), first);
+        assertSame(first, second);
+        assertSame(first, PathArgumentInterner.of(CONTEXT).intern((NodeIdentifierWithPredicates) first));
+    }
+
+    @Test
+    public void testWithoutDictionary() throws IOException {
+        final ContainerNode container = TestModel.createTestContainer(Uint64::valueOf);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.SILICON.newDataOutput(
+                ByteStreams.newDataOutput(bos))) {
+            out.writeNormalizedNode(container);
+        }
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(
+            ByteStreams.newDataInput(bos.toByteArray()));
+        assertEquals(NormalizedNodeStreamVersion.SILICON, in.getVersion());
+        assertEquals(container, in.readNormalizedNode());
+    }
+
+    @Test
+    public void testDictionaryRequired() throws IOException {
+        final byte[] bytes = serialize(TestModel.createTestContainer(Uint64::valueOf));
+        final InvalidNormalizedNodeStreamException ex = assertThrows(InvalidNormalizedNodeStreamException.class,
+            () -> NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes)));
+        assertEquals("Stream version 5 requires a schema dictionary", ex.getMessage());
+    }
+
+    @Test
+    public void testDictionaryMismatch() throws IOException {
+        final byte[] bytes = serialize(TestModel.createTestContainer(Uint64::valueOf));
+        final InvalidNormalizedNodeStreamException ex = assertThrows(InvalidNormalizedNodeStreamException.class,
+            () -> NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes), SchemaDictionary.EMPTY));
+        assertThat(ex.getMessage(), startsWith("Stream dictionary fingerprint "));
+    }
+
+    @Test
+    public void testOtherVersions() throws IOException {
+        final ContainerNode container = TestModel.createTestContainer(Uint64::valueOf);
+        assertEquals(container, NormalizedNodeDataInput.newDataInput(
+            ByteStreams.newDataInput(serializeMagnesium(container)), DICTIONARY).readNormalizedNode());
+    }
+
+    private static byte[] serialize(final NormalizedNode node) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.SILICON.newDataOutput(
+                ByteStreams.newDataOutput(bos), DICTIONARY)) {
+            out.writeNormalizedNode(node);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] serializeMagnesium(final NormalizedNode node) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(
+                ByteStreams.newDataOutput(bos))) {
+            out.writeNormalizedNode(node);
+        }
+        return bos.toByteArray();
+    }
+
+    private static NormalizedNodeDataInput deserialize(final byte[] bytes) throws IOException {
+        return NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes), DICTIONARY);
+    }
+}
@@ -44,6 +44,7 @@ import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.MultipleEntryDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
+import org.opendaylight.yangtools.yang.data.util.PathArgumentInterner;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
@@ -79,13 +80,15 @@ public final class JsonParserStream implements Closeable, Flushable {
 
     // TODO: consider class specialization to remove this field
     private final boolean lenient;
+    private final boolean streaming;
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final JSONCodecFactory codecs,
-            final SchemaInferenceStack stack, final boolean lenient) {
-        this.writer = requireNonNull(writer);
+            final SchemaInferenceStack stack, final boolean lenient, final boolean streaming) {
         this.codecs = requireNonNull(codecs);
+        this.writer = PathArgumentInterner.of(codecs.getEffectiveModelContext()).wrap(writer);
         this.stack = requireNonNull(stack);
         this.lenient = lenient;
+        this.streaming = streaming;
 
         if (!stack.isEmpty()) {
             final EffectiveStatement<?, ?> parent = stack.currentStatement();
@@ -114,7 +117,7 @@ public final class JsonParserStream implements Closeable, Flushable {
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
         return new JsonParserStream(writer, codecFactory,
-            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), false);
+            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), false, false);
     }
 
     /**
@@ -129,7 +132,7 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull EffectiveStatementInference parentNode) {
-        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), false);
+        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), false, false);
     }
 
     /**
@@ -151,7 +154,7 @@ public final class JsonParserStream implements Closeable, Flushable {
     public static @NonNull JsonParserStream createLenient(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
         return new JsonParserStream(writer, codecFactory,
-            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), true);
+            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), true, false);
     }
 
     /**
@@ -172,7 +175,46 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream createLenient(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull EffectiveStatementInference parentNode) {
-        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), true);
+        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), true, false);
+    }
+
+    /**
+     * Create a new streaming {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the top of the SchemaContext associated
+     * with the specified codec factory.
+     *
+     * <p>
+     * Returned parser will emit events into the writer while the JSON data is being read, retaining only the data which
+     * cannot be emitted yet, such as list entries whose keys have not been encountered yet. Parsing large inputs
+     * therefore does not require the entire input to be held in memory. Note that events may be emitted in an order
+     * different from the non-streaming parser, child size hints are not provided and the events emitted before an
+     * error is encountered are not retracted.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory) {
+        return new JsonParserStream(writer, codecFactory,
+            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), false, true);
+    }
+
+    /**
+     * Create a new streaming {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the specified parent node. See
+     * {@link #createStreaming(NormalizedNodeStreamWriter, JSONCodecFactory)} for details on streaming.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @param parentNode Logical root node
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory, final @NonNull EffectiveStatementInference parentNode) {
+        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), false, true);
     }
 
     public JsonParserStream parse(final JsonReader reader) {
@@ -186,8 +228,14 @@ public final class JsonParserStream implements Closeable, Flushable {
             isEmpty = false;
             final CompositeNodeDataWithSchema<?> compositeNodeDataWithSchema =
                     new CompositeNodeDataWithSchema<>(parentNode);
-            read(reader, compositeNodeDataWithSchema);
-            compositeNodeDataWithSchema.write(writer);
+            if (streaming) {
+                compositeNodeDataWithSchema.startStreaming(writer);
+                read(reader, compositeNodeDataWithSchema);
+                compositeNodeDataWithSchema.endStreaming();
+            } else {
+                read(reader, compositeNodeDataWithSchema);
+                compositeNodeDataWithSchema.write(writer);
+            }
 
             return this;
         } catch (final EOFException e) {
@@ -278,8 +326,7 @@ public final class JsonParserStream implements Closeable, Flushable {
                     if (parent instanceof LeafNodeDataWithSchema) {
                         read(in, parent);
                     } else {
-                        final AbstractNodeDataWithSchema<?> newChild = newArrayEntry(parent);
-                        read(in, newChild);
+                        readArrayEntry(in, parent);
                     }
                 }
                 in.endArray();
@@ -294,8 +341,12 @@ public final class JsonParserStream implements Closeable, Flushable {
                  * without wrapping array.
                  *
                  */
+                final AbstractNodeDataWithSchema<?> arrayParent;
                 if (isArray(parent)) {
+                    arrayParent = parent;
                     parent = newArrayEntry(parent);
+                } else {
+                    arrayParent = null;
                 }
                 while (in.hasNext()) {
                     final String jsonElementName = in.nextName();
@@ -332,15 +383,27 @@ public final class JsonParserStream implements Closeable, Flushable {
                         read(in, newChild);
                         stack.exit();
                     }
+                    ((CompositeNodeDataWithSchema<?>) parent).childComplete(newChild);
                     removeNamespace();
                 }
                 in.endObject();
+                if (arrayParent != null) {
+                    ((CompositeNodeDataWithSchema<?>) arrayParent).childComplete(parent);
+                }
                 return;
             default:
                 break;
         }
     }
 
+    private void readArrayEntry(final JsonReader in, final AbstractNodeDataWithSchema<?> parent) throws IOException {
+        final AbstractNodeDataWithSchema<?> newChild = newArrayEntry(parent);
+        read(in, newChild);
+        if (parent instanceof CompositeNodeDataWithSchema) {
+            ((CompositeNodeDataWithSchema<?>) parent).childComplete(newChild);
+        }
+    }
+
     private static boolean isArray(final AbstractNodeDataWithSchema<?> parent) {
         return parent instanceof ListNodeDataWithSchema || parent instanceof LeafListNodeDataWithSchema;
     }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+/**
+ * Tests verifying that {@link JsonParserStream#createStreaming(NormalizedNodeStreamWriter, JSONCodecFactory)} produces
+ * the same results as the non-streaming parser.
+ */
+public class StreamingJsonParserTest extends AbstractComplexJsonTest {
+    // Note: resources with anyxml are not included, as DOMSource does not implement equals()
+    private static final List<String> RESOURCES = List.of(
+        "/complexjson/case-node-augmentation-in-choice-in-container.json",
+        "/complexjson/case-node-external-augmentation-in-choice-in-container.json",
+        "/complexjson/choice-node-augmentation-in-container.json",
+        "/complexjson/choice-node-in-container.json",
+        "/complexjson/keyed-list-node-in-container.json",
+        "/complexjson/leaf-node-in-container.json",
+        "/complexjson/leaf-node-via-augmentation-in-container.json",
+        "/complexjson/leaflist-node-in-container.json",
+        "/complexjson/missing-module-in-top-level.json",
+        "/complexjson/multiple-choice-augmentation-in-container.json",
+        "/complexjson/type-empty.json",
+        "/complexjson/unkeyed-node-in-container.json");
+
+    private static final String KEYS_LAST = "{\"complexjson:cont1\": {"
+        + "\"lflst11\": [\"a\", \"b\"],"
+        + "\"lst11\": ["
+        + "{\"lf113\": \"first\", \"lf111\": \"1\", \"key111\": \"one\"},"
+        + "{\"lf112\": \"/complexjson:cont1/complexjson:lflst11[.='a']\", \"key111\": \"two\", \"lf111\": \"2\"},"
+        + "{\"key111\": \"three\", \"lf111\": \"3\", \"lf113\": \"last\"}"
+        + "],"
+        + "\"lst12\": [{\"lf121\": \"x\"}, {\"lf121\": \"y\"}],"
+        + "\"lf11\": \"453\""
+        + "}}";
+
+    @Test
+    public void testStreamingResources() throws Exception {
+        for (String resource : RESOURCES) {
+            final String inputJson = loadTextFile(resource);
+            assertEquals(resource, parse(inputJson, false), parse(inputJson, true));
+        }
+    }
+
+    @Test
+    public void testKeysAfterLeaves() {
+        final NormalizedNode expected = parse(KEYS_LAST, false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(KEYS_LAST, true));
+    }
+
+    @Test
+    public void testEventsEmittedBeforeEnd() throws IOException {
+        // Truncated input: streaming parser should have emitted all completed list entries by the time it fails
+        final String truncated = KEYS_LAST.substring(0, KEYS_LAST.indexOf("\"lst12\""));
+
+        final NormalizedNodeStreamWriter streaming = spy(ImmutableNormalizedNodeStreamWriter.from(
+            new NormalizedNodeResult()));
+        assertThrows(JsonSyntaxException.class, () -> JsonParserStream.createStreaming(streaming, lhotkaCodecFactory)
+            .parse(new JsonReader(new StringReader(truncated))));
+        verify(streaming).startContainerNode(any(), anyInt());
+        verify(streaming, times(3)).startMapEntryNode(any(), anyInt());
+
+        final NormalizedNodeStreamWriter buffered = spy(ImmutableNormalizedNodeStreamWriter.from(
+            new NormalizedNodeResult()));
+        assertThrows(JsonSyntaxException.class, () -> JsonParserStream.create(buffered, lhotkaCodecFactory)
+            .parse(new JsonReader(new StringReader(truncated))));
+        verify(buffered, never()).startContainerNode(any(), anyInt());
+    }
+
+    private static NormalizedNode parse(final String inputJson, final boolean streaming) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final JsonParserStream jsonParser = streaming ? JsonParserStream.createStreaming(streamWriter,
+            lhotkaCodecFactory) : JsonParserStream.create(streamWriter, lhotkaCodecFactory);
+        jsonParser.parse(new JsonReader(new StringReader(inputJson)));
+        return result.getResult();
+    }
+}
@@ -69,6 +69,7 @@ import org.opendaylight.yangtools.yang.data.util.MountPointData;
 import org.opendaylight.yangtools.yang.data.util.MultipleEntryDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
+import org.opendaylight.yangtools.yang.data.util.PathArgumentInterner;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.model.api.AnydataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.AnyxmlSchemaNode;
@@ -144,13 +145,15 @@ public final class XmlParserStream implements Closeable, Flushable {
     private final XmlCodecFactory codecs;
     private final DataSchemaNode parentNode;
     private final boolean strictParsing;
+    private final boolean streaming;
 
     private XmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
-            final SchemaInferenceStack stack, final boolean strictParsing) {
-        this.writer = requireNonNull(writer);
+            final SchemaInferenceStack stack, final boolean strictParsing, final boolean streaming) {
         this.codecs = requireNonNull(codecs);
+        this.writer = PathArgumentInterner.of(codecs.getEffectiveModelContext()).wrap(writer);
         this.stack = requireNonNull(stack);
         this.strictParsing = strictParsing;
+        this.streaming = streaming;
 
         if (!stack.isEmpty()) {
             final EffectiveStatement<?, ?> stmt = stack.currentStatement();
@@ -193,7 +196,8 @@ public final class XmlParserStream implements Closeable, Flushable {
      */
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
             final EffectiveStatementInference parentNode, final boolean strictParsing) {
-        return new XmlParserStream(writer, codecs, SchemaInferenceStack.ofInference(parentNode), strictParsing);
+        return new XmlParserStream(writer, codecs, SchemaInferenceStack.ofInference(parentNode), strictParsing,
+            false);
     }
 
     /**
@@ -266,6 +270,47 @@ public final class XmlParserStream implements Closeable, Flushable {
         return create(writer, XmlCodecFactory.create(mountCtx), parentNode, strictParsing);
     }
 
+    /**
+     * Construct a new streaming {@link XmlParserStream} with strict parsing mode switched on. See
+     * {@link #createStreaming(NormalizedNodeStreamWriter, XmlCodecFactory, EffectiveStatementInference, boolean)} for
+     * details.
+     *
+     * @param writer Output writer
+     * @param codecs Shared codecs
+     * @param parentNode Parent root node
+     * @return A new stream instance
+     */
+    @Beta
+    public static XmlParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final XmlCodecFactory codecs, final EffectiveStatementInference parentNode) {
+        return createStreaming(writer, codecs, parentNode, true);
+    }
+
+    /**
+     * Construct a new streaming {@link XmlParserStream}. Unlike the streams returned from
+     * {@link #create(NormalizedNodeStreamWriter, XmlCodecFactory, EffectiveStatementInference, boolean)}, this stream
+     * emits events into the writer while the XML source is being read, retaining only the data which cannot be emitted
+     * yet, such as list entries whose keys have not been encountered yet. Parsing large inputs therefore does not
+     * require the entire input to be held in memory. Note that events may be emitted in an order different from the
+     * non-streaming parser, child size hints are not provided and the events emitted before an error is encountered are
+     * not retracted.
+     *
+     * @param writer Output writer
+     * @param codecs Shared codecs
+     * @param parentNode Parent root node
+     * @param strictParsing parsing mode
+     *            if set to true, the parser will throw an exception if it encounters unknown child nodes
+     *            (nodes, that are not defined in the provided SchemaContext) in containers and lists
+     *            if set to false, the parser will skip unknown child nodes
+     * @return A new stream instance
+     */
+    @Beta
+    public static XmlParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final XmlCodecFactory codecs, final EffectiveStatementInference parentNode, final boolean strictParsing) {
+        return new XmlParserStream(writer, codecs, SchemaInferenceStack.ofInference(parentNode), strictParsing,
+            true);
+    }
+
     /**
      * This method parses the XML source and emits node events into a NormalizedNodeStreamWriter based on the
      * YANG-modeled data contained in the XML source.
@@ -304,8 +349,15 @@ public final class XmlParserStream implements Closeable, Flushable {
                 throw new IllegalStateException("Unsupported schema node type " + parentNode.getClass() + ".");
             }
 
-            read(reader, nodeDataWithSchema, reader.getLocalName());
-            nodeDataWithSchema.write(writer);
+            if (streaming && nodeDataWithSchema instanceof CompositeNodeDataWithSchema) {
+                final CompositeNodeDataWithSchema<?> composite = (CompositeNodeDataWithSchema<?>) nodeDataWithSchema;
+                composite.startStreaming(writer);
+                read(reader, composite, reader.getLocalName());
+                composite.endStreaming();
+            } else {
+                read(reader, nodeDataWithSchema, reader.getLocalName());
+                nodeDataWithSchema.write(writer);
+            }
         }
 
         return this;
@@ -403,7 +455,7 @@ public final class XmlParserStream implements Closeable, Flushable {
     }
 
     private void read(final XMLStreamReader in, final AbstractNodeDataWithSchema<?> parent, final String rootElement)
-            throws XMLStreamException {
+            throws XMLStreamException, IOException {
         if (!in.hasNext()) {
             return;
         }
@@ -428,7 +480,9 @@ public final class XmlParserStream implements Closeable, Flushable {
         if (parent instanceof LeafListNodeDataWithSchema || parent instanceof ListNodeDataWithSchema) {
             String xmlElementName = in.getLocalName();
             while (xmlElementName.equals(parent.getSchema().getQName().getLocalName())) {
-                read(in, newEntryNode(parent), rootElement);
+                final AbstractNodeDataWithSchema<?> entry = newEntryNode(parent);
+                read(in, entry, rootElement);
+                ((CompositeNodeDataWithSchema<?>) parent).childComplete(entry);
                 if (in.getEventType() == XMLStreamConstants.END_DOCUMENT
                         || in.getEventType() == XMLStreamConstants.END_ELEMENT) {
                     break;
@@ -523,6 +577,10 @@ public final class XmlParserStream implements Closeable, Flushable {
                         stack.enterDataTree(qname);
                         read(in, child, rootElement);
                         stack.exit();
+                        if (!elementList) {
+                            // Lists may be interleaved with other children, hence they are never complete
+                            ((CompositeNodeDataWithSchema<?>) parent).childComplete(child);
+                        }
                         continue;
                     }
 
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Tests verifying that {@link XmlParserStream#createStreaming(NormalizedNodeStreamWriter, XmlCodecFactory,
+ * org.opendaylight.yangtools.yang.model.api.EffectiveStatementInference)} produces the same results as the
+ * non-streaming parser.
+ */
+public class StreamingXmlParserTest {
+    private static final QName OUTER_CONTAINER = QName.create("baz-namespace", "outer-container");
+
+    // Keys arrive after other leaves and list entries are interleaved with their siblings
+    private static final String INTERLEAVED = "<outer-container xmlns=\"baz-namespace\">"
+        + "<my-container-1>"
+        + "<my-keyed-list><my-leaf-in-list-1>one</my-leaf-in-list-1><my-key-leaf>1</my-key-leaf></my-keyed-list>"
+        + "<my-leaf-list>a</my-leaf-list>"
+        + "<my-keyed-list><my-key-leaf>2</my-key-leaf><my-leaf-in-list-2>two</my-leaf-in-list-2></my-keyed-list>"
+        + "<my-leaf-1>value1</my-leaf-1>"
+        + "<my-leaf-list>b</my-leaf-list>"
+        + "<my-keyed-list><my-leaf-in-list-2>three</my-leaf-in-list-2><my-key-leaf>3</my-key-leaf></my-keyed-list>"
+        + "</my-container-1>"
+        + "<my-container-2>"
+        + "<my-leaf-in-case-2>case2value</my-leaf-in-case-2>"
+        + "<inner-container><my-leaf-2>value2</my-leaf-2></inner-container>"
+        + "<my-leaf-3>value3</my-leaf-3>"
+        + "</my-container-2>"
+        + "<my-container-3>"
+        + "<my-doubly-keyed-list><my-leaf-in-list-3>x</my-leaf-in-list-3>"
+        + "<my-second-key-leaf>b</my-second-key-leaf><my-first-key-leaf>a</my-first-key-leaf></my-doubly-keyed-list>"
+        + "</my-container-3>"
+        + "</outer-container>";
+
+    private static EffectiveModelContext schemaContext;
+    private static XmlCodecFactory codecs;
+    private static Inference outerContainerSchema;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        codecs = XmlCodecFactory.create(schemaContext);
+        outerContainerSchema = Inference.ofDataTreePath(schemaContext, OUTER_CONTAINER);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        outerContainerSchema = null;
+        codecs = null;
+        schemaContext = null;
+    }
+
+    @Test
+    public void testStreamingResource() throws Exception {
+        final NormalizedNode expected = parse(StreamingXmlParserTest.class.getResourceAsStream("/baz.xml"), false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(StreamingXmlParserTest.class.getResourceAsStream("/baz.xml"), true));
+    }
+
+    @Test
+    public void testInterleavedKeysAfterLeaves() throws Exception {
+        final NormalizedNode expected = parse(input(INTERLEAVED), false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(input(INTERLEAVED), true));
+    }
+
+    @Test
+    public void testEventsEmittedBeforeEnd() throws Exception {
+        // Truncated input: streaming parser should have emitted all completed list entries by the time it fails
+        final String truncated = INTERLEAVED.substring(0, INTERLEAVED.indexOf("</my-container-1>"));
+
+        final NormalizedNodeStreamWriter streaming = spy(ImmutableNormalizedNodeStreamWriter.from(
+            new NormalizedNodeResult()));
+        assertThrows(XMLStreamException.class, () -> XmlParserStream.createStreaming(streaming, codecs,
+            outerContainerSchema).parse(UntrustedXML.createXMLStreamReader(input(truncated))));
+        verify(streaming, times(2)).startContainerNode(any(), anyInt());
+        verify(streaming, times(3)).startMapEntryNode(any(), anyInt());
+
+        final NormalizedNodeStreamWriter buffered = spy(ImmutableNormalizedNodeStreamWriter.from(
+            new NormalizedNodeResult()));
+        assertThrows(XMLStreamException.class, () -> XmlParserStream.create(buffered, codecs, outerContainerSchema)
+            .parse(UntrustedXML.createXMLStreamReader(input(truncated))));
+        verify(buffered, never()).startContainerNode(any(), anyInt());
+    }
+
+    private static InputStream input(final String str) {
+        return new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static NormalizedNode parse(final InputStream input, final boolean streaming) throws Exception {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final XmlParserStream xmlParser = streaming
+            ? XmlParserStream.createStreaming(streamWriter, codecs, outerContainerSchema)
+                : XmlParserStream.create(streamWriter, codecs, outerContainerSchema);
+        xmlParser.parse(UntrustedXML.createXMLStreamReader(input));
+        return result.getResult();
+    }
+}
@@ -18,6 +18,7 @@ module org.opendaylight.yangtools.yang.data.impl {
     exports org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.valid;
     exports org.opendaylight.yangtools.yang.data.impl.schema.nodes;
     exports org.opendaylight.yangtools.yang.data.impl.schema.tree;
+    exports org.opendaylight.yangtools.yang.data.impl.xpath;
 
     provides DataTreeFactory with InMemoryDataTreeFactory;
 
@@ -30,6 +31,7 @@ module org.opendaylight.yangtools.yang.data.impl {
     requires org.opendaylight.yangtools.yang.common;
     requires org.opendaylight.yangtools.yang.data.spi;
     requires org.opendaylight.yangtools.yang.model.spi;
+    requires org.opendaylight.yangtools.yang.xpath.api;
     requires org.slf4j;
 
     // Annotations
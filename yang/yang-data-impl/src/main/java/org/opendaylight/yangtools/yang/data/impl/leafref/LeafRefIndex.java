@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multiset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+
+/**
+ * An incrementally-maintained index of leafref values. It tracks the values present at each leafref target and the
+ * leafrefs pointing to each such value, so that a {@link DataTreeCandidate} can be validated by looking only at the
+ * nodes it modifies, as opposed to {@link LeafRefValidation}, which resolves every modified leafref against the whole
+ * data tree.
+ *
+ * <p>
+ * The index needs to be kept in sync with the data tree it describes: each candidate needs to be validated against the
+ * state it was prepared from and {@link #apply(DataTreeCandidate) applied} once it has been committed. Leafrefs whose
+ * paths contain predicates or parent steps cannot be resolved from the index alone. Candidates touching such leafrefs
+ * or their targets are therefore handed over to {@link LeafRefValidation}.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+@Beta
+public final class LeafRefIndex {
+    /**
+     * The two views of a {@link LeafRefContext} tree.
+     */
+    private enum Side {
+        REFERENCING {
+            @Override
+            LeafRefContext child(final LeafRefContext ctx, final QName name) {
+                return ctx.getReferencingChildByName(name);
+            }
+
+            @Override
+            Iterable<LeafRefContext> children(final LeafRefContext ctx) {
+                return ctx.getReferencingChilds().values();
+            }
+        },
+        REFERENCED {
+            @Override
+            LeafRefContext child(final LeafRefContext ctx, final QName name) {
+                return ctx.getReferencedChildByName(name);
+            }
+
+            @Override
+            Iterable<LeafRefContext> children(final LeafRefContext ctx) {
+                return ctx.getReferencedByChilds().values();
+            }
+        };
+
+        abstract @Nullable LeafRefContext child(LeafRefContext ctx, QName name);
+
+        abstract Iterable<LeafRefContext> children(LeafRefContext ctx);
+
+        final @Nullable LeafRefContext lookup(final LeafRefContext ctx, final boolean inChoice, final QName name) {
+            if (!inChoice) {
+                return child(ctx, name);
+            }
+            for (LeafRefContext caseCtx : children(ctx)) {
+                final LeafRefContext found = child(caseCtx, name);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A single leafref value, identified by the schema path of its target and the value itself.
+     */
+    private static final class Reference {
+        final @NonNull List<QName> target;
+        final @NonNull Object value;
+
+        Reference(final List<QName> target, final Object value) {
+            this.target = requireNonNull(target);
+            this.value = requireNonNull(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return target.hashCode() * 31 + value.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Reference)) {
+                return false;
+            }
+            final Reference other = (Reference) obj;
+            return target.equals(other.target) && value.equals(other.value);
+        }
+    }
+
+    /**
+     * Changes to the index resulting from a single {@link DataTreeCandidate}.
+     */
+    private static final class Delta {
+        final Map<List<QName>, Map<Object, Integer>> targets = new HashMap<>();
+        final Map<YangInstanceIdentifier, Reference> removedRefs = new HashMap<>();
+        final Map<YangInstanceIdentifier, Reference> addedRefs = new HashMap<>();
+        boolean needFullValidation;
+
+        void target(final List<QName> target, final Object value, final int diff) {
+            targets.computeIfAbsent(target, key -> new HashMap<>()).merge(value, diff, Integer::sum);
+        }
+
+        void reference(final YangInstanceIdentifier path, final Reference ref, final boolean added) {
+            (added ? addedRefs : removedRefs).put(path, ref);
+        }
+
+        int targetDiff(final List<QName> target, final Object value) {
+            final Map<Object, Integer> values = targets.get(target);
+            return values == null ? 0 : values.getOrDefault(value, 0);
+        }
+
+        Delta normalize() {
+            final Iterator<Entry<YangInstanceIdentifier, Reference>> it = addedRefs.entrySet().iterator();
+            while (it.hasNext()) {
+                final Entry<YangInstanceIdentifier, Reference> entry = it.next();
+                if (entry.getValue().equals(removedRefs.get(entry.getKey()))) {
+                    removedRefs.remove(entry.getKey());
+                    it.remove();
+                }
+            }
+            return this;
+        }
+    }
+
+    private final Map<LeafRefContext, List<QName>> referencingTargets = new HashMap<>();
+    private final Set<LeafRefContext> unindexedReferencing = new HashSet<>();
+    private final Map<LeafRefContext, List<QName>> referencedTargets = new HashMap<>();
+    private final Set<LeafRefContext> unindexedReferenced = new HashSet<>();
+
+    private final Map<List<QName>, Multiset<Object>> targetValues = new HashMap<>();
+    private final Map<List<QName>, Map<Object, Set<YangInstanceIdentifier>>> references = new HashMap<>();
+    private final @NonNull LeafRefContext rootCtx;
+
+    private LeafRefIndex(final LeafRefContext rootCtx) {
+        this.rootCtx = requireNonNull(rootCtx);
+
+        final Set<List<QName>> indexedTargets = new HashSet<>();
+        indexReferencing(rootCtx, indexedTargets);
+        indexReferenced(rootCtx, indexedTargets);
+    }
+
+    /**
+     * Create an index for an empty data tree.
+     *
+     * @param rootCtx root {@link LeafRefContext}
+     * @return A new index
+     * @throws NullPointerException if {@code rootCtx} is null
+     */
+    public static @NonNull LeafRefIndex create(final LeafRefContext rootCtx) {
+        return new LeafRefIndex(rootCtx);
+    }
+
+    /**
+     * Create an index for a data tree with specified root node.
+     *
+     * @param rootCtx root {@link LeafRefContext}
+     * @param root root node of the data tree
+     * @return A new index
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull LeafRefIndex create(final LeafRefContext rootCtx, final NormalizedNode root) {
+        final LeafRefIndex ret = new LeafRefIndex(rootCtx);
+        final Delta delta = new Delta();
+        for (Side side : Side.values()) {
+            ret.collect(delta, side, rootCtx, requireNonNull(root), YangInstanceIdentifier.empty(), true);
+        }
+        ret.update(delta);
+        return ret;
+    }
+
+    /**
+     * Validate leafrefs affected by a {@link DataTreeCandidate}. The candidate needs to be rooted at the root of the
+     * data tree and be based on the state this index currently reflects.
+     *
+     * @param candidate Candidate to validate
+     * @throws LeafRefDataValidationFailedException if the candidate would violate leafref constraints
+     * @throws IllegalArgumentException if the candidate is not rooted at the root of the data tree
+     */
+    public void validate(final DataTreeCandidate candidate) throws LeafRefDataValidationFailedException {
+        final Delta delta = computeDelta(candidate);
+        if (delta.needFullValidation) {
+            LeafRefValidation.validate(candidate, rootCtx);
+            return;
+        }
+
+        final List<String> errors = new ArrayList<>();
+        for (Entry<YangInstanceIdentifier, Reference> entry : delta.addedRefs.entrySet()) {
+            final Reference ref = entry.getValue();
+            if (targetCount(delta, ref.target, ref.value) <= 0) {
+                errors.add(String.format("Invalid leafref value [%s] of LEAFREF node: %s, no such value at target %s",
+                    ref.value, entry.getKey(), ref.target));
+            }
+        }
+
+        for (Entry<List<QName>, Map<Object, Integer>> entry : delta.targets.entrySet()) {
+            final List<QName> target = entry.getKey();
+            for (Entry<Object, Integer> diff : entry.getValue().entrySet()) {
+                final Object value = diff.getKey();
+                if (diff.getValue() < 0 && targetCount(delta, target, value) <= 0) {
+                    final Set<YangInstanceIdentifier> dangling = remainingReferences(delta, target, value);
+                    if (!dangling.isEmpty()) {
+                        errors.add(String.format("Removed leafref TARGET value [%s] at %s is still referenced by %s",
+                            value, target, dangling));
+                    }
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new LeafRefDataValidationFailedException(String.join("\n", errors), errors.size());
+        }
+    }
+
+    /**
+     * Update this index to reflect a committed {@link DataTreeCandidate}.
+     *
+     * @param candidate Committed candidate
+     * @throws IllegalArgumentException if the candidate is not rooted at the root of the data tree
+     */
+    public void apply(final DataTreeCandidate candidate) {
+        update(computeDelta(candidate));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("targets", targetValues.size()).add("references", references.size())
+            .add("unindexed", unindexedReferencing.size()).toString();
+    }
+
+    private void indexReferencing(final LeafRefContext ctx, final Set<List<QName>> indexedTargets) {
+        for (LeafRefContext child : ctx.getReferencingChilds().values()) {
+            if (child.isReferencing()) {
+                final List<QName> target = targetOf(child);
+                if (target != null) {
+                    referencingTargets.put(child, target);
+                    indexedTargets.add(target);
+                } else {
+                    unindexedReferencing.add(child);
+                }
+            }
+            indexReferencing(child, indexedTargets);
+        }
+    }
+
+    private void indexReferenced(final LeafRefContext ctx, final Set<List<QName>> indexedTargets) {
+        for (LeafRefContext child : ctx.getReferencedByChilds().values()) {
+            if (child.isReferenced()) {
+                final List<QName> target = pathOf(child.getLeafRefNodePath());
+                if (indexedTargets.contains(target)) {
+                    referencedTargets.put(child, target);
+                }
+                for (LeafRefContext leafRef : child.getAllReferencedByLeafRefCtxs().values()) {
+                    if (targetOf(leafRef) == null) {
+                        unindexedReferenced.add(child);
+                        break;
+                    }
+                }
+            }
+            indexReferenced(child, indexedTargets);
+        }
+    }
+
+    private static @Nullable List<QName> targetOf(final LeafRefContext leafRef) {
+        final LeafRefPath path = leafRef.getAbsoluteLeafRefTargetPath();
+        if (path == null) {
+            return null;
+        }
+        for (QNameWithPredicate step : path.getPathFromRoot()) {
+            if (QNameWithPredicate.UP_PARENT.equals(step) || step.getQName() == null
+                    || !step.getQNamePredicates().isEmpty()) {
+                return null;
+            }
+        }
+        return pathOf(path);
+    }
+
+    private static List<QName> pathOf(final LeafRefPath path) {
+        final ImmutableList.Builder<QName> builder = ImmutableList.builder();
+        for (QNameWithPredicate step : path.getPathFromRoot()) {
+            builder.add(step.getQName());
+        }
+        return builder.build();
+    }
+
+    private Delta computeDelta(final DataTreeCandidate candidate) {
+        checkArgument(candidate.getRootPath().isEmpty(), "Candidate %s is not rooted at data tree root", candidate);
+
+        final Delta delta = new Delta();
+        for (Side side : Side.values()) {
+            walk(delta, side, rootCtx, candidate.getRootNode(), YangInstanceIdentifier.empty());
+        }
+        return delta.normalize();
+    }
+
+    private void walk(final Delta delta, final Side side, final LeafRefContext ctx, final DataTreeCandidateNode node,
+            final YangInstanceIdentifier path) {
+        switch (node.getModificationType()) {
+            case UNMODIFIED:
+                return;
+            case SUBTREE_MODIFIED:
+                final NormalizedNode data = node.getDataAfter().orElseThrow();
+                if (data instanceof MapNode || data instanceof UnkeyedListNode || data instanceof LeafSetNode) {
+                    // Entries share the context of their parent
+                    for (DataTreeCandidateNode child : node.getChildNodes()) {
+                        walk(delta, side, ctx, child, path.node(child.getIdentifier()));
+                    }
+                } else {
+                    walkChildren(delta, side, ctx, data instanceof ChoiceNode, node, path);
+                }
+                return;
+            default:
+                node.getDataBefore().ifPresent(before -> collect(delta, side, ctx, before, path, false));
+                node.getDataAfter().ifPresent(after -> collect(delta, side, ctx, after, path, true));
+        }
+    }
+
+    private void walkChildren(final Delta delta, final Side side, final LeafRefContext ctx, final boolean inChoice,
+            final DataTreeCandidateNode node, final YangInstanceIdentifier path) {
+        for (DataTreeCandidateNode child : node.getChildNodes()) {
+            final PathArgument arg = child.getIdentifier();
+            final YangInstanceIdentifier childPath = path.node(arg);
+            if (arg instanceof AugmentationIdentifier) {
+                // Augmentations are transparent to LeafRefContext
+                switch (child.getModificationType()) {
+                    case UNMODIFIED:
+                        break;
+                    case SUBTREE_MODIFIED:
+                        walkChildren(delta, side, ctx, inChoice, child, childPath);
+                        break;
+                    default:
+                        child.getDataBefore().ifPresent(before -> collectChildren(delta, side, ctx, inChoice,
+                            (AugmentationNode) before, childPath, false));
+                        child.getDataAfter().ifPresent(after -> collectChildren(delta, side, ctx, inChoice,
+                            (AugmentationNode) after, childPath, true));
+                }
+            } else {
+                final LeafRefContext childCtx = side.lookup(ctx, inChoice, arg.getNodeType());
+                if (childCtx != null) {
+                    walk(delta, side, childCtx, child, childPath);
+                }
+            }
+        }
+    }
+
+    private void collect(final Delta delta, final Side side, final LeafRefContext ctx, final NormalizedNode node,
+            final YangInstanceIdentifier path, final boolean added) {
+        if (node instanceof ValueNode) {
+            record(delta, side, ctx, node.body(), path, added);
+        } else if (node instanceof LeafSetNode) {
+            for (NormalizedNode entry : ((LeafSetNode<?>) node).body()) {
+                collect(delta, side, ctx, entry, path.node(entry.getIdentifier()), added);
+            }
+        } else if (node instanceof MapNode) {
+            for (NormalizedNode entry : ((MapNode) node).body()) {
+                collect(delta, side, ctx, entry, path.node(entry.getIdentifier()), added);
+            }
+        } else if (node instanceof UnkeyedListNode) {
+            for (NormalizedNode entry : ((UnkeyedListNode) node).body()) {
+                collect(delta, side, ctx, entry, path.node(entry.getIdentifier()), added);
+            }
+        } else if (node instanceof DataContainerNode) {
+            collectChildren(delta, side, ctx, node instanceof ChoiceNode, (DataContainerNode<?>) node, path, added);
+        }
+    }
+
+    private void collectChildren(final Delta delta, final Side side, final LeafRefContext ctx, final boolean inChoice,
+            final DataContainerNode<?> node, final YangInstanceIdentifier path, final boolean added) {
+        for (DataContainerChild child : node.body()) {
+            final YangInstanceIdentifier childPath = path.node(child.getIdentifier());
+            if (child instanceof AugmentationNode) {
+                collectChildren(delta, side, ctx, inChoice, (AugmentationNode) child, childPath, added);
+            } else {
+                final LeafRefContext childCtx = side.lookup(ctx, inChoice, child.getIdentifier().getNodeType());
+                if (childCtx != null) {
+                    collect(delta, side, childCtx, child, childPath, added);
+                }
+            }
+        }
+    }
+
+    private void record(final Delta delta, final Side side, final LeafRefContext ctx, final Object value,
+            final YangInstanceIdentifier path, final boolean added) {
+        switch (side) {
+            case REFERENCING:
+                if (ctx.isReferencing()) {
+                    final List<QName> target = referencingTargets.get(ctx);
+                    if (target != null) {
+                        delta.reference(path, new Reference(target, value), added);
+                    } else {
+                        delta.needFullValidation = true;
+                    }
+                }
+                break;
+            case REFERENCED:
+                if (ctx.isReferenced()) {
+                    if (unindexedReferenced.contains(ctx)) {
+                        delta.needFullValidation = true;
+                    }
+                    final List<QName> target = referencedTargets.get(ctx);
+                    if (target != null) {
+                        delta.target(target, value, added ? 1 : -1);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled side " + side);
+        }
+    }
+
+    private int targetCount(final Delta delta, final List<QName> target, final Object value) {
+        final Multiset<Object> values = targetValues.get(target);
+        return (values == null ? 0 : values.count(value)) + delta.targetDiff(target, value);
+    }
+
+    private Set<YangInstanceIdentifier> remainingReferences(final Delta delta, final List<QName> target,
+            final Object value) {
+        final Set<YangInstanceIdentifier> ret = new HashSet<>();
+        final Map<Object, Set<YangInstanceIdentifier>> byValue = references.get(target);
+        if (byValue != null) {
+            final Set<YangInstanceIdentifier> existing = byValue.get(value);
+            if (existing != null) {
+                for (YangInstanceIdentifier path : existing) {
+                    if (!delta.removedRefs.containsKey(path)) {
+                        ret.add(path);
+                    }
+                }
+            }
+        }
+        return ret;
+    }
+
+    private void update(final Delta delta) {
+        for (Entry<YangInstanceIdentifier, Reference> entry : delta.removedRefs.entrySet()) {
+            final Reference ref = entry.getValue();
+            final Map<Object, Set<YangInstanceIdentifier>> byValue = references.get(ref.target);
+            if (byValue != null) {
+                final Set<YangInstanceIdentifier> paths = byValue.get(ref.value);
+                if (paths != null && paths.remove(entry.getKey()) && paths.isEmpty()) {
+                    byValue.remove(ref.value);
+                    if (byValue.isEmpty()) {
+                        references.remove(ref.target);
+                    }
+                }
+            }
+        }
+        for (Entry<YangInstanceIdentifier, Reference> entry : delta.addedRefs.entrySet()) {
+            final Reference ref = entry.getValue();
+            references.computeIfAbsent(ref.target, key -> new HashMap<>())
+                .computeIfAbsent(ref.value, key -> new HashSet<>()).add(entry.getKey());
+        }
+
+        for (Entry<List<QName>, Map<Object, Integer>> entry : delta.targets.entrySet()) {
+            final Multiset<Object> values = targetValues.computeIfAbsent(entry.getKey(), key -> HashMultiset.create());
+            for (Entry<Object, Integer> diff : entry.getValue().entrySet()) {
+                final int count = diff.getValue();
+                if (count > 0) {
+                    values.add(diff.getKey(), count);
+                } else if (count < 0) {
+                    values.remove(diff.getKey(), -count);
+                }
+            }
+            if (values.isEmpty()) {
+                targetValues.remove(entry.getKey());
+            }
+        }
+    }
+}
@@ -38,10 +38,13 @@ public class ImmutableContainerNodeBuilder
     }
 
     public static @NonNull DataContainerNodeBuilder<NodeIdentifier, ContainerNode> create(final ContainerNode node) {
-        if (!(node instanceof ImmutableContainerNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableContainerNode) {
+            return new ImmutableContainerNodeBuilder((ImmutableContainerNode) node);
         }
-        return new ImmutableContainerNodeBuilder((ImmutableContainerNode) node);
+
+        // Foreign implementation, for example a lazily-materialized one: copy its children
+        return new ImmutableContainerNodeBuilder(node.size()).withNodeIdentifier(node.getIdentifier())
+            .withValue(node.body());
     }
 
     @Override
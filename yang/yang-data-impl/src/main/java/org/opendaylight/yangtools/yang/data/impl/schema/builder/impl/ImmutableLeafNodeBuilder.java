@@ -9,10 +9,14 @@ package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
 import com.google.common.annotations.Beta;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedSimpleValueNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutablePrimitiveLeafNode;
 
 public class ImmutableLeafNodeBuilder<T>
         extends AbstractImmutableNormalizedNodeBuilder<NodeIdentifier, T, LeafNode<T>> {
@@ -27,6 +31,16 @@ public class ImmutableLeafNodeBuilder<T>
         if (value instanceof byte[]) {
             return (LeafNode<T>) new ImmutableBinaryLeafNode(identifier, (byte[]) value);
         }
+
+        // Exact class checks: value types may be subclassed and we need to retain the original object in that case
+        final Class<?> clazz = value.getClass();
+        if (clazz == Uint32.class) {
+            return (LeafNode<T>) new Uint32LeafNode(identifier, ((Uint32) value).intValue());
+        } else if (clazz == Uint64.class) {
+            return (LeafNode<T>) new Uint64LeafNode(identifier, ((Uint64) value).longValue());
+        } else if (clazz == Uint16.class) {
+            return (LeafNode<T>) new Uint16LeafNode(identifier, ((Uint16) value).shortValue());
+        }
         return new ImmutableLeafNode<>(identifier, value);
     }
 
@@ -57,4 +71,79 @@ public class ImmutableLeafNodeBuilder<T>
             return valueToWrap.clone();
         }
     }
+
+    private static final class Uint16LeafNode extends AbstractImmutablePrimitiveLeafNode<Uint16> {
+        private final short bits;
+
+        Uint16LeafNode(final NodeIdentifier identifier, final short bits) {
+            super(identifier);
+            this.bits = bits;
+        }
+
+        @Override
+        public Uint16 body() {
+            return Uint16.fromShortBits(bits);
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return Short.hashCode(bits);
+        }
+
+        @Override
+        protected boolean valueEquals(final LeafNode<?> other) {
+            return other instanceof Uint16LeafNode ? bits == ((Uint16LeafNode) other).bits
+                : super.valueEquals(other);
+        }
+    }
+
+    private static final class Uint32LeafNode extends AbstractImmutablePrimitiveLeafNode<Uint32> {
+        private final int bits;
+
+        Uint32LeafNode(final NodeIdentifier identifier, final int bits) {
+            super(identifier);
+            this.bits = bits;
+        }
+
+        @Override
+        public Uint32 body() {
+            return Uint32.fromIntBits(bits);
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return Integer.hashCode(bits);
+        }
+
+        @Override
+        protected boolean valueEquals(final LeafNode<?> other) {
+            return other instanceof Uint32LeafNode ? bits == ((Uint32LeafNode) other).bits
+                : super.valueEquals(other);
+        }
+    }
+
+    private static final class Uint64LeafNode extends AbstractImmutablePrimitiveLeafNode<Uint64> {
+        private final long bits;
+
+        Uint64LeafNode(final NodeIdentifier identifier, final long bits) {
+            super(identifier);
+            this.bits = bits;
+        }
+
+        @Override
+        public Uint64 body() {
+            return Uint64.fromLongBits(bits);
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return Long.hashCode(bits);
+        }
+
+        @Override
+        protected boolean valueEquals(final LeafNode<?> other) {
+            return other instanceof Uint64LeafNode ? bits == ((Uint64LeafNode) other).bits
+                : super.valueEquals(other);
+        }
+    }
 }
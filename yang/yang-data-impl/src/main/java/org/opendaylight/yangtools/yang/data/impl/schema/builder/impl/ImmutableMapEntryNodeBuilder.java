@@ -57,11 +57,13 @@ public class ImmutableMapEntryNodeBuilder
 
     public static @NonNull DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> create(
             final MapEntryNode node) {
-        if (!(node instanceof ImmutableMapEntryNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableMapEntryNode) {
+            return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
         }
 
-        return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
+        // Foreign implementation, for example a lazily-materialized one: copy its children
+        return new ImmutableMapEntryNodeBuilder(node.size()).withNodeIdentifier(node.getIdentifier())
+            .withValue(node.body());
     }
 
     private static void fillQnames(final Iterable<DataContainerChild> iterable, final Map<QName, PathArgument> out) {
@@ -23,12 +23,21 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgum
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.HashTrieMap;
 import org.opendaylight.yangtools.yang.data.spi.node.AbstractNormalizedNode;
 
+/**
+ * Builder of {@link SystemMapNode}s. Small maps are kept in a {@link HashMap} and are optimized via {@link MapAdaptor}
+ * when built. Once a map grows beyond {@value #TRIE_THRESHOLD} entries, its children are kept in a {@link HashTrieMap}
+ * instead, hence a builder initialized from such a node shares that node's children and each subsequent modification
+ * copies only the trie nodes on the path to the affected entry, not the entire map.
+ */
 public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNode, SystemMapNode> {
     private static final int DEFAULT_CAPACITY = 4;
+    // Copying a map of this size is cheaper than maintaining a trie
+    private static final int TRIE_THRESHOLD = 32;
 
-    private final Map<NodeIdentifierWithPredicates, MapEntryNode> value;
+    private Map<NodeIdentifierWithPredicates, MapEntryNode> value;
 
     private @Nullable NodeIdentifier nodeIdentifier = null;
 
@@ -37,7 +46,9 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
     }
 
     protected ImmutableMapNodeBuilder(final int sizeHint) {
-        if (sizeHint >= 0) {
+        if (sizeHint > TRIE_THRESHOLD) {
+            this.value = HashTrieMap.<NodeIdentifierWithPredicates, MapEntryNode>of().toMutable();
+        } else if (sizeHint >= 0) {
             this.value = Maps.newHashMapWithExpectedSize(sizeHint);
         } else {
             this.value = new HashMap<>(DEFAULT_CAPACITY);
@@ -46,8 +57,15 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
     protected ImmutableMapNodeBuilder(final SystemMapNode node) {
         this.nodeIdentifier = node.getIdentifier();
-        this.value = MapAdaptor.getDefaultInstance().takeSnapshot(
-            node instanceof ImmutableMapNode ? ((ImmutableMapNode) node).children : node.asMap());
+        final Map<NodeIdentifierWithPredicates, MapEntryNode> children =
+            node instanceof ImmutableMapNode ? ((ImmutableMapNode) node).children : node.asMap();
+        if (children instanceof HashTrieMap) {
+            this.value = ((HashTrieMap<NodeIdentifierWithPredicates, MapEntryNode>) children).toMutable();
+        } else if (children.size() > TRIE_THRESHOLD) {
+            this.value = HashTrieMap.copyOf(children).toMutable();
+        } else {
+            this.value = MapAdaptor.getDefaultInstance().takeSnapshot(children);
+        }
     }
 
     public static @NonNull CollectionNodeBuilder<MapEntryNode, SystemMapNode> create() {
@@ -65,6 +83,9 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
     @Override
     public ImmutableMapNodeBuilder withChild(final MapEntryNode child) {
         this.value.put(child.getIdentifier(), child);
+        if (value.size() > TRIE_THRESHOLD && !(value instanceof HashTrieMap.Mutable)) {
+            value = HashTrieMap.copyOf(value).toMutable();
+        }
         return this;
     }
 
@@ -92,7 +113,10 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
     @Override
     public SystemMapNode build() {
-        return new ImmutableMapNode(nodeIdentifier, MapAdaptor.getDefaultInstance().optimize(value));
+        final Map<NodeIdentifierWithPredicates, MapEntryNode> children = value instanceof HashTrieMap.Mutable
+            ? ((HashTrieMap.Mutable<NodeIdentifierWithPredicates, MapEntryNode>) value).toImmutable()
+            : MapAdaptor.getDefaultInstance().optimize(value);
+        return new ImmutableMapNode(nodeIdentifier, children);
     }
 
     @Override
@@ -123,7 +147,7 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
         @Override
         public Map<NodeIdentifierWithPredicates, MapEntryNode> asMap() {
-            return UnmodifiableMap.of(children);
+            return children instanceof HashTrieMap ? children : UnmodifiableMap.of(children);
         }
 
         @Override
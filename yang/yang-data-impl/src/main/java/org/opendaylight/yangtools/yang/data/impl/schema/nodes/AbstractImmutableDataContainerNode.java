@@ -59,7 +59,19 @@ public abstract class AbstractImmutableDataContainerNode<K extends PathArgument,
 
     @Override
     protected boolean valueEquals(final N other) {
-        return other instanceof AbstractImmutableDataContainerNode<?, ?> && children.equals(
-                ((AbstractImmutableDataContainerNode<?, ?>) other).children);
+        if (other instanceof AbstractImmutableDataContainerNode<?, ?>) {
+            return children.equals(((AbstractImmutableDataContainerNode<?, ?>) other).children);
+        }
+
+        // Some other implementation, compare child by child
+        if (children.size() != other.size()) {
+            return false;
+        }
+        for (DataContainerChild child : body()) {
+            if (!child.equals(other.childByArg(child.getIdentifier()))) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.spi.node.AbstractNormalizedNode;
+
+/**
+ * Abstract base class for {@link LeafNode}s which store their value as a primitive field rather than a reference to
+ * a boxed object. This saves the boxed object's header and padding for each leaf, at the cost of re-boxing the value
+ * in {@link #body()}. Small values are served from the respective type's cache, hence the re-boxing does not allocate
+ * for them. Other values are allocated on each access, hence {@link #body()} returns an object equal to, but not
+ * necessarily the same as, the one the leaf was created with.
+ *
+ * <p>
+ * Implementations are expected to be indistinguishable from a plain leaf holding the boxed value, hence
+ * {@link #valueHashCode()} and {@link #valueEquals(LeafNode)} operate on {@link #body()} unless overridden.
+ *
+ * @param <T> Value type
+ */
+@Beta
+public abstract class AbstractImmutablePrimitiveLeafNode<T> extends AbstractNormalizedNode<NodeIdentifier, LeafNode<?>>
+        implements LeafNode<T> {
+    protected AbstractImmutablePrimitiveLeafNode(final NodeIdentifier identifier) {
+        super(identifier);
+    }
+
+    @Override
+    public abstract @NonNull T body();
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected final Class<LeafNode<?>> implementedType() {
+        return (Class) LeafNode.class;
+    }
+
+    @Override
+    protected int valueHashCode() {
+        return body().hashCode();
+    }
+
+    @Override
+    protected boolean valueEquals(final LeafNode<?> other) {
+        return body().equals(other.body());
+    }
+}
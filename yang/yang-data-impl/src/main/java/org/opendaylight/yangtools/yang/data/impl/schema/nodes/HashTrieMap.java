@@ -0,0 +1,599 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * A persistent hash array mapped trie. Updates performed through {@link #with(Object, Object)} and
+ * {@link #without(Object)} copy only the path from the root to the affected entry, hence they require O(log32 n)
+ * time and allocation, while the rest of the trie is shared with the original map.
+ *
+ * <p>
+ * Batches of updates are best performed through a {@link Mutable}, which is acquired in constant time via
+ * {@link #toMutable()}. It copies each trie node at most once and then updates it in place, until it is turned back
+ * into an immutable map via {@link Mutable#toImmutable()}.
+ *
+ * <p>
+ * This map does not allow {@code null} keys nor {@code null} values.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+@Beta
+public final class HashTrieMap<K, V> extends AbstractMap<K, V> implements Immutable {
+    /**
+     * A mutable view of a {@link HashTrieMap}. It shares trie nodes with the map it was created from and copies them
+     * as they are modified. Instances are not thread-safe.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    public static final class Mutable<K, V> extends AbstractMap<K, V> {
+        private @NonNull Object edit = new Object();
+        private @NonNull Node root;
+        private int size;
+
+        Mutable(final Node root, final int size) {
+            this.root = requireNonNull(root);
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key != null && root.get(0, key.hashCode(), key) != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(final Object key) {
+            return key == null ? null : (V) root.get(0, key.hashCode(), key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V put(final K key, final V value) {
+            final Result result = new Result();
+            root = root.put(edit, 0, key.hashCode(), key, requireNonNull(value), result);
+            if (result.oldValue == null) {
+                size++;
+            }
+            return (V) result.oldValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(final Object key) {
+            if (key == null) {
+                return null;
+            }
+            final Result result = new Result();
+            root = nonNullRoot(root.remove(edit, 0, key.hashCode(), key, result));
+            if (result.oldValue != null) {
+                size--;
+            }
+            return (V) result.oldValue;
+        }
+
+        @Override
+        public void clear() {
+            root = BitmapNode.EMPTY;
+            size = 0;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new EntrySet<>(root, size);
+        }
+
+        /**
+         * Return an immutable map with the current contents of this object. This operation takes constant time. This
+         * object remains usable, but any further modifications will not be visible in the returned map.
+         *
+         * @return An immutable map
+         */
+        public @NonNull HashTrieMap<K, V> toImmutable() {
+            // Relinquish ownership of all nodes we have created so far, so they are never modified again
+            edit = new Object();
+            return size == 0 ? of() : new HashTrieMap<>(root, size);
+        }
+    }
+
+    /**
+     * Outcome of a single update. {@code oldValue} is the value previously associated with the key, or {@code null}
+     * if there was no such value.
+     */
+    private static final class Result {
+        Object oldValue;
+    }
+
+    /**
+     * A trie node. Its {@code array} holds key/value pairs, where a {@code null} key indicates the value is a child
+     * {@link Node}. A node whose {@code edit} token is non-null and matches the token of an update may be modified in
+     * place.
+     */
+    private abstract static class Node {
+        final Object edit;
+        Object[] array;
+
+        Node(final Object edit, final Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        abstract Object get(int shift, int hash, Object key);
+
+        abstract Node put(Object updateEdit, int shift, int hash, Object key, Object value, Result result);
+
+        abstract Node remove(Object updateEdit, int shift, int hash, Object key, Result result);
+
+        final boolean isEditable(final Object updateEdit) {
+            return updateEdit != null && edit == updateEdit;
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        int bitmap;
+
+        BitmapNode(final Object edit, final int bitmap, final Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object get(final int shift, final int hash, final Object key) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            final int offset = 2 * index(bit);
+            final Object existingKey = array[offset];
+            final Object existingValue = array[offset + 1];
+            if (existingKey == null) {
+                return ((Node) existingValue).get(shift + BITS, hash, key);
+            }
+            return key.equals(existingKey) ? existingValue : null;
+        }
+
+        @Override
+        Node put(final Object updateEdit, final int shift, final int hash, final Object key, final Object value,
+                final Result result) {
+            final int bit = bitpos(hash, shift);
+            final int offset = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, offset);
+                newArray[offset] = key;
+                newArray[offset + 1] = value;
+                System.arraycopy(array, offset, newArray, offset + 2, array.length - offset);
+                return withArray(updateEdit, bitmap | bit, newArray);
+            }
+
+            final Object existingKey = array[offset];
+            final Object existingValue = array[offset + 1];
+            if (existingKey == null) {
+                final Node child = (Node) existingValue;
+                final Node newChild = child.put(updateEdit, shift + BITS, hash, key, value, result);
+                return newChild == child ? this : withSlot(updateEdit, offset + 1, newChild);
+            }
+            if (key.equals(existingKey)) {
+                result.oldValue = existingValue;
+                return existingValue == value ? this : withSlot(updateEdit, offset + 1, value);
+            }
+
+            final Object[] newArray = array.clone();
+            newArray[offset] = null;
+            newArray[offset + 1] = createNode(updateEdit, shift + BITS, existingKey, existingValue, hash, key, value);
+            return withArray(updateEdit, bitmap, newArray);
+        }
+
+        @Override
+        Node remove(final Object updateEdit, final int shift, final int hash, final Object key, final Result result) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int offset = 2 * index(bit);
+            final Object existingKey = array[offset];
+            final Object existingValue = array[offset + 1];
+            if (existingKey == null) {
+                final Node child = (Node) existingValue;
+                final Node newChild = child.remove(updateEdit, shift + BITS, hash, key, result);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return withSlot(updateEdit, offset + 1, newChild);
+                }
+            } else if (key.equals(existingKey)) {
+                result.oldValue = existingValue;
+            } else {
+                return this;
+            }
+
+            // The slot has become empty, remove it
+            if (bitmap == bit) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, offset);
+            System.arraycopy(array, offset + 2, newArray, offset, newArray.length - offset);
+            return withArray(updateEdit, bitmap ^ bit, newArray);
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & bit - 1);
+        }
+
+        private BitmapNode withSlot(final Object updateEdit, final int offset, final Object value) {
+            if (isEditable(updateEdit)) {
+                array[offset] = value;
+                return this;
+            }
+            final Object[] newArray = array.clone();
+            newArray[offset] = value;
+            return new BitmapNode(updateEdit, bitmap, newArray);
+        }
+
+        private BitmapNode withArray(final Object updateEdit, final int newBitmap, final Object[] newArray) {
+            if (isEditable(updateEdit)) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(updateEdit, newBitmap, newArray);
+        }
+    }
+
+    /**
+     * A node holding keys whose hash codes are equal.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(final Object edit, final int hash, final Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object get(final int shift, final int keyHash, final Object key) {
+            if (keyHash == hash) {
+                final int offset = offsetOf(key);
+                if (offset != -1) {
+                    return array[offset + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(final Object updateEdit, final int shift, final int keyHash, final Object key, final Object value,
+                final Result result) {
+            if (keyHash != hash) {
+                // Push this node one level down and retry
+                return new BitmapNode(updateEdit, bitpos(hash, shift), new Object[] { null, this })
+                    .put(updateEdit, shift, keyHash, key, value, result);
+            }
+
+            final int offset = offsetOf(key);
+            final Object[] newArray;
+            if (offset != -1) {
+                result.oldValue = array[offset + 1];
+                if (result.oldValue == value) {
+                    return this;
+                }
+                newArray = array.clone();
+                newArray[offset + 1] = value;
+            } else {
+                newArray = Arrays.copyOf(array, array.length + 2);
+                newArray[array.length] = key;
+                newArray[array.length + 1] = value;
+            }
+            return withArray(updateEdit, newArray);
+        }
+
+        @Override
+        Node remove(final Object updateEdit, final int shift, final int keyHash, final Object key,
+                final Result result) {
+            if (keyHash != hash) {
+                return this;
+            }
+            final int offset = offsetOf(key);
+            if (offset == -1) {
+                return this;
+            }
+
+            result.oldValue = array[offset + 1];
+            if (array.length == 2) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, offset);
+            System.arraycopy(array, offset + 2, newArray, offset, newArray.length - offset);
+            return withArray(updateEdit, newArray);
+        }
+
+        private int offsetOf(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private CollisionNode withArray(final Object updateEdit, final Object[] newArray) {
+            if (isEditable(updateEdit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(updateEdit, hash, newArray);
+        }
+    }
+
+    private static final class EntrySet<K, V> extends AbstractSet<Entry<K, V>> {
+        private final Node root;
+        private final int size;
+
+        EntrySet(final Node root, final int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        // Seven levels of BitmapNodes are needed to consume 32 bits of hash, plus one level of CollisionNodes
+        private final Object[][] arrays = new Object[8][];
+        private final int[] offsets = new int[8];
+        private int depth;
+        private Entry<K, V> next;
+
+        EntryIterator(final Node root) {
+            arrays[0] = root.array;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            final Entry<K, V> ret = next;
+            if (ret == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return ret;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int offset = offsets[depth];
+                if (offset == array.length) {
+                    depth--;
+                    continue;
+                }
+
+                offsets[depth] = offset + 2;
+                final Object key = array[offset];
+                final Object value = array[offset + 1];
+                if (key != null) {
+                    next = new SimpleImmutableEntry<>((K) key, (V) value);
+                    return;
+                }
+
+                depth++;
+                arrays[depth] = ((Node) value).array;
+                offsets[depth] = 0;
+            }
+            next = null;
+        }
+    }
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final @NonNull HashTrieMap<?, ?> EMPTY = new HashTrieMap<>(BitmapNode.EMPTY, 0);
+
+    private final @NonNull Node root;
+    private final int size;
+
+    private int hashCode;
+
+    private HashTrieMap(final Node root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    /**
+     * Return an empty map.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @return An empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull HashTrieMap<K, V> of() {
+        return (HashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Return a {@link HashTrieMap} with the same contents as specified map. If the map is already a
+     * {@link HashTrieMap}, it is returned as is.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @param map Source map
+     * @return A {@link HashTrieMap}
+     * @throws NullPointerException if {@code map} contains a {@code null} key or value
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull HashTrieMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        if (map instanceof HashTrieMap) {
+            return (HashTrieMap<K, V>) map;
+        }
+        final Mutable<K, V> mutable = HashTrieMap.<K, V>of().toMutable();
+        mutable.putAll(map);
+        return mutable.toImmutable();
+    }
+
+    /**
+     * Return a map which contains the same mappings as this map, except the key is mapped to specified value.
+     *
+     * @param key Key
+     * @param value Value
+     * @return A map with the mapping added or replaced, which may be this map if the mapping is already present
+     * @throws NullPointerException if any argument is null
+     */
+    public @NonNull HashTrieMap<K, V> with(final K key, final V value) {
+        final Result result = new Result();
+        final Node newRoot = root.put(null, 0, key.hashCode(), key, requireNonNull(value), result);
+        return newRoot == root ? this : new HashTrieMap<>(newRoot, result.oldValue == null ? size + 1 : size);
+    }
+
+    /**
+     * Return a map which contains the same mappings as this map, except the mapping for specified key.
+     *
+     * @param key Key
+     * @return A map without the mapping, which may be this map if the mapping is not present
+     */
+    public @NonNull HashTrieMap<K, V> without(final Object key) {
+        if (key == null) {
+            return this;
+        }
+        final Node newRoot = root.remove(null, 0, key.hashCode(), key, new Result());
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? of() : new HashTrieMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Return a {@link Mutable} initialized with the contents of this map. This operation takes constant time.
+     *
+     * @return A new {@link Mutable}
+     */
+    public @NonNull Mutable<K, V> toMutable() {
+        return new Mutable<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key != null && root.get(0, key.hashCode(), key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return key == null ? null : (V) root.get(0, key.hashCode(), key);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet<>(root, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int local = hashCode;
+        if (local == 0) {
+            hashCode = local = super.hashCode();
+        }
+        return local;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof HashTrieMap) {
+            final HashTrieMap<?, ?> other = (HashTrieMap<?, ?>) obj;
+            if (root == other.root) {
+                return true;
+            }
+            if (size != other.size || hashCode() != other.hashCode()) {
+                return false;
+            }
+        }
+        return super.equals(obj);
+    }
+
+    static int bitpos(final int hash, final int shift) {
+        return 1 << (hash >>> shift & MASK);
+    }
+
+    static Node createNode(final Object edit, final int shift, final Object key1, final Object value1,
+            final int hash2, final Object key2, final Object value2) {
+        final int hash1 = key1.hashCode();
+        if (hash1 == hash2) {
+            return new CollisionNode(edit, hash1, new Object[] { key1, value1, key2, value2 });
+        }
+
+        final int bit1 = bitpos(hash1, shift);
+        final int bit2 = bitpos(hash2, shift);
+        if (bit1 == bit2) {
+            return new BitmapNode(edit, bit1,
+                new Object[] { null, createNode(edit, shift + BITS, key1, value1, hash2, key2, value2) });
+        }
+        return new BitmapNode(edit, bit1 | bit2, Integer.compareUnsigned(bit1, bit2) < 0
+            ? new Object[] { key1, value1, key2, value2 } : new Object[] { key2, value2, key1, value1 });
+    }
+
+    static @NonNull Node nonNullRoot(final Node node) {
+        return node == null ? BitmapNode.EMPTY : node;
+    }
+}
@@ -29,13 +29,28 @@ abstract class AbstractDataTreeTip implements DataTreeTip {
 
     abstract @NonNull YangInstanceIdentifier getRootPath();
 
+    /**
+     * Check whether {@code must} and {@code when} constraints should be validated by {@link #validate(
+     * DataTreeModification)}.
+     *
+     * @return True if XPath constraints should be validated
+     */
+    boolean isXPathConstraintsValidationEnabled() {
+        return false;
+    }
+
     @Override
     public final void validate(final DataTreeModification modification) throws DataValidationFailedException {
         final InMemoryDataTreeModification m = checkedCast(modification);
         checkArgument(m.isSealed(), "Attempted to verify unsealed modification %s", m);
 
+        final TreeNode currentRoot = getTipRoot();
         m.getStrategy().checkApplicable(new ModificationPath(getRootPath()), m.getRootModification(),
-            Optional.of(getTipRoot()), m.getVersion());
+            Optional.of(currentRoot), m.getVersion());
+
+        if (isXPathConstraintsValidationEnabled()) {
+            validateXPathConstraints(m, currentRoot);
+        }
     }
 
     @Override
@@ -50,12 +65,35 @@ abstract class AbstractDataTreeTip implements DataTreeTip {
             return new NoopDataTreeCandidate(YangInstanceIdentifier.empty(), root, currentRoot);
         }
 
+        // Reuse the result of validation, if it was performed against the same root
+        final TreeNode validatedRoot = m.appliedRoot(currentRoot);
+        if (validatedRoot != null) {
+            return new InMemoryDataTreeCandidate(YangInstanceIdentifier.empty(), root, currentRoot, validatedRoot);
+        }
+
         final Optional<? extends TreeNode> newRoot = m.getStrategy().apply(m.getRootModification(),
             Optional.of(currentRoot), m.getVersion());
         checkState(newRoot.isPresent(), "Apply strategy failed to produce root node for modification %s", modification);
         return new InMemoryDataTreeCandidate(YangInstanceIdentifier.empty(), root, currentRoot, newRoot.get());
     }
 
+    private static void validateXPathConstraints(final InMemoryDataTreeModification modification,
+            final TreeNode currentRoot) throws DataValidationFailedException {
+        final ModifiedNode root = modification.getRootModification();
+        if (root.getOperation() == LogicalOperation.NONE) {
+            return;
+        }
+
+        final Optional<? extends TreeNode> newRoot = modification.getStrategy().apply(root, Optional.of(currentRoot),
+            modification.getVersion());
+        if (newRoot.isPresent()) {
+            final TreeNode result = newRoot.get();
+            XPathConstraintValidation.forModelContext(modification.getEffectiveModelContext())
+                .validate(root, result.getData());
+            modification.setAppliedRoot(currentRoot, result);
+        }
+    }
+
     private static InMemoryDataTreeModification checkedCast(final DataTreeModification mod) {
         checkArgument(mod instanceof InMemoryDataTreeModification, "Invalid modification class %s", mod.getClass());
         return (InMemoryDataTreeModification)mod;
@@ -14,6 +14,7 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Verify;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -89,11 +90,13 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
 
     private final NormalizedNodeContainerSupport<?, ?> support;
     private final boolean verifyChildrenStructure;
+    private final int parallelThreshold;
 
     AbstractNodeContainerModificationStrategy(final NormalizedNodeContainerSupport<?, ?> support,
             final DataTreeConfiguration treeConfig) {
         this.support = requireNonNull(support);
         this.verifyChildrenStructure = treeConfig.getTreeType() == TreeType.CONFIGURATION;
+        this.parallelThreshold = treeConfig.getParallelPrepareThreshold();
     }
 
     @Override
@@ -210,7 +213,10 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        if (isParallel(modifications)) {
+            return mutateChildrenParallel(meta, data, nodeVersion, modifications);
+        }
 
         for (final ModifiedNode mod : modifications) {
             final PathArgument id = mod.getIdentifier();
@@ -231,6 +237,62 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         return meta.seal();
     }
 
+    /**
+     * Parallel version of {@link #mutateChildren(MutableTreeNode, NormalizedNodeContainerBuilder, Version,
+     * Collection)}. Child modifications are disjoint subtrees, hence they can be applied concurrently. Current child
+     * nodes are looked up before and the results are stored after the concurrent part, in iteration order, so that
+     * the resulting node is identical to a sequential run. If any child fails, the failure of the first such child
+     * in iteration order is reported, again matching the sequential behavior.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked", "checkstyle:illegalCatch" })
+    private TreeNode mutateChildrenParallel(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        final ModifiedNode[] mods = modifications.toArray(new ModifiedNode[0]);
+        final Optional<? extends TreeNode>[] results = new Optional[mods.length];
+        for (int i = 0; i < mods.length; ++i) {
+            results[i] = meta.findChildByArg(mods[i].getIdentifier());
+        }
+
+        final RuntimeException[] failures = new RuntimeException[mods.length];
+        IntStream.range(0, mods.length).parallel().forEach(i -> {
+            final ModifiedNode mod = mods[i];
+            try {
+                results[i] = resolveChildOperation(mod.getIdentifier()).apply(mod, results[i], nodeVersion);
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
+        });
+        throwFirst(failures);
+
+        for (int i = 0; i < mods.length; ++i) {
+            final Optional<? extends TreeNode> result = results[i];
+            if (result.isPresent()) {
+                final TreeNode tn = result.get();
+                meta.putChild(tn);
+                data.addChild(tn.getData());
+            } else {
+                final PathArgument id = mods[i].getIdentifier();
+                meta.removeChild(id);
+                data.removeChild(id);
+            }
+        }
+
+        meta.setData(data.build());
+        return meta.seal();
+    }
+
+    private boolean isParallel(final Collection<? extends NodeModification> modifications) {
+        return parallelThreshold != 0 && modifications.size() >= parallelThreshold;
+    }
+
+    private static <T extends Exception> void throwFirst(final T[] failures) throws T {
+        for (T failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
     @Override
     protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
         /*
@@ -406,7 +468,13 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
      */
     private void checkChildPreconditions(final ModificationPath path, final NodeModification modification,
             final TreeNode current, final Version version) throws DataValidationFailedException {
-        for (final NodeModification childMod : modification.getChildren()) {
+        final Collection<? extends NodeModification> children = modification.getChildren();
+        if (isParallel(children)) {
+            checkChildPreconditionsParallel(path, children, current, version);
+            return;
+        }
+
+        for (final NodeModification childMod : children) {
             final PathArgument childId = childMod.getIdentifier();
             final Optional<? extends TreeNode> childMeta = current.findChildByArg(childId);
 
@@ -419,6 +487,40 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         }
     }
 
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void checkChildPreconditionsParallel(final ModificationPath path,
+            final Collection<? extends NodeModification> children, final TreeNode current, final Version version)
+                throws DataValidationFailedException {
+        final NodeModification[] mods = children.toArray(new NodeModification[0]);
+        final DataValidationFailedException[] failures = new DataValidationFailedException[mods.length];
+        final RuntimeException[] runtimeFailures = new RuntimeException[mods.length];
+
+        IntStream.range(0, mods.length).parallel().forEach(i -> {
+            final NodeModification childMod = mods[i];
+            final PathArgument childId = childMod.getIdentifier();
+            final ModificationPath childPath = path.copy();
+            childPath.push(childId);
+            try {
+                resolveChildOperation(childId).checkApplicable(childPath, childMod, current.findChildByArg(childId),
+                    version);
+            } catch (DataValidationFailedException e) {
+                failures[i] = e;
+            } catch (RuntimeException e) {
+                runtimeFailures[i] = e;
+            }
+        });
+
+        // Report the first failure in iteration order, just as a sequential run would
+        for (int i = 0; i < mods.length; ++i) {
+            if (failures[i] != null) {
+                throw failures[i];
+            }
+            if (runtimeFailures[i] != null) {
+                throw runtimeFailures[i];
+            }
+        }
+    }
+
     @Override
     ToStringHelper addToStringAttributes(final ToStringHelper helper) {
         return helper.add("support", support).add("verifyChildren", verifyChildrenStructure);
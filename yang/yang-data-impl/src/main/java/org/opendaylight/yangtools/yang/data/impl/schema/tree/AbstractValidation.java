@@ -74,7 +74,7 @@ abstract class AbstractValidation extends ModificationApplyOperation {
 
             // Deal with the result moving on us
             ret = delegate.apply(modification, storeMeta, version);
-            ret.ifPresent(meta -> enforceOnData(meta.getData()));
+            ret.ifPresent(meta -> enforceOnData(modification, storeMeta, meta.getData()));
         }
         return ret;
     }
@@ -91,14 +91,14 @@ abstract class AbstractValidation extends ModificationApplyOperation {
 
         final ModifiedNode modified = (ModifiedNode) modification;
         if (delegate instanceof AbstractValidation) {
-            checkApplicable(path, verifyNotNull(modified.getValidatedNode(delegate, current)));
+            checkApplicable(path, modified, current, verifyNotNull(modified.getValidatedNode(delegate, current)));
             return;
         }
 
         // We need to actually perform the operation to deal with merge in a sane manner. We know the modification
         // is immutable, so the result of validation will probably not change. Note we should not be checking number
         final Optional<? extends TreeNode> applied = delegate.apply(modified, current, version);
-        checkApplicable(path, applied);
+        checkApplicable(path, modified, current, applied);
 
         // Everything passed. We now have a snapshot of the result node, it would be too bad if we just threw it out.
         // We know what the result of an apply operation is going to be *if* the following are kept unchanged:
@@ -109,11 +109,12 @@ abstract class AbstractValidation extends ModificationApplyOperation {
         modified.setValidatedNode(this, current, applied);
     }
 
-    private void checkApplicable(final ModificationPath path, final Optional<? extends TreeNode> applied)
+    private void checkApplicable(final ModificationPath path, final ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final Optional<? extends TreeNode> applied)
             throws DataValidationFailedException {
         if (applied.isPresent()) {
             // We only enforce min/max on present data and rely on MandatoryLeafEnforcer to take care of the empty case
-            enforceOnData(path, applied.orElseThrow().getData());
+            enforceOnData(path, modification, current, applied.orElseThrow().getData());
         }
     }
 
@@ -131,6 +132,36 @@ abstract class AbstractValidation extends ModificationApplyOperation {
 
     abstract void enforceOnData(@NonNull NormalizedNode data);
 
+    /**
+     * Enforce this validation on the result of applying a modification. Implementations can use the modification and
+     * the original data to perform the validation incrementally. Default implementation defers to
+     * {@link #enforceOnData(ModificationPath, NormalizedNode)}.
+     *
+     * @param path Path to the node
+     * @param modification Modification being applied
+     * @param current Original data
+     * @param value Resulting data
+     * @throws DataValidationFailedException if the resulting data is not valid
+     */
+    void enforceOnData(final ModificationPath path, final ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final NormalizedNode value)
+            throws DataValidationFailedException {
+        enforceOnData(path, value);
+    }
+
+    /**
+     * Enforce this validation on the result of applying a modification. Default implementation defers to
+     * {@link #enforceOnData(NormalizedNode)}.
+     *
+     * @param modification Modification being applied
+     * @param current Original data
+     * @param data Resulting data
+     */
+    void enforceOnData(final ModifiedNode modification, final Optional<? extends TreeNode> current,
+            final @NonNull NormalizedNode data) {
+        enforceOnData(data);
+    }
+
     @Override
     ToStringHelper addToStringAttributes(final ToStringHelper helper) {
         return helper.add("delegate", delegate);
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -24,41 +25,51 @@ final class DataTreeState {
     private final LatestOperationHolder holder;
     private final EffectiveModelContext schemaContext;
     private final @NonNull TreeNode root;
+    // Read cache for this generation, shared by all its snapshots, null if disabled
+    private final @Nullable ReadCache readCache;
 
-    private DataTreeState(final TreeNode root) {
+    private DataTreeState(final TreeNode root, final @Nullable ReadCache readCache) {
         this.root = requireNonNull(root);
+        this.readCache = readCache;
         holder = new LatestOperationHolder();
         schemaContext = null;
     }
 
     private DataTreeState(final TreeNode root, final LatestOperationHolder holder,
-            final EffectiveModelContext schemaContext) {
+            final EffectiveModelContext schemaContext, final @Nullable ReadCache readCache) {
         // It should be impossible to instantiate a new root without a SchemaContext
         this.schemaContext = requireNonNull(schemaContext);
         this.holder = requireNonNull(holder);
         this.root = requireNonNull(root);
+        this.readCache = readCache;
     }
 
-    static DataTreeState createInitial(final TreeNode root) {
-        return new DataTreeState(root);
+    static DataTreeState createInitial(final TreeNode root, final @Nullable ReadCache readCache) {
+        return new DataTreeState(root, readCache);
     }
 
     @NonNull TreeNode getRoot() {
         return root;
     }
 
+    @Nullable EffectiveModelContext getEffectiveModelContext() {
+        return schemaContext;
+    }
+
     InMemoryDataTreeSnapshot newSnapshot() {
-        return new InMemoryDataTreeSnapshot(schemaContext, root, holder.newSnapshot());
+        return new InMemoryDataTreeSnapshot(schemaContext, root, holder.newSnapshot(), readCache);
     }
 
     DataTreeState withSchemaContext(final EffectiveModelContext newSchemaContext,
             final ModificationApplyOperation operation) {
         holder.setCurrent(operation);
-        return new DataTreeState(root, holder, newSchemaContext);
+        // Data has not changed, hence the read cache remains valid
+        return new DataTreeState(root, holder, newSchemaContext, readCache);
     }
 
     DataTreeState withRoot(final TreeNode newRoot) {
-        return new DataTreeState(newRoot, holder, schemaContext);
+        return new DataTreeState(newRoot, holder, schemaContext,
+            readCache == null ? null : readCache.nextGeneration());
     }
 
     @Override
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheStats;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.Optional;
@@ -20,6 +21,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ReadCacheStatsProvider;
 import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
@@ -34,7 +37,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Read-only snapshot of the data tree.
  */
-final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
+final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree, ReadCacheStatsProvider {
     private static final VarHandle STATE;
 
     static {
@@ -49,6 +52,8 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
 
     private final DataTreeConfiguration treeConfig;
     private final boolean maskMandatory;
+    // First generation of the read cache, used only to access statistics
+    private final ReadCache readCache;
 
     /**
      * Current data store state generation. All accesses need to go through {@link #STATE}
@@ -60,7 +65,8 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             final EffectiveModelContext schemaContext) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
         maskMandatory = true;
-        state = DataTreeState.createInitial(rootNode);
+        readCache = ReadCache.create(treeConfig.getReadCacheSize());
+        state = DataTreeState.createInitial(rootNode, readCache);
         if (schemaContext != null) {
             setEffectiveModelContext(schemaContext);
         }
@@ -71,8 +77,10 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             final boolean maskMandatory) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
         this.maskMandatory = maskMandatory;
+        readCache = ReadCache.create(treeConfig.getReadCacheSize());
 
-        state = DataTreeState.createInitial(rootNode).withSchemaContext(schemaContext, getOperation(rootSchemaNode));
+        state = DataTreeState.createInitial(rootNode, readCache)
+            .withSchemaContext(schemaContext, getOperation(rootSchemaNode));
     }
 
     private ModificationApplyOperation getOperation(final DataSchemaNode rootSchemaNode) {
@@ -150,26 +158,58 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(c.getTipRoot().getData()));
         }
 
-        final TreeNode newRoot = c.getTipRoot();
+        final TreeNode oldRoot = c.getBeforeRoot();
         DataTreeState currentState;
         DataTreeState newState;
+        boolean rebased;
         do {
             currentState = currentState();
             final TreeNode currentRoot = currentState.getRoot();
-            LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
 
-            final TreeNode oldRoot = c.getBeforeRoot();
-            if (oldRoot != currentRoot) {
-                final String oldStr = simpleToString(oldRoot);
-                final String currentStr = simpleToString(currentRoot);
-                throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr
-                    + " differ.");
+            final TreeNode newRoot;
+            rebased = oldRoot != currentRoot;
+            if (!rebased) {
+                newRoot = c.getTipRoot();
+            } else {
+                newRoot = treeConfig.isCommitRebaseEnabled() ? c.rebaseOnto(currentRoot) : null;
+                if (newRoot == null) {
+                    final String oldStr = simpleToString(oldRoot);
+                    final String currentStr = simpleToString(currentRoot);
+                    throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr
+                        + " differ.");
+                }
+                if (isXPathConstraintsValidationEnabled()) {
+                    validateRebased(c, currentState, newRoot);
+                }
+                LOG.debug("Rebased candidate {} onto {}", c, currentRoot);
             }
+            LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
 
             newState = currentState.withRoot(newRoot);
             LOG.trace("Updated state from {} to {}", currentState, newState);
             // TODO: can we lower this to compareAndSwapRelease?
         } while (!STATE.compareAndSet(this, currentState, newState));
+
+        if (rebased) {
+            // Make the candidate describe what has actually been committed, so that its users observe the same state
+            c.rebased(currentState.getRoot(), newState.getRoot());
+        }
+    }
+
+    // Both the candidate and the changes it is rebased onto have been validated, but must/when constraints can
+    // reference data across top-level children, hence their combination needs to be validated again
+    private static void validateRebased(final InMemoryDataTreeCandidate candidate, final DataTreeState state,
+            final TreeNode newRoot) {
+        final EffectiveModelContext modelContext = state.getEffectiveModelContext();
+        if (modelContext != null) {
+            try {
+                XPathConstraintValidation.forModelContext(modelContext).validate(candidate.getRootModification(),
+                    newRoot.getData());
+            } catch (DataValidationFailedException e) {
+                throw new IllegalStateException("Candidate " + candidate + " cannot be rebased onto "
+                    + simpleToString(state.getRoot()), e);
+            }
+        }
     }
 
     private static String simpleToString(final Object obj) {
@@ -185,6 +225,17 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
         return treeConfig.getRootPath();
     }
 
+    @Override
+    boolean isXPathConstraintsValidationEnabled() {
+        // Constraint paths are absolute, hence we can only validate trees rooted at the conceptual root
+        return treeConfig.isXPathConstraintsValidationEnabled() && getRootPath().isEmpty();
+    }
+
+    @Override
+    public CacheStats getReadCacheStats() {
+        return ReadCache.statsOf(readCache);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -8,9 +8,20 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import com.google.common.base.MoreObjects;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.spi.tree.MutableTreeNode;
 import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
 
 final class InMemoryDataTreeCandidate extends AbstractDataTreeCandidate {
@@ -24,9 +35,14 @@ final class InMemoryDataTreeCandidate extends AbstractDataTreeCandidate {
         public PathArgument getIdentifier() {
             throw new IllegalStateException("Attempted to get identifier of the root node");
         }
+
+        ModifiedNode mod() {
+            return getMod();
+        }
     }
 
-    private final RootNode root;
+    // Updated when this candidate is committed after being rebased
+    private volatile RootNode root;
 
     InMemoryDataTreeCandidate(final YangInstanceIdentifier rootPath, final ModifiedNode modificationRoot,
             final TreeNode beforeRoot, final TreeNode afterRoot) {
@@ -43,6 +59,93 @@ final class InMemoryDataTreeCandidate extends AbstractDataTreeCandidate {
         return root.getOldMeta();
     }
 
+    ModifiedNode getRootModification() {
+        return root.mod();
+    }
+
+    /**
+     * Attempt to replay this candidate's changes on top of a different root. This is possible only if the root node
+     * has been subject to a subtree modification and none of its children touched by this candidate have been
+     * changed between {@link #getBeforeRoot()} and {@code newBase}. Child nodes are compared by identity, hence the
+     * check is conservative: a concurrent write of an equal value is still considered a conflict.
+     *
+     * <p>
+     * Each touched child has already been validated as part of this candidate and root-level constraints are checked
+     * on a per-child basis. This does not hold for {@code must} and {@code when} constraints, which can reference other
+     * children, hence callers need to validate them on the returned root.
+     *
+     * @param newBase Root node to rebase onto
+     * @return Rebased root node, or null if this candidate cannot be rebased
+     */
+    @Nullable TreeNode rebaseOnto(final TreeNode newBase) {
+        final ModifiedNode mod = root.mod();
+        final ModificationType type = mod.getModificationType();
+        if (type == ModificationType.UNMODIFIED) {
+            return newBase;
+        }
+        if (type != ModificationType.SUBTREE_MODIFIED) {
+            return null;
+        }
+
+        final DataContainerNodeBuilder<?, ?> dataBuilder = createBuilder(newBase.getData());
+        if (dataBuilder == null) {
+            return null;
+        }
+
+        final TreeNode beforeRoot = getBeforeRoot();
+        for (ModifiedNode child : mod.getChildren()) {
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                final PathArgument id = child.getIdentifier();
+                if (beforeRoot.childByArg(id) != newBase.childByArg(id)) {
+                    return null;
+                }
+            }
+        }
+
+        final TreeNode afterRoot = getTipRoot();
+        final MutableTreeNode mutable = newBase.mutable();
+        for (ModifiedNode child : mod.getChildren()) {
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                final PathArgument id = child.getIdentifier();
+                final Optional<? extends TreeNode> after = afterRoot.findChildByArg(id);
+                if (after.isPresent()) {
+                    final TreeNode afterChild = after.get();
+                    mutable.putChild(afterChild);
+                    dataBuilder.withChild((DataContainerChild) afterChild.getData());
+                } else {
+                    mutable.removeChild(id);
+                    dataBuilder.withoutChild(id);
+                }
+            }
+        }
+
+        mutable.setSubtreeVersion(afterRoot.getSubtreeVersion());
+        mutable.setData(dataBuilder.build());
+        return mutable.seal();
+    }
+
+    /**
+     * Update this candidate to reflect it has been committed on top of a different root than the one it was prepared
+     * against, as returned by {@link #rebaseOnto(TreeNode)}.
+     *
+     * @param beforeRoot Root onto which this candidate has been rebased
+     * @param afterRoot Resulting root
+     */
+    void rebased(final TreeNode beforeRoot, final TreeNode afterRoot) {
+        root = new RootNode(root.mod(), beforeRoot, afterRoot);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static @Nullable DataContainerNodeBuilder createBuilder(final NormalizedNode data) {
+        if (data instanceof ContainerNode) {
+            return ImmutableContainerNodeBuilder.create((ContainerNode) data);
+        }
+        if (data instanceof MapEntryNode) {
+            return ImmutableMapEntryNodeBuilder.create((MapEntryNode) data);
+        }
+        return null;
+    }
+
     @Override
     public DataTreeCandidateNode getRootNode() {
         return root;
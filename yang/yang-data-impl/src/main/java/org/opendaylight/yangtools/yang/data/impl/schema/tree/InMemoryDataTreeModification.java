@@ -16,6 +16,8 @@ import java.lang.invoke.VarHandle;
 import java.util.Collection;
 import java.util.Map.Entry;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -32,6 +34,19 @@ import org.slf4j.LoggerFactory;
 
 final class InMemoryDataTreeModification extends AbstractCursorAware implements CursorAwareDataTreeModification,
         EffectiveModelContextProvider {
+    /**
+     * The result of applying this modification to a particular base root.
+     */
+    private static final class AppliedRoot {
+        final @NonNull TreeNode base;
+        final @NonNull TreeNode result;
+
+        AppliedRoot(final TreeNode base, final TreeNode result) {
+            this.base = requireNonNull(base);
+            this.result = requireNonNull(result);
+        }
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTreeModification.class);
 
     private final RootApplyStrategy strategyTree;
@@ -53,6 +68,9 @@ final class InMemoryDataTreeModification extends AbstractCursorAware implements
     @SuppressWarnings("unused")
     private volatile int sealed;
 
+    // Root resulting from validation, so it does not need to be recomputed by prepare()
+    private volatile AppliedRoot appliedRoot;
+
     InMemoryDataTreeModification(final InMemoryDataTreeSnapshot snapshot,
             final RootApplyStrategy resolver) {
         this.snapshot = requireNonNull(snapshot);
@@ -226,6 +244,21 @@ final class InMemoryDataTreeModification extends AbstractCursorAware implements
         return version;
     }
 
+    /**
+     * Return the root this modification produced when it was last applied to specified base root.
+     *
+     * @param base Base root
+     * @return Resulting root, or null if the modification has not been applied to {@code base}
+     */
+    @Nullable TreeNode appliedRoot(final TreeNode base) {
+        final AppliedRoot local = appliedRoot;
+        return local != null && local.base == base ? local.result : null;
+    }
+
+    void setAppliedRoot(final TreeNode base, final TreeNode result) {
+        appliedRoot = new AppliedRoot(base, result);
+    }
+
     boolean isSealed() {
         // a quick check, synchronizes *only* on the sealed field
         return (int) SEALED.getAcquire(this) != 0;
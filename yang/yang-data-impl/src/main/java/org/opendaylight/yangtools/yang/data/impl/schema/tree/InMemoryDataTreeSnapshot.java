@@ -12,6 +12,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.DistinctNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -27,12 +28,19 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
     private final @NonNull RootApplyStrategy applyOper;
     private final @NonNull EffectiveModelContext schemaContext;
     private final @NonNull TreeNode rootNode;
+    private final @Nullable ReadCache readCache;
 
     InMemoryDataTreeSnapshot(final EffectiveModelContext schemaContext, final TreeNode rootNode,
             final RootApplyStrategy applyOper) {
+        this(schemaContext, rootNode, applyOper, null);
+    }
+
+    InMemoryDataTreeSnapshot(final EffectiveModelContext schemaContext, final TreeNode rootNode,
+            final RootApplyStrategy applyOper, final @Nullable ReadCache readCache) {
         this.schemaContext = requireNonNull(schemaContext);
         this.rootNode = requireNonNull(rootNode);
         this.applyOper = requireNonNull(applyOper);
+        this.readCache = readCache;
     }
 
     TreeNode getRootNode() {
@@ -46,7 +54,9 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
 
     @Override
     public Optional<NormalizedNode> readNode(final YangInstanceIdentifier path) {
-        return NormalizedNodes.findNode(rootNode.getData(), path);
+        final ReadCache cache = readCache;
+        return cache != null ? cache.readNode(rootNode.getData(), path)
+            : NormalizedNodes.findNode(rootNode.getData(), path);
     }
 
     @Override
@@ -31,6 +31,21 @@ final class ModificationPath implements Mutable {
         this.root = requireNonNull(root);
     }
 
+    private ModificationPath(final ModificationPath other) {
+        root = other.root;
+        entries = other.entries.clone();
+        used = other.used;
+    }
+
+    /**
+     * Return an independent copy of this path, suitable for use by a different thread.
+     *
+     * @return A copy of this path
+     */
+    ModificationPath copy() {
+        return new ModificationPath(this);
+    }
+
     void push(final PathArgument arg) {
         if (entries.length == used) {
             final int grow = used <= 32 ? used : used / 2;
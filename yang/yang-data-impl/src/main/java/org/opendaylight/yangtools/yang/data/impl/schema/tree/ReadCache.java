@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.CacheStats;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+/**
+ * A bounded memo of {@link InMemoryDataTreeSnapshot#readNode(YangInstanceIdentifier)} results. An instance is bound
+ * to a single {@link DataTreeState}, whose root never changes, hence cached results never need to be invalidated:
+ * each new state gets a fresh generation of the cache. Lookups are keyed by {@link YangInstanceIdentifier}, whose
+ * hash code is cached.
+ *
+ * <p>
+ * Once the cache is full, it stops remembering new results. This keeps the cost of a miss at a single hash lookup
+ * and relies on each generation being typically short-lived.
+ *
+ * <p>
+ * Hit and miss counters are shared by all generations originating from the same {@link #create(int)} call.
+ */
+final class ReadCache {
+    private static final CacheStats EMPTY_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    private final ConcurrentHashMap<YangInstanceIdentifier, Optional<NormalizedNode>> entries =
+        new ConcurrentHashMap<>();
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final int maxSize;
+
+    private ReadCache(final int maxSize, final LongAdder hits, final LongAdder misses) {
+        this.maxSize = maxSize;
+        this.hits = requireNonNull(hits);
+        this.misses = requireNonNull(misses);
+    }
+
+    static @Nullable ReadCache create(final int maxSize) {
+        return maxSize == 0 ? null : new ReadCache(maxSize, new LongAdder(), new LongAdder());
+    }
+
+    static @NonNull CacheStats statsOf(final @Nullable ReadCache cache) {
+        return cache == null ? EMPTY_STATS : new CacheStats(cache.hits.sum(), cache.misses.sum(), 0, 0, 0, 0);
+    }
+
+    @NonNull ReadCache nextGeneration() {
+        return new ReadCache(maxSize, hits, misses);
+    }
+
+    @NonNull Optional<NormalizedNode> readNode(final NormalizedNode root, final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode> cached = entries.get(path);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        final Optional<NormalizedNode> result = NormalizedNodes.findNode(root, path);
+        // Racy size check: we may overshoot by the number of concurrent readers, which is fine
+        if (entries.size() < maxSize) {
+            final Optional<NormalizedNode> raced = entries.putIfAbsent(path, result);
+            if (raced != null) {
+                return raced;
+            }
+        }
+        return result;
+    }
+}
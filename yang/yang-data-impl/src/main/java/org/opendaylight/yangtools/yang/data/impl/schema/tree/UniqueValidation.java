@@ -9,27 +9,37 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.HashMultimap;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.UniqueConstraintException;
+import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
@@ -45,7 +55,17 @@ import org.slf4j.LoggerFactory;
  */
 final class UniqueValidation extends AbstractValidation {
     private static final Logger LOG = LoggerFactory.getLogger(UniqueValidation.class);
+    private static final MapAdaptor MAP_ADAPTOR = MapAdaptor.getDefaultInstance();
+    private static final Object MISSING_VALUE = new Object();
 
+    /**
+     * Unique indexes of list instances which have been validated, keyed by the instance. Each index is aligned with
+     * {@link #validators} and maps value vectors to the list entry holding them. Indexes are updated from the index of
+     * the previous list instance, sharing structure with it, so that validation cost is proportional to the number of
+     * modified entries rather than the size of the list.
+     */
+    private final Cache<NormalizedNode, ImmutableList<Map<Object, PathArgument>>> indexes =
+        CacheBuilder.newBuilder().weakKeys().build();
     private final @NonNull ImmutableList<UniqueValidator<?>> validators;
 
     private UniqueValidation(final ModificationApplyOperation delegate,
@@ -81,38 +101,138 @@ final class UniqueValidation extends AbstractValidation {
 
     @Override
     void enforceOnData(final NormalizedNode data) {
-        enforceOnData(data, (message, values) -> new UniqueValidationFailedException(message));
+        enforceOnData(null, Optional.empty(), data,
+            (message, values) -> new UniqueValidationFailedException(message));
     }
 
     @Override
     void enforceOnData(final ModificationPath path, final NormalizedNode data) throws UniqueConstraintException {
-        enforceOnData(data, (message, values) -> new UniqueConstraintException(path.toInstanceIdentifier(), values,
-            message));
+        enforceOnData(null, Optional.empty(), data, (message, values) ->
+            new UniqueConstraintException(path.toInstanceIdentifier(), values, message));
     }
 
-    private <T extends @NonNull Exception> void enforceOnData(final NormalizedNode data,
+    @Override
+    void enforceOnData(final ModificationPath path, final ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final NormalizedNode data) throws UniqueConstraintException {
+        enforceOnData(modification, current, data, (message, values) ->
+            new UniqueConstraintException(path.toInstanceIdentifier(), values, message));
+    }
+
+    @Override
+    void enforceOnData(final ModifiedNode modification, final Optional<? extends TreeNode> current,
+            final NormalizedNode data) {
+        enforceOnData(modification, current, data,
+            (message, values) -> new UniqueValidationFailedException(message));
+    }
+
+    private <T extends @NonNull Exception> void enforceOnData(final @Nullable ModifiedNode modification,
+            final Optional<? extends TreeNode> current, final NormalizedNode data,
             final ExceptionSupplier<T> exceptionSupplier) throws T {
+        if (indexes.getIfPresent(data) != null) {
+            LOG.trace("Data {} has already been validated", data.getIdentifier());
+            return;
+        }
+
         final Stopwatch sw = Stopwatch.createStarted();
+        final ImmutableList<Map<Object, PathArgument>> previous = previousIndex(modification, current, data);
+        final ImmutableList<Map<Object, PathArgument>> index;
+        if (previous != null) {
+            index = updateIndex(previous, verifyNotNull(modification), (MapNode) current.orElseThrow().getData(),
+                (MapNode) data, exceptionSupplier);
+            LOG.trace("Incrementally enforced {} validators in {}", validators.size(), sw);
+        } else {
+            index = buildIndex(data, exceptionSupplier);
+            LOG.trace("Enforced {} validators in {}", validators.size(), sw);
+        }
+        indexes.put(data, index);
+    }
+
+    private @Nullable ImmutableList<Map<Object, PathArgument>> previousIndex(
+            final @Nullable ModifiedNode modification, final Optional<? extends TreeNode> current,
+            final NormalizedNode data) {
+        // We can only reuse the index if we know exactly which entries have changed
+        if (modification == null || modification.getOperation() != LogicalOperation.TOUCH
+                || !(data instanceof MapNode) || current.isEmpty()) {
+            return null;
+        }
+        final NormalizedNode before = current.orElseThrow().getData();
+        return before instanceof MapNode ? indexes.getIfPresent(before) : null;
+    }
+
+    private <T extends @NonNull Exception> ImmutableList<Map<Object, PathArgument>> buildIndex(
+            final NormalizedNode data, final ExceptionSupplier<T> exceptionSupplier) throws T {
         verify(data instanceof NormalizedNodeContainer, "Unexpected data %s", data);
         final var children = ((NormalizedNodeContainer<?, ?>) data).body();
-        final var collected = HashMultimap.<UniqueValidator<?>, Object>create(validators.size(), children.size());
+        final List<Map<Object, PathArgument>> index = new ArrayList<>(validators.size());
+        for (int i = 0; i < validators.size(); ++i) {
+            index.add(MAP_ADAPTOR.initialSnapshot(children.size()));
+        }
+
         for (NormalizedNode child : children) {
             verify(child instanceof DataContainerNode, "Unexpected child %s", child);
-            final DataContainerNode<?> cont = (DataContainerNode<?>) child;
-
-            final Map<List<NodeIdentifier>, Object> valueCache = new HashMap<>();
-            for (UniqueValidator<?> validator : validators) {
-                final Object values = validator.extractValues(valueCache, cont);
-                final Object masked = BinaryValue.wrap(values);
-                if (!collected.put(validator, masked)) {
-                    final Map<Descendant, @Nullable Object> index = validator.indexValues(values);
-                    throw exceptionSupplier.get(cont.getIdentifier()
-                        + " violates unique constraint on " + masked + " of " + index.keySet(), index);
+            indexEntry(index, (DataContainerNode<?>) child, exceptionSupplier);
+        }
+        return optimize(index);
+    }
+
+    private <T extends @NonNull Exception> ImmutableList<Map<Object, PathArgument>> updateIndex(
+            final ImmutableList<Map<Object, PathArgument>> previous, final ModifiedNode modification,
+            final MapNode before, final MapNode after, final ExceptionSupplier<T> exceptionSupplier) throws T {
+        final List<Map<Object, PathArgument>> index = new ArrayList<>(previous.size());
+        for (Map<Object, PathArgument> map : previous) {
+            index.add(MAP_ADAPTOR.takeSnapshot(map));
+        }
+
+        final List<NodeIdentifierWithPredicates> changed = new ArrayList<>();
+        for (ModifiedNode child : modification.getChildren()) {
+            if (child.getOperation() != LogicalOperation.NONE) {
+                final PathArgument arg = child.getIdentifier();
+                verify(arg instanceof NodeIdentifierWithPredicates, "Unexpected child %s", arg);
+                changed.add((NodeIdentifierWithPredicates) arg);
+            }
+        }
+
+        // Remove values of all changed entries first, so that values can be swapped between entries
+        for (NodeIdentifierWithPredicates arg : changed) {
+            final MapEntryNode entry = before.childByArg(arg);
+            if (entry != null) {
+                final Map<List<NodeIdentifier>, Object> valueCache = new HashMap<>();
+                for (int i = 0; i < validators.size(); ++i) {
+                    index.get(i).remove(indexKey(validators.get(i).extractValues(valueCache, entry)), arg);
                 }
             }
         }
+        for (NodeIdentifierWithPredicates arg : changed) {
+            final MapEntryNode entry = after.childByArg(arg);
+            if (entry != null) {
+                indexEntry(index, entry, exceptionSupplier);
+            }
+        }
+        return optimize(index);
+    }
+
+    private <T extends @NonNull Exception> void indexEntry(final List<Map<Object, PathArgument>> index,
+            final DataContainerNode<?> entry, final ExceptionSupplier<T> exceptionSupplier) throws T {
+        final PathArgument arg = entry.getIdentifier();
+        final Map<List<NodeIdentifier>, Object> valueCache = new HashMap<>();
+        for (int i = 0; i < validators.size(); ++i) {
+            final UniqueValidator<?> validator = validators.get(i);
+            final Object values = validator.extractValues(valueCache, entry);
+            if (index.get(i).putIfAbsent(indexKey(values), arg) != null) {
+                final Map<Descendant, @Nullable Object> indexValues = validator.indexValues(values);
+                throw exceptionSupplier.get(arg + " violates unique constraint on " + BinaryValue.wrap(values)
+                    + " of " + indexValues.keySet(), indexValues);
+            }
+        }
+    }
+
+    private static ImmutableList<Map<Object, PathArgument>> optimize(final List<Map<Object, PathArgument>> index) {
+        return index.stream().map(MAP_ADAPTOR::optimize).collect(ImmutableList.toImmutableList());
+    }
 
-        LOG.trace("Enforced {} validators in {}", validators.size(), sw);
+    // Persistent maps cannot hold null keys, hence we mask missing values
+    private static Object indexKey(final @Nullable Object values) {
+        return values == null ? MISSING_VALUE : BinaryValue.wrap(values);
     }
 
     @Override
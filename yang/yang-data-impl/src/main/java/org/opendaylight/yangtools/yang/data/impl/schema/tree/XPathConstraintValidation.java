@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.xpath.CompiledXPath;
+import org.opendaylight.yangtools.yang.data.impl.xpath.XPathCompiler;
+import org.opendaylight.yangtools.yang.data.impl.xpath.XPathNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.MustConstraintAware;
+import org.opendaylight.yangtools.yang.model.api.MustDefinition;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression.QualifiedBound;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validation of {@code must} and {@code when} constraints attached to data nodes. Constraints are compiled once per
+ * {@link EffectiveModelContext} and each validation evaluates only those constraints, which may be affected by
+ * a modification, as determined by {@link CompiledXPath#getDependencies()}.
+ *
+ * <p>
+ * Both {@code must} and {@code when} expressions are evaluated with the constrained node as the context node. Contrary
+ * to <a href="https://tools.ietf.org/html/rfc7950#section-7.21.5">RFC7950 Section 7.21.5</a>, the node is not replaced
+ * by a dummy node while its {@code when} condition is evaluated. {@code when} statements attached to {@code augment},
+ * {@code uses}, {@code choice} and {@code case} statements are not validated, nor are constraints which fail to
+ * compile.
+ *
+ * <p>
+ * An affected constraint is evaluated only on instances which can observe a modified node. These are the instances
+ * below the modified node, the instance above it and, for constraints which depend on a modified node through
+ * a relative path, the instances which share the anchored part of that path with it, as reported by
+ * {@link CompiledXPath#getAnchoredLength(List)}. Constraints referencing a modified node through an absolute path are
+ * evaluated on all their instances.
+ */
+final class XPathConstraintValidation {
+    /**
+     * A modified node, identified both by its schema path and by the identifiers of the XPath-visible nodes leading to
+     * it.
+     */
+    private static final class ModifiedPath {
+        final @NonNull ImmutableList<QName> schemaPath;
+        final @NonNull ImmutableList<PathArgument> instancePath;
+
+        ModifiedPath(final ImmutableList<QName> schemaPath, final ImmutableList<PathArgument> instancePath) {
+            this.schemaPath = requireNonNull(schemaPath);
+            this.instancePath = requireNonNull(instancePath);
+        }
+
+        @Override
+        public String toString() {
+            return instancePath.toString();
+        }
+    }
+
+    private static final class Constraint {
+        final @NonNull ImmutableList<QName> nodePath;
+        final @NonNull CompiledXPath xpath;
+        final @NonNull String message;
+
+        Constraint(final ImmutableList<QName> nodePath, final CompiledXPath xpath, final String message) {
+            this.nodePath = requireNonNull(nodePath);
+            this.xpath = requireNonNull(xpath);
+            this.message = requireNonNull(message);
+        }
+
+        /**
+         * Determine the scope of instances of this constraint affected by a modification. Only the instances which
+         * share the returned number of leading nodes with the modified node need to be evaluated.
+         *
+         * @param modified Modified node
+         * @return Number of leading nodes shared with the modified node, or -1 if this constraint is not affected
+         */
+        int affectedScope(final ModifiedPath modified) {
+            final List<QName> modifiedPath = modified.schemaPath;
+            if (xpath.hasUnknownDependencies()) {
+                return 0;
+            }
+
+            int scope = overlaps(modifiedPath, nodePath) ? Math.min(nodePath.size(), modifiedPath.size()) : -1;
+            for (List<QName> dependency : xpath.getDependencies()) {
+                if (overlaps(modifiedPath, dependency)) {
+                    final int depScope = Math.min(xpath.getAnchoredLength(dependency), modifiedPath.size());
+                    scope = scope == -1 ? depScope : Math.min(scope, depScope);
+                }
+            }
+            return scope;
+        }
+
+        private static boolean overlaps(final List<QName> first, final List<QName> second) {
+            final int size = Math.min(first.size(), second.size());
+            return first.subList(0, size).equals(second.subList(0, size));
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("path", nodePath).add("xpath", xpath).toString();
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(XPathConstraintValidation.class);
+    private static final LoadingCache<EffectiveModelContext, XPathConstraintValidation> CACHE =
+        CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<>() {
+            @Override
+            public XPathConstraintValidation load(final EffectiveModelContext key) {
+                return new XPathConstraintValidation(key);
+            }
+        });
+
+    private final @NonNull ImmutableList<Constraint> constraints;
+    private final @NonNull DataSchemaContextTree schemaTree;
+
+    private XPathConstraintValidation(final EffectiveModelContext modelContext) {
+        schemaTree = DataSchemaContextTree.from(modelContext);
+        final XPathCompiler compiler = XPathCompiler.create(schemaTree);
+        final List<Constraint> tmp = new ArrayList<>();
+        collectConstraints(compiler, modelContext, ImmutableList.of(), tmp);
+        constraints = ImmutableList.copyOf(tmp);
+        LOG.debug("Compiled {} XPath constraints for {}", constraints.size(), modelContext);
+    }
+
+    static @NonNull XPathConstraintValidation forModelContext(final EffectiveModelContext modelContext) {
+        return CACHE.getUnchecked(modelContext);
+    }
+
+    /**
+     * Validate the constraints affected by a modification. Constraints are evaluated only on those instances, which
+     * may observe the modified nodes, hence the cost depends on the size of the modification rather than the size of
+     * the data tree.
+     *
+     * @param modification Root modification
+     * @param newRoot Data tree root resulting from the modification
+     * @throws DataValidationFailedException if a constraint is violated
+     */
+    void validate(final ModifiedNode modification, final NormalizedNode newRoot)
+            throws DataValidationFailedException {
+        if (constraints.isEmpty()) {
+            return;
+        }
+
+        final List<ModifiedPath> modifiedPaths = new ArrayList<>();
+        switch (modification.getOperation()) {
+            case NONE:
+                return;
+            case TOUCH:
+                collectModifiedPaths(modification, schemaTree.getRoot(), ImmutableList.of(), ImmutableList.of(),
+                    modifiedPaths);
+                break;
+            default:
+                modifiedPaths.add(new ModifiedPath(ImmutableList.of(), ImmutableList.of()));
+        }
+
+        final XPathNode root = XPathNode.root(newRoot);
+        for (Constraint constraint : constraints) {
+            final Set<XPathNode> instances = new LinkedHashSet<>();
+            for (ModifiedPath modified : modifiedPaths) {
+                final int scope = constraint.affectedScope(modified);
+                if (scope != -1) {
+                    collectInstances(constraint, root, modified.instancePath.subList(0, scope), instances);
+                }
+            }
+            evaluate(constraint, instances);
+        }
+    }
+
+    private static void collectInstances(final Constraint constraint, final XPathNode root,
+            final List<PathArgument> prefix, final Set<XPathNode> result) {
+        List<XPathNode> instances = List.of(root);
+        for (PathArgument arg : prefix) {
+            instances = children(instances, arg);
+        }
+        for (QName qname : constraint.nodePath.subList(prefix.size(), constraint.nodePath.size())) {
+            instances = children(instances, NodeIdentifier.create(qname));
+        }
+        result.addAll(instances);
+    }
+
+    private static List<XPathNode> children(final List<XPathNode> parents, final PathArgument arg) {
+        if (parents.size() == 1) {
+            return parents.get(0).getChildren(arg);
+        }
+        final List<XPathNode> ret = new ArrayList<>();
+        for (XPathNode parent : parents) {
+            ret.addAll(parent.getChildren(arg));
+        }
+        return ret;
+    }
+
+    private static void evaluate(final Constraint constraint, final Set<XPathNode> instances)
+            throws DataValidationFailedException {
+        for (XPathNode instance : instances) {
+            final boolean result;
+            try {
+                result = constraint.xpath.evaluateBoolean(instance);
+            } catch (IllegalArgumentException e) {
+                throw new DataValidationFailedException(instance.getPath(),
+                    "Failed to evaluate " + constraint.xpath, e);
+            }
+            if (!result) {
+                throw new DataValidationFailedException(instance.getPath(), constraint.message);
+            }
+        }
+    }
+
+    private static void collectConstraints(final XPathCompiler compiler, final DataNodeContainer container,
+            final ImmutableList<QName> path, final List<Constraint> result) {
+        for (DataSchemaNode child : container.getChildNodes()) {
+            if (child instanceof ChoiceSchemaNode) {
+                // Choices and cases are not visible to XPath
+                for (CaseSchemaNode caze : ((ChoiceSchemaNode) child).getCases()) {
+                    collectConstraints(compiler, caze, path, result);
+                }
+                continue;
+            }
+
+            final QName qname = child.getQName();
+            final ImmutableList<QName> childPath = ImmutableList.<QName>builderWithExpectedSize(path.size() + 1)
+                .addAll(path).add(qname).build();
+
+            final Optional<? extends QualifiedBound> when = child.getWhenCondition();
+            if (when.isPresent()) {
+                compile(compiler, when.get(), childPath,
+                    "When condition " + when.get() + " of " + qname + " is not satisfied", result);
+            }
+            if (child instanceof MustConstraintAware) {
+                for (MustDefinition must : ((MustConstraintAware) child).getMustConstraints()) {
+                    compile(compiler, must.getXpath(), childPath,
+                        must.getErrorMessage().orElse("Must constraint " + must.getXpath() + " of " + qname
+                            + " is not satisfied"), result);
+                }
+            }
+            if (child instanceof DataNodeContainer) {
+                collectConstraints(compiler, (DataNodeContainer) child, childPath, result);
+            }
+        }
+    }
+
+    private static void compile(final XPathCompiler compiler, final QualifiedBound expression,
+            final ImmutableList<QName> nodePath, final String message, final List<Constraint> result) {
+        final CompiledXPath xpath;
+        try {
+            xpath = compiler.compile(expression, nodePath.get(nodePath.size() - 1).getModule(), nodePath);
+        } catch (XPathExpressionException e) {
+            LOG.warn("Cannot compile {} of {}, it will not be validated", expression, nodePath, e);
+            return;
+        }
+        result.add(new Constraint(nodePath, xpath, message));
+    }
+
+    private static void collectModifiedPaths(final ModifiedNode modification, final DataSchemaContextNode<?> schema,
+            final ImmutableList<QName> path, final ImmutableList<PathArgument> instancePath,
+            final List<ModifiedPath> result) {
+        for (ModifiedNode child : modification.getChildren()) {
+            final LogicalOperation operation = child.getOperation();
+            if (operation == LogicalOperation.NONE) {
+                continue;
+            }
+            final DataSchemaContextNode<?> childSchema = schema.getChild(child.getIdentifier());
+            if (childSchema == null) {
+                continue;
+            }
+
+            final ImmutableList<QName> childPath;
+            final ImmutableList<PathArgument> childInstancePath;
+            if (childSchema.isMixin()) {
+                childPath = path;
+                childInstancePath = instancePath;
+            } else {
+                final PathArgument arg = child.getIdentifier();
+                childPath = ImmutableList.<QName>builderWithExpectedSize(path.size() + 1).addAll(path)
+                    .add(arg.getNodeType()).build();
+                childInstancePath = ImmutableList.<PathArgument>builderWithExpectedSize(instancePath.size() + 1)
+                    .addAll(instancePath).add(arg).build();
+            }
+            if (operation == LogicalOperation.TOUCH) {
+                collectModifiedPaths(child, childSchema, childPath, childInstancePath, result);
+            } else {
+                result.add(new ModifiedPath(childPath, childInstancePath));
+            }
+        }
+    }
+}
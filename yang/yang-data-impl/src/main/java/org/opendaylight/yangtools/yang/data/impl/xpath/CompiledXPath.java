@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * An XPath expression compiled by {@link XPathCompiler}, ready to be evaluated against {@link XPathNode}s.
+ *
+ * <p>
+ * Each expression also reports the data it depends on, as a set of schema paths, i.e. lists of {@link QName}s of the
+ * XPath-visible nodes leading to the data, starting at the data tree root. The result of an expression can change only
+ * if a node at or below one of these paths changes. If the dependencies cannot be determined statically,
+ * {@link #hasUnknownDependencies()} returns true.
+ *
+ * <p>
+ * Relative paths start at the context node, hence the leading nodes of such a dependency are the context node's own
+ * ancestors, not just any instance of them. {@link #getAnchoredLength(List)} reports how many of them are anchored this
+ * way, so that a change to a data tree needs to be re-evaluated only on context nodes which share these ancestors with
+ * the changed node.
+ */
+@Beta
+public final class CompiledXPath {
+    private final @NonNull ImmutableMap<List<QName>, Integer> dependencies;
+    private final @NonNull Evaluator evaluator;
+    private final @NonNull XPathValues values;
+    private final @NonNull String expression;
+    private final boolean unknownDependencies;
+
+    CompiledXPath(final String expression, final Evaluator evaluator, final XPathValues values,
+            final ImmutableMap<List<QName>, Integer> dependencies, final boolean unknownDependencies) {
+        this.expression = requireNonNull(expression);
+        this.evaluator = requireNonNull(evaluator);
+        this.values = requireNonNull(values);
+        this.dependencies = requireNonNull(dependencies);
+        this.unknownDependencies = unknownDependencies;
+    }
+
+    /**
+     * Evaluate this expression. Both the context node and the node returned by {@code current()} are set to
+     * {@code contextNode}.
+     *
+     * @param contextNode Context node
+     * @return Evaluation result, which is either a {@link Boolean}, a {@link Double}, a {@link String} or a
+     *         {@code List<XPathNode>}
+     * @throws NullPointerException if {@code contextNode} is null
+     * @throws IllegalArgumentException if the expression cannot be evaluated, for example because a function received
+     *                                  an argument of the wrong type
+     */
+    public @NonNull Object evaluate(final XPathNode contextNode) {
+        return evaluator.evaluate(EvalContext.of(contextNode));
+    }
+
+    /**
+     * Evaluate this expression and convert its result to a boolean, as if by calling {@code boolean()} function.
+     *
+     * @param contextNode Context node
+     * @return Evaluation result
+     * @throws NullPointerException if {@code contextNode} is null
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     */
+    public boolean evaluateBoolean(final XPathNode contextNode) {
+        return XPathValues.toBoolean(evaluate(contextNode));
+    }
+
+    /**
+     * Evaluate this expression and convert its result to a string, as if by calling {@code string()} function.
+     *
+     * @param contextNode Context node
+     * @return Evaluation result
+     * @throws NullPointerException if {@code contextNode} is null
+     * @throws IllegalArgumentException if the expression cannot be evaluated
+     */
+    public @NonNull String evaluateString(final XPathNode contextNode) {
+        return values.toString(evaluate(contextNode));
+    }
+
+    /**
+     * Return the schema paths this expression depends on. This set is meaningful only if
+     * {@link #hasUnknownDependencies()} returns false.
+     *
+     * @return Schema paths this expression depends on
+     */
+    public @NonNull ImmutableSet<List<QName>> getDependencies() {
+        return dependencies.keySet();
+    }
+
+    /**
+     * Return the number of leading nodes of a dependency, which are the context node or its ancestors. For example
+     * a dependency of {@code ../name} evaluated on {@code /foo/bar/baz} is {@code /foo/bar/name} and its anchored
+     * length is 2, while a dependency of {@code /foo/bar/name} has an anchored length of 0.
+     *
+     * @param dependency A dependency, as returned by {@link #getDependencies()}
+     * @return Number of anchored leading nodes
+     * @throws IllegalArgumentException if {@code dependency} is not a dependency of this expression
+     */
+    public int getAnchoredLength(final List<QName> dependency) {
+        final Integer anchored = dependencies.get(dependency);
+        checkArgument(anchored != null, "%s is not a dependency of %s", dependency, expression);
+        return anchored;
+    }
+
+    /**
+     * Check whether the dependencies of this expression could not be fully determined.
+     *
+     * @return True if the expression may depend on data outside of {@link #getDependencies()}
+     */
+    public boolean hasUnknownDependencies() {
+        return unknownDependencies;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
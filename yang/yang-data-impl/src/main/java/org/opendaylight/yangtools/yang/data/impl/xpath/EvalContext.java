@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import static java.util.Objects.requireNonNull;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * XPath evaluation context, as defined in <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#section-Introduction">
+ * XPath 1.0, Section 1</a>, with the addition of the node returned by {@code current()}.
+ */
+final class EvalContext {
+    final @NonNull XPathNode node;
+    final @NonNull XPathNode current;
+    final int position;
+    final int size;
+
+    EvalContext(final XPathNode node, final int position, final int size, final XPathNode current) {
+        this.node = requireNonNull(node);
+        this.current = requireNonNull(current);
+        this.position = position;
+        this.size = size;
+    }
+
+    static @NonNull EvalContext of(final XPathNode node) {
+        return new EvalContext(node, 1, 1, node);
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A compiled {@link org.opendaylight.yangtools.yang.xpath.api.YangExpr}. Evaluation results are one of the four XPath
+ * types: {@link Boolean}, {@link Double}, {@link String} or a node-set, represented as a {@code List<XPathNode>}.
+ */
+@FunctionalInterface
+interface Evaluator {
+    @NonNull Object evaluate(@NonNull EvalContext ctx);
+}
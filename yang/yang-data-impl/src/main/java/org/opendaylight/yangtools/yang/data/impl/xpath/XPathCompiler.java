@@ -0,0 +1,933 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.xml.xpath.XPathExpressionException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.AbstractQName;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.UnqualifiedQName;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition.EnumPair;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryOperator;
+import org.opendaylight.yangtools.yang.xpath.api.YangBooleanConstantExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangFilterExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunction;
+import org.opendaylight.yangtools.yang.xpath.api.YangFunctionCallExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangLiteralExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.NamespaceStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.NodeTypeStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.QNameStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.Relative;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.ResolvedQNameStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.Step;
+import org.opendaylight.yangtools.yang.xpath.api.YangLocationPath.UnresolvedQNameStep;
+import org.opendaylight.yangtools.yang.xpath.api.YangNaryExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangNegateExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangNumberExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangPathExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangQNameExpr;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathExpression.QualifiedBound;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathNodeType;
+
+/**
+ * Compiler of {@link QualifiedBound} XPath expressions, as found in {@code must} and {@code when} statements, into
+ * {@link CompiledXPath}s, which are evaluated directly against {@link XPathNode}s. Expressions are compiled into a tree
+ * of closures once and can then be evaluated any number of times without further interpretation of the
+ * {@link YangExpr} tree.
+ *
+ * <p>
+ * Instances are bound to a {@link DataSchemaContextTree}, which is used to resolve {@code identityref} and
+ * {@code enumeration} values. The following constructs are not supported and cause compilation to fail: the
+ * {@code following} and {@code preceding} axes (the {@code following-sibling} and {@code preceding-sibling} axes are
+ * supported), variable references and the {@code deref()}, {@code id()} and
+ * {@code lang()} functions. Node-sets are kept in the order in which their nodes are reached, which does not
+ * necessarily match document order when multiple context nodes are involved.
+ */
+@Beta
+@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
+    justification = "https://github.com/spotbugs/spotbugs/issues/811")
+public final class XPathCompiler {
+    /**
+     * A compiled location step. Produces the nodes selected by the step from a single context node.
+     */
+    @FunctionalInterface
+    private interface StepEvaluator {
+        @NonNull List<XPathNode> evaluate(@NonNull XPathNode node, @NonNull XPathNode current);
+    }
+
+    private static final ImmutableMap<QName, YangFunction> FUNCTIONS = Maps.uniqueIndex(
+        Arrays.asList(YangFunction.values()), YangFunction::getIdentifier);
+    // Functions which operate on the context node when invoked without arguments
+    private static final Set<YangFunction> IMPLICIT_CONTEXT = EnumSet.of(YangFunction.LOCAL_NAME, YangFunction.NAME,
+        YangFunction.NAMESPACE_URI, YangFunction.NORMALIZE_SPACE, YangFunction.NUMBER, YangFunction.STRING,
+        YangFunction.STRING_LENGTH);
+    private static final Pattern WHITESPACE = Pattern.compile("[ \t\r\n]+");
+    private static final Double NAN = Double.NaN;
+
+    private final @NonNull ImmutableMap<QName, IdentitySchemaNode> identities;
+    private final @NonNull DataSchemaContextTree schemaTree;
+    private final @NonNull XPathValues values;
+
+    private XPathCompiler(final DataSchemaContextTree schemaTree) {
+        this.schemaTree = requireNonNull(schemaTree);
+        final EffectiveModelContext modelContext = schemaTree.getEffectiveModelContext();
+        values = new XPathValues(modelContext);
+
+        final Map<QName, IdentitySchemaNode> tmp = new HashMap<>();
+        for (Module module : modelContext.getModules()) {
+            for (IdentitySchemaNode identity : module.getIdentities()) {
+                tmp.put(identity.getQName(), identity);
+            }
+        }
+        identities = ImmutableMap.copyOf(tmp);
+    }
+
+    /**
+     * Create a compiler bound to a {@link DataSchemaContextTree}.
+     *
+     * @param schemaTree Schema tree
+     * @return A new compiler
+     * @throws NullPointerException if {@code schemaTree} is null
+     */
+    public static @NonNull XPathCompiler create(final DataSchemaContextTree schemaTree) {
+        return new XPathCompiler(schemaTree);
+    }
+
+    /**
+     * Compile an expression.
+     *
+     * @param expression Expression to compile
+     * @param defaultNamespace Namespace of unprefixed node names, i.e. the namespace of the node on which the
+     *                         expression is defined
+     * @param contextPath Schema path of the node the expression is evaluated on, used to determine dependencies of
+     *                    relative paths
+     * @return A compiled expression
+     * @throws XPathExpressionException if the expression uses an unsupported construct
+     * @throws NullPointerException if any argument is null
+     */
+    public @NonNull CompiledXPath compile(final QualifiedBound expression, final QNameModule defaultNamespace,
+            final List<QName> contextPath) throws XPathExpressionException {
+        final Compilation compilation = new Compilation(expression, defaultNamespace, contextPath);
+        final Evaluator evaluator = compilation.compile(expression.getRootExpr());
+        compilation.collect(expression.getRootExpr(), compilation.contextLocation);
+        return new CompiledXPath(expression.toString(), evaluator, values,
+            ImmutableMap.copyOf(compilation.dependencies), compilation.unknownDependencies);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("schemaTree", schemaTree).toString();
+    }
+
+    /**
+     * Schema path of the nodes an expression operates on, along with the number of its leading nodes, which are
+     * the context node or its ancestors, rather than any other instance of that schema node.
+     */
+    private static final class Location {
+        final @NonNull ImmutableList<QName> path;
+        final int anchored;
+
+        Location(final ImmutableList<QName> path, final int anchored) {
+            this.path = requireNonNull(path);
+            this.anchored = Math.min(anchored, path.size());
+        }
+
+        Location child(final QName qname) {
+            return new Location(ImmutableList.<QName>builderWithExpectedSize(path.size() + 1).addAll(path).add(qname)
+                .build(), anchored);
+        }
+
+        Location parent() {
+            return path.isEmpty() ? this : new Location(path.subList(0, path.size() - 1), anchored);
+        }
+    }
+
+    private static final Location ROOT_LOCATION = new Location(ImmutableList.of(), 0);
+
+    /**
+     * State of a single compilation.
+     */
+    private final class Compilation {
+        final Map<List<QName>, Integer> dependencies = new HashMap<>();
+        final @NonNull Location contextLocation;
+        final @NonNull QNameModule defaultNamespace;
+        final @NonNull QualifiedBound expression;
+        boolean unknownDependencies;
+
+        Compilation(final QualifiedBound expression, final QNameModule defaultNamespace,
+                final List<QName> contextPath) {
+            this.expression = requireNonNull(expression);
+            this.defaultNamespace = requireNonNull(defaultNamespace);
+            contextLocation = new Location(ImmutableList.copyOf(contextPath), contextPath.size());
+        }
+
+        Evaluator compile(final YangExpr expr) throws XPathExpressionException {
+            if (expr instanceof YangBooleanConstantExpr) {
+                final Boolean value = ((YangBooleanConstantExpr) expr).getValue();
+                return ctx -> value;
+            } else if (expr instanceof YangLiteralExpr) {
+                final String value = ((YangLiteralExpr) expr).getLiteral();
+                return ctx -> value;
+            } else if (expr instanceof YangNumberExpr) {
+                final Double value = ((YangNumberExpr) expr).getNumber().doubleValue();
+                return ctx -> value;
+            } else if (expr instanceof YangNegateExpr) {
+                final Evaluator sub = compile(((YangNegateExpr) expr).getSubExpr());
+                return ctx -> -values.toNumber(sub.evaluate(ctx));
+            } else if (expr instanceof YangBinaryExpr) {
+                return compileBinary((YangBinaryExpr) expr);
+            } else if (expr instanceof YangNaryExpr) {
+                return compileNary((YangNaryExpr) expr);
+            } else if (expr instanceof YangFunctionCallExpr) {
+                return compileFunction((YangFunctionCallExpr) expr);
+            } else if (expr instanceof YangLocationPath) {
+                final YangLocationPath path = (YangLocationPath) expr;
+                final List<StepEvaluator> steps = compileSteps(path.getSteps());
+                return path.isAbsolute() ? ctx -> applySteps(steps, List.of(ctx.node.getRoot()), ctx.current)
+                    : ctx -> applySteps(steps, List.of(ctx.node), ctx.current);
+            } else if (expr instanceof YangFilterExpr) {
+                final YangFilterExpr filter = (YangFilterExpr) expr;
+                final Evaluator inner = compile(filter.getExpr());
+                final List<Evaluator> predicates = compilePredicates(filter.getPredicates());
+                return predicates.isEmpty() ? inner
+                    : ctx -> applyPredicates(XPathValues.toNodeSet(inner.evaluate(ctx)), predicates, ctx.current);
+            } else if (expr instanceof YangPathExpr) {
+                final YangPathExpr path = (YangPathExpr) expr;
+                final Evaluator filter = compile(path.getFilterExpr());
+                final Optional<Relative> location = path.getLocationPath();
+                if (location.isEmpty()) {
+                    return filter;
+                }
+                final List<StepEvaluator> steps = compileSteps(location.get().getSteps());
+                return ctx -> applySteps(steps, XPathValues.toNodeSet(filter.evaluate(ctx)), ctx.current);
+            } else {
+                throw new XPathExpressionException("Unsupported expression " + expr);
+            }
+        }
+
+        void collect(final YangExpr expr, final Location location) throws XPathExpressionException {
+            if (expr instanceof YangLocationPath) {
+                final YangLocationPath path = (YangLocationPath) expr;
+                collectSteps(path.isAbsolute() ? ROOT_LOCATION : location, path.getSteps());
+            } else if (expr instanceof YangBinaryExpr) {
+                collect(((YangBinaryExpr) expr).getLeftExpr(), location);
+                collect(((YangBinaryExpr) expr).getRightExpr(), location);
+            } else if (expr instanceof YangNaryExpr) {
+                for (YangExpr sub : ((YangNaryExpr) expr).getExpressions()) {
+                    collect(sub, location);
+                }
+            } else if (expr instanceof YangNegateExpr) {
+                collect(((YangNegateExpr) expr).getSubExpr(), location);
+            } else if (expr instanceof YangFunctionCallExpr) {
+                final YangFunctionCallExpr call = (YangFunctionCallExpr) expr;
+                for (YangExpr arg : call.getArguments()) {
+                    collect(arg, location);
+                }
+                final YangFunction function = FUNCTIONS.get(call.getName());
+                if (function == YangFunction.CURRENT) {
+                    addDependency(contextLocation);
+                } else if (call.getArguments().isEmpty() && IMPLICIT_CONTEXT.contains(function)) {
+                    addDependency(location);
+                }
+            } else if (expr instanceof YangFilterExpr) {
+                final YangFilterExpr filter = (YangFilterExpr) expr;
+                collectPredicates(collectStart(filter.getExpr(), location), filter.getPredicates());
+            } else if (expr instanceof YangPathExpr) {
+                final YangPathExpr pathExpr = (YangPathExpr) expr;
+                final Location start = collectStart(pathExpr.getFilterExpr(), location);
+                final Optional<Relative> path = pathExpr.getLocationPath();
+                if (path.isPresent()) {
+                    if (start != null) {
+                        collectSteps(start, path.get().getSteps());
+                    } else {
+                        unknownDependencies = true;
+                    }
+                }
+            }
+        }
+
+        private void addDependency(final Location location) {
+            dependencies.merge(location.path, location.anchored, Math::min);
+        }
+
+        private @Nullable Location collectStart(final YangExpr expr, final Location location)
+                throws XPathExpressionException {
+            if (expr instanceof YangLocationPath) {
+                final YangLocationPath path = (YangLocationPath) expr;
+                return collectSteps(path.isAbsolute() ? ROOT_LOCATION : location, path.getSteps());
+            }
+            collect(expr, location);
+            if (expr instanceof YangFunctionCallExpr
+                    && FUNCTIONS.get(((YangFunctionCallExpr) expr).getName()) == YangFunction.CURRENT) {
+                return contextLocation;
+            }
+            return null;
+        }
+
+        private @Nullable Location collectSteps(final Location start, final List<Step> steps)
+                throws XPathExpressionException {
+            Location location = start;
+            for (Step step : steps) {
+                switch (step.getAxis()) {
+                    case CHILD:
+                        if (!(step instanceof QNameStep)) {
+                            return collectOpen(location, step);
+                        }
+                        location = location.child(resolve((QNameStep) step));
+                        break;
+                    case SELF:
+                        break;
+                    case PARENT:
+                        location = location.parent();
+                        break;
+                    case DESCENDANT:
+                    case DESCENDANT_OR_SELF:
+                        return collectOpen(location, step);
+                    case FOLLOWING_SIBLING:
+                    case PRECEDING_SIBLING:
+                        return collectOpen(location.parent(), step);
+                    case ATTRIBUTE:
+                    case NAMESPACE:
+                        // These are always empty
+                        return null;
+                    default:
+                        unknownDependencies = true;
+                        return null;
+                }
+                collectPredicates(location, step.getPredicates());
+            }
+
+            addDependency(location);
+            return location;
+        }
+
+        // A step which can select nodes anywhere in the subtree of specified location
+        private Location collectOpen(final Location location, final Step step) {
+            addDependency(location);
+            if (!step.getPredicates().isEmpty()) {
+                unknownDependencies = true;
+            }
+            return null;
+        }
+
+        private void collectPredicates(final @Nullable Location location, final Set<YangExpr> predicates)
+                throws XPathExpressionException {
+            if (!predicates.isEmpty()) {
+                if (location == null) {
+                    unknownDependencies = true;
+                    return;
+                }
+                for (YangExpr predicate : predicates) {
+                    collect(predicate, location);
+                }
+            }
+        }
+
+        private QName resolve(final QNameStep step) throws XPathExpressionException {
+            if (step instanceof ResolvedQNameStep) {
+                return ((ResolvedQNameStep) step).getQName();
+            }
+            final AbstractQName qname = ((UnresolvedQNameStep) step).getQName();
+            if (qname instanceof UnqualifiedQName) {
+                return qname.bindTo(defaultNamespace);
+            }
+            throw new XPathExpressionException("Cannot resolve " + qname);
+        }
+
+        private @Nullable QName literalIdentity(final YangExpr expr) {
+            if (expr instanceof YangLiteralExpr) {
+                final YangQNameExpr qname;
+                try {
+                    qname = expression.interpretAsQName((YangLiteralExpr) expr);
+                } catch (XPathExpressionException e) {
+                    return null;
+                }
+                if (qname instanceof YangQNameExpr.Resolved) {
+                    return ((YangQNameExpr.Resolved) qname).getQName();
+                }
+                final AbstractQName unresolved = ((YangQNameExpr.Unresolved) qname).getQName();
+                if (unresolved instanceof UnqualifiedQName) {
+                    return unresolved.bindTo(defaultNamespace);
+                }
+            }
+            return null;
+        }
+
+        private Evaluator compileBinary(final YangBinaryExpr expr) throws XPathExpressionException {
+            final YangBinaryOperator operator = expr.getOperator();
+            final Evaluator left = compile(expr.getLeftExpr());
+            final Evaluator right = compile(expr.getRightExpr());
+            switch (operator) {
+                case EQUALS:
+                case NOT_EQUALS:
+                case GT:
+                case GTE:
+                case LT:
+                case LTE:
+                    final QName leftIdentity = literalIdentity(expr.getLeftExpr());
+                    final QName identity = leftIdentity != null ? leftIdentity : literalIdentity(expr.getRightExpr());
+                    return ctx -> values.compare(operator, left.evaluate(ctx), right.evaluate(ctx), identity);
+                case PLUS:
+                    return ctx -> values.toNumber(left.evaluate(ctx)) + values.toNumber(right.evaluate(ctx));
+                case MINUS:
+                    return ctx -> values.toNumber(left.evaluate(ctx)) - values.toNumber(right.evaluate(ctx));
+                case MUL:
+                    return ctx -> values.toNumber(left.evaluate(ctx)) * values.toNumber(right.evaluate(ctx));
+                case DIV:
+                    return ctx -> values.toNumber(left.evaluate(ctx)) / values.toNumber(right.evaluate(ctx));
+                case MOD:
+                    return ctx -> values.toNumber(left.evaluate(ctx)) % values.toNumber(right.evaluate(ctx));
+                default:
+                    throw new XPathExpressionException("Unsupported operator " + operator);
+            }
+        }
+
+        private Evaluator compileNary(final YangNaryExpr expr) throws XPathExpressionException {
+            final List<Evaluator> exprs = new ArrayList<>();
+            for (YangExpr sub : expr.getExpressions()) {
+                exprs.add(compile(sub));
+            }
+
+            switch (expr.getOperator()) {
+                case AND:
+                    return ctx -> {
+                        for (Evaluator sub : exprs) {
+                            if (!XPathValues.toBoolean(sub.evaluate(ctx))) {
+                                return Boolean.FALSE;
+                            }
+                        }
+                        return Boolean.TRUE;
+                    };
+                case OR:
+                    return ctx -> {
+                        for (Evaluator sub : exprs) {
+                            if (XPathValues.toBoolean(sub.evaluate(ctx))) {
+                                return Boolean.TRUE;
+                            }
+                        }
+                        return Boolean.FALSE;
+                    };
+                case UNION:
+                    return ctx -> {
+                        final Set<XPathNode> result = new LinkedHashSet<>();
+                        for (Evaluator sub : exprs) {
+                            result.addAll(XPathValues.toNodeSet(sub.evaluate(ctx)));
+                        }
+                        return new ArrayList<>(result);
+                    };
+                default:
+                    throw new XPathExpressionException("Unsupported operator " + expr.getOperator());
+            }
+        }
+
+        private List<StepEvaluator> compileSteps(final List<Step> steps) throws XPathExpressionException {
+            final List<StepEvaluator> ret = new ArrayList<>(steps.size());
+            for (Step step : steps) {
+                ret.add(compileStep(step));
+            }
+            return ret;
+        }
+
+        private StepEvaluator compileStep(final Step step) throws XPathExpressionException {
+            final QName name;
+            final Predicate<XPathNode> test;
+            if (step instanceof QNameStep) {
+                name = resolve((QNameStep) step);
+                test = node -> name.equals(node.getName());
+            } else if (step instanceof NamespaceStep) {
+                name = null;
+                final QNameModule namespace = ((NamespaceStep) step).getNamespace();
+                test = node -> {
+                    final QName nodeName = node.getName();
+                    return nodeName != null && namespace.equals(nodeName.getModule());
+                };
+            } else if (step instanceof NodeTypeStep) {
+                name = null;
+                // There are no text, comment nor processing instruction nodes
+                final boolean any = ((NodeTypeStep) step).getNodeType() == YangXPathNodeType.NODE;
+                test = node -> any;
+            } else {
+                // '*', '.' and '..'
+                name = null;
+                test = node -> true;
+            }
+
+            final StepEvaluator axis;
+            switch (step.getAxis()) {
+                case CHILD:
+                    axis = name != null ? (node, current) -> node.getChildren(name)
+                        : (node, current) -> filter(node.getChildren(), test);
+                    break;
+                case SELF:
+                    axis = (node, current) -> test.test(node) ? List.of(node) : List.of();
+                    break;
+                case PARENT:
+                    axis = (node, current) -> {
+                        final XPathNode parent = node.getParent();
+                        return parent != null && test.test(parent) ? List.of(parent) : List.of();
+                    };
+                    break;
+                case ANCESTOR:
+                    axis = (node, current) -> ancestors(node.getParent(), test);
+                    break;
+                case ANCESTOR_OR_SELF:
+                    axis = (node, current) -> ancestors(node, test);
+                    break;
+                case DESCENDANT:
+                    axis = (node, current) -> {
+                        final List<XPathNode> result = new ArrayList<>();
+                        addDescendants(result, node, test);
+                        return result;
+                    };
+                    break;
+                case DESCENDANT_OR_SELF:
+                    axis = (node, current) -> {
+                        final List<XPathNode> result = new ArrayList<>();
+                        if (test.test(node)) {
+                            result.add(node);
+                        }
+                        addDescendants(result, node, test);
+                        return result;
+                    };
+                    break;
+                case FOLLOWING_SIBLING:
+                    axis = (node, current) -> siblings(node, test, true);
+                    break;
+                case PRECEDING_SIBLING:
+                    axis = (node, current) -> siblings(node, test, false);
+                    break;
+                case ATTRIBUTE:
+                case NAMESPACE:
+                    // NormalizedNodes do not have attributes and namespace nodes
+                    axis = (node, current) -> List.of();
+                    break;
+                default:
+                    throw new XPathExpressionException("Unsupported axis " + step.getAxis());
+            }
+
+            final List<Evaluator> predicates = compilePredicates(step.getPredicates());
+            return predicates.isEmpty() ? axis
+                : (node, current) -> applyPredicates(axis.evaluate(node, current), predicates, current);
+        }
+
+        private List<Evaluator> compilePredicates(final Set<YangExpr> predicates) throws XPathExpressionException {
+            final List<Evaluator> ret = new ArrayList<>(predicates.size());
+            for (YangExpr predicate : predicates) {
+                ret.add(compile(predicate));
+            }
+            return ret;
+        }
+
+        private Evaluator compileFunction(final YangFunctionCallExpr expr) throws XPathExpressionException {
+            final YangFunction function = FUNCTIONS.get(expr.getName());
+            if (function == null) {
+                throw new XPathExpressionException("Unsupported function " + expr.getName());
+            }
+
+            final List<YangExpr> argExprs = expr.getArguments();
+            final List<Evaluator> args = new ArrayList<>(argExprs.size());
+            for (YangExpr arg : argExprs) {
+                args.add(compile(arg));
+            }
+
+            switch (function) {
+                case BOOLEAN:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> XPathValues.toBoolean(args.get(0).evaluate(ctx));
+                case CEILING:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> Math.ceil(number(args.get(0), ctx));
+                case CONCAT:
+                    checkArguments(function, args, 2, Integer.MAX_VALUE);
+                    return ctx -> {
+                        final StringBuilder sb = new StringBuilder();
+                        for (Evaluator arg : args) {
+                            sb.append(string(arg, ctx));
+                        }
+                        return sb.toString();
+                    };
+                case CONTAINS:
+                    checkArguments(function, args, 2, 2);
+                    return ctx -> string(args.get(0), ctx).contains(string(args.get(1), ctx));
+                case COUNT:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> (double) XPathValues.toNodeSet(args.get(0).evaluate(ctx)).size();
+                case CURRENT:
+                    checkArguments(function, args, 0, 0);
+                    return ctx -> List.of(ctx.current);
+                case FALSE:
+                    checkArguments(function, args, 0, 0);
+                    return ctx -> Boolean.FALSE;
+                case FLOOR:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> Math.floor(number(args.get(0), ctx));
+                case LAST:
+                    checkArguments(function, args, 0, 0);
+                    return ctx -> (double) ctx.size;
+                case LOCAL_NAME:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> {
+                        final QName name = nodeName(args, ctx);
+                        return name == null ? "" : name.getLocalName();
+                    };
+                case NAME:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> {
+                        final QName name = nodeName(args, ctx);
+                        return name == null ? "" : values.valueToString(name);
+                    };
+                case NAMESPACE_URI:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> {
+                        final QName name = nodeName(args, ctx);
+                        return name == null ? "" : name.getNamespace().toString();
+                    };
+                case NORMALIZE_SPACE:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> WHITESPACE.matcher(optionalString(args, ctx)).replaceAll(" ").strip();
+                case NOT:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> !XPathValues.toBoolean(args.get(0).evaluate(ctx));
+                case NUMBER:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> args.isEmpty() ? XPathValues.parseNumber(values.stringValue(ctx.node))
+                        : number(args.get(0), ctx);
+                case POSITION:
+                    checkArguments(function, args, 0, 0);
+                    return ctx -> (double) ctx.position;
+                case ROUND:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> round(number(args.get(0), ctx));
+                case STARTS_WITH:
+                    checkArguments(function, args, 2, 2);
+                    return ctx -> string(args.get(0), ctx).startsWith(string(args.get(1), ctx));
+                case STRING:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> optionalString(args, ctx);
+                case STRING_LENGTH:
+                    checkArguments(function, args, 0, 1);
+                    return ctx -> {
+                        final String str = optionalString(args, ctx);
+                        return (double) str.codePointCount(0, str.length());
+                    };
+                case SUM:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> {
+                        double sum = 0;
+                        for (XPathNode node : XPathValues.toNodeSet(args.get(0).evaluate(ctx))) {
+                            sum += XPathValues.parseNumber(values.stringValue(node));
+                        }
+                        return sum;
+                    };
+                case SUBSTRING:
+                    checkArguments(function, args, 2, 3);
+                    return ctx -> substring(string(args.get(0), ctx), number(args.get(1), ctx),
+                        args.size() == 3 ? number(args.get(2), ctx) : Double.POSITIVE_INFINITY);
+                case SUBSTRING_AFTER:
+                    checkArguments(function, args, 2, 2);
+                    return ctx -> {
+                        final String str = string(args.get(0), ctx);
+                        final String sep = string(args.get(1), ctx);
+                        final int idx = str.indexOf(sep);
+                        return idx == -1 ? "" : str.substring(idx + sep.length());
+                    };
+                case SUBSTRING_BEFORE:
+                    checkArguments(function, args, 2, 2);
+                    return ctx -> {
+                        final String str = string(args.get(0), ctx);
+                        final int idx = str.indexOf(string(args.get(1), ctx));
+                        return idx == -1 ? "" : str.substring(0, idx);
+                    };
+                case TRANSLATE:
+                    checkArguments(function, args, 3, 3);
+                    return ctx -> translate(string(args.get(0), ctx), string(args.get(1), ctx),
+                        string(args.get(2), ctx));
+                case TRUE:
+                    checkArguments(function, args, 0, 0);
+                    return ctx -> Boolean.TRUE;
+                case BIT_IS_SET:
+                    checkArguments(function, args, 2, 2);
+                    return ctx -> {
+                        final Object value = firstValue(args.get(0), ctx);
+                        return value instanceof Set && ((Set<?>) value).contains(string(args.get(1), ctx));
+                    };
+                case DERIVED_FROM:
+                case DERIVED_FROM_OR_SELF:
+                    checkArguments(function, args, 2, 2);
+                    final QName identity = literalIdentity(argExprs.get(1));
+                    if (identity == null) {
+                        throw new XPathExpressionException("Cannot resolve identity " + argExprs.get(1));
+                    }
+                    final boolean orSelf = function == YangFunction.DERIVED_FROM_OR_SELF;
+                    return ctx -> {
+                        for (XPathNode node : XPathValues.toNodeSet(args.get(0).evaluate(ctx))) {
+                            final Object value = node.getValue();
+                            if (value instanceof QName && isDerived((QName) value, identity, orSelf)) {
+                                return Boolean.TRUE;
+                            }
+                        }
+                        return Boolean.FALSE;
+                    };
+                case ENUM_VALUE:
+                    checkArguments(function, args, 1, 1);
+                    return ctx -> {
+                        final List<XPathNode> nodes = XPathValues.toNodeSet(args.get(0).evaluate(ctx));
+                        return nodes.isEmpty() ? NAN : enumValue(nodes.get(0));
+                    };
+                case RE_MATCH:
+                    checkArguments(function, args, 2, 2);
+                    final YangExpr patternExpr = argExprs.get(1);
+                    if (patternExpr instanceof YangLiteralExpr) {
+                        final Pattern pattern = compilePattern(((YangLiteralExpr) patternExpr).getLiteral());
+                        return ctx -> pattern.matcher(string(args.get(0), ctx)).matches();
+                    }
+                    return ctx -> {
+                        final Pattern pattern;
+                        try {
+                            pattern = Pattern.compile(string(args.get(1), ctx));
+                        } catch (PatternSyntaxException e) {
+                            throw new IllegalArgumentException("Invalid pattern", e);
+                        }
+                        return pattern.matcher(string(args.get(0), ctx)).matches();
+                    };
+                default:
+                    throw new XPathExpressionException("Unsupported function " + function);
+            }
+        }
+
+        private double number(final Evaluator arg, final EvalContext ctx) {
+            return values.toNumber(arg.evaluate(ctx));
+        }
+
+        private String string(final Evaluator arg, final EvalContext ctx) {
+            return values.toString(arg.evaluate(ctx));
+        }
+
+        private String optionalString(final List<Evaluator> args, final EvalContext ctx) {
+            return args.isEmpty() ? values.stringValue(ctx.node) : string(args.get(0), ctx);
+        }
+
+        private boolean isDerived(final QName value, final QName identity, final boolean orSelf) {
+            if (orSelf && value.equals(identity)) {
+                return true;
+            }
+            final IdentitySchemaNode schema = identities.get(value);
+            return schema != null && isDerived(schema, identity);
+        }
+
+        private boolean isDerived(final IdentitySchemaNode schema, final QName identity) {
+            for (IdentitySchemaNode base : schema.getBaseIdentities()) {
+                if (base.getQName().equals(identity) || isDerived(base, identity)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Double enumValue(final XPathNode node) {
+            final Object value = node.getValue();
+            if (value instanceof String) {
+                final DataSchemaNode schema = schemaTree.findChild(node.getPath())
+                    .map(DataSchemaContextNode::getDataSchemaNode).orElse(null);
+                if (schema instanceof TypedDataSchemaNode) {
+                    final TypeDefinition<?> type = ((TypedDataSchemaNode) schema).getType();
+                    if (type instanceof EnumTypeDefinition) {
+                        for (EnumPair pair : ((EnumTypeDefinition) type).getValues()) {
+                            if (value.equals(pair.getName())) {
+                                return (double) pair.getValue();
+                            }
+                        }
+                    }
+                }
+            }
+            return NAN;
+        }
+    }
+
+    private static void checkArguments(final YangFunction function, final List<Evaluator> args, final int min,
+            final int max) throws XPathExpressionException {
+        final int size = args.size();
+        if (size < min || size > max) {
+            throw new XPathExpressionException("Function " + function + " does not accept " + size + " arguments");
+        }
+    }
+
+    private static Pattern compilePattern(final String regex) throws XPathExpressionException {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new XPathExpressionException(e);
+        }
+    }
+
+    private static @Nullable QName nodeName(final List<Evaluator> args, final EvalContext ctx) {
+        if (args.isEmpty()) {
+            return ctx.node.getName();
+        }
+        final List<XPathNode> nodes = XPathValues.toNodeSet(args.get(0).evaluate(ctx));
+        return nodes.isEmpty() ? null : nodes.get(0).getName();
+    }
+
+    private static @Nullable Object firstValue(final Evaluator arg, final EvalContext ctx) {
+        final List<XPathNode> nodes = XPathValues.toNodeSet(arg.evaluate(ctx));
+        return nodes.isEmpty() ? null : nodes.get(0).getValue();
+    }
+
+    private static double round(final double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? value : Math.floor(value + 0.5);
+    }
+
+    private static String substring(final String str, final double start, final double length) {
+        final double first = round(start);
+        final double last = first + round(length);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < str.length(); ++i) {
+            final int pos = i + 1;
+            if (pos >= first && pos < last) {
+                sb.append(str.charAt(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String translate(final String str, final String from, final String to) {
+        final StringBuilder sb = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            final int idx = from.indexOf(ch);
+            if (idx == -1) {
+                sb.append(ch);
+            } else if (idx < to.length()) {
+                sb.append(to.charAt(idx));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static List<XPathNode> filter(final List<XPathNode> nodes, final Predicate<XPathNode> test) {
+        final List<XPathNode> ret = new ArrayList<>(nodes.size());
+        for (XPathNode node : nodes) {
+            if (test.test(node)) {
+                ret.add(node);
+            }
+        }
+        return ret;
+    }
+
+    private static List<XPathNode> ancestors(final @Nullable XPathNode start, final Predicate<XPathNode> test) {
+        final List<XPathNode> ret = new ArrayList<>();
+        for (XPathNode node = start; node != null; node = node.getParent()) {
+            if (test.test(node)) {
+                ret.add(node);
+            }
+        }
+        return ret;
+    }
+
+    private static void addDescendants(final List<XPathNode> result, final XPathNode node,
+            final Predicate<XPathNode> test) {
+        for (XPathNode child : node.getChildren()) {
+            if (test.test(child)) {
+                result.add(child);
+            }
+            addDescendants(result, child, test);
+        }
+    }
+
+    private static List<XPathNode> siblings(final XPathNode node, final Predicate<XPathNode> test,
+            final boolean following) {
+        final XPathNode parent = node.getParent();
+        if (parent == null) {
+            return List.of();
+        }
+        final List<XPathNode> siblings = parent.getChildren();
+        final int idx = siblings.indexOf(node);
+        return filter(following ? siblings.subList(idx + 1, siblings.size()) : reverse(siblings.subList(0, idx)),
+            test);
+    }
+
+    private static List<XPathNode> reverse(final List<XPathNode> nodes) {
+        final List<XPathNode> ret = new ArrayList<>(nodes);
+        Collections.reverse(ret);
+        return ret;
+    }
+
+    private static List<XPathNode> applySteps(final List<StepEvaluator> steps, final List<XPathNode> start,
+            final XPathNode current) {
+        List<XPathNode> nodes = start;
+        for (StepEvaluator step : steps) {
+            if (nodes.isEmpty()) {
+                break;
+            }
+            if (nodes.size() == 1) {
+                nodes = step.evaluate(nodes.get(0), current);
+            } else {
+                final Set<XPathNode> next = new LinkedHashSet<>();
+                for (XPathNode node : nodes) {
+                    next.addAll(step.evaluate(node, current));
+                }
+                nodes = new ArrayList<>(next);
+            }
+        }
+        return nodes;
+    }
+
+    @SuppressFBWarnings(value = "FE_FLOATING_POINT_EQUALITY", justification = "XPath position predicates are exact")
+    private static List<XPathNode> applyPredicates(final List<XPathNode> nodes, final List<Evaluator> predicates,
+            final XPathNode current) {
+        List<XPathNode> result = nodes;
+        for (Evaluator predicate : predicates) {
+            final int size = result.size();
+            final List<XPathNode> next = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                final XPathNode node = result.get(i);
+                final Object value = predicate.evaluate(new EvalContext(node, i + 1, size, current));
+                if (value instanceof Double ? (Double) value == i + 1 : XPathValues.toBoolean(value)) {
+                    next.add(node);
+                }
+            }
+            result = next;
+        }
+        return result;
+    }
+}
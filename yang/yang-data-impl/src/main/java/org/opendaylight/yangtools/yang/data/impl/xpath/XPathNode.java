@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
+
+/**
+ * A {@link NormalizedNode} as seen by an XPath expression. XPath operates on the data tree as defined by
+ * <a href="https://tools.ietf.org/html/rfc7950#section-6.4.1">RFC7950 Section 6.4.1</a>, hence mixin nodes, such as
+ * {@link ChoiceNode}s, {@link AugmentationNode}s and {@link MapNode}s, are not visible and their children appear as
+ * direct children of the closest non-mixin parent.
+ *
+ * <p>
+ * Instances are lightweight views, created on demand while an expression is being evaluated. Two instances are equal if
+ * they refer to the same {@link NormalizedNode} reached through equal parents.
+ */
+@Beta
+public final class XPathNode {
+    private final @NonNull NormalizedNode data;
+    private final @Nullable XPathNode parent;
+    // Mixin nodes between parent and this node
+    private final @NonNull ImmutableList<PathArgument> mixins;
+
+    private XPathNode(final NormalizedNode data, final XPathNode parent, final ImmutableList<PathArgument> mixins) {
+        this.data = requireNonNull(data);
+        this.parent = parent;
+        this.mixins = requireNonNull(mixins);
+    }
+
+    /**
+     * Create an {@link XPathNode} representing the root of a data tree.
+     *
+     * @param root Root node of the data tree
+     * @return An XPathNode
+     * @throws NullPointerException if {@code root} is null
+     */
+    public static @NonNull XPathNode root(final NormalizedNode root) {
+        return new XPathNode(root, null, ImmutableList.of());
+    }
+
+    /**
+     * Return the {@link NormalizedNode} backing this node.
+     *
+     * @return Backing node
+     */
+    public @NonNull NormalizedNode getData() {
+        return data;
+    }
+
+    /**
+     * Return the parent of this node.
+     *
+     * @return Parent node, or null if this is the root node
+     */
+    public @Nullable XPathNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Return the name of this node.
+     *
+     * @return Node name, or null if this is the root node
+     */
+    public @Nullable QName getName() {
+        return parent == null ? null : data.getIdentifier().getNodeType();
+    }
+
+    /**
+     * Return the root of the data tree this node belongs to.
+     *
+     * @return Root node
+     */
+    public @NonNull XPathNode getRoot() {
+        XPathNode current = this;
+        while (true) {
+            final XPathNode next = current.parent;
+            if (next == null) {
+                return current;
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Return the path of this node from the root of the data tree, including any mixin nodes.
+     *
+     * @return Node path
+     */
+    public @NonNull YangInstanceIdentifier getPath() {
+        final XPathNode local = parent;
+        if (local == null) {
+            return YangInstanceIdentifier.empty();
+        }
+        YangInstanceIdentifier ret = local.getPath();
+        for (PathArgument mixin : mixins) {
+            ret = ret.node(mixin);
+        }
+        return ret.node(data.getIdentifier());
+    }
+
+    /**
+     * Return the value of this node, if it is a leaf or a leaf-list entry.
+     *
+     * @return Node value, or null if this is not a leaf or a leaf-list entry
+     */
+    public @Nullable Object getValue() {
+        return data instanceof ValueNode ? data.body() : null;
+    }
+
+    /**
+     * Return all children of this node, in the order in which they are reported by the backing nodes.
+     *
+     * @return Children of this node
+     */
+    public @NonNull List<XPathNode> getChildren() {
+        if (!(data instanceof DataContainerNode)) {
+            return List.of();
+        }
+        final List<XPathNode> ret = new ArrayList<>();
+        addChildren((DataContainerNode<?>) data, ImmutableList.of(), ret);
+        return ret;
+    }
+
+    /**
+     * Return the children of this node with specified name.
+     *
+     * @param name Child name
+     * @return Children with specified name
+     */
+    public @NonNull List<XPathNode> getChildren(final QName name) {
+        if (!(data instanceof DataContainerNode)) {
+            return List.of();
+        }
+        final List<XPathNode> ret = new ArrayList<>(1);
+        findChildren((DataContainerNode<?>) data, NodeIdentifier.create(name), ImmutableList.of(), ret);
+        return ret;
+    }
+
+    /**
+     * Return the children of this node with specified identifier. A {@link NodeIdentifier} selects all children with
+     * its name, while a {@link NodeIdentifierWithPredicates} or a {@link NodeWithValue} selects a single list or
+     * leaf-list entry.
+     *
+     * @param arg Child identifier
+     * @return Children with specified identifier
+     */
+    public @NonNull List<XPathNode> getChildren(final PathArgument arg) {
+        if (arg instanceof NodeIdentifier) {
+            return getChildren(arg.getNodeType());
+        }
+
+        if (!(data instanceof DataContainerNode)) {
+            return List.of();
+        }
+        final List<XPathNode> ret = new ArrayList<>(1);
+        findEntry((DataContainerNode<?>) data, NodeIdentifier.create(arg.getNodeType()), arg, ImmutableList.of(), ret);
+        return ret;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(data);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof XPathNode)) {
+            return false;
+        }
+        final XPathNode other = (XPathNode) obj;
+        return data == other.data && Objects.equals(parent, other.parent);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("name", getName()).add("path", getPath()).toString();
+    }
+
+    private void addChildren(final DataContainerNode<?> container, final ImmutableList<PathArgument> path,
+            final List<XPathNode> result) {
+        for (DataContainerChild child : container.body()) {
+            addChild(child, path, result);
+        }
+    }
+
+    private void addChild(final DataContainerChild child, final ImmutableList<PathArgument> path,
+            final List<XPathNode> result) {
+        if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+            addChildren((DataContainerNode<?>) child, append(path, child.getIdentifier()), result);
+        } else if (child instanceof MapNode || child instanceof LeafSetNode || child instanceof UnkeyedListNode) {
+            final ImmutableList<PathArgument> entryPath = append(path, child.getIdentifier());
+            for (NormalizedNode entry : ((NormalizedNodeContainer<?, ?>) child).body()) {
+                result.add(new XPathNode(entry, this, entryPath));
+            }
+        } else {
+            result.add(new XPathNode(child, this, path));
+        }
+    }
+
+    private void findChildren(final DataContainerNode<?> container, final NodeIdentifier name,
+            final ImmutableList<PathArgument> path, final List<XPathNode> result) {
+        final DataContainerChild direct = container.childByArg(name);
+        if (direct != null) {
+            // Choices share their namespace with data nodes, hence a match on a choice does not match anything
+            if (!(direct instanceof ChoiceNode)) {
+                addChild(direct, path, result);
+            }
+            return;
+        }
+
+        for (DataContainerChild child : container.body()) {
+            if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                findChildren((DataContainerNode<?>) child, name, append(path, child.getIdentifier()), result);
+                if (!result.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void findEntry(final DataContainerNode<?> container, final NodeIdentifier name, final PathArgument arg,
+            final ImmutableList<PathArgument> path, final List<XPathNode> result) {
+        final DataContainerChild direct = container.childByArg(name);
+        if (direct != null) {
+            final NormalizedNode entry;
+            if (direct instanceof MapNode && arg instanceof NodeIdentifierWithPredicates) {
+                entry = ((MapNode) direct).childByArg((NodeIdentifierWithPredicates) arg);
+            } else if (direct instanceof LeafSetNode && arg instanceof NodeWithValue) {
+                entry = ((LeafSetNode<?>) direct).childByArg((NodeWithValue<?>) arg);
+            } else {
+                entry = null;
+            }
+            if (entry != null) {
+                result.add(new XPathNode(entry, this, append(path, name)));
+            }
+            return;
+        }
+
+        for (DataContainerChild child : container.body()) {
+            if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                findEntry((DataContainerNode<?>) child, name, arg, append(path, child.getIdentifier()), result);
+                if (!result.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static ImmutableList<PathArgument> append(final ImmutableList<PathArgument> path,
+            final PathArgument arg) {
+        return ImmutableList.<PathArgument>builderWithExpectedSize(path.size() + 1).addAll(path).add(arg).build();
+    }
+}
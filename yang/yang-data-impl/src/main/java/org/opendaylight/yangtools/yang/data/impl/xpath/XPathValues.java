@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.xpath.api.YangBinaryOperator;
+
+/**
+ * Conversions and comparisons of XPath values, as defined in
+ * <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#section-Basics">XPath 1.0, Section 3</a> and
+ * <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#corelib">XPath 1.0, Section 4</a>.
+ */
+final class XPathValues {
+    private static final Pattern NUMBER = Pattern.compile("\\s*-?(\\d+(\\.\\d*)?|\\.\\d+)\\s*");
+
+    private final @NonNull EffectiveModelContext modelContext;
+
+    XPathValues(final EffectiveModelContext modelContext) {
+        this.modelContext = requireNonNull(modelContext);
+    }
+
+    static boolean toBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Double) {
+            final double dbl = (Double) value;
+            return dbl != 0 && !Double.isNaN(dbl);
+        } else if (value instanceof String) {
+            return !((String) value).isEmpty();
+        } else {
+            return !toNodeSet(value).isEmpty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static @NonNull List<XPathNode> toNodeSet(final Object value) {
+        if (value instanceof List) {
+            return (List<XPathNode>) value;
+        }
+        throw new IllegalArgumentException("Value " + value + " is not a node-set");
+    }
+
+    static double parseNumber(final String str) {
+        return NUMBER.matcher(str).matches() ? Double.parseDouble(str.strip()) : Double.NaN;
+    }
+
+    @SuppressFBWarnings(value = "FE_FLOATING_POINT_EQUALITY", justification = "Checking for integral values")
+    static @NonNull String numberToString(final double dbl) {
+        if (Double.isNaN(dbl)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(dbl)) {
+            return dbl > 0 ? "Infinity" : "-Infinity";
+        }
+        if (dbl == Math.rint(dbl) && Math.abs(dbl) < 1e15) {
+            return Long.toString((long) dbl);
+        }
+        return BigDecimal.valueOf(dbl).stripTrailingZeros().toPlainString();
+    }
+
+    double toNumber(final Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        } else {
+            return parseNumber(toString(value));
+        }
+    }
+
+    @NonNull String toString(final Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Boolean) {
+            return value.toString();
+        } else if (value instanceof Double) {
+            return numberToString((Double) value);
+        } else {
+            final List<XPathNode> nodes = toNodeSet(value);
+            return nodes.isEmpty() ? "" : stringValue(nodes.get(0));
+        }
+    }
+
+    /**
+     * Return the string-value of a node. The string-value of a leaf is its canonical value, the string-value of any
+     * other node is the concatenation of the string-values of its descendant leaves.
+     *
+     * @param node Node
+     * @return String-value of the node
+     */
+    @NonNull String stringValue(final XPathNode node) {
+        final Object value = node.getValue();
+        if (value != null) {
+            return valueToString(value);
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        appendStringValue(sb, node);
+        return sb.toString();
+    }
+
+    @NonNull String valueToString(final Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof QName) {
+            final QName qname = (QName) value;
+            return modelContext.findModule(qname.getModule()).map(Module::getName)
+                .map(name -> name + ':' + qname.getLocalName()).orElse(qname.getLocalName());
+        } else if (value instanceof Set) {
+            return ((Set<?>) value).stream().map(Object::toString).collect(Collectors.joining(" "));
+        } else if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        } else if (value instanceof Empty) {
+            return "";
+        } else {
+            return value.toString();
+        }
+    }
+
+    /**
+     * Compare two values according to
+     * <a href="https://www.w3.org/TR/1999/REC-xpath-19991116/#booleans">XPath 1.0, Section 3.4</a>. If one of the
+     * values is a string literal, which can be interpreted as an identity, leaves holding an {@code identityref} are
+     * compared to that identity rather than to the literal itself.
+     *
+     * @param operator Comparison operator
+     * @param left Left operand
+     * @param right Right operand
+     * @param identity Identity the literal operand refers to, or null
+     * @return Comparison result
+     */
+    boolean compare(final YangBinaryOperator operator, final Object left, final Object right,
+            final @Nullable QName identity) {
+        if (left instanceof List) {
+            final List<XPathNode> leftNodes = toNodeSet(left);
+            if (right instanceof List) {
+                for (XPathNode leftNode : leftNodes) {
+                    final String leftStr = stringValue(leftNode);
+                    for (XPathNode rightNode : toNodeSet(right)) {
+                        if (compareAtoms(operator, leftStr, stringValue(rightNode))) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            return compareNodes(operator, leftNodes, right, identity);
+        }
+        if (right instanceof List) {
+            return compareNodes(swap(operator), toNodeSet(right), left, identity);
+        }
+        return compareAtoms(operator, left, right);
+    }
+
+    private boolean compareNodes(final YangBinaryOperator operator, final List<XPathNode> nodes, final Object other,
+            final @Nullable QName identity) {
+        if (other instanceof Boolean) {
+            return compareAtoms(operator, !nodes.isEmpty(), other);
+        }
+
+        for (XPathNode node : nodes) {
+            if (identity != null && node.getValue() instanceof QName) {
+                final boolean equal = identity.equals(node.getValue());
+                if (operator == YangBinaryOperator.EQUALS && equal
+                        || operator == YangBinaryOperator.NOT_EQUALS && !equal) {
+                    return true;
+                }
+                continue;
+            }
+
+            final String str = stringValue(node);
+            if (compareAtoms(operator, other instanceof Double ? (Object) parseNumber(str) : str, other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean compareAtoms(final YangBinaryOperator operator, final Object left, final Object right) {
+        switch (operator) {
+            case EQUALS:
+                return atomsEqual(left, right);
+            case NOT_EQUALS:
+                return !atomsEqual(left, right);
+            case GT:
+                return toNumber(left) > toNumber(right);
+            case GTE:
+                return toNumber(left) >= toNumber(right);
+            case LT:
+                return toNumber(left) < toNumber(right);
+            case LTE:
+                return toNumber(left) <= toNumber(right);
+            default:
+                throw new IllegalArgumentException("Unhandled comparison " + operator);
+        }
+    }
+
+    @SuppressFBWarnings(value = "FE_FLOATING_POINT_EQUALITY", justification = "XPath number equality is exact")
+    private boolean atomsEqual(final Object left, final Object right) {
+        if (left instanceof Boolean || right instanceof Boolean) {
+            return toBoolean(left) == toBoolean(right);
+        }
+        if (left instanceof Double || right instanceof Double) {
+            return toNumber(left) == toNumber(right);
+        }
+        return toString(left).equals(toString(right));
+    }
+
+    private void appendStringValue(final StringBuilder sb, final XPathNode node) {
+        final Object value = node.getValue();
+        if (value != null) {
+            sb.append(valueToString(value));
+        } else {
+            for (XPathNode child : node.getChildren()) {
+                appendStringValue(sb, child);
+            }
+        }
+    }
+
+    private static YangBinaryOperator swap(final YangBinaryOperator operator) {
+        switch (operator) {
+            case GT:
+                return YangBinaryOperator.LT;
+            case GTE:
+                return YangBinaryOperator.LTE;
+            case LT:
+                return YangBinaryOperator.GT;
+            case LTE:
+                return YangBinaryOperator.GTE;
+            default:
+                return operator;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class LeafRefIndexTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:params:xml:ns:yang:foo", "2018-07-18", "root");
+    private static final QName FOO = QName.create(ROOT, "foo");
+    private static final QName BAR = QName.create(ROOT, "bar");
+    private static final QName NAME = QName.create(ROOT, "name");
+    private static final QName CONTAINER_FROM_AUG = QName.create(ROOT, "container-from-aug");
+    private static final QName REF_IN_CONTAINER = QName.create(ROOT, "ref-in-container");
+    private static final YangInstanceIdentifier ROOT_ID = YangInstanceIdentifier.of(ROOT);
+    private static final YangInstanceIdentifier FOO_ID = ROOT_ID.node(FOO);
+    private static final YangInstanceIdentifier BAR_ID = ROOT_ID.node(BAR);
+
+    private static EffectiveModelContext schemaContext;
+    private static LeafRefContext leafRefContext;
+
+    private DataTree dataTree;
+    private LeafRefIndex index;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/yt821.yang");
+        leafRefContext = LeafRefContext.create(schemaContext);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+        leafRefContext = null;
+    }
+
+    @Before
+    public void before() throws Exception {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION, schemaContext);
+        index = LeafRefIndex.create(leafRefContext);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ROOT_ID, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT)).build());
+        mod.write(FOO_ID, Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(FOO)).build());
+        mod.write(BAR_ID, Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(BAR)).build());
+        mod.write(fooPath("foo1"), foo("foo1"));
+        mod.write(barPath("bar1"), bar("bar1", "foo1"));
+        commit(mod);
+    }
+
+    @Test
+    public void testAddValidReference() throws Exception {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(fooPath("foo2"), foo("foo2"));
+        mod.write(barPath("bar2"), bar("bar2", "foo2"));
+        commit(mod);
+    }
+
+    @Test
+    public void testAddInvalidReference() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(barPath("bar2"), bar("bar2", "foo2"));
+        final LeafRefDataValidationFailedException ex = assertThrows(LeafRefDataValidationFailedException.class,
+            () -> commit(mod));
+        assertEquals(1, ex.getValidationsErrorsCount());
+    }
+
+    @Test
+    public void testRemoveReferencedTarget() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(fooPath("foo1"));
+        assertThrows(LeafRefDataValidationFailedException.class, () -> commit(mod));
+    }
+
+    @Test
+    public void testRemoveUnreferencedTarget() throws Exception {
+        final DataTreeModification first = dataTree.takeSnapshot().newModification();
+        first.write(fooPath("foo2"), foo("foo2"));
+        commit(first);
+
+        final DataTreeModification second = dataTree.takeSnapshot().newModification();
+        second.delete(fooPath("foo2"));
+        commit(second);
+    }
+
+    @Test
+    public void testRemoveReferenceThenTarget() throws Exception {
+        final DataTreeModification first = dataTree.takeSnapshot().newModification();
+        first.delete(barPath("bar1"));
+        commit(first);
+
+        final DataTreeModification second = dataTree.takeSnapshot().newModification();
+        second.delete(fooPath("foo1"));
+        commit(second);
+    }
+
+    @Test
+    public void testRemoveReferenceAndTarget() throws Exception {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(barPath("bar1"));
+        mod.delete(fooPath("foo1"));
+        commit(mod);
+    }
+
+    @Test
+    public void testRetargetReference() throws Exception {
+        final DataTreeModification first = dataTree.takeSnapshot().newModification();
+        first.write(fooPath("foo2"), foo("foo2"));
+        first.write(barPath("bar1"), bar("bar1", "foo2"));
+        commit(first);
+
+        final DataTreeModification second = dataTree.takeSnapshot().newModification();
+        second.delete(fooPath("foo1"));
+        commit(second);
+    }
+
+    @Test
+    public void testCreateFromExistingData() {
+        final NormalizedNode root = dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()).orElseThrow();
+        index = LeafRefIndex.create(leafRefContext, root);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(fooPath("foo1"));
+        assertThrows(LeafRefDataValidationFailedException.class, () -> commit(mod));
+    }
+
+    private void commit(final DataTreeModification mod) throws Exception {
+        mod.ready();
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        index.validate(candidate);
+        dataTree.commit(candidate);
+        index.apply(candidate);
+    }
+
+    private static YangInstanceIdentifier fooPath(final String name) {
+        return FOO_ID.node(NodeIdentifierWithPredicates.of(FOO, NAME, name));
+    }
+
+    private static YangInstanceIdentifier barPath(final String name) {
+        return BAR_ID.node(NodeIdentifierWithPredicates.of(BAR, NAME, name));
+    }
+
+    private static MapEntryNode foo(final String name) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(FOO, NAME, name))
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .build();
+    }
+
+    private static MapEntryNode bar(final String name, final String ref) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(BAR, NAME, name))
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .withChild(Builders.augmentationBuilder()
+                .withNodeIdentifier(AugmentationIdentifier.create(Set.of(CONTAINER_FROM_AUG)))
+                .withChild(Builders.containerBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(CONTAINER_FROM_AUG))
+                    .withChild(ImmutableNodes.leafNode(REF_IN_CONTAINER, ref))
+                    .build())
+                .build())
+            .build();
+    }
+}
@@ -9,8 +9,10 @@
 package org.opendaylight.yangtools.yang.data.impl.schema;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
@@ -56,6 +58,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUs
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUserLeafSetNodeSchemaAwareBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUserMapNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUserMapNodeSchemaAwareBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.HashTrieMap;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
@@ -163,6 +166,30 @@ public class BuilderTest {
         assertEquals(1, SchemaAwareleafSetCollection.size());
     }
 
+    @Test
+    public void immutableMapNodeRepresentationTest() {
+        final SystemMapNode small = ImmutableMapNodeBuilder.create(SIZE).withNodeIdentifier(NODE_IDENTIFIER_LIST)
+            .withChild(LIST_MAIN_CHILD_1).withChild(LIST_MAIN_CHILD_2).build();
+        assertFalse(small.asMap() instanceof HashTrieMap);
+
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> builder = ImmutableMapNodeBuilder.create()
+            .withNodeIdentifier(NODE_IDENTIFIER_LIST);
+        for (int i = 0; i < 100; ++i) {
+            builder.withChild(ImmutableNodes.mapEntry(LIST_MAIN, LIST_MAIN_CHILD_QNAME_1, i));
+        }
+        final SystemMapNode large = builder.build();
+        assertTrue(large.asMap() instanceof HashTrieMap);
+        assertEquals(100, large.size());
+
+        // Modifications of a large node retain its representation
+        final SystemMapNode modified = ImmutableMapNodeBuilder.create(large)
+            .withoutChild(NodeIdentifierWithPredicates.of(LIST_MAIN, LIST_MAIN_CHILD_QNAME_1, 0))
+            .build();
+        assertTrue(modified.asMap() instanceof HashTrieMap);
+        assertEquals(99, modified.size());
+        assertEquals(small, ImmutableMapNodeBuilder.create(small).build());
+    }
+
     @Test
     public void immutableMapNodeBuilderTest() {
         final LinkedList<MapEntryNode> mapEntryNodeColl = new LinkedList<>();
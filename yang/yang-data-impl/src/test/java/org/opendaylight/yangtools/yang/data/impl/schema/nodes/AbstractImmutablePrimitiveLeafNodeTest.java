@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafNodeBuilder;
+
+public class AbstractImmutablePrimitiveLeafNodeTest {
+    private static final QName LEAF_QNAME = QName.create("urn:test", "2021-01-01", "leaf");
+    private static final NodeIdentifier LEAF_ID = new NodeIdentifier(LEAF_QNAME);
+
+    @Test
+    public void testPrimitiveValues() {
+        assertPrimitive(Uint16.valueOf(65000), Uint16.valueOf(1));
+        assertPrimitive(Uint32.valueOf(4000000000L), Uint32.valueOf(1));
+        assertPrimitive(Uint64.valueOf("18446744073709551000"), Uint64.valueOf(1));
+    }
+
+    @Test
+    public void testNonPrimitiveValues() {
+        assertThat(ImmutableNodes.leafNode(LEAF_QNAME, "foo"),
+            not(instanceOf(AbstractImmutablePrimitiveLeafNode.class)));
+        assertThat(ImmutableNodes.leafNode(LEAF_QNAME, Boolean.TRUE),
+            not(instanceOf(AbstractImmutablePrimitiveLeafNode.class)));
+        // Java boxed types need to retain their identity
+        assertThat(ImmutableNodes.leafNode(LEAF_QNAME, Integer.MAX_VALUE),
+            not(instanceOf(AbstractImmutablePrimitiveLeafNode.class)));
+        assertThat(ImmutableNodes.leafNode(LEAF_QNAME, Long.MAX_VALUE),
+            not(instanceOf(AbstractImmutablePrimitiveLeafNode.class)));
+    }
+
+    @Test
+    public void testTypeMismatch() {
+        final LeafNode<Uint32> primitive = ImmutableLeafNodeBuilder.createNode(LEAF_ID, Uint32.valueOf(1000));
+        assertNotEquals(primitive, ImmutableNodes.leafNode(LEAF_QNAME, Uint64.valueOf(1000)));
+        assertNotEquals(primitive, ImmutableNodes.leafNode(LEAF_QNAME, 1000L));
+        assertNotEquals(primitive, ImmutableNodes.leafNode(LEAF_QNAME, "1000"));
+    }
+
+    private static <T> void assertPrimitive(final T value, final T other) {
+        final LeafNode<T> leaf = ImmutableNodes.leafNode(LEAF_QNAME, value);
+        assertThat(leaf, instanceOf(AbstractImmutablePrimitiveLeafNode.class));
+        assertEquals(value, leaf.body());
+        assertEquals(31 * LEAF_ID.hashCode() + value.hashCode(), leaf.hashCode());
+
+        assertEquals(leaf, ImmutableNodes.leafNode(LEAF_QNAME, value));
+        assertNotEquals(leaf, ImmutableNodes.leafNode(LEAF_QNAME, other));
+    }
+}
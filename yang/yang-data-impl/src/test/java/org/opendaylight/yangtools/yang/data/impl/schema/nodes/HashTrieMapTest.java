@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class HashTrieMapTest {
+    /**
+     * A key with a poor hash code, so that collisions occur.
+     */
+    private static final class Key {
+        private final int value;
+
+        Key(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 1000;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && value == ((Key) obj).value;
+        }
+
+        @Override
+        public String toString() {
+            return "Key" + value;
+        }
+    }
+
+    @Test
+    public void testPersistentUpdates() {
+        final HashTrieMap<String, String> empty = HashTrieMap.of();
+        final HashTrieMap<String, String> one = empty.with("a", "1");
+        final HashTrieMap<String, String> two = one.with("b", "2");
+
+        assertTrue(empty.isEmpty());
+        assertEquals(Map.of("a", "1"), one);
+        assertEquals(Map.of("a", "1", "b", "2"), two);
+        assertSame(two, two.with("a", "1"));
+        assertSame(two, two.without("c"));
+        assertEquals(Map.of("a", "3", "b", "2"), two.with("a", "3"));
+        assertEquals(one, two.without("b"));
+        assertSame(empty, one.without("a"));
+        assertEquals(Map.of("a", "1", "b", "2").hashCode(), two.hashCode());
+
+        assertThrows(NullPointerException.class, () -> one.with("c", null));
+        assertThrows(UnsupportedOperationException.class, () -> one.put("c", "3"));
+    }
+
+    @Test
+    public void testMutableIsolation() {
+        final HashTrieMap<Key, Integer> original = fill(HashTrieMap.<Key, Integer>of().toMutable(), 5000)
+            .toImmutable();
+        final HashTrieMap.Mutable<Key, Integer> mutable = original.toMutable();
+        mutable.put(new Key(1), -1);
+        mutable.remove(new Key(2));
+        mutable.put(new Key(10000), 10000);
+        final HashTrieMap<Key, Integer> first = mutable.toImmutable();
+
+        // Modifications after toImmutable() must not leak into the returned map
+        mutable.put(new Key(3), -3);
+        mutable.remove(new Key(4));
+
+        assertEquals(5000, original.size());
+        assertEquals(Integer.valueOf(1), original.get(new Key(1)));
+        assertEquals(Integer.valueOf(2), original.get(new Key(2)));
+        assertNull(original.get(new Key(10000)));
+
+        assertEquals(5000, first.size());
+        assertEquals(Integer.valueOf(-1), first.get(new Key(1)));
+        assertFalse(first.containsKey(new Key(2)));
+        assertEquals(Integer.valueOf(3), first.get(new Key(3)));
+        assertEquals(Integer.valueOf(4), first.get(new Key(4)));
+
+        assertEquals(Integer.valueOf(-3), mutable.get(new Key(3)));
+        assertFalse(mutable.containsKey(new Key(4)));
+        assertEquals(4999, mutable.size());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final Map<Key, Integer> expected = new HashMap<>();
+        HashTrieMap<Key, Integer> map = HashTrieMap.of();
+        HashTrieMap.Mutable<Key, Integer> mutable = map.toMutable();
+
+        for (int i = 0; i < 20000; ++i) {
+            final Key key = new Key(random.nextInt(4000));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), mutable.remove(key));
+                map = map.without(key);
+            } else {
+                assertEquals(expected.put(key, i), mutable.put(key, i));
+                map = map.with(key, i);
+            }
+
+            if (i % 1000 == 0) {
+                assertEquals(expected, mutable.toImmutable());
+                mutable = map.toMutable();
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected, HashTrieMap.copyOf(expected));
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    private static HashTrieMap.Mutable<Key, Integer> fill(final HashTrieMap.Mutable<Key, Integer> map,
+            final int size) {
+        for (int i = 0; i < size; ++i) {
+            map.put(new Key(i), i);
+        }
+        return map;
+    }
+}
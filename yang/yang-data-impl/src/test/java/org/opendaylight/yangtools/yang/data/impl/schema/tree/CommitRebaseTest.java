@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class CommitRebaseTest extends AbstractTestModelTest {
+    private static final QName A = QName.create("urn:opendaylight:params:xml:ns:yang:commit-rebase", "a");
+    private static final QName X = QName.create(A, "x");
+    private static final QName B = QName.create(A, "b");
+    private static final QName Y = QName.create(A, "y");
+    private static final List<QName> LEAVES = IntStream.range(0, 8)
+        .mapToObj(i -> QName.create(A, "l" + i))
+        .collect(Collectors.toUnmodifiableList());
+
+    private static EffectiveModelContext REBASE_CONTEXT;
+
+    @BeforeClass
+    public static void beforeRebaseClass() {
+        REBASE_CONTEXT = YangParserTestUtils.parseYangResource("/commit-rebase.yang");
+    }
+
+    @AfterClass
+    public static void afterRebaseClass() {
+        REBASE_CONTEXT = null;
+    }
+
+    private static DataTree createTree(final boolean rebase) {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+            .setCommitRebase(rebase).build(), SCHEMA_CONTEXT);
+    }
+
+    private static DataTreeCandidate prepareTest(final DataTree tree, final DataTreeSnapshot snapshot)
+            throws DataValidationFailedException {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.ready();
+        tree.validate(mod);
+        return tree.prepare(mod);
+    }
+
+    private static DataTreeCandidate prepareName(final DataTree tree, final DataTreeSnapshot snapshot)
+            throws DataValidationFailedException {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(TestModel.NAME_PATH, ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo"));
+        mod.ready();
+        tree.validate(mod);
+        return tree.prepare(mod);
+    }
+
+    @Test
+    public void testDisjointRebase() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        final DataTreeCandidate first = prepareTest(tree, snapshot);
+        final DataTreeCandidate second = prepareName(tree, snapshot);
+        tree.commit(first);
+        tree.commit(second);
+
+        final DataTreeSnapshot after = tree.takeSnapshot();
+        assertTrue(after.readNode(TestModel.TEST_PATH).isPresent());
+        final Optional<NormalizedNode> name = after.readNode(TestModel.NAME_PATH);
+        assertEquals(Optional.of(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo")), name);
+    }
+
+    @Test
+    public void testRebasedCandidateRoots() throws DataValidationFailedException {
+        final DataTree tree = createRebaseTree();
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final QName first = LEAVES.get(0);
+        final QName second = LEAVES.get(1);
+
+        final DataTreeCandidate firstCandidate = prepareWrite(tree, snapshot, YangInstanceIdentifier.of(first),
+            ImmutableNodes.leafNode(first, 0));
+        final DataTreeCandidate secondCandidate = prepareWrite(tree, snapshot, YangInstanceIdentifier.of(second),
+            ImmutableNodes.leafNode(second, 1));
+        tree.commit(firstCandidate);
+        final NormalizedNode committed = tree.takeSnapshot().readNode(YangInstanceIdentifier.empty()).orElseThrow();
+        tree.commit(secondCandidate);
+        final NormalizedNode rebased = tree.takeSnapshot().readNode(YangInstanceIdentifier.empty()).orElseThrow();
+
+        // The candidate describes the transition the tree has actually gone through
+        final DataTreeCandidateNode root = secondCandidate.getRootNode();
+        assertEquals(Optional.of(committed), root.getDataBefore());
+        assertEquals(Optional.of(rebased), root.getDataAfter());
+        // ... which includes the concurrently-committed child
+        assertNotNull(((ContainerNode) rebased).childByArg(new NodeIdentifier(first)));
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(1, root.getChildNodes().size());
+    }
+
+    @Test
+    public void testOverlappingRebase() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        final DataTreeCandidate first = prepareTest(tree, snapshot);
+        final DataTreeCandidate second = prepareTest(tree, snapshot);
+        tree.commit(first);
+        assertThrows(IllegalStateException.class, () -> tree.commit(second));
+    }
+
+    @Test
+    public void testRebaseDisabled() throws DataValidationFailedException {
+        final DataTree tree = createTree(false);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        final DataTreeCandidate first = prepareTest(tree, snapshot);
+        final DataTreeCandidate second = prepareName(tree, snapshot);
+        tree.commit(first);
+        assertThrows(IllegalStateException.class, () -> tree.commit(second));
+    }
+
+    @Test
+    public void testRebaseViolatesMust() throws DataValidationFailedException {
+        final DataTree tree = createRebaseTree();
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        // Each candidate is valid on its own, but not in combination with the other one
+        final DataTreeCandidate first = prepareWrite(tree, snapshot, YangInstanceIdentifier.of(A).node(X),
+            ImmutableNodes.leafNode(X, "x"));
+        final DataTreeCandidate second = prepareWrite(tree, snapshot, YangInstanceIdentifier.of(B).node(Y),
+            ImmutableNodes.leafNode(Y, "y"));
+        tree.commit(first);
+        final IllegalStateException ex = assertThrows(IllegalStateException.class, () -> tree.commit(second));
+        assertThat(ex.getCause(), instanceOf(DataValidationFailedException.class));
+        assertEquals(Optional.empty(), tree.takeSnapshot().readNode(YangInstanceIdentifier.of(B).node(Y)));
+    }
+
+    @Test
+    public void testConcurrentRebase() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(LEAVES.size());
+        try {
+            for (int iteration = 0; iteration < 20; ++iteration) {
+                final DataTree tree = createRebaseTree();
+                final DataTreeSnapshot snapshot = tree.takeSnapshot();
+                final CyclicBarrier barrier = new CyclicBarrier(LEAVES.size());
+
+                final List<Future<Void>> futures = new ArrayList<>();
+                for (int i = 0; i < LEAVES.size(); ++i) {
+                    final QName leaf = LEAVES.get(i);
+                    final int value = i;
+                    futures.add(executor.submit(() -> {
+                        final DataTreeCandidate candidate = prepareWrite(tree, snapshot,
+                            YangInstanceIdentifier.of(leaf), ImmutableNodes.leafNode(leaf, value));
+                        barrier.await();
+                        tree.commit(candidate);
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+
+                final DataTreeSnapshot after = tree.takeSnapshot();
+                for (int i = 0; i < LEAVES.size(); ++i) {
+                    final QName leaf = LEAVES.get(i);
+                    assertEquals(Optional.of(ImmutableNodes.leafNode(leaf, i)),
+                        after.readNode(YangInstanceIdentifier.of(leaf)));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DataTree createRebaseTree() {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION.copyBuilder()
+            .setCommitRebase(true).setXPathConstraintsValidation(true).build(), REBASE_CONTEXT);
+    }
+
+    private static DataTreeCandidate prepareWrite(final DataTree tree, final DataTreeSnapshot snapshot,
+            final YangInstanceIdentifier path, final NormalizedNode data) throws DataValidationFailedException {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(path, data);
+        mod.ready();
+        tree.validate(mod);
+        return tree.prepare(mod);
+    }
+}
@@ -10,15 +10,19 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
@@ -235,6 +239,65 @@ public class DataTreeCandidatesTest extends AbstractTestModelTest {
         assertEquals(ModificationType.SUBTREE_MODIFIED,aggregateCandidate.getRootNode().getModificationType());
     }
 
+    @Test
+    public void testAggregateMany() throws DataValidationFailedException {
+        final DataTreeModification setup = dataTree.takeSnapshot().newModification();
+        setup.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        commit(dataTree, setup);
+        final NormalizedNode initial = dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()).orElseThrow();
+
+        final List<DataTreeCandidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+            if (i == 50) {
+                modification.write(outerListEntryPath(100),
+                    ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 100));
+            } else if (i == 51) {
+                modification.delete(outerListEntryPath(100));
+            } else {
+                modification.write(outerListEntryPath(i % 10),
+                    ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i % 10));
+            }
+            candidates.add(commit(dataTree, modification));
+        }
+
+        final DataTreeCandidate aggregateCandidate = DataTreeCandidates.aggregate(candidates);
+
+        // The write/delete pair cancels out, hence only the net change remains
+        final DataTreeCandidateNode outerList = aggregateCandidate.getRootNode()
+            .getModifiedChild(TestModel.TEST_PATH.getLastPathArgument()).orElseThrow()
+            .getModifiedChild(TestModel.OUTER_LIST_PATH.getLastPathArgument()).orElseThrow();
+        assertEquals(10, outerList.getChildNodes().size());
+        outerList.getChildNodes().forEach(node -> assertEquals(ModificationType.WRITE, node.getModificationType()));
+
+        // Applying the aggregate to the initial state needs to result in the same data
+        final DataTree otherTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final DataTreeModification initialModification = otherTree.takeSnapshot().newModification();
+        initialModification.write(YangInstanceIdentifier.empty(), initial);
+        commit(otherTree, initialModification);
+        final DataTreeModification aggregateModification = otherTree.takeSnapshot().newModification();
+        DataTreeCandidates.applyToModification(aggregateModification, aggregateCandidate);
+        commit(otherTree, aggregateModification);
+
+        assertEquals(dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()),
+            otherTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()));
+    }
+
+    private static YangInstanceIdentifier outerListEntryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(
+            NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+    }
+
+    private static DataTreeCandidate commit(final DataTree tree, final DataTreeModification modification)
+            throws DataValidationFailedException {
+        modification.ready();
+        tree.validate(modification);
+        final DataTreeCandidate candidate = tree.prepare(modification);
+        tree.commit(candidate);
+        return candidate;
+    }
+
     private static void assertUnmodified(final int expSize, final Collection<DataTreeCandidateNode> nodes) {
         assertEquals(expSize, nodes.size());
         nodes.forEach(node -> assertEquals(ModificationType.UNMODIFIED, node.getModificationType()));
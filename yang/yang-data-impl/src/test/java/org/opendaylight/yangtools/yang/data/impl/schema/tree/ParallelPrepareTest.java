@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ParallelPrepareTest extends AbstractTestModelTest {
+    private static final int ENTRY_COUNT = 100;
+
+    private static DataTree createTree(final int threshold) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL
+            .copyBuilder().setParallelPrepareThreshold(threshold).build(), SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        return tree;
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+            .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)
+            .build();
+    }
+
+    private static DataTreeModification writeEntries(final DataTreeSnapshot snapshot) {
+        final DataTreeModification mod = snapshot.newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            mod.write(entryPath(i), mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i)
+                .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME).build())
+                .build());
+        }
+        mod.ready();
+        return mod;
+    }
+
+    private static DataTreeSnapshot applyEntries(final DataTree tree) throws DataValidationFailedException {
+        final DataTreeModification mod = writeEntries(tree.takeSnapshot());
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        return tree.takeSnapshot();
+    }
+
+    @Test
+    public void testSameResult() throws DataValidationFailedException {
+        final DataTreeSnapshot sequential = applyEntries(createTree(0));
+        final DataTreeSnapshot parallel = applyEntries(createTree(2));
+
+        assertEquals(sequential.readNode(TestModel.TEST_PATH), parallel.readNode(TestModel.TEST_PATH));
+    }
+
+    @Test
+    public void testParallelConflict() throws DataValidationFailedException {
+        final DataTree tree = createTree(2);
+        final DataTreeModification first = writeEntries(tree.takeSnapshot());
+        final DataTreeModification second = writeEntries(tree.takeSnapshot());
+
+        tree.validate(first);
+        tree.commit(tree.prepare(first));
+
+        final ConflictingModificationAppliedException ex = assertThrows(
+            ConflictingModificationAppliedException.class, () -> tree.validate(second));
+        assertEquals(TestModel.OUTER_LIST_PATH, ex.getPath().getParent());
+    }
+}
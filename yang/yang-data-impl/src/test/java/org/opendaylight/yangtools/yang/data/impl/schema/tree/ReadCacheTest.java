@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import com.google.common.cache.CacheStats;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ReadCacheStatsProvider;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ReadCacheTest extends AbstractTestModelTest {
+    private static DataTree createTree(final int cacheSize) {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+            .setReadCacheSize(cacheSize).build(), SCHEMA_CONTEXT);
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    @Test
+    public void testCachedReads() throws DataValidationFailedException {
+        final DataTree tree = createTree(16);
+        final ReadCacheStatsProvider stats = (ReadCacheStatsProvider) tree;
+
+        final DataTreeSnapshot first = tree.takeSnapshot();
+        assertFalse(first.readNode(TestModel.TEST_PATH).isPresent());
+        // A second snapshot of the same state shares the cache
+        assertFalse(tree.takeSnapshot().readNode(TestModel.TEST_PATH).isPresent());
+        assertEquals(new CacheStats(1, 1, 0, 0, 0, 0), stats.getReadCacheStats());
+
+        final DataTreeModification mod = first.newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        commit(tree, mod);
+
+        // A new state must not observe stale results, while the old snapshot still sees its own data
+        final DataTreeSnapshot second = tree.takeSnapshot();
+        final Optional<NormalizedNode> read = second.readNode(TestModel.TEST_PATH);
+        assertTrue(read.isPresent());
+        assertSame(read.get(), second.readNode(TestModel.TEST_PATH).get());
+        assertFalse(first.readNode(TestModel.TEST_PATH).isPresent());
+
+        final CacheStats cacheStats = stats.getReadCacheStats();
+        assertEquals(3, cacheStats.hitCount());
+        assertEquals(2, cacheStats.missCount());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        final DataTree tree = createTree(1);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        snapshot.readNode(TestModel.TEST_PATH);
+        snapshot.readNode(TestModel.OUTER_LIST_PATH);
+        snapshot.readNode(TestModel.OUTER_LIST_PATH);
+        snapshot.readNode(TestModel.TEST_PATH);
+
+        // Only the first path is remembered
+        assertEquals(new CacheStats(1, 3, 0, 0, 0, 0), ((ReadCacheStatsProvider) tree).getReadCacheStats());
+    }
+
+    @Test
+    public void testDisabled() {
+        final DataTree tree = createTree(0);
+        tree.takeSnapshot().readNode(TestModel.TEST_PATH);
+        tree.takeSnapshot().readNode(TestModel.TEST_PATH);
+        assertEquals(0, ((ReadCacheStatsProvider) tree).getReadCacheStats().requestCount());
+    }
+}
@@ -73,6 +73,23 @@ public class UniqueConstraintTest {
         inMemoryDataTree.commit(prepare);
     }
 
+    @Test
+    public void entryLeafTest() throws DataValidationFailedException {
+        final InMemoryDataTree inMemoryDataTree = initDataTree(TEST_MODEL, true);
+        writeMapEntry(inMemoryDataTree, "1", "l1", "l2", "l3");
+        writeMapEntry(inMemoryDataTree, "2", "l2", "l3", "l4");
+
+        // Modifying a single leaf needs to update the index of the list
+        writeMyLeaf1(inMemoryDataTree, "2", "l5");
+        writeMapEntry(inMemoryDataTree, "3", "l2", "l3", "l4");
+        verifyExceptionMessage(assertThrows(UniqueConstraintException.class,
+            () -> writeMyLeaf1(inMemoryDataTree, "3", "l5")),
+            "(foo?revision=2016-05-17)task[{(foo?revision=2016-05-17)task-id=",
+            "}] violates unique constraint on [l3, l5] of ",
+            "(foo?revision=2016-05-17)my-leaf-1",
+            "(foo?revision=2016-05-17)my-leaf-2");
+    }
+
     @Test
     public void mapTest() throws ReactorException, DataValidationFailedException {
         final InMemoryDataTree inMemoryDataTree = emptyDataTree(TEST_MODEL, true);
@@ -196,6 +213,18 @@ public class UniqueConstraintTest {
         inMemoryDataTree.commit(prepare);
     }
 
+    private static void writeMyLeaf1(final InMemoryDataTree inMemoryDataTree, final Object taskIdValue,
+            final Object myLeaf1Value) throws DataValidationFailedException {
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(YangInstanceIdentifier.of(TASK_CONTAINER).node(TASK)
+            .node(NodeIdentifierWithPredicates.of(TASK, TASK_ID, taskIdValue)).node(MY_LEAF_1),
+            ImmutableNodes.leafNode(MY_LEAF_1, myLeaf1Value));
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        final DataTreeCandidate prepare = inMemoryDataTree.prepare(modificationTree);
+        inMemoryDataTree.commit(prepare);
+    }
+
     private static void removeMapEntry(final InMemoryDataTree inMemoryDataTree,
             final NodeIdentifierWithPredicates mapEntryKey) throws DataValidationFailedException {
         final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
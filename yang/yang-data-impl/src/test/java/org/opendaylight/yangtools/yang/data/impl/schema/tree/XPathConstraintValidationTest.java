@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class XPathConstraintValidationTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:params:xml:ns:yang:xpath-constraints", "root");
+    private static final QName MAX_ITEMS = QName.create(ROOT, "max-items");
+    private static final QName MODE = QName.create(ROOT, "mode");
+    private static final QName ADVANCED_ONLY = QName.create(ROOT, "advanced-only");
+    private static final QName ITEM = QName.create(ROOT, "item");
+    private static final QName NAME = QName.create(ROOT, "name");
+    private static final QName KIND = QName.create(ROOT, "kind");
+    private static final QName SIZE = QName.create(ROOT, "size");
+    private static final QName EXTRA = QName.create(ROOT, "extra");
+    private static final QName BASE_KIND = QName.create(ROOT, "base-kind");
+    private static final QName DERIVED_KIND = QName.create(ROOT, "derived-kind");
+    private static final QName OTHER_KIND = QName.create(ROOT, "other-kind");
+    private static final QName UNRELATED = QName.create(ROOT, "unrelated");
+    private static final QName VALUE = QName.create(ROOT, "value");
+    private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT);
+    private static final YangInstanceIdentifier ITEM_PATH = ROOT_PATH.node(ITEM);
+
+    private static EffectiveModelContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/xpath-constraints.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    @Test
+    public void testValidData() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH.node(MAX_ITEMS), ImmutableNodes.leafNode(MAX_ITEMS, Uint8.valueOf(2)));
+        mod.write(ROOT_PATH.node(MODE), ImmutableNodes.leafNode(MODE, "advanced"));
+        mod.write(ROOT_PATH.node(ADVANCED_ONLY), ImmutableNodes.leafNode(ADVANCED_ONLY, "foo"));
+        mod.write(itemPath("one"), item("one", DERIVED_KIND, 10));
+        mod.merge(itemPath("one").node(EXTRA), ImmutableNodes.leafNode(EXTRA, "extra"));
+        mod.write(itemPath("two"), item("two", OTHER_KIND, 99));
+        commit(tree, mod);
+    }
+
+    @Test
+    public void testMustViolation() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(itemPath("one"), item("one", BASE_KIND, 100));
+        mod.ready();
+
+        final DataValidationFailedException ex = assertThrows(DataValidationFailedException.class,
+            () -> tree.validate(mod));
+        assertEquals(itemPath("one").node(SIZE), ex.getPath());
+    }
+
+    @Test
+    public void testMustErrorMessage() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification first = tree.takeSnapshot().newModification();
+        first.write(itemPath("one"), item("one", BASE_KIND, 1));
+        first.write(itemPath("two"), item("two", BASE_KIND, 2));
+        commit(tree, first);
+
+        final DataTreeModification second = tree.takeSnapshot().newModification();
+        second.write(ROOT_PATH.node(MAX_ITEMS), ImmutableNodes.leafNode(MAX_ITEMS, Uint8.ONE));
+        second.ready();
+
+        final DataValidationFailedException ex = assertThrows(DataValidationFailedException.class,
+            () -> tree.validate(second));
+        assertEquals(ROOT_PATH, ex.getPath());
+        assertEquals("Too many items", ex.getMessage());
+    }
+
+    @Test
+    public void testWhenIdentityViolation() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(itemPath("one"), item("one", OTHER_KIND, 1));
+        mod.merge(itemPath("one").node(EXTRA), ImmutableNodes.leafNode(EXTRA, "extra"));
+        mod.ready();
+
+        final DataValidationFailedException ex = assertThrows(DataValidationFailedException.class,
+            () -> tree.validate(mod));
+        assertEquals(itemPath("one").node(EXTRA), ex.getPath());
+    }
+
+    @Test
+    public void testWhenDependencyChange() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification first = tree.takeSnapshot().newModification();
+        first.write(ROOT_PATH.node(MODE), ImmutableNodes.leafNode(MODE, "advanced"));
+        first.write(ROOT_PATH.node(ADVANCED_ONLY), ImmutableNodes.leafNode(ADVANCED_ONLY, "foo"));
+        commit(tree, first);
+
+        // Only the dependency changes, the conditional leaf is untouched
+        final DataTreeModification second = tree.takeSnapshot().newModification();
+        second.write(ROOT_PATH.node(MODE), ImmutableNodes.leafNode(MODE, "simple"));
+        second.ready();
+
+        final DataValidationFailedException ex = assertThrows(DataValidationFailedException.class,
+            () -> tree.validate(second));
+        assertEquals(ROOT_PATH.node(ADVANCED_ONLY), ex.getPath());
+    }
+
+    @Test
+    public void testUnrelatedModification() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.of(UNRELATED).node(VALUE), ImmutableNodes.leafNode(VALUE, "foo"));
+        commit(tree, mod);
+    }
+
+    @Test
+    public void testValidationDisabled() throws DataValidationFailedException {
+        final DataTree tree = createTree(false);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(itemPath("one"), item("one", BASE_KIND, 100));
+        commit(tree, mod);
+    }
+
+    @Test
+    public void testPrepareReusesValidatedRoot() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(itemPath("one"), item("one", BASE_KIND, 1));
+        mod.ready();
+        tree.validate(mod);
+
+        final InMemoryDataTreeCandidate candidate = (InMemoryDataTreeCandidate) tree.prepare(mod);
+        assertSame(((InMemoryDataTreeModification) mod).appliedRoot(candidate.getBeforeRoot()),
+            candidate.getTipRoot());
+    }
+
+    @Test
+    public void testValidationScopedToModification() throws DataValidationFailedException {
+        final QName scopeRoot = QName.create("urn:opendaylight:params:xml:ns:yang:xpath-scope", "root");
+        final QName scopeItem = QName.create(scopeRoot, "item");
+        final QName scopeName = QName.create(scopeRoot, "name");
+        final QName scopeSize = QName.create(scopeRoot, "size");
+        final QName scopeLimit = QName.create(scopeRoot, "limit");
+        final QName scopeBounded = QName.create(scopeRoot, "bounded");
+        final YangInstanceIdentifier itemsPath = YangInstanceIdentifier.of(scopeRoot).node(scopeItem);
+        final YangInstanceIdentifier badPath = itemsPath.node(NodeIdentifierWithPredicates.of(scopeItem, scopeName,
+            "bad"));
+        final YangInstanceIdentifier goodPath = itemsPath.node(NodeIdentifierWithPredicates.of(scopeItem, scopeName,
+            "good"));
+
+        // Populate the tree with data which violates constraints introduced by a later model
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION
+            .copyBuilder().setXPathConstraintsValidation(true).build(),
+            YangParserTestUtils.parseYangResourceDirectory("/xpath-scope/relaxed"));
+        final DataTreeModification first = tree.takeSnapshot().newModification();
+        first.write(YangInstanceIdentifier.of(scopeRoot), ImmutableNodes.containerNode(scopeRoot));
+        first.write(itemsPath, ImmutableNodes.mapNodeBuilder(scopeItem)
+            .withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier((NodeIdentifierWithPredicates) badPath.getLastPathArgument())
+                .withChild(ImmutableNodes.leafNode(scopeName, "bad"))
+                .withChild(ImmutableNodes.leafNode(scopeSize, 150))
+                .withChild(ImmutableNodes.leafNode(scopeLimit, 0))
+                .withChild(ImmutableNodes.leafNode(scopeBounded, 5))
+                .build())
+            .withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier((NodeIdentifierWithPredicates) goodPath.getLastPathArgument())
+                .withChild(ImmutableNodes.leafNode(scopeName, "good"))
+                .withChild(ImmutableNodes.leafNode(scopeSize, 1))
+                .withChild(ImmutableNodes.leafNode(scopeLimit, 10))
+                .withChild(ImmutableNodes.leafNode(scopeBounded, 5))
+                .build())
+            .build());
+        commit(tree, first);
+        tree.setEffectiveModelContext(YangParserTestUtils.parseYangResourceDirectory("/xpath-scope/strict"));
+
+        // Constraints of the other entry are not evaluated, neither directly nor through a relative dependency
+        final DataTreeModification second = tree.takeSnapshot().newModification();
+        second.write(goodPath.node(scopeSize), ImmutableNodes.leafNode(scopeSize, 2));
+        second.write(goodPath.node(scopeLimit), ImmutableNodes.leafNode(scopeLimit, 20));
+        commit(tree, second);
+
+        final DataTreeModification third = tree.takeSnapshot().newModification();
+        third.write(badPath.node(scopeLimit), ImmutableNodes.leafNode(scopeLimit, 1));
+        third.ready();
+        final DataValidationFailedException ex = assertThrows(DataValidationFailedException.class,
+            () -> tree.validate(third));
+        assertEquals(badPath.node(scopeBounded), ex.getPath());
+    }
+
+    private static DataTree createTree(final boolean xpathValidation) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION
+            .copyBuilder().setXPathConstraintsValidation(xpathValidation).build(), schemaContext);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, ImmutableNodes.containerNode(ROOT));
+        mod.write(ITEM_PATH, ImmutableNodes.mapNodeBuilder(ITEM).build());
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier itemPath(final String name) {
+        return ITEM_PATH.node(NodeIdentifierWithPredicates.of(ITEM, NAME, name));
+    }
+
+    private static MapEntryNode item(final String name, final QName kind, final int size) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(ITEM, NAME, name))
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .withChild(ImmutableNodes.leafNode(KIND, kind))
+            .withChild(ImmutableNodes.leafNode(SIZE, size))
+            .build();
+    }
+}
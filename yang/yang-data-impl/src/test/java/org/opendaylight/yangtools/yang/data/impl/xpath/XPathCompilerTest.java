@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.xpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableBiMap;
+import java.util.List;
+import java.util.Set;
+import javax.xml.xpath.XPathExpressionException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.BiMapYangNamespaceContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.opendaylight.yangtools.yang.xpath.api.YangXPathParser;
+import org.opendaylight.yangtools.yang.xpath.impl.di.DefaultXPathParserFactory;
+
+public class XPathCompilerTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:params:xml:ns:yang:xpath-constraints", "root");
+    private static final QNameModule MODULE = ROOT.getModule();
+    private static final QName MAX_ITEMS = QName.create(ROOT, "max-items");
+    private static final QName MODE = QName.create(ROOT, "mode");
+    private static final QName ITEM = QName.create(ROOT, "item");
+    private static final QName NAME = QName.create(ROOT, "name");
+    private static final QName KIND = QName.create(ROOT, "kind");
+    private static final QName SIZE = QName.create(ROOT, "size");
+
+    private static EffectiveModelContext schemaContext;
+    private static XPathCompiler compiler;
+    private static YangXPathParser.QualifiedBound parser;
+    private static XPathNode root;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/xpath-constraints.yang");
+        compiler = XPathCompiler.create(DataSchemaContextTree.from(schemaContext));
+        parser = new DefaultXPathParserFactory().newParser(
+            new BiMapYangNamespaceContext(ImmutableBiMap.of("xc", MODULE)));
+        root = XPathNode.root(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(schemaContext.getQName()))
+            .withChild(Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(MAX_ITEMS, Uint8.valueOf(3)))
+                .withChild(ImmutableNodes.leafNode(MODE, "advanced"))
+                // Use an ordered map, so that positional predicates are predictable
+                .withChild(Builders.orderedMapBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(ITEM))
+                    .withChild(item("one", "derived-kind", 10))
+                    .withChild(item("two", "other-kind", 20))
+                    .withChild(item("three", "base-kind", 30))
+                    .build())
+                .build())
+            .build());
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+        compiler = null;
+        parser = null;
+        root = null;
+    }
+
+    @Test
+    public void testPaths() throws XPathExpressionException {
+        assertEquals(3.0, evaluate("count(/xc:root/xc:item)", List.of()));
+        assertEquals(3.0, evaluate("count(item)", List.of(ROOT)));
+        assertEquals(3.0, evaluate("count(//size)", List.of()));
+        assertEquals("two", evaluateString("item[size > 15][1]/name", List.of(ROOT)));
+        assertEquals("three", evaluateString("item[last()]/name", List.of(ROOT)));
+        assertEquals("two", evaluateString("item[name = 'one']/following-sibling::item[1]/name", List.of(ROOT)));
+        assertEquals(60.0, evaluate("sum(../item/size)", List.of(ROOT, MAX_ITEMS)));
+        assertEquals(2.0, evaluate("count(item[size > current()/max-items * 5])", List.of(ROOT)));
+        assertEquals(4.0, evaluate("count(item | max-items)", List.of(ROOT)));
+    }
+
+    @Test
+    public void testFunctions() throws XPathExpressionException {
+        assertEquals("one,two", evaluateString("concat(item[1]/name, ',', item[2]/name)", List.of(ROOT)));
+        assertEquals("ne", evaluateString("substring(item[1]/name, 2)", List.of(ROOT)));
+        assertEquals("adv", evaluateString("substring-before(mode, 'anced')", List.of(ROOT)));
+        assertEquals("ABC", evaluateString("translate('abc', 'abc', 'ABC')", List.of(ROOT)));
+        assertEquals("a b", evaluateString("normalize-space('  a   b ')", List.of(ROOT)));
+        assertEquals("root", evaluateString("local-name()", List.of(ROOT)));
+        assertEquals(2.0, evaluate("round(1.5)", List.of()));
+        assertEquals(1.0, evaluate("10 mod 3", List.of()));
+        assertEquals(5.0, evaluate("enum-value(mode)", List.of(ROOT)));
+        assertEquals(Boolean.TRUE, evaluate("re-match(item[1]/name, '[a-z]+')", List.of(ROOT)));
+        assertEquals(Boolean.FALSE, evaluate("starts-with(mode, 'simple')", List.of(ROOT)));
+    }
+
+    @Test
+    public void testIdentities() throws XPathExpressionException {
+        assertEquals(Boolean.TRUE, evaluate("derived-from(item[1]/kind, 'xc:base-kind')", List.of(ROOT)));
+        assertEquals(Boolean.FALSE, evaluate("derived-from(item[3]/kind, 'xc:base-kind')", List.of(ROOT)));
+        assertEquals(Boolean.TRUE, evaluate("derived-from-or-self(item[3]/kind, 'xc:base-kind')", List.of(ROOT)));
+        assertEquals(Boolean.TRUE, evaluate("item[2]/kind = 'xc:other-kind'", List.of(ROOT)));
+        assertEquals("xpath-constraints:other-kind", evaluateString("item[2]/kind", List.of(ROOT)));
+    }
+
+    @Test
+    public void testDependencies() throws XPathExpressionException {
+        final CompiledXPath xpath = compile("count(item[size > 0]) <= max-items and /xc:root/mode = 'simple'",
+            List.of(ROOT));
+        assertFalse(xpath.hasUnknownDependencies());
+        assertEquals(Set.of(List.of(ROOT, ITEM), List.of(ROOT, ITEM, SIZE), List.of(ROOT, MAX_ITEMS),
+            List.of(ROOT, MODE)), xpath.getDependencies());
+
+        assertEquals(Set.of(List.of(ROOT, ITEM, NAME), List.of(ROOT, MAX_ITEMS)),
+            compile("../item/name != current()", List.of(ROOT, MAX_ITEMS)).getDependencies());
+        assertTrue(compile("count(ancestor::*) > 0", List.of(ROOT)).hasUnknownDependencies());
+    }
+
+    @Test
+    public void testAnchoredDependencies() throws XPathExpressionException {
+        final CompiledXPath relative = compile("../kind = 'xc:base-kind' and /xc:root/item/size > 0",
+            List.of(ROOT, ITEM, SIZE));
+        assertEquals(2, relative.getAnchoredLength(List.of(ROOT, ITEM, KIND)));
+        assertEquals(0, relative.getAnchoredLength(List.of(ROOT, ITEM, SIZE)));
+
+        final CompiledXPath current = compile("../../item[name = current()/../name]/size", List.of(ROOT, ITEM, KIND));
+        assertEquals(1, current.getAnchoredLength(List.of(ROOT, ITEM, SIZE)));
+        assertEquals(1, current.getAnchoredLength(List.of(ROOT, ITEM, NAME)));
+        assertEquals(3, current.getAnchoredLength(List.of(ROOT, ITEM, KIND)));
+        assertThrows(IllegalArgumentException.class, () -> current.getAnchoredLength(List.of(ROOT)));
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertThrows(XPathExpressionException.class, () -> compile("deref(.)", List.of(ROOT)));
+        assertThrows(XPathExpressionException.class, () -> compile("count()", List.of(ROOT)));
+        assertThrows(XPathExpressionException.class, () -> compile("following::item", List.of(ROOT)));
+    }
+
+    private static CompiledXPath compile(final String expr, final List<QName> contextPath)
+            throws XPathExpressionException {
+        return compiler.compile(parser.parseExpression(expr), MODULE, contextPath);
+    }
+
+    private static Object evaluate(final String expr, final List<QName> contextPath)
+            throws XPathExpressionException {
+        return compile(expr, contextPath).evaluate(contextNode(contextPath));
+    }
+
+    private static String evaluateString(final String expr, final List<QName> contextPath)
+            throws XPathExpressionException {
+        return compile(expr, contextPath).evaluateString(contextNode(contextPath));
+    }
+
+    private static XPathNode contextNode(final List<QName> contextPath) {
+        XPathNode node = root;
+        for (QName qname : contextPath) {
+            node = node.getChildren(qname).get(0);
+        }
+        return node;
+    }
+
+    private static MapEntryNode item(final String name, final String kind, final int size) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(ITEM, NAME, name))
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .withChild(ImmutableNodes.leafNode(KIND, QName.create(ROOT, kind)))
+            .withChild(ImmutableNodes.leafNode(SIZE, size))
+            .build();
+    }
+}
@@ -31,9 +31,9 @@ public abstract class AbstractMountPointDataWithSchema<T extends DataSchemaNode>
     }
 
     @Override
-    public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
+    void writeChildren(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
             throws IOException {
-        super.write(writer, metaWriter);
+        super.writeChildren(writer, metaWriter);
         if (mountedData != null) {
             mountedData.write(writer);
         }
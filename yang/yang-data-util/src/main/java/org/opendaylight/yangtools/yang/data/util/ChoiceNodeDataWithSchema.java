@@ -45,11 +45,10 @@ final class ChoiceNodeDataWithSchema extends CompositeNodeDataWithSchema<ChoiceS
     }
 
     @Override
-    public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
-            throws IOException {
+    boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+            final int sizeHint) throws IOException {
         writer.nextDataSchemaNode(getSchema());
-        writer.startChoiceNode(provideNodeIdentifier(), childSizeHint());
-        super.write(writer, metaWriter);
-        writer.endNode();
+        writer.startChoiceNode(provideNodeIdentifier(), sizeHint);
+        return true;
     }
 }
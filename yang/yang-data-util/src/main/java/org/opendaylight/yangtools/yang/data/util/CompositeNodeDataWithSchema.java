@@ -8,6 +8,8 @@
 package org.opendaylight.yangtools.yang.data.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ArrayListMultimap;
@@ -39,6 +41,19 @@ import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
  *
  * <p>
  * Represents a node which is composed of multiple simpler nodes.
+ *
+ * <p>
+ * By default the entire subtree is retained until {@link #write(NormalizedNodeStreamWriter)} is invoked. A root node
+ * can alternatively be put into streaming mode via {@link #startStreaming(NormalizedNodeStreamWriter)}, in which case
+ * the parser reports each completed child via {@link #childComplete(AbstractNodeDataWithSchema)} and the events for it
+ * are emitted as soon as the structure of the output allows it. Only data which cannot be emitted yet is retained:
+ * <ul>
+ *   <li>children introduced by augmentations, as they need to be enclosed in a single augmentation node</li>
+ *   <li>choices, as their cases can be populated by siblings encountered at any point</li>
+ *   <li>children of keyed list entries whose key values have not been encountered yet</li>
+ *   <li>siblings encountered while a child which can be visited multiple times, such as an XML list, is being
+ *       emitted</li>
+ * </ul>
  */
 public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends AbstractNodeDataWithSchema<T> {
     /**
@@ -112,12 +127,20 @@ public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends Abstr
      */
     private final List<AbstractNodeDataWithSchema<?>> children = new ArrayList<>();
 
+    /**
+     * Streaming state, non-null only if this node is emitted as its children are being completed.
+     */
+    private StreamingState streaming;
+
     public CompositeNodeDataWithSchema(final T schema) {
         super(schema);
     }
 
     void addChild(final AbstractNodeDataWithSchema<?> newChild) {
         children.add(newChild);
+        if (newChild instanceof CompositeNodeDataWithSchema) {
+            attachStreaming((CompositeNodeDataWithSchema<?>) newChild, false);
+        }
     }
 
     public final AbstractNodeDataWithSchema<?> addChild(final Deque<DataSchemaNode> schemas,
@@ -243,7 +266,11 @@ public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends Abstr
         final Collection<AbstractNodeDataWithSchema<?>> view = augSchema == null ? children
                 : augmentationsToChild.get(augSchema);
 
-        return policy.appendChild(view, newChild);
+        final AbstractNodeDataWithSchema<?> ret = policy.appendChild(view, newChild);
+        if (ret == newChild && view == children) {
+            attachStreaming(newChild, policy == ChildReusePolicy.REUSE);
+        }
+        return ret;
     }
 
     /**
@@ -254,8 +281,132 @@ public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends Abstr
         return children.size();
     }
 
+    /**
+     * Put this node into streaming mode, emitting events into specified writer as soon as possible. This method needs
+     * to be invoked on the root node before any children are added to it. Each child which has been completely
+     * populated must be then reported through {@link #childComplete(AbstractNodeDataWithSchema)} to its parent. Once
+     * the input is exhausted, {@link #endStreaming()} must be invoked on this node.
+     *
+     * @param writer Target writer
+     * @throws IllegalStateException if this node is already streaming or it already has children
+     */
+    @Beta
+    public final void startStreaming(final NormalizedNodeStreamWriter writer) {
+        checkState(streaming == null, "Node %s is already streaming", getSchema().getQName());
+        checkState(children.isEmpty() && augmentationsToChild.isEmpty(), "Node %s already has children",
+            getSchema().getQName());
+        streaming = new StreamingState(writer, writer.getExtensions().getInstance(StreamWriterMetadataExtension.class));
+    }
+
+    /**
+     * Indicate that a child previously returned from {@link #addChild(Deque, ChildReusePolicy)} or from
+     * {@link MultipleEntryDataWithSchema#newChildEntry()} has been completely populated. If this node is streaming,
+     * the child's events are emitted if possible. This method does nothing if this node is not streaming.
+     *
+     * <p>
+     * Note a child added with {@link ChildReusePolicy#REUSE} can be revisited at any time and therefore it must not be
+     * reported through this method.
+     *
+     * @param child Completed child
+     * @throws IOException reported when thrown by the writer
+     */
+    @Beta
+    public final void childComplete(final AbstractNodeDataWithSchema<?> child) throws IOException {
+        final StreamingState state = streaming;
+        if (state == null) {
+            return;
+        }
+        final CompositeNodeDataWithSchema<?> open = state.openChild;
+        if (child == open) {
+            // The child has been streaming, finish it up
+            state.openChild = null;
+            removeChild(open);
+            open.endStreaming();
+            return;
+        }
+        if (children.isEmpty() || children.get(children.size() - 1) != child) {
+            // Not a direct child: it has to stay in its choice or augmentation until we are done
+            return;
+        }
+
+        if (!state.started) {
+            // Starting emits all completed children, including this one
+            tryStart(null);
+        } else if (state.openChild == null) {
+            children.remove(children.size() - 1);
+            child.write(state.writer, state.metaWriter);
+        }
+    }
+
+    /**
+     * End streaming of this node, emitting any events which have not been emitted yet.
+     *
+     * @throws IOException reported when thrown by the writer
+     * @throws IllegalStateException if this node is not streaming
+     */
+    @Beta
+    public final void endStreaming() throws IOException {
+        final StreamingState state = streaming;
+        checkState(state != null, "Node %s is not streaming", getSchema().getQName());
+        if (!state.started) {
+            // Nothing was emitted, no reason to be smart
+            write(state.writer, state.metaWriter);
+            return;
+        }
+
+        final CompositeNodeDataWithSchema<?> open = state.openChild;
+        if (open != null) {
+            state.openChild = null;
+            removeChild(open);
+            open.endStreaming();
+        }
+        writeChildren(state.writer, state.metaWriter);
+        if (state.emittedNode) {
+            state.writer.endNode();
+        }
+    }
+
+    /**
+     * Check whether this node can start emitting events before all of its children have been completed.
+     *
+     * @return True if the node's start event can be emitted
+     */
+    boolean canStartStreaming() {
+        return true;
+    }
+
     @Override
-    public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
+    public final void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
+            throws IOException {
+        final boolean emittedNode = writeStart(writer, metaWriter, childSizeHint());
+        writeChildren(writer, metaWriter);
+        if (emittedNode) {
+            writer.endNode();
+        }
+    }
+
+    /**
+     * Emit the start event for this node, if it has any.
+     *
+     * @param writer Target writer
+     * @param metaWriter Metadata writer, if available
+     * @param sizeHint Child size hint
+     * @return True if a start event was emitted and hence an end event needs to be emitted as well
+     * @throws IOException reported when thrown by the writer
+     */
+    boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+            final int sizeHint) throws IOException {
+        return false;
+    }
+
+    /**
+     * Emit all children of this node.
+     *
+     * @param writer Target writer
+     * @param metaWriter Metadata writer, if available
+     * @throws IOException reported when thrown by the writer
+     */
+    void writeChildren(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
             throws IOException {
         for (AbstractNodeDataWithSchema<?> child : children) {
             child.write(writer, metaWriter);
@@ -277,6 +428,84 @@ public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends Abstr
         }
     }
 
+    private void attachStreaming(final CompositeNodeDataWithSchema<?> child, final boolean reusable) {
+        final StreamingState state = streaming;
+        if (state != null) {
+            child.streaming = new StreamingState(state, this, reusable);
+        }
+    }
+
+    /**
+     * Attempt to start emitting this node so that specified child can be emitted.
+     *
+     * @param child Child which is to be emitted, or null if no child is being emitted
+     * @return True if this node has been started and the child can be emitted
+     * @throws IOException reported when thrown by the writer
+     */
+    private boolean tryStart(final @Nullable CompositeNodeDataWithSchema<?> child) throws IOException {
+        final StreamingState state = streaming;
+        if (!state.started) {
+            if (!canStartStreaming()) {
+                return false;
+            }
+            final CompositeNodeDataWithSchema<?> parent = state.parent;
+            if (parent != null) {
+                if (!parent.tryStart(this)) {
+                    return false;
+                }
+                parent.streaming.openChild = this;
+            }
+
+            state.started = true;
+            state.emittedNode = writeStart(state.writer, state.metaWriter, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            emitCompletedChildren(child);
+        }
+        return state.openChild == null || state.openChild == child;
+    }
+
+    /**
+     * Emit all children which have been completed and can be emitted, retaining the others.
+     *
+     * @param current Child which is currently being populated, if any
+     * @throws IOException reported when thrown by the writer
+     */
+    private void emitCompletedChildren(final @Nullable CompositeNodeDataWithSchema<?> current) throws IOException {
+        if (children.isEmpty()) {
+            return;
+        }
+
+        final StreamingState state = streaming;
+        final List<AbstractNodeDataWithSchema<?>> retained = new ArrayList<>();
+        for (AbstractNodeDataWithSchema<?> child : children) {
+            if (child == current || child instanceof ChoiceNodeDataWithSchema || isReusable(child)) {
+                retained.add(child);
+            } else {
+                child.write(state.writer, state.metaWriter);
+            }
+        }
+        children.clear();
+        children.addAll(retained);
+    }
+
+    private void removeChild(final AbstractNodeDataWithSchema<?> child) {
+        // The child is usually the last one, hence search from the end
+        for (int i = children.size() - 1; i >= 0; --i) {
+            if (children.get(i) == child) {
+                children.remove(i);
+                return;
+            }
+        }
+        throw new IllegalStateException("Child " + child.getSchema().getQName() + " not found");
+    }
+
+    private static boolean isReusable(final AbstractNodeDataWithSchema<?> child) {
+        if (child instanceof CompositeNodeDataWithSchema) {
+            final StreamingState state = ((CompositeNodeDataWithSchema<?>) child).streaming;
+            return state != null && state.reusable;
+        }
+        return false;
+    }
+
     /**
      * Tries to find in {@code parent} which is dealed as augmentation target node with QName as {@code child}. If such
      * node is found then it is returned, else null.
@@ -297,4 +526,33 @@ public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends Abstr
         }
         return null;
     }
+
+    private static final class StreamingState {
+        final NormalizedNodeStreamWriter writer;
+        final StreamWriterMetadataExtension metaWriter;
+        final CompositeNodeDataWithSchema<?> parent;
+        final boolean reusable;
+
+        // Child which is currently being emitted
+        CompositeNodeDataWithSchema<?> openChild;
+        // Set once the node's start event has been emitted
+        boolean started;
+        // True if the node emitted its own start event
+        boolean emittedNode;
+
+        StreamingState(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter) {
+            this.writer = requireNonNull(writer);
+            this.metaWriter = metaWriter;
+            parent = null;
+            reusable = false;
+        }
+
+        StreamingState(final StreamingState parentState, final CompositeNodeDataWithSchema<?> parent,
+                final boolean reusable) {
+            writer = parentState.writer;
+            metaWriter = parentState.metaWriter;
+            this.parent = requireNonNull(parent);
+            this.reusable = reusable;
+        }
+    }
 }
@@ -26,14 +26,12 @@ public class ContainerNodeDataWithSchema extends AbstractMountPointDataWithSchem
     }
 
     @Override
-    public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
-            throws IOException {
+    boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+            final int sizeHint) throws IOException {
         writer.nextDataSchemaNode(getSchema());
 
-        writer.startContainerNode(provideNodeIdentifier(), childSizeHint());
+        writer.startContainerNode(provideNodeIdentifier(), sizeHint);
         writeMetadata(metaWriter);
-
-        super.write(writer, metaWriter);
-        writer.endNode();
+        return true;
     }
 }
@@ -34,6 +34,8 @@ public final class DataSchemaContextTree extends AbstractEffectiveModelContextPr
 
     private final DataSchemaContextNode<?> root;
 
+    private volatile PathArgumentInterner pathArgumentInterner;
+
     private DataSchemaContextTree(final EffectiveModelContext ctx) {
         super(ctx);
         root = DataSchemaContextNode.from(ctx);
@@ -57,4 +59,24 @@ public final class DataSchemaContextTree extends AbstractEffectiveModelContextPr
     public @NonNull DataSchemaContextNode<?> getRoot() {
         return root;
     }
+
+    /**
+     * Return the {@link PathArgumentInterner} of this tree's {@link EffectiveModelContext}. The interner is created on
+     * first access.
+     *
+     * @return A PathArgumentInterner
+     */
+    public @NonNull PathArgumentInterner getPathArgumentInterner() {
+        final PathArgumentInterner local = pathArgumentInterner;
+        return local != null ? local : loadPathArgumentInterner();
+    }
+
+    private synchronized @NonNull PathArgumentInterner loadPathArgumentInterner() {
+        PathArgumentInterner local = pathArgumentInterner;
+        if (local == null) {
+            local = PathArgumentInterner.create(getEffectiveModelContext());
+            pathArgumentInterner = local;
+        }
+        return local;
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * A {@link NormalizedNodeStreamWriter} which routes identifiers through a {@link PathArgumentInterner}.
+ */
+final class InterningNormalizedNodeStreamWriter extends ForwardingNormalizedNodeStreamWriter {
+    private final NormalizedNodeStreamWriter delegate;
+    private final PathArgumentInterner interner;
+
+    InterningNormalizedNodeStreamWriter(final NormalizedNodeStreamWriter delegate,
+            final PathArgumentInterner interner) {
+        this.delegate = requireNonNull(delegate);
+        this.interner = requireNonNull(interner);
+    }
+
+    @Override
+    protected NormalizedNodeStreamWriter delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void startLeafNode(final NodeIdentifier name) throws IOException {
+        super.startLeafNode(interner.intern(name));
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startLeafSet(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startOrderedLeafSet(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startContainerNode(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startUnkeyedList(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startUnkeyedListItem(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startMapNode(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        super.startMapEntryNode(interner.intern(identifier), childSizeHint);
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startOrderedMapNode(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        super.startChoiceNode(interner.intern(name), childSizeHint);
+    }
+
+    @Override
+    public boolean startAnyxmlNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
+        return super.startAnyxmlNode(interner.intern(name), objectModel);
+    }
+
+    @Override
+    public boolean startAnydataNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
+        return super.startAnydataNode(interner.intern(name), objectModel);
+    }
+
+    @Override
+    public void nextDataSchemaNode(final DataSchemaNode schema) {
+        delegate.nextDataSchemaNode(schema);
+    }
+}
@@ -26,17 +26,16 @@ public class LeafListNodeDataWithSchema extends CompositeNodeDataWithSchema<Leaf
     }
 
     @Override
-    public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
-            throws IOException {
+    boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+            final int sizeHint) throws IOException {
         final LeafListSchemaNode schema = getSchema();
         writer.nextDataSchemaNode(schema);
         if (schema.isUserOrdered()) {
-            writer.startOrderedLeafSet(provideNodeIdentifier(), childSizeHint());
+            writer.startOrderedLeafSet(provideNodeIdentifier(), sizeHint);
         } else {
-            writer.startLeafSet(provideNodeIdentifier(), childSizeHint());
+            writer.startLeafSet(provideNodeIdentifier(), sizeHint);
         }
-        super.write(writer, metaWriter);
-        writer.endNode();
+        return true;
     }
 
     @Override
@@ -55,16 +55,29 @@ public abstract class ListEntryNodeDataWithSchema extends AbstractMountPointData
         }
 
         @Override
-        public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
-                throws IOException {
+        boolean canStartStreaming() {
+            // We need all key values to emit the identifier
+            if (keyValues.size() != predicateTemplate.keySet().size()) {
+                return false;
+            }
+            for (SimpleNodeDataWithSchema<?> keyValue : keyValues.values()) {
+                if (keyValue.getValue() == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+                final int sizeHint) throws IOException {
             writer.nextDataSchemaNode(getSchema());
             final NodeIdentifierWithPredicates identifier = NodeIdentifierWithPredicates.of(getSchema().getQName(),
                 predicateTemplate.instantiateTransformed(keyValues, (key, node) -> node.getValue()));
 
-            writer.startMapEntryNode(identifier, childSizeHint());
+            writer.startMapEntryNode(identifier, sizeHint);
             writeMetadata(metaWriter);
-            super.write(writer, metaWriter);
-            writer.endNode();
+            return true;
         }
     }
 
@@ -74,12 +87,11 @@ public abstract class ListEntryNodeDataWithSchema extends AbstractMountPointData
         }
 
         @Override
-        public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
-                throws IOException {
+        boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+                final int sizeHint) throws IOException {
             writer.nextDataSchemaNode(getSchema());
-            writer.startUnkeyedListItem(provideNodeIdentifier(), childSizeHint());
-            super.write(writer, metaWriter);
-            writer.endNode();
+            writer.startUnkeyedListItem(provideNodeIdentifier(), sizeHint);
+            return true;
         }
     }
 
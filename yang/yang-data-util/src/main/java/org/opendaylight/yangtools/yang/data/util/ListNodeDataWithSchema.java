@@ -26,19 +26,18 @@ public class ListNodeDataWithSchema extends CompositeNodeDataWithSchema<ListSche
     }
 
     @Override
-    public void write(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter)
-            throws IOException {
+    boolean writeStart(final NormalizedNodeStreamWriter writer, final StreamWriterMetadataExtension metaWriter,
+            final int sizeHint) throws IOException {
         final ListSchemaNode schema = getSchema();
         writer.nextDataSchemaNode(schema);
         if (schema.getKeyDefinition().isEmpty()) {
-            writer.startUnkeyedList(provideNodeIdentifier(), childSizeHint());
+            writer.startUnkeyedList(provideNodeIdentifier(), sizeHint);
         } else if (schema.isUserOrdered()) {
-            writer.startOrderedMapNode(provideNodeIdentifier(), childSizeHint());
+            writer.startOrderedMapNode(provideNodeIdentifier(), sizeHint);
         } else {
-            writer.startMapNode(provideNodeIdentifier(), childSizeHint());
+            writer.startMapNode(provideNodeIdentifier(), sizeHint);
         }
-        super.write(writer, metaWriter);
-        writer.endNode();
+        return true;
     }
 
     @Override
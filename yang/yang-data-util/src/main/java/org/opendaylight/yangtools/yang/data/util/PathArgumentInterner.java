@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+
+/**
+ * Canonical {@link NodeIdentifier}s and {@link NodeIdentifierWithPredicates} for a particular
+ * {@link EffectiveModelContext}. Instances are bound to a {@link DataSchemaContextTree} and are obtained through
+ * {@link #of(EffectiveModelContext)} or {@link DataSchemaContextTree#getPathArgumentInterner()}.
+ *
+ * <p>
+ * A {@link NodeIdentifier} is pre-created for each schema tree node, including operation inputs/outputs and
+ * notifications. These are the same instances {@link DataSchemaContextTree} uses and they are kept alive for as long as
+ * the tree is. {@link NodeIdentifierWithPredicates} of keyed lists are interned weakly, hence the pool holds only those
+ * entry identifiers which are referenced from elsewhere. Identifiers which do not belong to the schema are never
+ * retained.
+ */
+@Beta
+public final class PathArgumentInterner {
+    private final Interner<NodeIdentifierWithPredicates> entryIdentifiers = Interners.newWeakInterner();
+    private final @NonNull ImmutableMap<QName, NodeIdentifier> nodeIdentifiers;
+    private final @NonNull ImmutableSet<QName> keyedLists;
+
+    private PathArgumentInterner(final Map<QName, NodeIdentifier> nodeIdentifiers, final Set<QName> keyedLists) {
+        this.nodeIdentifiers = ImmutableMap.copyOf(nodeIdentifiers);
+        this.keyedLists = ImmutableSet.copyOf(keyedLists);
+    }
+
+    static @NonNull PathArgumentInterner create(final EffectiveModelContext modelContext) {
+        final Map<QName, NodeIdentifier> nodeIdentifiers = new HashMap<>();
+        final Set<QName> keyedLists = new HashSet<>();
+        for (Module module : modelContext.getModules()) {
+            addContainer(nodeIdentifiers, keyedLists, module);
+            module.getRpcs().forEach(rpc -> addOperation(nodeIdentifiers, keyedLists, rpc));
+        }
+        return new PathArgumentInterner(nodeIdentifiers, keyedLists);
+    }
+
+    /**
+     * Return the interner for specified {@link EffectiveModelContext}.
+     *
+     * @param modelContext Model context
+     * @return A PathArgumentInterner
+     * @throws NullPointerException if {@code modelContext} is null
+     */
+    public static @NonNull PathArgumentInterner of(final @NonNull EffectiveModelContext modelContext) {
+        return DataSchemaContextTree.from(modelContext).getPathArgumentInterner();
+    }
+
+    /**
+     * Return the canonical {@link NodeIdentifier} for a {@link QName}.
+     *
+     * @param qname Node QName
+     * @return Canonical NodeIdentifier
+     * @throws NullPointerException if {@code qname} is null
+     */
+    public @NonNull NodeIdentifier nodeIdentifier(final @NonNull QName qname) {
+        final NodeIdentifier ret = nodeIdentifiers.get(requireNonNull(qname));
+        return ret != null ? ret : NodeIdentifier.create(qname);
+    }
+
+    /**
+     * Return the canonical equivalent of a {@link NodeIdentifier}.
+     *
+     * @param identifier Identifier to intern
+     * @return Canonical NodeIdentifier, or {@code identifier} if it does not correspond to a schema node
+     * @throws NullPointerException if {@code identifier} is null
+     */
+    public @NonNull NodeIdentifier intern(final @NonNull NodeIdentifier identifier) {
+        final NodeIdentifier ret = nodeIdentifiers.get(identifier.getNodeType());
+        return ret != null ? ret : identifier;
+    }
+
+    /**
+     * Return the canonical equivalent of a {@link NodeIdentifierWithPredicates}.
+     *
+     * @param identifier Identifier to intern
+     * @return Canonical NodeIdentifierWithPredicates, or {@code identifier} if it does not correspond to a keyed list
+     * @throws NullPointerException if {@code identifier} is null
+     */
+    public @NonNull NodeIdentifierWithPredicates intern(final @NonNull NodeIdentifierWithPredicates identifier) {
+        return keyedLists.contains(identifier.getNodeType()) ? entryIdentifiers.intern(identifier) : identifier;
+    }
+
+    /**
+     * Return a {@link NormalizedNodeStreamWriter} which replaces the identifiers passed to it with their canonical
+     * equivalents before handing them to {@code delegate}.
+     *
+     * @param delegate Backing writer
+     * @return An interning writer
+     * @throws NullPointerException if {@code delegate} is null
+     */
+    public @NonNull NormalizedNodeStreamWriter wrap(final @NonNull NormalizedNodeStreamWriter delegate) {
+        return new InterningNormalizedNodeStreamWriter(delegate, this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("nodeIdentifiers", nodeIdentifiers.size())
+            .add("keyedLists", keyedLists.size()).toString();
+    }
+
+    private static void addQName(final Map<QName, NodeIdentifier> nodeIdentifiers, final QName qname) {
+        nodeIdentifiers.computeIfAbsent(qname, NodeIdentifier::create);
+    }
+
+    private static void addContainer(final Map<QName, NodeIdentifier> nodeIdentifiers, final Set<QName> keyedLists,
+            final DataNodeContainer container) {
+        for (DataSchemaNode child : container.getChildNodes()) {
+            addQName(nodeIdentifiers, child.getQName());
+            if (child instanceof ListSchemaNode && !((ListSchemaNode) child).getKeyDefinition().isEmpty()) {
+                keyedLists.add(child.getQName());
+            }
+            if (child instanceof DataNodeContainer) {
+                addContainer(nodeIdentifiers, keyedLists, (DataNodeContainer) child);
+            } else if (child instanceof ChoiceSchemaNode) {
+                for (CaseSchemaNode caseNode : ((ChoiceSchemaNode) child).getCases()) {
+                    addQName(nodeIdentifiers, caseNode.getQName());
+                    addContainer(nodeIdentifiers, keyedLists, caseNode);
+                }
+            }
+            if (child instanceof ActionNodeContainer) {
+                ((ActionNodeContainer) child).getActions()
+                    .forEach(action -> addOperation(nodeIdentifiers, keyedLists, action));
+            }
+        }
+        if (container instanceof NotificationNodeContainer) {
+            for (NotificationDefinition notification : ((NotificationNodeContainer) container).getNotifications()) {
+                addQName(nodeIdentifiers, notification.getQName());
+                addContainer(nodeIdentifiers, keyedLists, notification);
+            }
+        }
+    }
+
+    private static void addOperation(final Map<QName, NodeIdentifier> nodeIdentifiers, final Set<QName> keyedLists,
+            final OperationDefinition operation) {
+        addQName(nodeIdentifiers, operation.getQName());
+        addQName(nodeIdentifiers, operation.getInput().getQName());
+        addContainer(nodeIdentifiers, keyedLists, operation.getInput());
+        addQName(nodeIdentifiers, operation.getOutput().getQName());
+        addContainer(nodeIdentifiers, keyedLists, operation.getOutput());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.XMLNamespace;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class PathArgumentInternerTest {
+    private static final QNameModule MODULE = QNameModule.create(XMLNamespace.of("pai"));
+    private static final QName FOO = QName.create(MODULE, "foo");
+    private static final QName BAR = QName.create(MODULE, "bar");
+    private static final QName BAZ = QName.create(MODULE, "baz");
+    private static final QName NAME = QName.create(MODULE, "name");
+    private static final QName IN = QName.create(MODULE, "in");
+    private static final QName NOTE = QName.create(MODULE, "note");
+
+    private static EffectiveModelContext CONTEXT;
+
+    @BeforeClass
+    public static void beforeClass() {
+        CONTEXT = YangParserTestUtils.parseYangResource("/path-argument-interner.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        CONTEXT = null;
+    }
+
+    @Test
+    public void testBoundToTree() {
+        final DataSchemaContextTree tree = DataSchemaContextTree.from(CONTEXT);
+        final PathArgumentInterner interner = PathArgumentInterner.of(CONTEXT);
+        assertSame(interner, tree.getPathArgumentInterner());
+
+        final NodeIdentifier foo = interner.nodeIdentifier(FOO);
+        assertSame(tree.findChild(YangInstanceIdentifier.of(FOO)).orElseThrow().getIdentifier(), foo);
+        assertSame(foo, interner.nodeIdentifier(QName.create(MODULE, "foo")));
+        assertSame(interner.nodeIdentifier(IN), interner.intern(NodeIdentifier.create(IN)));
+        assertSame(interner.nodeIdentifier(NOTE), interner.intern(NodeIdentifier.create(NOTE)));
+    }
+
+    @Test
+    public void testKeyedListEntry() {
+        final PathArgumentInterner interner = PathArgumentInterner.of(CONTEXT);
+        final NodeIdentifierWithPredicates first = NodeIdentifierWithPredicates.of(BAR, NAME, "one");
+        final NodeIdentifierWithPredicates second = NodeIdentifierWithPredicates.of(BAR, NAME, "one");
+        assertNotSame(first, second);
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+    }
+
+    @Test
+    public void testUnknownListEntry() {
+        final PathArgumentInterner interner = PathArgumentInterner.of(CONTEXT);
+        final NodeIdentifierWithPredicates first = NodeIdentifierWithPredicates.of(BAZ, NAME, "one");
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(first));
+
+        final NodeIdentifierWithPredicates second = NodeIdentifierWithPredicates.of(BAZ, NAME, "one");
+        assertSame(second, interner.intern(second));
+    }
+
+    @Test
+    public void testWrappedWriter() throws IOException {
+        final PathArgumentInterner interner = PathArgumentInterner.of(CONTEXT);
+        final NodeIdentifierWithPredicates canonical = interner.intern(
+            NodeIdentifierWithPredicates.of(BAR, NAME, "two"));
+
+        final NormalizedNodeStreamWriter delegate = mock(NormalizedNodeStreamWriter.class);
+        final NormalizedNodeStreamWriter writer = interner.wrap(delegate);
+
+        final NodeIdentifierWithPredicates entry = NodeIdentifierWithPredicates.of(BAR, NAME, "two");
+        assertEquals(canonical, entry);
+        writer.startMapEntryNode(entry, 1);
+        verify(delegate).startMapEntryNode(same(canonical), eq(1));
+    }
+}
@@ -330,9 +330,13 @@ public final class DeclaredStatements {
             : new RegularDefaultStatement(argument, substatements);
     }
 
+    public static DescriptionStatement createDescription(final String argument) {
+        return new EmptyDescriptionStatement(argument);
+    }
+
     public static DescriptionStatement createDescription(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return substatements.isEmpty() ? new EmptyDescriptionStatement(argument)
+        return substatements.isEmpty() ? createDescription(argument)
             : new RegularDescriptionStatement(argument, substatements);
     }
 
@@ -353,15 +357,23 @@ public final class DeclaredStatements {
             : new RegularEnumStatement(rawArgument, argument, substatements);
     }
 
+    public static ErrorAppTagStatement createErrorAppTag(final String argument) {
+        return new EmptyErrorAppTagStatement(argument);
+    }
+
     public static ErrorAppTagStatement createErrorAppTag(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return substatements.isEmpty() ? new EmptyErrorAppTagStatement(argument)
+        return substatements.isEmpty() ? createErrorAppTag(argument)
             : new RegularErrorAppTagStatement(argument, substatements);
     }
 
+    public static ErrorMessageStatement createErrorMessage(final String argument) {
+        return new EmptyErrorMessageStatement(argument);
+    }
+
     public static ErrorMessageStatement createErrorMessage(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return substatements.isEmpty() ? new EmptyErrorMessageStatement(argument)
+        return substatements.isEmpty() ? createErrorMessage(argument)
             : new RegularErrorMessageStatement(argument, substatements);
     }
 
@@ -563,9 +575,13 @@ public final class DeclaredStatements {
             : new RegularPrefixStatement(argument, substatements);
     }
 
+    public static PresenceStatement createPresence(final String argument) {
+        return new EmptyPresenceStatement(argument);
+    }
+
     public static PresenceStatement createPresence(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return substatements.isEmpty() ? new EmptyPresenceStatement(argument)
+        return substatements.isEmpty() ? createPresence(argument)
             : new RegularPresenceStatement(argument, substatements);
     }
 
@@ -657,9 +673,13 @@ public final class DeclaredStatements {
             : new RegularUniqueStatement(rawArgument, argument, substatements);
     }
 
+    public static UnitsStatement createUnits(final String argument) {
+        return new EmptyUnitsStatement(argument);
+    }
+
     public static UnitsStatement createUnits(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return substatements.isEmpty() ? new EmptyUnitsStatement(argument)
+        return substatements.isEmpty() ? createUnits(argument)
             : new RegularUnitsStatement(argument, substatements);
     }
 
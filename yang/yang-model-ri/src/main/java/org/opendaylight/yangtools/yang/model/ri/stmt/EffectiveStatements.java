@@ -430,9 +430,13 @@ public final class EffectiveStatements {
             : new RegularDefaultEffectiveStatement(declared, substatements);
     }
 
+    public static DescriptionEffectiveStatement createDescription(final DescriptionStatement declared) {
+        return new EmptyDescriptionEffectiveStatement(declared);
+    }
+
     public static DescriptionEffectiveStatement createDescription(final DescriptionStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return substatements.isEmpty() ? new EmptyDescriptionEffectiveStatement(declared)
+        return substatements.isEmpty() ? createDescription(declared)
             : new RegularDescriptionEffectiveStatement(declared, substatements);
     }
 
@@ -452,15 +456,23 @@ public final class EffectiveStatements {
             : new RegularEnumEffectiveStatement(declared, substatements);
     }
 
+    public static ErrorAppTagEffectiveStatement createErrorAppTag(final ErrorAppTagStatement declared) {
+        return new EmptyErrorAppTagEffectiveStatement(declared);
+    }
+
     public static ErrorAppTagEffectiveStatement createErrorAppTag(final ErrorAppTagStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return substatements.isEmpty() ? new EmptyErrorAppTagEffectiveStatement(declared)
+        return substatements.isEmpty() ? createErrorAppTag(declared)
             : new RegularErrorAppTagEffectiveStatement(declared, substatements);
     }
 
+    public static ErrorMessageEffectiveStatement createErrorMessage(final ErrorMessageStatement declared) {
+        return new EmptyErrorMessageEffectiveStatement(declared);
+    }
+
     public static ErrorMessageEffectiveStatement createErrorMessage(final ErrorMessageStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return substatements.isEmpty() ? new EmptyErrorMessageEffectiveStatement(declared)
+        return substatements.isEmpty() ? createErrorMessage(declared)
             : new RegularErrorMessageEffectiveStatement(declared, substatements);
     }
 
@@ -684,9 +696,13 @@ public final class EffectiveStatements {
             : new RegularPrefixEffectiveStatement(declared, substatements);
     }
 
+    public static PresenceEffectiveStatement createPresence(final PresenceStatement declared) {
+        return new EmptyPresenceEffectiveStatement(declared);
+    }
+
     public static PresenceEffectiveStatement createPresence(final PresenceStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return substatements.isEmpty() ? new EmptyPresenceEffectiveStatement(declared)
+        return substatements.isEmpty() ? createPresence(declared)
             : new RegularPresenceEffectiveStatement(declared, substatements);
     }
 
@@ -773,9 +789,13 @@ public final class EffectiveStatements {
         return new TypedefEffectiveStatementImpl(declared, path, flags, substatements);
     }
 
+    public static UnitsEffectiveStatement createUnits(final UnitsStatement declared) {
+        return new EmptyUnitsEffectiveStatement(declared);
+    }
+
     public static UnitsEffectiveStatement createUnits(final UnitsStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return substatements.isEmpty() ? new EmptyUnitsEffectiveStatement(declared)
+        return substatements.isEmpty() ? createUnits(declared)
             : new RegularUnitsEffectiveStatement(declared, substatements);
     }
 
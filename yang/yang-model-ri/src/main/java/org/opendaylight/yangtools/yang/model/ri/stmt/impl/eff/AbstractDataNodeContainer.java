@@ -15,6 +15,7 @@ import com.google.common.collect.ImmutableMap;
 import java.util.HashMap;
 import java.util.Map;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -25,12 +26,17 @@ import org.opendaylight.yangtools.yang.model.spi.meta.EffectiveStatementMixins.D
 import org.opendaylight.yangtools.yang.model.spi.meta.SubstatementIndexingException;
 
 /**
- * Utility class for implementing {@link DataNodeContainer}-type statements.
+ * Utility class for implementing {@link DataNodeContainer}-type statements. Children are looked up by a linear search
+ * of substatements unless there are more than {@value #INDEX_THRESHOLD} of them, in which case an index is built.
+ * The search is not measurably slower than a hash lookup for such small sizes, but we save a map per statement.
  */
 @Beta
 public abstract class AbstractDataNodeContainer<A, D extends DeclaredStatement<A>> extends Default<A, D>
         implements DataNodeContainerMixin<A, D> {
-    private final @NonNull ImmutableMap<QName, DataSchemaNode> dataChildren;
+    private static final int INDEX_THRESHOLD = 4;
+
+    // Either an index of data children or null if we have at most INDEX_THRESHOLD of them
+    private final @Nullable ImmutableMap<QName, DataSchemaNode> dataChildren;
     private final @NonNull Object substatements;
 
     protected AbstractDataNodeContainer(final D declared,
@@ -53,7 +59,7 @@ public abstract class AbstractDataNodeContainer<A, D extends DeclaredStatement<A
             }
         }
 
-        dataChildren = ImmutableMap.copyOf(tmp);
+        dataChildren = tmp.size() > INDEX_THRESHOLD ? ImmutableMap.copyOf(tmp) : null;
     }
 
     @Override
@@ -63,6 +69,30 @@ public abstract class AbstractDataNodeContainer<A, D extends DeclaredStatement<A
 
     @Override
     public final DataSchemaNode dataChildByName(final QName name) {
-        return dataChildren.get(requireNonNull(name));
+        requireNonNull(name);
+        if (dataChildren != null) {
+            return dataChildren.get(name);
+        }
+        // Do not unmask a single substatement just to iterate over it
+        if (!(substatements instanceof ImmutableList)) {
+            return matchChild(substatements, name);
+        }
+        for (Object stmt : (ImmutableList<?>) substatements) {
+            final DataSchemaNode child = matchChild(stmt, name);
+            if (child != null) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable DataSchemaNode matchChild(final Object stmt, final QName name) {
+        if (stmt instanceof DataSchemaNode) {
+            final DataSchemaNode node = (DataSchemaNode) stmt;
+            if (name.equals(node.getQName())) {
+                return node;
+            }
+        }
+        return null;
     }
 }
\ No newline at end of file
@@ -42,7 +42,9 @@ public final class AugmentEffectiveStatementImpl
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements,
             final @Nullable AugmentationSchemaNode original) {
         super(declared, substatements);
-        this.argument = requireNonNull(argument);
+        // Share the declared argument if we can, as identifiers retain a list of QNames
+        final SchemaNodeIdentifier declaredArgument = declared.argument();
+        this.argument = argument.equals(declaredArgument) ? declaredArgument : argument;
         this.rootModuleQName = requireNonNull(rootModuleQName);
         this.flags = flags;
         this.original = original;
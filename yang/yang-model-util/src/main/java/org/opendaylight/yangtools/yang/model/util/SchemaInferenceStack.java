@@ -19,11 +19,9 @@ import com.google.common.base.VerifyException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Mutable;
@@ -45,7 +43,6 @@ import org.opendaylight.yangtools.yang.model.api.TypeAware;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
-import org.opendaylight.yangtools.yang.model.api.stmt.CaseEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.ChoiceEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.DataTreeAwareEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.DataTreeEffectiveStatement;
@@ -136,6 +133,9 @@ public final class SchemaInferenceStack implements Mutable, EffectiveModelContex
     // False if we have evidence of a data tree lookup succeeding
     private boolean clean;
 
+    // Lazily acquired, as most stacks only ever perform schema tree lookups
+    private @Nullable SchemaTreeStepsIndex stepsIndex;
+
     private SchemaInferenceStack(final EffectiveModelContext effectiveModel, final int expectedSize) {
         this.deque = new ArrayDeque<>(expectedSize);
         this.effectiveModel = requireNonNull(effectiveModel);
@@ -148,6 +148,7 @@ public final class SchemaInferenceStack implements Mutable, EffectiveModelContex
         this.currentModule = source.currentModule;
         this.groupingDepth = source.groupingDepth;
         this.clean = source.clean;
+        this.stepsIndex = source.stepsIndex;
     }
 
     private SchemaInferenceStack(final EffectiveModelContext effectiveModel,
@@ -351,21 +352,14 @@ public final class SchemaInferenceStack implements Mutable, EffectiveModelContex
     // choice -> choice transition, we have to deal with intermediate case nodes
     private @NonNull ChoiceEffectiveStatement enterChoice(final ChoiceEffectiveStatement parent,
             final QName nodeIdentifier) {
-        for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
-            if (stmt instanceof CaseEffectiveStatement) {
-                final Optional<ChoiceEffectiveStatement> optMatch = ((CaseEffectiveStatement) stmt)
-                    .findSchemaTreeNode(nodeIdentifier)
-                    .filter(ChoiceEffectiveStatement.class::isInstance)
-                    .map(ChoiceEffectiveStatement.class::cast);
-                if (optMatch.isPresent()) {
-                    final SchemaTreeEffectiveStatement<?> match = optMatch.orElseThrow();
-                    deque.push(match);
-                    clean = false;
-                    return (ChoiceEffectiveStatement) match;
-                }
-            }
+        final EffectiveStatement<?, ?>[] steps = stepsIndex().findSteps(parent, nodeIdentifier);
+        if (steps == null) {
+            throw new IllegalArgumentException("Choice " + nodeIdentifier + " not present");
         }
-        throw new IllegalArgumentException("Choice " + nodeIdentifier + " not present");
+        final ChoiceEffectiveStatement match = (ChoiceEffectiveStatement) steps[1];
+        deque.push(match);
+        clean = false;
+        return match;
     }
 
     /**
@@ -626,10 +620,10 @@ public final class SchemaInferenceStack implements Mutable, EffectiveModelContex
 
     private @NonNull GroupingEffectiveStatement pushGrouping(final @NonNull EffectiveStatement<?, ?> parent,
             final @NonNull QName nodeIdentifier) {
-        final GroupingEffectiveStatement ret = parent.streamEffectiveSubstatements(GroupingEffectiveStatement.class)
-            .filter(stmt -> nodeIdentifier.equals(stmt.argument()))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Grouping " + nodeIdentifier + " not present"));
+        final GroupingEffectiveStatement ret = stepsIndex().findGrouping(parent, nodeIdentifier);
+        if (ret == null) {
+            throw new IllegalArgumentException("Grouping " + nodeIdentifier + " not present");
+        }
         deque.push(ret);
         ++groupingDepth;
         return ret;
@@ -754,18 +748,7 @@ public final class SchemaInferenceStack implements Mutable, EffectiveModelContex
 
     private void resolveChoiceSteps(final @NonNull ChoiceEffectiveStatement parent,
             final @NonNull QName nodeIdentifier) {
-        for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
-            if (stmt instanceof CaseEffectiveStatement) {
-                final CaseEffectiveStatement caze = (CaseEffectiveStatement) stmt;
-                final SchemaTreeEffectiveStatement<?> found = caze.findSchemaTreeNode(nodeIdentifier).orElse(null);
-                if (found instanceof ChoiceEffectiveStatement) {
-                    deque.push(caze);
-                    deque.push(found);
-                    return;
-                }
-            }
-        }
-        throw new VerifyException("Failed to resolve " + nodeIdentifier + " in " + parent);
+        pushSteps(parent, nodeIdentifier);
     }
 
     private void resolveDataTreeSteps(final @NonNull QName nodeIdentifier) {
@@ -797,48 +780,27 @@ public final class SchemaInferenceStack implements Mutable, EffectiveModelContex
             return;
         }
 
-        // Alright, so now it's down to filtering choice/case statements. For that we keep some globally-reused state
-        // and employ a recursive match.
-        final Deque<EffectiveStatement<QName, ?>> match = new ArrayDeque<>();
-        for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
-            if (stmt instanceof ChoiceEffectiveStatement
-                && searchChoice(match, (ChoiceEffectiveStatement) stmt, nodeIdentifier)) {
-                match.descendingIterator().forEachRemaining(deque::push);
-                return;
-            }
-        }
-
-        throw new VerifyException("Failed to resolve " + nodeIdentifier + " in " + parent);
+        // Alright, so now it's down to traversing choice/case statements. The index holds the flattened steps towards
+        // the first matching data tree child.
+        pushSteps(parent, nodeIdentifier);
     }
 
-    private static boolean searchCase(final @NonNull Deque<EffectiveStatement<QName, ?>> result,
-            final @NonNull CaseEffectiveStatement parent, final @NonNull QName nodeIdentifier) {
-        result.push(parent);
-        for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
-            if (stmt instanceof DataTreeEffectiveStatement && nodeIdentifier.equals(stmt.argument())) {
-                result.push((DataTreeEffectiveStatement<?>) stmt);
-                return true;
-            }
-            if (stmt instanceof ChoiceEffectiveStatement
-                && searchChoice(result, (ChoiceEffectiveStatement) stmt, nodeIdentifier)) {
-                return true;
-            }
+    private void pushSteps(final @NonNull EffectiveStatement<?, ?> parent, final @NonNull QName nodeIdentifier) {
+        final EffectiveStatement<?, ?>[] steps = stepsIndex().findSteps(parent, nodeIdentifier);
+        if (steps == null) {
+            throw new VerifyException("Failed to resolve " + nodeIdentifier + " in " + parent);
+        }
+        for (EffectiveStatement<?, ?> step : steps) {
+            deque.push(step);
         }
-        result.pop();
-        return false;
     }
 
-    private static boolean searchChoice(final @NonNull Deque<EffectiveStatement<QName, ?>> result,
-            final @NonNull ChoiceEffectiveStatement parent, final @NonNull QName nodeIdentifier) {
-        result.push(parent);
-        for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
-            if (stmt instanceof CaseEffectiveStatement
-                && searchCase(result, (CaseEffectiveStatement) stmt, nodeIdentifier)) {
-                return true;
-            }
+    private @NonNull SchemaTreeStepsIndex stepsIndex() {
+        SchemaTreeStepsIndex local = stepsIndex;
+        if (local == null) {
+            stepsIndex = local = SchemaTreeStepsIndex.of(effectiveModel);
         }
-        result.pop();
-        return false;
+        return local;
     }
 
     private static <T> @NonNull T checkNonNullState(final @Nullable T obj) {
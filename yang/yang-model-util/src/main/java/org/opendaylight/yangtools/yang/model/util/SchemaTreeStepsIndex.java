@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.CaseEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.ChoiceEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.DataTreeEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.GroupingEffectiveStatement;
+
+/**
+ * An index of the lookups {@link SchemaInferenceStack} performs by walking {@link EffectiveStatement}s, which are not
+ * covered by the schema tree namespace. These are groupings and the {@code choice}/{@code case} statements which need
+ * to be traversed to reach a data tree child or a nested {@code choice}.
+ *
+ * <p>
+ * There is a single instance per {@link EffectiveModelContext}. Each parent statement is indexed when it is first
+ * looked up and the result, mapping a {@link QName} to the flattened array of statements leading to it, is immutable
+ * from then on. Instances are thread-safe.
+ */
+final class SchemaTreeStepsIndex {
+    private static final class Entry {
+        final ImmutableMap<QName, GroupingEffectiveStatement> groupings;
+        final ImmutableMap<QName, EffectiveStatement<?, ?>[]> steps;
+
+        Entry(final ImmutableMap<QName, GroupingEffectiveStatement> groupings,
+                final ImmutableMap<QName, EffectiveStatement<?, ?>[]> steps) {
+            this.groupings = groupings;
+            this.steps = steps;
+        }
+    }
+
+    // Weak keys imply identity comparison, which is what we want
+    private static final LoadingCache<EffectiveModelContext, SchemaTreeStepsIndex> INDICES = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<EffectiveModelContext, SchemaTreeStepsIndex>() {
+                @Override
+                public SchemaTreeStepsIndex load(final EffectiveModelContext key) {
+                    return new SchemaTreeStepsIndex();
+                }
+            });
+
+    // Effective statements do not override equals(), hence this is an identity map
+    private final ConcurrentMap<EffectiveStatement<?, ?>, Entry> entries = new ConcurrentHashMap<>();
+
+    private SchemaTreeStepsIndex() {
+        // Hidden on purpose
+    }
+
+    static @NonNull SchemaTreeStepsIndex of(final EffectiveModelContext context) {
+        return INDICES.getUnchecked(context);
+    }
+
+    /**
+     * Find a grouping defined in a parent statement.
+     *
+     * @param parent Parent statement
+     * @param nodeIdentifier Grouping name
+     * @return Grouping, or null if not present
+     */
+    @Nullable GroupingEffectiveStatement findGrouping(final EffectiveStatement<?, ?> parent,
+            final QName nodeIdentifier) {
+        return entryOf(parent).groupings.get(nodeIdentifier);
+    }
+
+    /**
+     * Find the steps needed to reach a statement from a parent statement. For a {@code choice} parent these are
+     * a {@code case} and a nested {@code choice}, for other parents they are the {@code choice}/{@code case}
+     * statements leading to a data tree child, followed by the child itself. Direct schema tree children are not
+     * indexed, as they are available through {@code SchemaTreeAwareEffectiveStatement.findSchemaTreeNode()}.
+     *
+     * @param parent Parent statement
+     * @param nodeIdentifier Node identifier
+     * @return Steps to take, or null if the node is not present
+     */
+    EffectiveStatement<?, ?> @Nullable [] findSteps(final EffectiveStatement<?, ?> parent,
+            final QName nodeIdentifier) {
+        return entryOf(parent).steps.get(nodeIdentifier);
+    }
+
+    private @NonNull Entry entryOf(final EffectiveStatement<?, ?> parent) {
+        final Entry existing = entries.get(parent);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Entry created = createEntry(parent);
+        final Entry raced = entries.putIfAbsent(parent, created);
+        return raced != null ? raced : created;
+    }
+
+    private static @NonNull Entry createEntry(final EffectiveStatement<?, ?> parent) {
+        // The first match wins, consistent with a walk in the order of effective substatements
+        final Map<QName, GroupingEffectiveStatement> groupings = new LinkedHashMap<>();
+        final Map<QName, EffectiveStatement<?, ?>[]> steps = new LinkedHashMap<>();
+
+        if (parent instanceof ChoiceEffectiveStatement) {
+            for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
+                if (stmt instanceof CaseEffectiveStatement) {
+                    final CaseEffectiveStatement caze = (CaseEffectiveStatement) stmt;
+                    for (EffectiveStatement<?, ?> child : caze.effectiveSubstatements()) {
+                        if (child instanceof ChoiceEffectiveStatement) {
+                            steps.putIfAbsent(((ChoiceEffectiveStatement) child).argument(),
+                                new EffectiveStatement<?, ?>[] { caze, child });
+                        }
+                    }
+                }
+            }
+        } else {
+            final Deque<EffectiveStatement<?, ?>> path = new ArrayDeque<>();
+            for (EffectiveStatement<?, ?> stmt : parent.effectiveSubstatements()) {
+                if (stmt instanceof GroupingEffectiveStatement) {
+                    final GroupingEffectiveStatement grouping = (GroupingEffectiveStatement) stmt;
+                    groupings.putIfAbsent(grouping.argument(), grouping);
+                } else if (stmt instanceof ChoiceEffectiveStatement) {
+                    indexChoice(steps, path, (ChoiceEffectiveStatement) stmt);
+                }
+            }
+        }
+
+        return new Entry(ImmutableMap.copyOf(groupings), ImmutableMap.copyOf(steps));
+    }
+
+    private static void indexChoice(final Map<QName, EffectiveStatement<?, ?>[]> steps,
+            final Deque<EffectiveStatement<?, ?>> path, final ChoiceEffectiveStatement choice) {
+        path.addLast(choice);
+        for (EffectiveStatement<?, ?> stmt : choice.effectiveSubstatements()) {
+            if (stmt instanceof CaseEffectiveStatement) {
+                indexCase(steps, path, (CaseEffectiveStatement) stmt);
+            }
+        }
+        path.removeLast();
+    }
+
+    private static void indexCase(final Map<QName, EffectiveStatement<?, ?>[]> steps,
+            final Deque<EffectiveStatement<?, ?>> path, final CaseEffectiveStatement caze) {
+        path.addLast(caze);
+        for (EffectiveStatement<?, ?> stmt : caze.effectiveSubstatements()) {
+            if (stmt instanceof DataTreeEffectiveStatement) {
+                final DataTreeEffectiveStatement<?> child = (DataTreeEffectiveStatement<?>) stmt;
+                if (!steps.containsKey(child.argument())) {
+                    final int size = path.size();
+                    final EffectiveStatement<?, ?>[] array = path.toArray(new EffectiveStatement<?, ?>[size + 1]);
+                    array[size] = child;
+                    steps.put(child.argument(), array);
+                }
+            } else if (stmt instanceof ChoiceEffectiveStatement) {
+                indexChoice(steps, path, (ChoiceEffectiveStatement) stmt);
+            }
+        }
+        path.removeLast();
+    }
+}
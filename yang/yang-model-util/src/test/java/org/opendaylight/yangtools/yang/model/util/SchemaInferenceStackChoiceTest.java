@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.ChoiceEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.DataTreeEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class SchemaInferenceStackChoiceTest {
+    private static final QName FOO = QName.create("foo", "foo");
+    private static final QName ONE = QName.create("foo", "one");
+    private static final QName A = QName.create("foo", "a");
+    private static final QName TWO = QName.create("foo", "two");
+    private static final QName B = QName.create("foo", "b");
+    private static final QName BAR = QName.create("foo", "bar");
+    private static final QName C = QName.create("foo", "c");
+    private static final QName BAZ = QName.create("foo", "baz");
+
+    private static EffectiveModelContext context;
+
+    private final SchemaInferenceStack stack = SchemaInferenceStack.of(context);
+
+    @BeforeClass
+    public static void beforeClass() {
+        context = YangParserTestUtils.parseYangResource("/choice-steps.yang");
+    }
+
+    @Test
+    public void testNestedChoiceSchemaNodeIdentifier() {
+        stack.enterDataTree(FOO);
+        final DataTreeEffectiveStatement<?> bar = stack.enterDataTree(BAR);
+        assertEquals(Absolute.of(FOO, ONE, A, TWO, B, BAR), stack.toSchemaNodeIdentifier());
+        assertSame(bar, stack.currentStatement());
+    }
+
+    @Test
+    public void testChoiceSchemaNodeIdentifier() {
+        stack.enterDataTree(FOO);
+        stack.enterDataTree(BAZ);
+        assertEquals(Absolute.of(FOO, ONE, C, BAZ), stack.toSchemaNodeIdentifier());
+    }
+
+    @Test
+    public void testEnterNestedChoice() {
+        stack.enterSchemaTree(FOO);
+        final ChoiceEffectiveStatement one = stack.enterChoice(ONE);
+        final ChoiceEffectiveStatement two = stack.enterChoice(TWO);
+        assertSame(one.findSchemaTreeNode(A, TWO).orElseThrow(), two);
+        assertEquals(Absolute.of(FOO, ONE, A, TWO), stack.toSchemaNodeIdentifier());
+        assertThrows(IllegalArgumentException.class, () -> stack.enterChoice(ONE));
+    }
+
+    @Test
+    public void testGroupingChoice() {
+        stack.enterGrouping(QName.create("foo", "grp"));
+        final QName xyzzy = QName.create("foo", "xyzzy");
+        stack.enterDataTree(xyzzy);
+        assertEquals(xyzzy, stack.exitToDataTree().argument());
+        assertThrows(IllegalArgumentException.class, () -> stack.enterGrouping(QName.create("foo", "other")));
+    }
+}
@@ -12,9 +12,11 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.kohsuke.MetaInfServices;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
@@ -35,6 +37,7 @@ public final class YangParserFactoryImpl implements YangParserFactory {
         StatementParserMode.DEFAULT_MODE, StatementParserMode.SEMVER_MODE);
 
     private final CrossSourceStatementReactor reactor;
+    private final @Nullable Executor executor;
 
     /**
      * Construct a new {@link YangParserFactory} backed by {@link DefaultReactors#defaultReactor()}.
@@ -55,6 +58,29 @@ public final class YangParserFactoryImpl implements YangParserFactory {
      */
     public YangParserFactoryImpl(final @NonNull CrossSourceStatementReactor reactor) {
         this.reactor = requireNonNull(reactor);
+        executor = null;
+    }
+
+    /**
+     * Construct a new {@link YangParserFactory} backed by specified reactor, which uses specified executor to process
+     * sources added via {@link YangParser#addSources(Collection)} and {@link YangParser#addLibSources(Collection)}
+     * concurrently. A {@link java.util.concurrent.ForkJoinPool} is a good fit for this purpose.
+     *
+     * <p>
+     * Only the conversion of individual sources into statement streams, i.e. lexing and parsing, is performed
+     * concurrently. Sources are handed to the reactor in their original order and the reactor processes them
+     * sequentially, hence the resulting model is the same as the one produced without an executor. In particular the
+     * executor is not used for loading statements into the reactor, for {@code FULL_DECLARATION} or for building
+     * effective statements, as the reactor's cross-source namespaces are not thread-safe.
+     *
+     * @param reactor Backing reactor
+     * @param executor Executor to use for processing sources
+     * @throws NullPointerException if any argument is null
+     */
+    public YangParserFactoryImpl(final @NonNull CrossSourceStatementReactor reactor,
+            final @NonNull Executor executor) {
+        this.reactor = requireNonNull(reactor);
+        this.executor = requireNonNull(executor);
     }
 
     @Override
@@ -64,6 +90,6 @@ public final class YangParserFactoryImpl implements YangParserFactory {
 
     @Override
     public YangParser createParser(final StatementParserMode parserMode) {
-        return new YangParserImpl(reactor.newBuild(parserMode));
+        return new YangParserImpl(reactor.newBuild(parserMode), executor);
     }
 }
@@ -9,14 +9,21 @@ package org.opendaylight.yangtools.yang.parser.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.SetMultimap;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import javax.xml.transform.TransformerException;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -44,9 +51,15 @@ final class YangParserImpl implements YangParser {
                 YinXmlSchemaSource.class, YinTextSchemaSource.class);
 
     private final BuildAction buildAction;
+    private final @Nullable Executor executor;
 
     YangParserImpl(final BuildAction buildAction) {
+        this(buildAction, null);
+    }
+
+    YangParserImpl(final BuildAction buildAction, final @Nullable Executor executor) {
         this.buildAction = requireNonNull(buildAction);
+        this.executor = executor;
     }
 
     @Override
@@ -67,6 +80,21 @@ final class YangParserImpl implements YangParser {
         return this;
     }
 
+    @Override
+    public @NonNull YangParser addSources(final SchemaSourceRepresentation... sources) throws IOException,
+            YangSyntaxErrorException {
+        return addSources(Arrays.asList(sources));
+    }
+
+    @Override
+    public @NonNull YangParser addSources(final Collection<? extends SchemaSourceRepresentation> sources)
+            throws IOException, YangSyntaxErrorException {
+        for (StatementStreamSource stream : sourcesToStatementStreams(sources)) {
+            buildAction.addSource(stream);
+        }
+        return this;
+    }
+
     @Override
     public @NonNull YangParser addLibSource(final SchemaSourceRepresentation source) throws IOException,
             YangSyntaxErrorException {
@@ -74,6 +102,21 @@ final class YangParserImpl implements YangParser {
         return this;
     }
 
+    @Override
+    public @NonNull YangParser addLibSources(final SchemaSourceRepresentation... sources) throws IOException,
+            YangSyntaxErrorException {
+        return addLibSources(Arrays.asList(sources));
+    }
+
+    @Override
+    public @NonNull YangParser addLibSources(final Collection<SchemaSourceRepresentation> sources)
+            throws IOException, YangSyntaxErrorException {
+        for (StatementStreamSource stream : sourcesToStatementStreams(sources)) {
+            buildAction.addLibSource(stream);
+        }
+        return this;
+    }
+
     @Override
     public @NonNull YangParser setSupportedFeatures(final Set<QName> supportedFeatures) {
         buildAction.setSupportedFeatures(supportedFeatures);
@@ -110,6 +153,52 @@ final class YangParserImpl implements YangParser {
         return new YangParserException("Failed to assemble sources", reported);
     }
 
+    /*
+     * Turn a number of sources into their statement streams. This involves lexing and parsing the sources, which is
+     * independent of any other source and hence is executed concurrently if we have an executor. The resulting streams
+     * are returned in encounter order, so the reactor sees the same sequence of sources as it would with sequential
+     * processing. If any of the sources fails, we report the failure of the first such source in encounter order.
+     */
+    private List<StatementStreamSource> sourcesToStatementStreams(
+            final Collection<? extends SchemaSourceRepresentation> sources)
+            throws IOException, YangSyntaxErrorException {
+        final List<StatementStreamSource> ret = new ArrayList<>(sources.size());
+        final Executor local = executor;
+        if (local == null || sources.size() < 2) {
+            for (SchemaSourceRepresentation source : sources) {
+                ret.add(sourceToStatementStream(source));
+            }
+            return ret;
+        }
+
+        final List<CompletableFuture<StatementStreamSource>> futures = new ArrayList<>(sources.size());
+        for (SchemaSourceRepresentation source : sources) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return sourceToStatementStream(source);
+                } catch (IOException | YangSyntaxErrorException e) {
+                    throw new CompletionException(e);
+                }
+            }, local));
+        }
+
+        for (CompletableFuture<StatementStreamSource> future : futures) {
+            final StatementStreamSource stream;
+            try {
+                stream = future.join();
+            } catch (CompletionException e) {
+                futures.forEach(f -> f.cancel(false));
+                final Throwable cause = e.getCause();
+                Throwables.throwIfInstanceOf(cause, IOException.class);
+                Throwables.throwIfInstanceOf(cause, YangSyntaxErrorException.class);
+                Throwables.throwIfUnchecked(cause);
+                throw new IllegalStateException("Unexpected failure", e);
+            }
+            ret.add(stream);
+        }
+        return ret;
+    }
+
     private static StatementStreamSource sourceToStatementStream(final SchemaSourceRepresentation source)
             throws IOException, YangSyntaxErrorException {
         requireNonNull(source);
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.repo;
 
+import static java.util.Objects.requireNonNull;
 import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFluentFuture;
 
 import com.google.common.base.Function;
@@ -41,11 +42,14 @@ final class AssembleSources implements AsyncFunction<List<IRSchemaSource>, Effec
     private final @NonNull Function<IRSchemaSource, SourceIdentifier> getIdentifier;
     private final @NonNull SchemaContextFactoryConfiguration config;
     private final @NonNull YangParserFactory parserFactory;
+    private final @NonNull Function<IRSchemaSource, YangModelDependencyInfo> getDependencyInfo;
 
     AssembleSources(final @NonNull YangParserFactory parserFactory,
-            final @NonNull SchemaContextFactoryConfiguration config) {
+            final @NonNull SchemaContextFactoryConfiguration config,
+            final @NonNull Function<IRSchemaSource, YangModelDependencyInfo> getDependencyInfo) {
         this.parserFactory = parserFactory;
         this.config = config;
+        this.getDependencyInfo = requireNonNull(getDependencyInfo);
         switch (config.getStatementParserMode()) {
             case SEMVER_MODE:
                 this.getIdentifier = AssembleSources::getSemVerIdentifier;
@@ -60,7 +64,7 @@ final class AssembleSources implements AsyncFunction<List<IRSchemaSource>, Effec
             throws SchemaResolutionException, ReactorException {
         final Map<SourceIdentifier, IRSchemaSource> srcs = Maps.uniqueIndex(sources, getIdentifier);
         final Map<SourceIdentifier, YangModelDependencyInfo> deps =
-                Maps.transformValues(srcs, YangModelDependencyInfo::forIR);
+                Maps.transformValues(srcs, getDependencyInfo);
 
         LOG.debug("Resolving dependency reactor {}", deps);
 
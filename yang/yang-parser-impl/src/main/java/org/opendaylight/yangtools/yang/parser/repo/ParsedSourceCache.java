@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceListener;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of {@link IRSchemaSource}s and their {@link YangModelDependencyInfo}, shared by all
+ * {@link SharedEffectiveModelContextFactory} instances of a {@link SharedSchemaRepository}. Both are independent of
+ * factory configuration and of the set of sources a model is assembled from. Hence a model which differs from
+ * a previously-assembled one in only a few sources needs to acquire and analyze only those sources.
+ *
+ * <p>
+ * Sources are softly referenced. All entries for a module are invalidated whenever a source for that module is
+ * registered or unregistered with the repository. Each such invalidation also bumps a per-module generation, so that
+ * a source whose acquisition was already under way when the invalidation happened is not retained.
+ */
+final class ParsedSourceCache implements SchemaSourceListener {
+    private static final Logger LOG = LoggerFactory.getLogger(ParsedSourceCache.class);
+
+    private final Cache<SourceIdentifier, IRSchemaSource> sources = CacheBuilder.newBuilder().softValues().build();
+    // Weak keys imply identity comparison, which is what we want
+    private final Cache<IRSchemaSource, YangModelDependencyInfo> dependencies = CacheBuilder.newBuilder().weakKeys()
+        .build();
+    // Number of invalidations seen for each module name
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final @NonNull SchemaRepository repository;
+
+    ParsedSourceCache(final SchemaRepository repository) {
+        this.repository = requireNonNull(repository);
+    }
+
+    @NonNull ListenableFuture<IRSchemaSource> getSource(final SourceIdentifier identifier) {
+        final IRSchemaSource cached = sources.getIfPresent(identifier);
+        if (cached != null) {
+            LOG.trace("Reusing source {}", identifier);
+            return Futures.immediateFuture(cached);
+        }
+
+        final String name = identifier.getName();
+        final Long generation = generationOf(name);
+        final ListenableFuture<IRSchemaSource> future = repository.getSchemaSource(identifier, IRSchemaSource.class);
+        Futures.addCallback(future, new FutureCallback<IRSchemaSource>() {
+            @Override
+            public void onSuccess(final IRSchemaSource result) {
+                sources.put(identifier, result);
+                // invalidate() bumps the generation before removing entries, hence if it does not observe our entry,
+                // we observe the bumped generation
+                if (!generation.equals(generationOf(name))) {
+                    LOG.debug("Source {} was invalidated while being loaded, not retaining it", identifier);
+                    sources.asMap().remove(identifier, result);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                // Not cached, the next request will retry
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    @NonNull YangModelDependencyInfo getDependencyInfo(final IRSchemaSource source) {
+        final YangModelDependencyInfo cached = dependencies.getIfPresent(source);
+        if (cached != null) {
+            return cached;
+        }
+
+        final YangModelDependencyInfo computed = YangModelDependencyInfo.forIR(source);
+        dependencies.put(source, computed);
+        return computed;
+    }
+
+    @Override
+    public void schemaSourceEncountered(final SchemaSourceRepresentation source) {
+        // Not interesting
+    }
+
+    @Override
+    public void schemaSourceRegistered(final Iterable<PotentialSchemaSource<?>> registered) {
+        for (PotentialSchemaSource<?> source : registered) {
+            invalidate(source.getSourceIdentifier());
+        }
+    }
+
+    @Override
+    public void schemaSourceUnregistered(final PotentialSchemaSource<?> source) {
+        invalidate(source.getSourceIdentifier());
+    }
+
+    private void invalidate(final SourceIdentifier identifier) {
+        // Requests may have been made with or without a revision, hence invalidate by module name
+        final String name = identifier.getName();
+        generations.merge(name, 1L, Long::sum);
+        sources.asMap().keySet().removeIf(key -> name.equals(key.getName()));
+    }
+
+    private @NonNull Long generationOf(final String name) {
+        return generations.getOrDefault(name, 0L);
+    }
+}
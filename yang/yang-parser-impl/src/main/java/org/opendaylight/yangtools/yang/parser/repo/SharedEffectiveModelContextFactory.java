@@ -9,7 +9,6 @@
 package org.opendaylight.yangtools.yang.parser.repo;
 
 import static com.google.common.base.Verify.verify;
-import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Collections2;
@@ -37,7 +36,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
-import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
 import org.slf4j.Logger;
@@ -114,13 +112,12 @@ final class SharedEffectiveModelContextFactory implements EffectiveModelContextF
 
     private final ConcurrentMap<Set<SourceIdentifier>, CacheEntry> cache = new ConcurrentHashMap<>();
     private final AssembleSources assembleSources;
-    private final SchemaRepository repository;
+    private final @NonNull ParsedSourceCache parsedSources;
 
     SharedEffectiveModelContextFactory(final @NonNull SharedSchemaRepository repository,
             final @NonNull SchemaContextFactoryConfiguration config) {
-        this.repository = requireNonNull(repository);
-        this.assembleSources = new AssembleSources(repository.factory(), config);
-
+        parsedSources = repository.parsedSources();
+        this.assembleSources = new AssembleSources(repository.factory(), config, parsedSources::getDependencyInfo);
     }
 
     @Override
@@ -183,7 +180,7 @@ final class SharedEffectiveModelContextFactory implements EffectiveModelContextF
 
         // Request all sources be loaded
         ListenableFuture<List<IRSchemaSource>> sf = Futures.allAsList(Collections2.transform(sources,
-            identifier -> repository.getSchemaSource(identifier, IRSchemaSource.class)));
+            parsedSources::getSource));
 
         // Detect mismatch between requested Source IDs and IDs that are extracted from parsed source
         // Also remove duplicates if present
@@ -30,6 +30,9 @@ import org.opendaylight.yangtools.yang.parser.impl.YangParserFactoryImpl;
  *
  * <p>
  * Note: for current implementation, "same" means the same filter and the same set of {@link SourceIdentifier}s.
+ * Parsed sources are shared even between different sets, so that assembling a model which differs from a previous one
+ * in only a few sources does not need to acquire and analyze the others again. The statement reactor, which builds
+ * the effective model, still processes the full set of sources of each model.
  */
 @Beta
 @MetaInfServices(value = SchemaRepository.class)
@@ -45,6 +48,7 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
 
     private final @NonNull String id;
     private final @NonNull YangParserFactory factory;
+    private final @NonNull ParsedSourceCache parsedSources = new ParsedSourceCache(this);
 
     public SharedSchemaRepository() {
         this("unnamed");
@@ -57,6 +61,7 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
     public SharedSchemaRepository(final String id, final YangParserFactory factory) {
         this.id = requireNonNull(id);
         this.factory = requireNonNull(factory);
+        registerSchemaSourceListener(parsedSources);
     }
 
     @Override
@@ -74,6 +79,10 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
         return factory;
     }
 
+    @NonNull ParsedSourceCache parsedSources() {
+        return parsedSources;
+    }
+
     @Override
     public String toString() {
         return "SchemaRepository: " + id;
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
+import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+public class YangParserFactoryImplTest {
+    private static final List<String> RESOURCES = List.of("/ietf/iana-timezones@2012-07-09.yang",
+        "/ietf/ietf-inet-types@2010-09-24.yang", "/ietf/network-topology@2013-10-21.yang");
+
+    private static ForkJoinPool POOL;
+
+    @BeforeClass
+    public static void beforeClass() {
+        POOL = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void testParallelSourcesSameModel() throws Exception {
+        final EffectiveModelContext sequential = newParser(new YangParserFactoryImpl())
+            .addSources(sources())
+            .buildEffectiveModel();
+        final EffectiveModelContext parallel = newParser(
+            new YangParserFactoryImpl(DefaultReactors.defaultReactor(), POOL))
+            .addSources(sources())
+            .buildEffectiveModel();
+
+        assertEquals(describe(sequential), describe(parallel));
+    }
+
+    @Test
+    public void testParallelLibSources() throws Exception {
+        final EffectiveModelContext context = newParser(
+            new YangParserFactoryImpl(DefaultReactors.defaultReactor(), POOL))
+            .addSource(YangTextSchemaSource.forResource("/ietf/network-topology@2013-10-21.yang"))
+            .addLibSources(sources())
+            .buildEffectiveModel();
+
+        assertEquals(List.of("ietf-inet-types", "network-topology"), context.getModules().stream()
+            .map(Module::getName)
+            .sorted()
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testParallelFirstFailureReported() {
+        final YangParser parser = newParser(new YangParserFactoryImpl(DefaultReactors.defaultReactor(), POOL));
+        final YangTextSchemaSource broken = YangTextSchemaSource.delegateForByteSource("broken.yang",
+            ByteSource.wrap("module broken {".getBytes(StandardCharsets.UTF_8)));
+        final YangTextSchemaSource unreadable = YangTextSchemaSource.delegateForByteSource("unreadable.yang",
+            new ByteSource() {
+                @Override
+                public InputStream openStream() throws IOException {
+                    throw new IOException("unreadable");
+                }
+            });
+
+        assertThrows(YangSyntaxErrorException.class, () -> parser.addSources(broken, unreadable));
+        assertEquals("unreadable", assertThrows(IOException.class, () -> parser.addSources(unreadable, broken))
+            .getMessage());
+    }
+
+    private static YangParser newParser(final YangParserFactoryImpl factory) {
+        return factory.createParser(StatementParserMode.DEFAULT_MODE);
+    }
+
+    private static List<SchemaSourceRepresentation> sources() {
+        return RESOURCES.stream().map(YangTextSchemaSource::forResource).collect(Collectors.toList());
+    }
+
+    private static List<String> describe(final EffectiveModelContext context) {
+        return context.getModules().stream()
+            .map(module -> module.getQNameModule() + " " + module.getTypeDefinitions().stream()
+                .map(TypeDefinition::getQName)
+                .collect(Collectors.toList()) + " " + module.getChildNodes().stream()
+                .map(DataSchemaNode::getQName)
+                .collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    }
+}
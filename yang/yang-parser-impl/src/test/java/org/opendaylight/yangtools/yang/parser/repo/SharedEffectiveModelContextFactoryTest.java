@@ -7,11 +7,15 @@
  */
 package org.opendaylight.yangtools.yang.parser.repo;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFluentFuture;
 
+import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -23,6 +27,7 @@ import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfig
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
 import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToIRTransformer;
 
@@ -85,4 +90,66 @@ public class SharedEffectiveModelContextFactoryTest {
                 sharedSchemaContextFactory.createEffectiveModelContext(sIdWithoutRevision, provider.getId());
         assertNotNull(schemaContext.get());
     }
+
+    @Test
+    public void testReuseSourcesAcrossModels() throws Exception {
+        final SharedSchemaRepository sharedRepository = new SharedSchemaRepository("reuse");
+        sharedRepository.registerSchemaSourceListener(TextToIRTransformer.create(sharedRepository, sharedRepository));
+
+        final YangTextSchemaSource source1 = YangTextSchemaSource.forResource("/ietf/ietf-inet-types@2010-09-24.yang");
+        final YangTextSchemaSource source2 = YangTextSchemaSource.forResource("/ietf/iana-timezones@2012-07-09.yang");
+        final AtomicInteger requests = new AtomicInteger();
+        sharedRepository.registerSchemaSource(sourceIdentifier -> {
+            requests.incrementAndGet();
+            return immediateFluentFuture(source1);
+        }, PotentialSchemaSource.create(s1, YangTextSchemaSource.class, 1));
+        sharedRepository.registerSchemaSource(sourceIdentifier -> immediateFluentFuture(source2),
+            PotentialSchemaSource.create(s2, YangTextSchemaSource.class, 1));
+
+        final SharedEffectiveModelContextFactory factory = new SharedEffectiveModelContextFactory(sharedRepository,
+            config);
+        assertNotNull(factory.createEffectiveModelContext(s1).get());
+        assertEquals(1, requests.get());
+
+        // A different set of sources reuses the already-parsed source
+        assertEquals(2, factory.createEffectiveModelContext(s1, s2).get().getModules().size());
+        assertEquals(1, requests.get());
+
+        // Re-registration of a source invalidates it
+        sharedRepository.registerSchemaSource(sourceIdentifier -> {
+            requests.incrementAndGet();
+            return immediateFluentFuture(source1);
+        }, PotentialSchemaSource.create(s1, YangTextSchemaSource.class, 1));
+        assertNotNull(new SharedEffectiveModelContextFactory(sharedRepository, config)
+            .createEffectiveModelContext(s1, s2).get());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testInvalidationDuringLoad() throws Exception {
+        final SharedSchemaRepository sharedRepository = new SharedSchemaRepository("invalidate");
+        sharedRepository.registerSchemaSourceListener(TextToIRTransformer.create(sharedRepository, sharedRepository));
+
+        final YangTextSchemaSource source1 = YangTextSchemaSource.forResource("/ietf/ietf-inet-types@2010-09-24.yang");
+        final SettableFuture<YangTextSchemaSource> pending = SettableFuture.create();
+        final AtomicInteger requests = new AtomicInteger();
+        final SchemaSourceProvider<YangTextSchemaSource> provider = sourceIdentifier ->
+            requests.getAndIncrement() == 0 ? FluentFuture.from(pending) : immediateFluentFuture(source1);
+        sharedRepository.registerSchemaSource(provider,
+            PotentialSchemaSource.create(s1, YangTextSchemaSource.class, 1));
+
+        final ListenableFuture<EffectiveModelContext> first =
+            new SharedEffectiveModelContextFactory(sharedRepository, config).createEffectiveModelContext(s1);
+        assertEquals(1, requests.get());
+
+        // The source is re-registered while it is being loaded, hence the loaded source must not be cached
+        sharedRepository.registerSchemaSource(provider,
+            PotentialSchemaSource.create(s1, YangTextSchemaSource.class, 1));
+        pending.set(source1);
+        assertNotNull(first.get());
+
+        assertNotNull(new SharedEffectiveModelContextFactory(sharedRepository, config)
+            .createEffectiveModelContext(s1).get());
+        assertEquals(2, requests.get());
+    }
 }
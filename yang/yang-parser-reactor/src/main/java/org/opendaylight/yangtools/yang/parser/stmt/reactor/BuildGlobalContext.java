@@ -214,6 +214,12 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
         modelDefinedStmtDefs.put(name, def);
     }
 
+    /**
+     * Run all phases on all sources. This is done on the calling thread: inference actions registered by one source
+     * are fired by namespace updates made by other sources and mutate their statement trees, hence per-source work
+     * within a phase cannot be dispatched to multiple threads without making all namespaces and statement contexts
+     * thread-safe. Callers wishing to use multiple threads should do so when preparing {@link StatementStreamSource}s.
+     */
     private void executePhases() throws ReactorException {
         for (final ModelProcessingPhase phase : PHASE_EXECUTION_ORDER) {
             startPhase(phase);
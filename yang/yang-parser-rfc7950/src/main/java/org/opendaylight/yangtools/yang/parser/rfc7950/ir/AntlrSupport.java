@@ -103,27 +103,7 @@ public final class AntlrSupport {
         final int line = keywordToken.getLine();
         final int column = keywordToken.getCharPositionInLine();
 
-        switch (statements.size()) {
-            case 0:
-                return statementOf(keyword, argument, line, column);
-            case 1:
-                return new IRStatement144(keyword, argument, statements.get(0), line, column);
-            default:
-                return new IRStatementL44(keyword, argument, statements, line, column);
-        }
-    }
-
-    private static @NonNull IRStatement statementOf(final IRKeyword keyword, final IRArgument argument,
-            final int line, final int column) {
-        if (line >= 0 && column >= 0) {
-            if (line <= 65535 && column <= 65535) {
-                return new IRStatement022(keyword, argument, line, column);
-            }
-            if (line <= 16777215 && column <= 255) {
-                return new IRStatement031(keyword, argument, line, column);
-            }
-        }
-        return new IRStatement044(keyword, argument, line, column);
+        return IRStatement.of(keyword, argument, statements, line, column);
     }
 
     private IRArgument createArgument(final StatementContext stmt) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.ir;
+
+import com.google.common.annotations.Beta;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Serialization support for {@link IRStatement}s. The binary format is compact: each distinct string, keyword and
+ * argument is emitted only once and referenced by a linear code on subsequent occurrences. Reading the format back
+ * produces an {@link IRStatement} equivalent to the one which was written, including its source location, without
+ * having to go through ANTLR.
+ */
+@Beta
+public final class IOSupport {
+    private IOSupport() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Serialize an {@link IRStatement} into a {@link DataOutput}.
+     *
+     * @param out Data output
+     * @param stmt Statement to serialize
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if any argument is null
+     */
+    public static void writeStatement(final DataOutput out, final IRStatement stmt) throws IOException {
+        out.writeByte(StatementInput.VERSION_V1);
+        new StatementOutput(out).writeStatement(stmt);
+    }
+
+    /**
+     * Deserialize an {@link IRStatement} from a {@link DataInput}.
+     *
+     * @param in Data input
+     * @return A new IRStatement
+     * @throws IOException if an I/O error occurs or the input does not contain a valid serialized statement
+     * @throws NullPointerException if {@code in} is null
+     */
+    public static @NonNull IRStatement readStatement(final DataInput in) throws IOException {
+        final byte version = in.readByte();
+        if (version != StatementInput.VERSION_V1) {
+            throw new IOException("Unsupported version " + version);
+        }
+        return new StatementInput(in).readStatement();
+    }
+}
@@ -33,6 +33,31 @@ public abstract class IRStatement extends AbstractIRObject {
         this.argument = argument;
     }
 
+    static @NonNull IRStatement of(final IRKeyword keyword, final IRArgument argument,
+            final ImmutableList<IRStatement> statements, final int line, final int column) {
+        switch (statements.size()) {
+            case 0:
+                return of(keyword, argument, line, column);
+            case 1:
+                return new IRStatement144(keyword, argument, statements.get(0), line, column);
+            default:
+                return new IRStatementL44(keyword, argument, statements, line, column);
+        }
+    }
+
+    private static @NonNull IRStatement of(final IRKeyword keyword, final IRArgument argument, final int line,
+            final int column) {
+        if (line >= 0 && column >= 0) {
+            if (line <= 65535 && column <= 65535) {
+                return new IRStatement022(keyword, argument, line, column);
+            }
+            if (line <= 16777215 && column <= 255) {
+                return new IRStatement031(keyword, argument, line, column);
+            }
+        }
+        return new IRStatement044(keyword, argument, line, column);
+    }
+
     /**
      * Return this statement's keyword.
      *
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.ir;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Concatenation;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.DoubleQuoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Identifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Single;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.SingleQuoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Unquoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRKeyword.Qualified;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRKeyword.Unqualified;
+
+/**
+ * Reader side of {@link IOSupport}. The format consists of a version byte followed by the root statement. Each
+ * statement is encoded as:
+ * <ul>
+ *   <li>a byte indicating whether the statement has substatements</li>
+ *   <li>its keyword, which is either a reference to a previously-seen keyword, or a string identifier optionally
+ *       preceded by a string prefix</li>
+ *   <li>its argument, which is either absent, a reference to a previously-seen argument, a single string along with
+ *       its quoting style or a concatenation of such arguments</li>
+ *   <li>start line and column</li>
+ *   <li>number of substatements and the substatements themselves, if present</li>
+ * </ul>
+ * Strings are encoded either as a reference to a previously-seen string or as UTF-8 bytes. All integers are encoded as
+ * unsigned LEB128.
+ *
+ * <p>
+ * Sizes read from the input are not trusted: storage is preallocated only up to a fixed limit and grows as the data
+ * is actually read, so that corrupted input results in an {@link IOException} rather than an excessive allocation.
+ */
+final class StatementInput {
+    static final byte VERSION_V1     = 1;
+
+    static final byte STMT_LEAF      = 0;
+    static final byte STMT_CONTAINER = 1;
+
+    static final byte KEY_UQUAL      = 0;
+    static final byte KEY_QUAL       = 1;
+    static final byte KEY_REF        = 2;
+
+    static final byte ARG_NONE       = 0;
+    static final byte ARG_IDENTIFIER = 1;
+    static final byte ARG_UNQUOTED   = 2;
+    static final byte ARG_SQUOT      = 3;
+    static final byte ARG_DQUOT      = 4;
+    static final byte ARG_CONCAT     = 5;
+    static final byte ARG_REF        = 6;
+
+    // Maximum number of elements/bytes we preallocate based on a size read from the input
+    private static final int MAX_PREALLOC_ELEMENTS = 256;
+    private static final int MAX_PREALLOC_BYTES = 4096;
+
+    private final List<IRKeyword> keywords = new ArrayList<>();
+    private final List<IRArgument> arguments = new ArrayList<>();
+    private final List<String> strings = new ArrayList<>();
+    private final DataInput in;
+
+    StatementInput(final DataInput in) {
+        this.in = requireNonNull(in);
+    }
+
+    IRStatement readStatement() throws IOException {
+        final byte type = in.readByte();
+        final IRKeyword keyword = readKeyword();
+        final IRArgument argument = readArgument();
+        final int line = readInt();
+        final int column = readInt();
+
+        final ImmutableList<IRStatement> statements;
+        switch (type) {
+            case STMT_LEAF:
+                statements = ImmutableList.of();
+                break;
+            case STMT_CONTAINER:
+                final int size = readSize();
+                final ImmutableList.Builder<IRStatement> builder = ImmutableList.builderWithExpectedSize(
+                    Math.min(size, MAX_PREALLOC_ELEMENTS));
+                for (int i = 0; i < size; ++i) {
+                    builder.add(readStatement());
+                }
+                statements = builder.build();
+                break;
+            default:
+                throw new IOException("Unhandled statement type " + type);
+        }
+
+        return IRStatement.of(keyword, argument, statements, line, column);
+    }
+
+    private IRKeyword readKeyword() throws IOException {
+        final byte type = in.readByte();
+        final IRKeyword keyword;
+        switch (type) {
+            case KEY_UQUAL:
+                keyword = new Unqualified(readString());
+                break;
+            case KEY_QUAL:
+                final String prefix = readString();
+                keyword = new Qualified(prefix, readString());
+                break;
+            case KEY_REF:
+                return lookup(keywords, readInt());
+            default:
+                throw new IOException("Unhandled keyword type " + type);
+        }
+
+        keywords.add(keyword);
+        return keyword;
+    }
+
+    private IRArgument readArgument() throws IOException {
+        final byte type = in.readByte();
+        final IRArgument argument;
+        switch (type) {
+            case ARG_NONE:
+                return null;
+            case ARG_IDENTIFIER:
+                argument = new Identifier(readString());
+                break;
+            case ARG_UNQUOTED:
+                argument = new Unquoted(readString());
+                break;
+            case ARG_SQUOT:
+                final String str = readString();
+                argument = str.isEmpty() ? SingleQuoted.EMPTY : new SingleQuoted(str);
+                break;
+            case ARG_DQUOT:
+                argument = new DoubleQuoted(readString());
+                break;
+            case ARG_CONCAT:
+                argument = readConcatenation();
+                break;
+            case ARG_REF:
+                return lookup(arguments, readInt());
+            default:
+                throw new IOException("Unhandled argument type " + type);
+        }
+
+        arguments.add(argument);
+        return argument;
+    }
+
+    private Concatenation readConcatenation() throws IOException {
+        final int size = readSize();
+        final List<Single> parts = new ArrayList<>(Math.min(size, MAX_PREALLOC_ELEMENTS));
+        for (int i = 0; i < size; ++i) {
+            final IRArgument part = readArgument();
+            if (!(part instanceof Single)) {
+                throw new IOException("Unexpected concatenation part " + part);
+            }
+            parts.add((Single) part);
+        }
+        return new Concatenation(parts);
+    }
+
+    private String readString() throws IOException {
+        final int code = readInt();
+        if (code != 0) {
+            return lookup(strings, code - 1);
+        }
+
+        final byte[] bytes = readBytes(readSize());
+        final String str = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(str);
+        return str;
+    }
+
+    private byte[] readBytes(final int size) throws IOException {
+        if (size <= MAX_PREALLOC_BYTES) {
+            final byte[] ret = new byte[size];
+            in.readFully(ret);
+            return ret;
+        }
+
+        // Grow the array only as we actually read data
+        byte[] ret = new byte[MAX_PREALLOC_BYTES];
+        int read = 0;
+        while (read < size) {
+            if (read == ret.length) {
+                ret = Arrays.copyOf(ret, (int) Math.min(size, 2L * ret.length));
+            }
+            final int chunk = ret.length - read;
+            in.readFully(ret, read, chunk);
+            read += chunk;
+        }
+        return ret;
+    }
+
+    private int readSize() throws IOException {
+        final int size = readInt();
+        if (size < 0) {
+            throw new IOException("Invalid size " + size);
+        }
+        return size;
+    }
+
+    private int readInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int octet = in.readUnsignedByte();
+            result |= (octet & 0x7F) << shift;
+            if ((octet & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed integer encoding");
+    }
+
+    private static <T> T lookup(final List<T> table, final int code) throws IOException {
+        if (code < 0 || code >= table.size()) {
+            throw new IOException("Invalid reference " + code + ", " + table.size() + " entries are available");
+        }
+        return table.get(code);
+    }
+}
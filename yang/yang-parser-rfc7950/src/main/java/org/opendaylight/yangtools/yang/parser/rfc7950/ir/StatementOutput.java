@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.ir;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Concatenation;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.DoubleQuoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Identifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Single;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.SingleQuoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Unquoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRKeyword.Qualified;
+
+/**
+ * Writer side of {@link IOSupport}. See {@link StatementInput} for the description of the format.
+ */
+final class StatementOutput {
+    // AntlrSupport shares keyword and argument objects, hence identity is good enough to detect repetitions
+    private final Map<IRKeyword, Integer> keywords = new IdentityHashMap<>();
+    private final Map<IRArgument, Integer> arguments = new IdentityHashMap<>();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final DataOutput out;
+
+    StatementOutput(final DataOutput out) {
+        this.out = requireNonNull(out);
+    }
+
+    void writeStatement(final IRStatement stmt) throws IOException {
+        final List<? extends IRStatement> statements = stmt.statements();
+        out.writeByte(statements.isEmpty() ? StatementInput.STMT_LEAF : StatementInput.STMT_CONTAINER);
+        writeKeyword(stmt.keyword());
+        writeArgument(stmt.argument());
+        writeInt(stmt.startLine());
+        writeInt(stmt.startColumn());
+        if (!statements.isEmpty()) {
+            writeInt(statements.size());
+            for (IRStatement child : statements) {
+                writeStatement(child);
+            }
+        }
+    }
+
+    private void writeKeyword(final IRKeyword keyword) throws IOException {
+        final Integer code = keywords.get(keyword);
+        if (code != null) {
+            out.writeByte(StatementInput.KEY_REF);
+            writeInt(code);
+            return;
+        }
+
+        if (keyword instanceof Qualified) {
+            out.writeByte(StatementInput.KEY_QUAL);
+            writeString(keyword.prefix());
+        } else {
+            out.writeByte(StatementInput.KEY_UQUAL);
+        }
+        writeString(keyword.identifier());
+        keywords.put(keyword, keywords.size());
+    }
+
+    private void writeArgument(final IRArgument argument) throws IOException {
+        if (argument == null) {
+            out.writeByte(StatementInput.ARG_NONE);
+            return;
+        }
+
+        final Integer code = arguments.get(argument);
+        if (code != null) {
+            out.writeByte(StatementInput.ARG_REF);
+            writeInt(code);
+            return;
+        }
+
+        if (argument instanceof Concatenation) {
+            final List<? extends Single> parts = ((Concatenation) argument).parts();
+            out.writeByte(StatementInput.ARG_CONCAT);
+            writeInt(parts.size());
+            for (Single part : parts) {
+                writeArgument(part);
+            }
+        } else {
+            out.writeByte(singleType(argument));
+            writeString(((Single) argument).string());
+        }
+        arguments.put(argument, arguments.size());
+    }
+
+    private static int singleType(final IRArgument argument) throws IOException {
+        if (argument instanceof Identifier) {
+            return StatementInput.ARG_IDENTIFIER;
+        } else if (argument instanceof Unquoted) {
+            return StatementInput.ARG_UNQUOTED;
+        } else if (argument instanceof SingleQuoted) {
+            return StatementInput.ARG_SQUOT;
+        } else if (argument instanceof DoubleQuoted) {
+            return StatementInput.ARG_DQUOT;
+        } else {
+            throw new IOException("Unhandled argument " + argument);
+        }
+    }
+
+    private void writeString(final String str) throws IOException {
+        final Integer code = strings.get(str);
+        if (code != null) {
+            // References are shifted by one, as zero indicates a new string
+            writeInt(code + 1);
+            return;
+        }
+
+        // Note: not using writeUTF(), as it is limited to 64KiB and descriptions can be arbitrarily long
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeInt(0);
+        writeInt(bytes.length);
+        out.write(bytes);
+        strings.put(str, strings.size());
+    }
+
+    // Unsigned LEB128: most values we encounter are small, such as line numbers and table references
+    private void writeInt(final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IOSupport;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of {@link IRSchemaSource}s produced from {@link YangTextSchemaSource}s, backed by a directory.
+ * Each entry is keyed by the SHA-256 hash of the text it was produced from and holds the {@link IRStatement} in the
+ * format defined by {@link IOSupport}. A source whose text has been seen before is therefore restored without going
+ * through ANTLR, while any change to the text results in a cache miss.
+ *
+ * <p>
+ * Entries are written atomically and read through a memory-mapped file. Unreadable or corrupted entries, including
+ * those with trailing data, are treated as cache misses and are deleted. Instances are thread-safe and multiple
+ * instances may share the same directory.
+ */
+@Beta
+public final class TextToIRCache {
+    private static final Logger LOG = LoggerFactory.getLogger(TextToIRCache.class);
+    private static final String SUFFIX = ".ir";
+
+    private final @NonNull Path directory;
+
+    private TextToIRCache(final Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    /**
+     * Create a cache backed by specified directory. The directory is created if it does not exist.
+     *
+     * @param directory Cache directory
+     * @return A new cache
+     * @throws IOException if the directory cannot be created
+     * @throws NullPointerException if {@code directory} is null
+     */
+    public static @NonNull TextToIRCache create(final Path directory) throws IOException {
+        return new TextToIRCache(Files.createDirectories(directory));
+    }
+
+    /**
+     * Transform a {@link YangTextSchemaSource} into an {@link IRSchemaSource}, using a cached result if available. This
+     * method is a drop-in replacement for {@link TextToIRTransformer#transformText(YangTextSchemaSource)}.
+     *
+     * @param text Source text
+     * @return An IRSchemaSource
+     * @throws YangSyntaxErrorException when the source fails syntactic analysis
+     * @throws IOException when the source cannot be read
+     */
+    public @NonNull IRSchemaSource transformText(final YangTextSchemaSource text)
+            throws YangSyntaxErrorException, IOException {
+        final byte[] bytes = text.read();
+        final Path file = directory.resolve(Hashing.sha256().hashBytes(bytes) + SUFFIX);
+
+        final IRStatement cached = loadStatement(file);
+        if (cached != null) {
+            LOG.debug("Source {} restored from {}", text.getIdentifier(), file);
+            return TextToIRTransformer.createSource(text.getIdentifier(), cached);
+        }
+
+        final IRSchemaSource source = TextToIRTransformer.transformText(
+            YangTextSchemaSource.delegateForByteSource(text.getIdentifier(), ByteSource.wrap(bytes)));
+        storeStatement(file, source.getRootStatement());
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("directory", directory).toString();
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private static @Nullable IRStatement loadStatement(final Path file) {
+        final ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Entry size " + size + " is too large");
+            }
+            buf = channel.map(MapMode.READ_ONLY, 0, size);
+        } catch (NoSuchFileException e) {
+            LOG.trace("Cache entry {} not present", file, e);
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable cache entry {}", file, e);
+            deleteEntry(file);
+            return null;
+        }
+
+        // Any failure to decode the entry means it is corrupted, hence it is a miss
+        try {
+            final IRStatement stmt = IOSupport.readStatement(new DataInputStream(new ByteBufferInputStream(buf)));
+            if (buf.hasRemaining()) {
+                throw new IOException("Entry has " + buf.remaining() + " trailing bytes");
+            }
+            return stmt;
+        } catch (Exception e) {
+            LOG.warn("Ignoring corrupted cache entry {}", file, e);
+            deleteEntry(file);
+            return null;
+        }
+    }
+
+    private static void deleteEntry(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.debug("Failed to delete {}", file, e);
+        }
+    }
+
+    private void storeStatement(final Path file, final IRStatement statement) {
+        final Path tmp;
+        try {
+            tmp = Files.createTempFile(directory, "entry", ".tmp");
+        } catch (IOException e) {
+            LOG.warn("Failed to create a temporary file in {}", directory, e);
+            return;
+        }
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                IOSupport.writeStatement(out, statement);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            LOG.debug("Cache entry {} written", file);
+        } catch (IOException e) {
+            LOG.warn("Failed to write cache entry {}", file, e);
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ex) {
+                LOG.debug("Failed to delete {}", tmp, ex);
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(final ByteBuffer buf) {
+            this.buf = requireNonNull(buf);
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? Byte.toUnsignedInt(buf.get()) : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buf.hasRemaining()) {
+                return -1;
+            }
+
+            final int count = Math.min(len, buf.remaining());
+            buf.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
@@ -7,7 +7,10 @@
  */
 package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import java.io.IOException;
 import org.eclipse.jdt.annotation.NonNull;
@@ -15,6 +18,7 @@ import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceTransformer;
@@ -24,21 +28,40 @@ import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRStatement;
 
 @Beta
 public final class TextToIRTransformer extends SchemaSourceTransformer<YangTextSchemaSource, IRSchemaSource> {
-    private TextToIRTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
-        super(provider, YangTextSchemaSource.class, consumer, IRSchemaSource.class,
-            input -> Futures.immediateFuture(transformText(input)));
+    private TextToIRTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final AsyncFunction<YangTextSchemaSource, IRSchemaSource> function) {
+        super(provider, YangTextSchemaSource.class, consumer, IRSchemaSource.class, function);
     }
 
     public static @NonNull TextToIRTransformer create(final SchemaRepository provider,
             final SchemaSourceRegistry consumer) {
-        return new TextToIRTransformer(provider, consumer);
+        return new TextToIRTransformer(provider, consumer, input -> Futures.immediateFuture(transformText(input)));
+    }
+
+    /**
+     * Create a transformer which consults specified {@link TextToIRCache} before parsing any source.
+     *
+     * @param provider Provider of {@link YangTextSchemaSource}s
+     * @param consumer Registry of {@link IRSchemaSource}s
+     * @param cache Cache to use
+     * @return A new transformer
+     */
+    public static @NonNull TextToIRTransformer create(final SchemaRepository provider,
+            final SchemaSourceRegistry consumer, final TextToIRCache cache) {
+        requireNonNull(cache);
+        return new TextToIRTransformer(provider, consumer,
+            input -> Futures.immediateFuture(cache.transformText(input)));
     }
 
     public static @NonNull IRSchemaSource transformText(final YangTextSchemaSource text)
             throws YangSyntaxErrorException, IOException {
-        final IRStatement rootStatement = AntlrSupport.createStatement(YangStatementStreamSource.parseYangSource(text));
-        final String name = YangModelDependencyInfo.safeStringArgument(text.getIdentifier(), rootStatement, "name");
-        final String latestRevision = YangModelDependencyInfo.getLatestRevision(rootStatement, text.getIdentifier());
+        return createSource(text.getIdentifier(),
+            AntlrSupport.createStatement(YangStatementStreamSource.parseYangSource(text)));
+    }
+
+    static @NonNull IRSchemaSource createSource(final SourceIdentifier textId, final IRStatement rootStatement) {
+        final String name = YangModelDependencyInfo.safeStringArgument(textId, rootStatement, "name");
+        final String latestRevision = YangModelDependencyInfo.getLatestRevision(rootStatement, textId);
         final RevisionSourceIdentifier sourceId = latestRevision == null ? RevisionSourceIdentifier.create(name)
                 : RevisionSourceIdentifier.create(name, Revision.of(latestRevision));
 
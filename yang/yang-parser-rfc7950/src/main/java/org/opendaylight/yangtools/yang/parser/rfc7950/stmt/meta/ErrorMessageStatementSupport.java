@@ -15,13 +15,11 @@ import org.opendaylight.yangtools.yang.model.api.stmt.ErrorMessageEffectiveState
 import org.opendaylight.yangtools.yang.model.api.stmt.ErrorMessageStatement;
 import org.opendaylight.yangtools.yang.model.ri.stmt.DeclaredStatements;
 import org.opendaylight.yangtools.yang.model.ri.stmt.EffectiveStatements;
-import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractStringStatementSupport;
-import org.opendaylight.yangtools.yang.parser.spi.meta.EffectiveStmtCtx.Current;
-import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractInternedStringStatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.SubstatementValidator;
 
 public final class ErrorMessageStatementSupport
-        extends AbstractStringStatementSupport<ErrorMessageStatement, ErrorMessageEffectiveStatement> {
+        extends AbstractInternedStringStatementSupport<ErrorMessageStatement, ErrorMessageEffectiveStatement> {
     private static final SubstatementValidator SUBSTATEMENT_VALIDATOR =
             SubstatementValidator.builder(YangStmtMapping.ERROR_MESSAGE).build();
     private static final ErrorMessageStatementSupport INSTANCE = new ErrorMessageStatementSupport();
@@ -40,14 +38,24 @@ public final class ErrorMessageStatementSupport
     }
 
     @Override
-    protected ErrorMessageStatement createDeclared(final StmtContext<String, ErrorMessageStatement, ?> ctx,
+    protected ErrorMessageStatement createDeclared(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return DeclaredStatements.createErrorMessage(ctx.getRawArgument(), substatements);
+        return DeclaredStatements.createErrorMessage(argument, substatements);
     }
 
     @Override
-    protected ErrorMessageEffectiveStatement createEffective(final Current<String, ErrorMessageStatement> stmt,
+    protected ErrorMessageStatement createEmptyDeclared(final String argument) {
+        return DeclaredStatements.createErrorMessage(argument);
+    }
+
+    @Override
+    protected ErrorMessageEffectiveStatement createEffective(final ErrorMessageStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return EffectiveStatements.createErrorMessage(stmt.declared(), substatements);
+        return EffectiveStatements.createErrorMessage(declared, substatements);
+    }
+
+    @Override
+    protected ErrorMessageEffectiveStatement createEmptyEffective(final ErrorMessageStatement declared) {
+        return EffectiveStatements.createErrorMessage(declared);
     }
 }
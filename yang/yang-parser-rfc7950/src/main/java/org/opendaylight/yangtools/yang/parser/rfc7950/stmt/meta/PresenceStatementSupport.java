@@ -15,13 +15,11 @@ import org.opendaylight.yangtools.yang.model.api.stmt.PresenceEffectiveStatement
 import org.opendaylight.yangtools.yang.model.api.stmt.PresenceStatement;
 import org.opendaylight.yangtools.yang.model.ri.stmt.DeclaredStatements;
 import org.opendaylight.yangtools.yang.model.ri.stmt.EffectiveStatements;
-import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractStringStatementSupport;
-import org.opendaylight.yangtools.yang.parser.spi.meta.EffectiveStmtCtx.Current;
-import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractInternedStringStatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.SubstatementValidator;
 
 public final class PresenceStatementSupport
-        extends AbstractStringStatementSupport<PresenceStatement, PresenceEffectiveStatement> {
+        extends AbstractInternedStringStatementSupport<PresenceStatement, PresenceEffectiveStatement> {
     private static final SubstatementValidator SUBSTATEMENT_VALIDATOR =
             SubstatementValidator.builder(YangStmtMapping.PRESENCE).build();
     private static final PresenceStatementSupport INSTANCE = new PresenceStatementSupport();
@@ -40,14 +38,24 @@ public final class PresenceStatementSupport
     }
 
     @Override
-    protected PresenceStatement createDeclared(final StmtContext<String, PresenceStatement, ?> ctx,
+    protected PresenceStatement createDeclared(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return DeclaredStatements.createPresence(ctx.getRawArgument(), substatements);
+        return DeclaredStatements.createPresence(argument, substatements);
     }
 
     @Override
-    protected PresenceEffectiveStatement createEffective(final Current<String, PresenceStatement> stmt,
+    protected PresenceStatement createEmptyDeclared(final String argument) {
+        return DeclaredStatements.createPresence(argument);
+    }
+
+    @Override
+    protected PresenceEffectiveStatement createEffective(final PresenceStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return EffectiveStatements.createPresence(stmt.declared(), substatements);
+        return EffectiveStatements.createPresence(declared, substatements);
+    }
+
+    @Override
+    protected PresenceEffectiveStatement createEmptyEffective(final PresenceStatement declared) {
+        return EffectiveStatements.createPresence(declared);
     }
-}
\ No newline at end of file
+}
@@ -15,13 +15,11 @@ import org.opendaylight.yangtools.yang.model.api.stmt.UnitsEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.UnitsStatement;
 import org.opendaylight.yangtools.yang.model.ri.stmt.DeclaredStatements;
 import org.opendaylight.yangtools.yang.model.ri.stmt.EffectiveStatements;
-import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractStringStatementSupport;
-import org.opendaylight.yangtools.yang.parser.spi.meta.EffectiveStmtCtx.Current;
-import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractInternedStringStatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.SubstatementValidator;
 
 public final class UnitsStatementSupport
-        extends AbstractStringStatementSupport<UnitsStatement, UnitsEffectiveStatement> {
+        extends AbstractInternedStringStatementSupport<UnitsStatement, UnitsEffectiveStatement> {
     private static final SubstatementValidator SUBSTATEMENT_VALIDATOR = SubstatementValidator.builder(
         YangStmtMapping.UNITS)
         .build();
@@ -41,14 +39,24 @@ public final class UnitsStatementSupport
     }
 
     @Override
-    protected UnitsStatement createDeclared(final StmtContext<String, UnitsStatement, ?> ctx,
+    protected UnitsStatement createDeclared(final String argument,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
-        return DeclaredStatements.createUnits(ctx.getRawArgument(), substatements);
+        return DeclaredStatements.createUnits(argument, substatements);
     }
 
     @Override
-    protected UnitsEffectiveStatement createEffective(final Current<String, UnitsStatement> stmt,
+    protected UnitsStatement createEmptyDeclared(final String argument) {
+        return DeclaredStatements.createUnits(argument);
+    }
+
+    @Override
+    protected UnitsEffectiveStatement createEffective(final UnitsStatement declared,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return EffectiveStatements.createUnits(stmt.declared(), substatements);
+        return EffectiveStatements.createUnits(declared, substatements);
+    }
+
+    @Override
+    protected UnitsEffectiveStatement createEmptyEffective(final UnitsStatement declared) {
+        return EffectiveStatements.createUnits(declared);
     }
 }
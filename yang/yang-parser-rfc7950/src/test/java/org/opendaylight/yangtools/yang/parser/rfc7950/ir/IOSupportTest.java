@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.ir;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Resources;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToIRTransformer;
+
+public class IOSupportTest {
+    private static IRStatement STATEMENT;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        STATEMENT = TextToIRTransformer.transformText(YangTextSchemaSource.delegateForByteSource("io-support.yang",
+            Resources.asByteSource(IOSupportTest.class.getClassLoader().getResource("ir/io-support.yang"))))
+            .getRootStatement();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final IRStatement restored = IOSupport.readStatement(ByteStreams.newDataInput(serialize(STATEMENT)));
+        assertEquals(STATEMENT.toString(), restored.toString());
+        assertEquivalent(STATEMENT, restored);
+    }
+
+    @Test
+    public void testSharedObjects() throws IOException {
+        final IRStatement restored = IOSupport.readStatement(ByteStreams.newDataInput(serialize(STATEMENT)));
+        final IRStatement foo = restored.statements().get(7);
+        final List<? extends IRStatement> exts = foo.statements();
+        // Both uses of ios:ext share the same keyword, just as in the original
+        assertSame(exts.get(0).keyword(), exts.get(1).keyword());
+        assertSame(IRArgument.SingleQuoted.EMPTY, exts.get(1).argument());
+    }
+
+    @Test
+    public void testLongString() throws IOException {
+        final String str = "a".repeat(100_000);
+        final IRStatement stmt = IRStatement.of(new IRKeyword.Unqualified("description"),
+            new IRArgument.SingleQuoted(str), ImmutableList.of(), 1, 0);
+        final IRStatement restored = IOSupport.readStatement(ByteStreams.newDataInput(serialize(stmt)));
+        assertEquals(str, ((IRArgument.Single) restored.argument()).string());
+    }
+
+    @Test
+    public void testMalformedInput() {
+        final byte[] bytes = serialize(STATEMENT);
+        bytes[0] = 2;
+        assertEquals("Unsupported version 2", assertThrows(IOException.class,
+            () -> IOSupport.readStatement(ByteStreams.newDataInput(bytes))).getMessage());
+
+        final byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(serialize(STATEMENT), 0, truncated, 0, truncated.length);
+        assertThrows(EOFException.class, () -> IOSupport.readStatement(new DataInputStream(
+            new ByteArrayInputStream(truncated))));
+    }
+
+    @Test
+    public void testBogusSizes() {
+        // A string claiming to be Integer.MAX_VALUE bytes long
+        assertThrows(EOFException.class, () -> readStatement(new byte[] {
+            StatementInput.VERSION_V1, StatementInput.STMT_LEAF, StatementInput.KEY_UQUAL, 0,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07
+        }));
+        // A statement claiming to have Integer.MAX_VALUE substatements
+        assertThrows(EOFException.class, () -> readStatement(new byte[] {
+            StatementInput.VERSION_V1, StatementInput.STMT_CONTAINER, StatementInput.KEY_UQUAL, 0, 1, 'a',
+            StatementInput.ARG_NONE, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07
+        }));
+    }
+
+    private static IRStatement readStatement(final byte[] bytes) throws IOException {
+        return IOSupport.readStatement(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private static byte[] serialize(final IRStatement stmt) {
+        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        try {
+            IOSupport.writeStatement(out, stmt);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void assertEquivalent(final IRStatement expected, final IRStatement actual) {
+        assertEquals(expected.keyword().getClass(), actual.keyword().getClass());
+        assertEquals(expected.keyword().asStringDeclaration(), actual.keyword().asStringDeclaration());
+        final IRArgument expectedArg = expected.argument();
+        if (expectedArg != null) {
+            assertEquals(expectedArg.getClass(), actual.argument().getClass());
+        }
+        assertEquals(expected.startLine(), actual.startLine());
+        assertEquals(expected.startColumn(), actual.startColumn());
+        assertEquals(expected.getClass(), actual.getClass());
+
+        final List<? extends IRStatement> expectedStmts = expected.statements();
+        final List<? extends IRStatement> actualStmts = actual.statements();
+        assertEquals(expectedStmts.size(), actualStmts.size());
+        for (int i = 0; i < expectedStmts.size(); ++i) {
+            assertEquivalent(expectedStmts.get(i), actualStmts.get(i));
+        }
+    }
+}
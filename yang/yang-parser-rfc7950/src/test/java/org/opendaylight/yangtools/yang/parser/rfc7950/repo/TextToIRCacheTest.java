@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IOSupport;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+
+public class TextToIRCacheTest {
+    private static final String FOO = "module foo {\n  namespace foo;\n  prefix foo;\n  revision 2021-01-01;\n}\n";
+    private static final String BAR = "module bar {\n  namespace bar;\n  prefix bar;\n}\n";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private TextToIRCache cache;
+
+    @Before
+    public void before() throws IOException {
+        directory = folder.getRoot().toPath().resolve("cache");
+        cache = TextToIRCache.create(directory);
+    }
+
+    @Test
+    public void testStoreAndRestore() throws Exception {
+        final IRSchemaSource first = cache.transformText(text(FOO));
+        assertEquals(RevisionSourceIdentifier.create("foo", Revision.of("2021-01-01")), first.getIdentifier());
+        assertEquals(List.of(entryName(FOO)), entries());
+
+        final IRSchemaSource second = TextToIRCache.create(directory).transformText(text(FOO));
+        assertEquals(first.getIdentifier(), second.getIdentifier());
+        assertEquals(first.getRootStatement().toString(), second.getRootStatement().toString());
+        assertEquals(List.of(entryName(FOO)), entries());
+    }
+
+    @Test
+    public void testCachedEntryUsed() throws Exception {
+        // Plant an entry for FOO's text holding BAR's statement: it has to be used instead of parsing FOO
+        try (OutputStream os = Files.newOutputStream(directory.resolve(entryName(FOO)))) {
+            IOSupport.writeStatement(new DataOutputStream(os),
+                TextToIRTransformer.transformText(text(BAR)).getRootStatement());
+        }
+
+        assertEquals(RevisionSourceIdentifier.create("bar"), cache.transformText(text(FOO)).getIdentifier());
+    }
+
+    @Test
+    public void testCorruptedEntryReplaced() throws Exception {
+        final Path entry = directory.resolve(entryName(FOO));
+        Files.write(entry, new byte[] { 1, 2, 3 });
+
+        assertEquals("foo", cache.transformText(text(FOO)).getIdentifier().getName());
+        assertTrue(Files.size(entry) > 3);
+        assertEquals("foo", TextToIRCache.create(directory).transformText(text(FOO)).getIdentifier().getName());
+    }
+
+    @Test
+    public void testTrailingBytesRejected() throws Exception {
+        // A valid entry for BAR's statement, followed by garbage: it must not be used
+        try (OutputStream os = Files.newOutputStream(directory.resolve(entryName(FOO)))) {
+            IOSupport.writeStatement(new DataOutputStream(os),
+                TextToIRTransformer.transformText(text(BAR)).getRootStatement());
+            os.write(0);
+        }
+
+        assertEquals("foo", cache.transformText(text(FOO)).getIdentifier().getName());
+    }
+
+    @Test
+    public void testCorruptedEntryDeleted() throws Exception {
+        final String broken = "module broken {";
+        final Path entry = directory.resolve(entryName(broken));
+        Files.write(entry, new byte[] { 1, 1, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 });
+
+        assertThrows(YangSyntaxErrorException.class, () -> cache.transformText(text(broken)));
+        assertFalse(Files.exists(entry));
+    }
+
+    private List<String> entries() throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.map(path -> path.getFileName().toString()).collect(Collectors.toList());
+        }
+    }
+
+    private static String entryName(final String str) {
+        return Hashing.sha256().hashString(str, StandardCharsets.UTF_8) + ".ir";
+    }
+
+    private static YangTextSchemaSource text(final String str) {
+        return YangTextSchemaSource.delegateForByteSource("test.yang",
+            ByteSource.wrap(str.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class AugmentDataChildTest {
+    private static Module module;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        final SchemaContext context = StmtTestUtils.parseYangSources("/augment-test/data-children");
+        module = context.findModules("foo").iterator().next();
+    }
+
+    @Test
+    public void testSmallAugment() {
+        assertChildren(augment("small"), "one", "two");
+    }
+
+    @Test
+    public void testLargeAugment() {
+        assertChildren(augment("large"), "one", "two", "three", "four", "five", "six");
+    }
+
+    private static AugmentationSchemaNode augment(final String target) {
+        return module.getAugmentations().stream()
+            .filter(aug -> target.equals(aug.getTargetPath().lastNodeIdentifier().getLocalName()))
+            .findFirst().orElseThrow();
+    }
+
+    private static void assertChildren(final AugmentationSchemaNode augment, final String... names) {
+        for (String name : names) {
+            final QName qname = QName.create("foo", name);
+            assertEquals(qname, augment.dataChildByName(qname).getQName());
+        }
+        assertNull(augment.dataChildByName(QName.create("foo", "seven")));
+        assertNull(augment.dataChildByName(QName.create("bar", "one")));
+    }
+}
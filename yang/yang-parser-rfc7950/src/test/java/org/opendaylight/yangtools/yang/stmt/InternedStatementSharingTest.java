@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.DescriptionEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.DescriptionStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.meta.DescriptionStatementSupport;
+
+public class InternedStatementSharingTest {
+    @Test
+    public void testDescriptionSharedAcrossContexts() throws Exception {
+        final DescriptionStatementSupport support = DescriptionStatementSupport.getInstance();
+        final long declaredHits = support.declaredStats().hitCount();
+        final long effectiveHits = support.effectiveStats().hitCount();
+        final long bytes = support.deduplicatedBytes();
+
+        final ModuleEffectiveStatement first = parseModule();
+        final ModuleEffectiveStatement second = parseModule();
+        assertNotSame(first, second);
+
+        final DescriptionEffectiveStatement firstDescription =
+            first.findFirstEffectiveSubstatement(DescriptionEffectiveStatement.class).orElseThrow();
+        assertSame(firstDescription,
+            second.findFirstEffectiveSubstatement(DescriptionEffectiveStatement.class).orElseThrow());
+        assertSame(first.getDeclared().findFirstDeclaredSubstatement(DescriptionStatement.class).orElseThrow(),
+            second.getDeclared().findFirstDeclaredSubstatement(DescriptionStatement.class).orElseThrow());
+
+        assertTrue(support.declaredStats().hitCount() > declaredHits);
+        assertTrue(support.effectiveStats().hitCount() > effectiveHits);
+        assertTrue(support.deduplicatedBytes() > bytes + firstDescription.argument().length());
+    }
+
+    private static ModuleEffectiveStatement parseModule() throws Exception {
+        final EffectiveModelContext context = StmtTestUtils.parseYangSource("/ietf/ietf-inet-types@2010-09-24.yang");
+        return context.getModuleStatements().values().iterator().next();
+    }
+}
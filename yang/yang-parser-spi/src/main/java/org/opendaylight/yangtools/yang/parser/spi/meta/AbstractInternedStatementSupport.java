@@ -10,9 +10,12 @@ package org.opendaylight.yangtools.yang.parser.spi.meta;
 import com.google.common.annotations.Beta;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
@@ -25,11 +28,22 @@ import org.opendaylight.yangtools.yang.parser.spi.meta.EffectiveStmtCtx.Current;
  * types.
  *
  * <p>
+ * Since statement support instances are shared by all reactors, interned instances are shared across all
+ * {@link EffectiveModelContext}s which contain them. The effects of this sharing are reported through
+ * {@link #declaredStats()}, {@link #effectiveStats()} and {@link #deduplicatedBytes()}.
+ *
+ * <p>
  * Note: use of this base class implies context-independence.
  */
 @Beta
 public abstract class AbstractInternedStatementSupport<A, D extends DeclaredStatement<A>,
         E extends EffectiveStatement<A, D>> extends AbstractStatementSupport<A, D, E> {
+    /**
+     * Estimated size of an empty statement: an object header with compressed class pointer and a single compressed
+     * reference to either the argument or the declared statement.
+     */
+    private static final long EMPTY_STATEMENT_SIZE = 16;
+
     private final LoadingCache<A, D> declaredCache = CacheBuilder.newBuilder().weakValues()
             .build(new CacheLoader<A, D>() {
                 @Override
@@ -44,6 +58,11 @@ public abstract class AbstractInternedStatementSupport<A, D extends DeclaredStat
                     return createEmptyEffective(key);
                 }
             });
+    private final LongAdder declaredHits = new LongAdder();
+    private final LongAdder declaredMisses = new LongAdder();
+    private final LongAdder effectiveHits = new LongAdder();
+    private final LongAdder effectiveMisses = new LongAdder();
+    private final LongAdder deduplicatedBytes = new LongAdder();
 
     protected AbstractInternedStatementSupport(final StatementDefinition publicDefinition,
             final StatementPolicy<A, D> policy) {
@@ -54,8 +73,7 @@ public abstract class AbstractInternedStatementSupport<A, D extends DeclaredStat
     protected final D createDeclared(final StmtContext<A, D, ?> ctx,
             final ImmutableList<? extends DeclaredStatement<?>> substatements) {
         final A argument = ctx.getArgument();
-        return substatements.isEmpty() ? declaredCache.getUnchecked(ctx.getArgument())
-            : createDeclared(argument, substatements);
+        return substatements.isEmpty() ? internDeclared(argument) : createDeclared(argument, substatements);
     }
 
     protected abstract @NonNull D createDeclared(@NonNull A argument,
@@ -66,7 +84,7 @@ public abstract class AbstractInternedStatementSupport<A, D extends DeclaredStat
     @Override
     protected final E createEffective(final Current<A, D> stmt,
             final ImmutableList<? extends EffectiveStatement<?, ?>> substatements) {
-        return substatements.isEmpty() ? effectiveCache.getUnchecked(stmt.declared())
+        return substatements.isEmpty() ? internEffective(stmt.declared())
             : createEffective(stmt.declared(), substatements);
     }
 
@@ -74,4 +92,66 @@ public abstract class AbstractInternedStatementSupport<A, D extends DeclaredStat
         @NonNull ImmutableList<? extends EffectiveStatement<?, ?>> substatements);
 
     protected abstract @NonNull E createEmptyEffective(@NonNull D declared);
+
+    /**
+     * Return statistics of lookups of substatement-less declared statements.
+     *
+     * @return Declared statement interning statistics
+     */
+    public final @NonNull CacheStats declaredStats() {
+        return new CacheStats(declaredHits.sum(), declaredMisses.sum(), 0, 0, 0, 0);
+    }
+
+    /**
+     * Return statistics of lookups of substatement-less effective statements.
+     *
+     * @return Effective statement interning statistics
+     */
+    public final @NonNull CacheStats effectiveStats() {
+        return new CacheStats(effectiveHits.sum(), effectiveMisses.sum(), 0, 0, 0, 0);
+    }
+
+    /**
+     * Return an estimate of the number of bytes which were not allocated because an interned statement was reused.
+     * The estimate assumes a 64-bit JVM with compressed references.
+     *
+     * @return Estimated number of deduplicated bytes
+     */
+    public final long deduplicatedBytes() {
+        return deduplicatedBytes.sum();
+    }
+
+    /**
+     * Estimate the size of an argument, which is not retained when an interned declared statement is reused. Default
+     * implementation returns 0, suitable for arguments which are themselves interned.
+     *
+     * @param argument Statement argument
+     * @return Estimated size in bytes
+     */
+    protected long estimateArgumentSize(final @NonNull A argument) {
+        return 0;
+    }
+
+    private @NonNull D internDeclared(final @NonNull A argument) {
+        final D existing = declaredCache.getIfPresent(argument);
+        if (existing != null) {
+            declaredHits.increment();
+            deduplicatedBytes.add(EMPTY_STATEMENT_SIZE + estimateArgumentSize(argument));
+            return existing;
+        }
+        // Racing loads are accounted as misses, which is fine
+        declaredMisses.increment();
+        return declaredCache.getUnchecked(argument);
+    }
+
+    private @NonNull E internEffective(final @NonNull D declared) {
+        final E existing = effectiveCache.getIfPresent(declared);
+        if (existing != null) {
+            effectiveHits.increment();
+            deduplicatedBytes.add(EMPTY_STATEMENT_SIZE);
+            return existing;
+        }
+        effectiveMisses.increment();
+        return effectiveCache.getUnchecked(declared);
+    }
 }
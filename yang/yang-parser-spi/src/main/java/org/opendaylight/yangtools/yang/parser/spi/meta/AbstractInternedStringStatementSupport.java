@@ -30,4 +30,10 @@ public abstract class AbstractInternedStringStatementSupport<D extends DeclaredS
     public final String parseArgumentValue(final StmtContext<?, ?, ?> ctx, final String value) {
         return value;
     }
+
+    @Override
+    protected long estimateArgumentSize(final String argument) {
+        // String object plus its (assumed Latin-1) byte array, both aligned to 8 bytes
+        return 24 + ((16 + argument.length() + 7) & ~7L);
+    }
 }